@@ -0,0 +1,169 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grupo05.coworking_space.CoworkingSpaceApplication;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.mapper.ReservationMapper;
+import com.grupo05.coworking_space.mapper.RoomMapper;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.repository.UserRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Aplicación completa sobre H2 en memoria con {@code users} usuarios, {@code rooms} salas y
+ * {@code reservations} reservas de una o dos salas repartidas a lo largo de un año, para los
+ * benchmarks que necesitan los beans y los datos reales (mappers, serialización).
+ * <p>
+ * Los datos se insertan con los repositorios, en transacciones de 1000 filas. Después se cargan
+ * con sus salas las primeras {@value #SAMPLE_SIZE} reservas y salas, sobre las que iteran los
+ * benchmarks. Como la propia aplicación, necesita el fichero .env en el directorio de trabajo.
+ */
+@State(Scope.Benchmark)
+public class BookingFixture {
+
+    /** Número de reservas y salas cargadas en memoria para los benchmarks */
+    static final int SAMPLE_SIZE = 1024;
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final int HOURS_PER_YEAR = 365 * 24;
+    private static final int CHUNK = 1000;
+
+    @Param("2000")
+    private int users;
+
+    @Param("500")
+    private int rooms;
+
+    @Param("50000")
+    private int reservations;
+
+    ConfigurableApplicationContext context;
+    ReservationMapper reservationMapper;
+    RoomMapper roomMapper;
+    ObjectMapper objectMapper;
+    /** Reservas con sus salas ya cargadas, fuera de la sesión de Hibernate */
+    List<Reservation> sampleReservations;
+    /** Salas fuera de la sesión de Hibernate */
+    List<Room> sampleRooms;
+    /** IDs de todas las salas */
+    List<Integer> roomIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] key = new byte[48];
+        new SplittableRandom(7).nextBytes(key);
+        context = new SpringApplicationBuilder(CoworkingSpaceApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;INIT=CREATE SCHEMA IF NOT EXISTS coworking_space",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--tracing.enabled=false",
+                "--secret.key=" + Base64.getEncoder().encodeToString(key),
+                "--admin.default.password=benchmark",
+                "--email.username=benchmark@coworking.test",
+                "--email.password=benchmark",
+                "--reservation.lifecycle.interval-ms=3600000",
+                "--notification.outbox.poll-interval-ms=3600000");
+        reservationMapper = context.getBean(ReservationMapper.class);
+        roomMapper = context.getBean(RoomMapper.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoomRepository roomRepository = context.getBean(RoomRepository.class);
+        ReservationRepository reservationRepository = context.getBean(ReservationRepository.class);
+
+        List<User> allUsers = new ArrayList<>(users);
+        for (int from = 0; from < users; from += CHUNK) {
+            List<User> chunk = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(from + CHUNK, users); i++) {
+                User user = new User();
+                user.setUsername("user" + i);
+                user.setEmail("user" + i + "@coworking.test");
+                user.setPassword("password");
+                user.setRole(Role.ROLE_USER);
+                chunk.add(user);
+            }
+            allUsers.addAll(transactionTemplate.execute(status -> userRepository.saveAll(chunk)));
+        }
+
+        List<Room> allRooms = new ArrayList<>(rooms);
+        for (int from = 0; from < rooms; from += CHUNK) {
+            List<Room> chunk = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(from + CHUNK, rooms); i++) {
+                Room room = new Room();
+                room.setName("Sala " + i);
+                room.setRoomStatus(RoomStatus.AVAILABLE);
+                room.setCapacity(2 + i % 20);
+                chunk.add(room);
+            }
+            allRooms.addAll(transactionTemplate.execute(status -> roomRepository.saveAll(chunk)));
+        }
+        roomIds = allRooms.stream().map(Room::getId).toList();
+
+        // Las reservas se crean en su propia transacción con referencias a usuarios y salas, no con
+        // las entidades ya guardadas, que están fuera de la sesión
+        SplittableRandom random = new SplittableRandom(42);
+        for (int from = 0; from < reservations; from += CHUNK) {
+            int to = Math.min(from + CHUNK, reservations);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Reservation> chunk = new ArrayList<>(CHUNK);
+                for (int i = first; i < to; i++) {
+                    LocalDateTime dateInit = START.plusHours(random.nextInt(HOURS_PER_YEAR));
+                    Reservation reservation = new Reservation();
+                    reservation.setDateInit(dateInit);
+                    reservation.setDateEnd(dateInit.plusMinutes(30 + 30 * random.nextInt(4)));
+                    reservation.setReserveStatus(random.nextInt(10) == 0 ? ReservationStatus.PENDING
+                            : ReservationStatus.CONFIRMED);
+                    reservation.setDescription("Reunión de equipo " + i);
+                    reservation.setUser(userRepository.getReferenceById(
+                            allUsers.get(random.nextInt(allUsers.size())).getId()));
+                    List<Room> reservationRooms = new ArrayList<>(2);
+                    reservationRooms.add(roomRepository.getReferenceById(roomIds.get(random.nextInt(roomIds.size()))));
+                    if (random.nextInt(4) == 0)
+                        reservationRooms.add(roomRepository.getReferenceById(roomIds.get(random.nextInt(roomIds.size()))));
+                    reservation.setRooms(reservationRooms);
+                    chunk.add(reservation);
+                }
+                reservationRepository.saveAll(chunk);
+            });
+        }
+
+        sampleReservations = transactionTemplate.execute(status -> {
+            List<Integer> ids = reservationRepository.findAll(PageRequest.of(0, SAMPLE_SIZE, Sort.by("id")))
+                    .map(Reservation::getId).getContent();
+            return reservationRepository.findAllWithRoomsByIdIn(ids);
+        });
+        sampleRooms = allRooms.subList(0, Math.min(SAMPLE_SIZE, allRooms.size()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grupo05.coworking_space.dto.PageDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.RoomDTO;
+import com.grupo05.coworking_space.enums.ApiSuccess;
+import com.grupo05.coworking_space.utils.DataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la serialización a JSON de las respuestas {@link DataResponse} con el {@link ObjectMapper}
+ * que configura Spring Boot para la aplicación: una sala, una reserva y una página de 20 reservas
+ * de {@link BookingFixture}, como las devuelven los endpoints de consulta.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DataResponseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private List<ReservationDTO> reservations;
+    private List<RoomDTO> rooms;
+    private int next;
+
+    @Setup
+    public void setUp(BookingFixture fixture) {
+        objectMapper = fixture.objectMapper;
+        reservations = fixture.sampleReservations.stream().map(fixture.reservationMapper::convertToDTO).toList();
+        rooms = fixture.sampleRooms.stream().map(fixture.roomMapper::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public byte[] room() throws JsonProcessingException {
+        return serialize(rooms.get(nextIndex(rooms.size())));
+    }
+
+    @Benchmark
+    public byte[] reservation() throws JsonProcessingException {
+        return serialize(reservations.get(nextIndex(reservations.size())));
+    }
+
+    @Benchmark
+    public byte[] reservationPage() throws JsonProcessingException {
+        int from = nextIndex((reservations.size() - PAGE_SIZE) / PAGE_SIZE + 1) * PAGE_SIZE;
+        List<ReservationDTO> content = reservations.subList(from, from + PAGE_SIZE);
+        return serialize(PageDTO.ofKeyset(content, PAGE_SIZE, "cursor"));
+    }
+
+    /** Siguiente posición de una lista de {@code size} elementos, volviendo al principio al llegar al final */
+    private int nextIndex(int size) {
+        if (next >= size)
+            next = 0;
+        return next++;
+    }
+
+    private byte[] serialize(Object data) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new DataResponse(ApiSuccess.RESOURCE_RETRIEVED, data));
+    }
+}
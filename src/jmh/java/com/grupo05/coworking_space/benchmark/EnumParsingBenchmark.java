@@ -0,0 +1,80 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.validation.EnumValidator;
+import com.grupo05.coworking_space.validation.ValidEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la lectura de los estados que llegan en las peticiones JSON: {@code fromString} de
+ * {@link RoomStatus} y {@link ReservationStatus} y la validación de {@link EnumValidator}.
+ * Cada invocación usa el siguiente valor de una lista con todos los estados escritos con
+ * distintas mayúsculas, como los envían los clientes.
+ * <p>
+ * {@code legacyScan} repite el recorrido de {@code values()} con {@code equalsIgnoreCase} que
+ * hacían antes, como referencia. Con {@code -prof gc} el resto deben quedar en
+ * {@code gc.alloc.rate.norm} de 0 B/op, porque {@code EnumLookup} no crea objetos al buscar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnumParsingBenchmark {
+
+    private static final String[] ROOM_STATES = {"Available", "busy", "MAINTENANCE", "Not Available"};
+    private static final String[] RESERVATION_STATES = {"Pending", "confirmed", "CANCELED", "Completed"};
+
+    private EnumValidator enumValidator;
+    private int next;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        enumValidator = new EnumValidator();
+        enumValidator.initialize(Holder.class.getDeclaredField("status").getAnnotation(ValidEnum.class));
+    }
+
+    @Benchmark
+    public RoomStatus roomStatusFromString() {
+        return RoomStatus.fromString(ROOM_STATES[next++ & 3]);
+    }
+
+    @Benchmark
+    public ReservationStatus reservationStatusFromString() {
+        return ReservationStatus.fromString(RESERVATION_STATES[next++ & 3]);
+    }
+
+    @Benchmark
+    public RoomStatus legacyScan() {
+        String value = ROOM_STATES[next++ & 3];
+        for (RoomStatus status : RoomStatus.values()) {
+            if (status.getState().equalsIgnoreCase(value))
+                return status;
+        }
+        throw new IllegalArgumentException("Invalid status: " + value);
+    }
+
+    @Benchmark
+    public boolean enumValidatorIsValid() {
+        return enumValidator.isValid(ROOM_STATES[next++ & 3], null);
+    }
+
+    /** Campo anotado como los DTOs, del que se obtiene la anotación para inicializar el validador */
+    private static class Holder {
+        @ValidEnum(enumClass = RoomStatus.class)
+        private String status;
+    }
+}
@@ -0,0 +1,143 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el rendimiento de inserción según la generación de IDs, con la misma configuración de
+ * lotes JDBC que la aplicación (batch_size 50, inserciones ordenadas) sobre H2 en memoria.
+ * <ul>
+ * <li>{@code SEQUENCE}: la entidad {@link Room} tal como está mapeada, con secuencia pooled-lo de
+ * 50 valores; las inserciones se agrupan en lotes y solo se consulta la secuencia cada 50 filas.</li>
+ * <li>{@code IDENTITY}: una copia de la tabla de salas con ID IDENTITY, como estaban mapeadas las
+ * entidades antes; cada inserción se ejecuta sola para recuperar el ID generado.</li>
+ * </ul>
+ * Cada invocación inserta {@value #ROWS} salas en una transacción. Hibernate tarda en compilarse
+ * con el JIT, por lo que el calentamiento es más largo que en el resto de benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"SEQUENCE", "IDENTITY"})
+    private String generation;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Room.class)
+                .addAnnotatedClass(Reservation.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(IdentityRoom.class)
+                .setProperty("hibernate.connection.url",
+                        "jdbc:h2:mem:ids" + generation + ";INIT=CREATE SCHEMA IF NOT EXISTS coworking_space")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .setProperty("jakarta.persistence.validation.mode", "none")
+                .buildSessionFactory();
+    }
+
+    /** Vacía las tablas entre iteraciones para que su tamaño no influya en la medida */
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from ROOM").executeUpdate();
+            session.createMutationQuery("delete from IDENTITY_ROOM").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insert() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                if ("SEQUENCE".equals(generation)) {
+                    Room room = new Room();
+                    room.setName("Sala " + i);
+                    room.setRoomStatus(RoomStatus.AVAILABLE);
+                    room.setCapacity(1 + i % 50);
+                    session.persist(room);
+                } else {
+                    session.persist(new IdentityRoom("Sala " + i, RoomStatus.AVAILABLE, 1 + i % 50));
+                }
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    /** Misma tabla que {@link Room} pero con el ID generado por la base de datos */
+    @Entity(name = "IDENTITY_ROOM")
+    @Table(name = "IDENTITY_ROOM", schema = "coworking_space")
+    public static class IdentityRoom {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "room_id")
+        private int id;
+
+        @Column(name = "name", nullable = false, length = 20)
+        private String name;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "room_status", nullable = false, length = 20)
+        private RoomStatus roomStatus;
+
+        @Column(name = "capacity", nullable = false)
+        private int capacity;
+
+        protected IdentityRoom() {
+        }
+
+        IdentityRoom(String name, RoomStatus roomStatus, int capacity) {
+            this.name = name;
+            this.roomStatus = roomStatus;
+            this.capacity = capacity;
+        }
+    }
+}
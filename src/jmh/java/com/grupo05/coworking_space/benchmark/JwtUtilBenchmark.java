@@ -0,0 +1,100 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.utils.JwtUtil;
+import com.grupo05.coworking_space.utils.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la creación y la validación de tokens de {@link JwtUtil}.
+ * <ul>
+ * <li>{@code generateToken}: firma de un token nuevo, como en cada inicio de sesión.</li>
+ * <li>{@code validateToken}: parseo y comprobación contra el usuario cargado, como en el filtro JWT
+ * en modo con estado.</li>
+ * <li>{@code legacyValidation}: reproduce el camino anterior del filtro JWT, que construía un
+ * parser nuevo a partir del secreto en texto en cada llamada y parseaba el token tres veces
+ * (extractUsername y las dos lecturas de validateToken).</li>
+ * <li>{@code parseToken}: un único parseo con la clave y el parser precalculados.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private String secret;
+    private JwtUtil jwtUtil;
+    private String token;
+    private User user;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[48];
+        for (int i = 0; i < key.length; i++)
+            key[i] = (byte) (i * 31 + 7);
+        secret = Base64.getEncoder().encodeToString(key);
+        jwtUtil = new JwtUtil(secret);
+
+        user = new User();
+        user.setUsername("benchmark");
+        user.setRole(Role.ROLE_USER);
+        token = jwtUtil.generateToken(user);
+        userDetails = new org.springframework.security.core.userdetails.User("benchmark", "",
+                List.of(new SimpleGrantedAuthority(Role.ROLE_USER.name())));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(jwtUtil.parseToken(token), userDetails);
+    }
+
+    @Benchmark
+    public TokenClaims parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public boolean legacyValidation() {
+        String username = legacyClaims().getSubject();
+        boolean sameUser = legacyClaims().getSubject().equals(username);
+        return sameUser && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    @SuppressWarnings("deprecation")
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .setSigningKey(secret)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
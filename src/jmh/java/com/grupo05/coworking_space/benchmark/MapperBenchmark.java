@@ -0,0 +1,94 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.RoomDTO;
+import com.grupo05.coworking_space.mapper.ReservationMapper;
+import com.grupo05.coworking_space.mapper.RoomMapper;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las conversiones de {@link ReservationMapper} y {@link RoomMapper} sobre las reservas y
+ * salas de {@link BookingFixture}. Cada invocación convierte el siguiente elemento de la muestra.
+ * <ul>
+ * <li>{@code reservationToEntity} busca el usuario por ID, como al crear una reserva.</li>
+ * <li>{@code roomForeignKeys} carga 5 salas aleatorias por ID, como al validar una reserva.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MapperBenchmark {
+
+    private List<Reservation> reservations;
+    private List<ReservationDTO> reservationDTOs;
+    private List<Room> rooms;
+    private List<RoomDTO> roomDTOs;
+    private List<Integer> roomIds;
+    private SplittableRandom random;
+    private int next;
+
+    @Setup
+    public void setUp(BookingFixture fixture) {
+        reservations = fixture.sampleReservations;
+        reservationDTOs = reservations.stream().map(fixture.reservationMapper::convertToDTO).toList();
+        rooms = fixture.sampleRooms;
+        roomDTOs = rooms.stream().map(fixture.roomMapper::convertToDTO).toList();
+        roomIds = fixture.roomIds;
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public ReservationDTO reservationToDTO(BookingFixture fixture) {
+        return fixture.reservationMapper.convertToDTO(reservations.get(nextIndex(reservations.size())));
+    }
+
+    @Benchmark
+    public Reservation reservationToEntity(BookingFixture fixture) {
+        return fixture.reservationMapper.convertToEntity(reservationDTOs.get(nextIndex(reservationDTOs.size())));
+    }
+
+    @Benchmark
+    public RoomDTO roomToDTO(BookingFixture fixture) {
+        return fixture.roomMapper.convertToDTO(rooms.get(nextIndex(rooms.size())));
+    }
+
+    @Benchmark
+    public Room roomToEntity(BookingFixture fixture) {
+        return fixture.roomMapper.convertToEntity(roomDTOs.get(nextIndex(roomDTOs.size())));
+    }
+
+    @Benchmark
+    public List<Room> roomForeignKeys(BookingFixture fixture) {
+        List<Integer> ids = List.of(randomRoomId(), randomRoomId(), randomRoomId(), randomRoomId(), randomRoomId());
+        return fixture.roomMapper.getForeignKeys(ids);
+    }
+
+    /** Siguiente posición de una lista de {@code size} elementos, volviendo al principio al llegar al final */
+    private int nextIndex(int size) {
+        if (next >= size)
+            next = 0;
+        return next++;
+    }
+
+    private Integer randomRoomId() {
+        return roomIds.get(random.nextInt(roomIds.size()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.grupo05.coworking_space.benchmark;
+
+import com.grupo05.coworking_space.dto.RoomDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.service.ReservationIntervalIndex;
+import com.grupo05.coworking_space.service.RoomCapacityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la búsqueda de salas libres por capacidad de {@link RoomCapacityIndex} con el índice de
+ * intervalos cargado con {@code reservations} reservas repartidas entre {@code rooms} salas
+ * a lo largo de un año. Cada invocación busca 5 salas para una hora aleatoria del año.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RoomSearchBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final int HOURS_PER_YEAR = 365 * 24;
+
+    @Param("5000")
+    private int rooms;
+
+    @Param("1000000")
+    private int reservations;
+
+    private RoomCapacityIndex capacityIndex;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        ReservationIntervalIndex intervalIndex = new ReservationIntervalIndex(null, null);
+        capacityIndex = new RoomCapacityIndex(null, intervalIndex);
+
+        List<Room> allRooms = new ArrayList<>(rooms);
+        for (int id = 1; id <= rooms; id++) {
+            Room room = new Room();
+            room.setId(id);
+            room.setName("Sala " + id);
+            room.setRoomStatus(id % 20 == 0 ? RoomStatus.MAINTENANCE : RoomStatus.AVAILABLE);
+            room.setCapacity(2 + random.nextInt(49));
+            capacityIndex.register(room);
+            allRooms.add(room);
+        }
+
+        for (int id = 1; id <= reservations; id++) {
+            Reservation reservation = new Reservation();
+            reservation.setId(id);
+            LocalDateTime dateInit = START.plusHours(random.nextInt(HOURS_PER_YEAR));
+            reservation.setDateInit(dateInit);
+            reservation.setDateEnd(dateInit.plusHours(1 + random.nextInt(3)));
+            reservation.setReserveStatus(ReservationStatus.CONFIRMED);
+            reservation.setRooms(List.of(allRooms.get(random.nextInt(rooms))));
+            intervalIndex.register(reservation);
+        }
+    }
+
+    @Benchmark
+    public List<RoomDTO> findFreeRooms() {
+        LocalDateTime dateInit = START.plusHours(random.nextInt(HOURS_PER_YEAR));
+        return capacityIndex.findFreeRooms(dateInit, dateInit.plusHours(1), 2 + random.nextInt(40), 5);
+    }
+}
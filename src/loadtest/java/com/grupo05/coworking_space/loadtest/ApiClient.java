@@ -0,0 +1,213 @@
+package com.grupo05.coworking_space.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Cliente HTTP de la API que usa la prueba de carga. Envía y recibe JSON sin depender de los DTO
+ * de la aplicación, igual que lo haría un cliente externo.
+ */
+final class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    /**
+     * Crea el cliente.
+     *
+     * @param baseUrl URL base de la API, por ejemplo http://localhost:8080/api
+     */
+    ApiClient(URI baseUrl) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String url = baseUrl.toString();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * Registra un usuario; si ya existe no hace nada.
+     *
+     * @param username Nombre de usuario
+     * @param email Email
+     * @param password Contraseña
+     * @return Respuesta de la API
+     */
+    Response register(String username, String email, String password) {
+        return send("POST", "/users/register", null, credentials(username, email, password));
+    }
+
+    /**
+     * Inicia sesión.
+     *
+     * @param username Nombre de usuario
+     * @param email Email
+     * @param password Contraseña
+     * @return Respuesta de la API, con el ID y el token del usuario en {@code data}
+     */
+    Response login(String username, String email, String password) {
+        return send("POST", "/users/login", null, credentials(username, email, password));
+    }
+
+    /**
+     * Crea una sala disponible.
+     *
+     * @param token Token de un administrador
+     * @param name Nombre de la sala
+     * @param capacity Capacidad de la sala
+     * @return Respuesta de la API, con la sala creada en {@code data}
+     */
+    Response createRoom(String token, String name, int capacity) {
+        return send("POST", "/rooms", token, Map.of("name", name, "roomStatus", "Available", "capacity", capacity));
+    }
+
+    /**
+     * Crea una reserva.
+     *
+     * @param token Token del usuario
+     * @param userId ID del usuario
+     * @param booking Reserva a crear
+     * @return Respuesta de la API
+     */
+    Response createReservation(String token, int userId, WorkloadGenerator.Booking booking) {
+        return send("POST", "/reservations", token, Map.of("reservationDTO", reservation(userId, booking)));
+    }
+
+    /**
+     * Crea varias reservas en una única petición. Las que no se pueden crear se rechazan sin
+     * afectar al resto.
+     *
+     * @param token Token del usuario
+     * @param userId ID del usuario
+     * @param bookings Reservas a crear, como máximo 500
+     * @return Respuesta de la API, con el resultado de cada reserva en {@code data}
+     */
+    Response createReservations(String token, int userId, List<WorkloadGenerator.Booking> bookings) {
+        List<Map<String, Object>> reservations = new ArrayList<>(bookings.size());
+        for (WorkloadGenerator.Booking booking : bookings)
+            reservations.add(Map.of("reservationDTO", reservation(userId, booking)));
+        return send("POST", "/reservations/batch", token, Map.of("reservations", reservations));
+    }
+
+    /**
+     * Cancela una reserva.
+     *
+     * @param token Token del dueño de la reserva
+     * @param reservation Reserva tal y como la devuelve la API
+     * @return Respuesta de la API
+     */
+    Response cancelReservation(String token, JsonNode reservation) {
+        ObjectNode canceled = reservation.deepCopy();
+        canceled.put("reserveStatus", "Canceled");
+        return send("PUT", "/reservations", token, canceled);
+    }
+
+    /**
+     * Consulta la primera página de salas.
+     */
+    Response listRooms(String token) {
+        return send("GET", "/rooms?size=20", token, null);
+    }
+
+    /**
+     * Consulta la primera página de reservas.
+     */
+    Response listReservations(String token) {
+        return send("GET", "/reservations?size=20", token, null);
+    }
+
+    /**
+     * Consulta la primera página de las reservas de un día.
+     */
+    Response filterReservations(String token, LocalDate day) {
+        return send("GET", "/reservations/filters?size=20&dateInit=" + day.atStartOfDay() + "&dateEnd="
+                + day.plusDays(1).atStartOfDay(), token, null);
+    }
+
+    private static Map<String, Object> credentials(String username, String email, String password) {
+        return Map.of("username", username, "email", email, "password", password);
+    }
+
+    private static Map<String, Object> reservation(int userId, WorkloadGenerator.Booking booking) {
+        Map<String, Object> reservation = new LinkedHashMap<>();
+        reservation.put("dateInit", booking.dateInit().toString());
+        reservation.put("dateEnd", booking.dateEnd().toString());
+        reservation.put("reserveStatus", "Confirmed");
+        reservation.put("description", booking.description());
+        reservation.put("userFK", userId);
+        reservation.put("roomsFK", booking.roomIds());
+        return reservation;
+    }
+
+    /**
+     * Envía una petición y lee la respuesta entera. Los fallos de conexión se devuelven como
+     * una respuesta con estado 0 en lugar de lanzar una excepción, para contarlos como errores.
+     */
+    private Response send(String method, String path, String token, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null)
+            request.header("Authorization", "Bearer " + token);
+        long start = System.nanoTime();
+        try {
+            if (body == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.header("Content-Type", "application/json");
+                request.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            }
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long nanos = System.nanoTime() - start;
+            JsonNode json = response.body().length == 0 ? null : readTree(response.body());
+            return new Response(response.statusCode(), json, nanos);
+        } catch (IOException ex) {
+            return new Response(0, null, System.nanoTime() - start);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null, System.nanoTime() - start);
+        }
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Respuesta de la API.
+     *
+     * @param status Código de estado HTTP, o 0 si la petición falló sin respuesta
+     * @param body Cuerpo JSON de la respuesta, o null si no tiene
+     * @param nanos Tiempo desde que se envía la petición hasta que se lee la respuesta entera
+     */
+    record Response(int status, JsonNode body, long nanos) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        /** Campo {@code data} de la respuesta */
+        JsonNode data() {
+            return body == null ? null : body.path("data");
+        }
+    }
+}
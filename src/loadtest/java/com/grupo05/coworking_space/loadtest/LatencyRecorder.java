@@ -0,0 +1,110 @@
+package com.grupo05.coworking_space.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latencias de las peticiones de un cliente, por operación. Cada cliente tiene el suyo, por lo que
+ * no necesita sincronización; al terminar se combinan todos y se calculan los percentiles exactos.
+ * <p>
+ * Las respuestas 409 se cuentan como conflictos y no como errores: son reservas rechazadas porque
+ * la sala ya está ocupada, algo esperado con una carga realista.
+ */
+final class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    /**
+     * Guarda el resultado de una petición.
+     *
+     * @param operation Operación
+     * @param nanos Latencia en nanosegundos
+     * @param status Código de estado HTTP, o 0 si la petición no llegó a completarse
+     */
+    void record(Operation operation, long nanos, int status) {
+        Samples operationSamples = samples.computeIfAbsent(operation, key -> new Samples());
+        operationSamples.add(nanos);
+        if (status == 409)
+            operationSamples.conflicts++;
+        else if (status < 200 || status >= 300)
+            operationSamples.errors++;
+    }
+
+    /**
+     * Combina las latencias de varios clientes.
+     *
+     * @param recorders Latencias de cada cliente
+     * @return Latencias de todos los clientes
+     */
+    static LatencyRecorder merge(List<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samples.forEach((operation, operationSamples) ->
+                    merged.samples.computeIfAbsent(operation, key -> new Samples()).addAll(operationSamples));
+        }
+        return merged;
+    }
+
+    /**
+     * Escribe una tabla con el número de peticiones, errores, conflictos, rendimiento y
+     * percentiles de latencia de cada operación y del total.
+     *
+     * @param out Salida
+     * @param elapsed Duración de la medición
+     */
+    void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%-14s %9s %7s %9s %10s %9s %9s %9s %9s%n", "operation", "requests", "errors", "conflicts",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Samples total = new Samples();
+        for (Map.Entry<Operation, Samples> entry : samples.entrySet()) {
+            printRow(out, entry.getKey().label(), entry.getValue(), seconds);
+            total.addAll(entry.getValue());
+        }
+        printRow(out, "total", total, seconds);
+    }
+
+    private static void printRow(PrintStream out, String label, Samples operationSamples, double seconds) {
+        long[] sorted = Arrays.copyOf(operationSamples.latencies, operationSamples.count);
+        Arrays.sort(sorted);
+        out.printf("%-14s %9d %7d %9d %10.1f %9.2f %9.2f %9.2f %9.2f%n", label, sorted.length,
+                operationSamples.errors, operationSamples.conflicts, sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    /** Percentil por el método del rango más cercano, en milisegundos */
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /** Latencias en nanosegundos de una operación, en un array que crece según se llena */
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long conflicts;
+
+        void add(long nanos) {
+            if (count == latencies.length)
+                latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length)
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            conflicts += other.conflicts;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.grupo05.coworking_space.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Prueba de carga contra una instancia en marcha de la aplicación.
+ * <p>
+ * Primero crea, a través de la propia API, las salas, los usuarios y las reservas con
+ * {@link WorkloadGenerator}, y cancela una parte de ellas. Después lanza tantos clientes como
+ * indique {@code --concurrency}, cada uno en un hilo virtual, que repiten las operaciones de
+ * {@link Operation} según el reparto de {@code --mix}. Tras el calentamiento se miden todas las
+ * peticiones durante {@code --duration-seconds} y se muestran el rendimiento y los percentiles
+ * p50, p99 y p999 de cada operación.
+ * <p>
+ * Con la misma semilla se generan los mismos datos y la misma secuencia de operaciones. Los
+ * usuarios y las salas llevan el prefijo {@code --run-id}, así que se puede repetir contra la misma
+ * base de datos.
+ * <p>
+ * Uso: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users=200 --duration-seconds=60"}
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest123";
+    /** Máximo de reservas por petición de /reservations/batch */
+    private static final int BATCH_SIZE = 500;
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final List<Session> sessions = new ArrayList<>();
+    private WorkloadGenerator generator;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ApiClient(config.baseUrl());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        LoadTest loadTest = new LoadTest(config);
+        loadTest.seed();
+        loadTest.run();
+    }
+
+    /**
+     * Crea las salas, los usuarios y las reservas de partida.
+     */
+    private void seed() throws Exception {
+        System.out.printf("Run %s against %s (seed %d)%n", config.runId(), config.baseUrl(), config.seed());
+        long start = System.nanoTime();
+
+        ApiClient.Response admin = client.login("admin", config.adminEmail(), config.adminPassword());
+        if (!admin.isSuccess())
+            throw new IllegalStateException("Admin login failed with status " + admin.status());
+        String adminToken = admin.data().path("token").asText();
+
+        // Capacidades sobre todo pequeñas: muchas salas de 10 a 14 personas (el mínimo es 10) y pocas grandes
+        SplittableRandom random = new SplittableRandom(config.seed());
+        int[] capacities = new int[config.rooms()];
+        for (int i = 0; i < capacities.length; i++)
+            capacities[i] = random.nextInt(4) == 0 ? 20 + random.nextInt(31) : 10 + random.nextInt(5);
+        List<Integer> roomIds = parallel(config.rooms(), i -> {
+            ApiClient.Response room = client.createRoom(adminToken, "Lt" + config.runId() + " " + i, capacities[i]);
+            if (!room.isSuccess())
+                throw new IllegalStateException("Room creation failed with status " + room.status());
+            return room.data().path("id").asInt();
+        });
+        generator = new WorkloadGenerator(roomIds, LocalDate.now().plusDays(1), config.days(),
+                config.multiRoomRatio());
+
+        sessions.addAll(parallel(config.users(), i -> {
+            String username = "lt" + config.runId() + "u" + i;
+            String email = username + "@loadtest.local";
+            client.register(username, email, PASSWORD);
+            ApiClient.Response login = client.login(username, email, PASSWORD);
+            if (!login.isSuccess())
+                throw new IllegalStateException("Login of " + username + " failed with status " + login.status());
+            return new Session(username, email, login.data().path("id").asInt(), login.data().path("token").asText());
+        }));
+
+        // Las reservas se reparten por igual entre los usuarios y cada uno las envía por lotes
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger canceled = new AtomicInteger();
+        parallel(config.users(), i -> {
+            Session session = sessions.get(i);
+            SplittableRandom userRandom = new SplittableRandom(config.seed() + i);
+            int count = config.reservations() / config.users() + (i < config.reservations() % config.users() ? 1 : 0);
+            for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+                List<WorkloadGenerator.Booking> bookings = new ArrayList<>();
+                for (int j = offset; j < Math.min(count, offset + BATCH_SIZE); j++)
+                    bookings.add(generator.next(userRandom));
+                ApiClient.Response batch = client.createReservations(session.token(), session.userId(), bookings);
+                if (!batch.isSuccess())
+                    throw new IllegalStateException("Batch creation failed with status " + batch.status());
+                created.addAndGet(batch.data().path("created").asInt());
+                rejected.addAndGet(batch.data().path("rejected").asInt());
+                for (JsonNode result : batch.data().path("results")) {
+                    JsonNode reservation = result.path("reservation");
+                    if (reservation.isObject() && userRandom.nextDouble() < config.cancelRatio()
+                            && client.cancelReservation(session.token(), reservation).isSuccess())
+                        canceled.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        System.out.printf("Seeded %d rooms, %d users and %d reservations (%d rejected, %d canceled) in %.1f s%n",
+                roomIds.size(), sessions.size(), created.get(), rejected.get(), canceled.get(),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Lanza los clientes, espera al calentamiento y mide durante la duración indicada.
+     */
+    private void run() throws Exception {
+        Operation[] operations = operationTable(config.mix());
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long measureUntil = measureFrom + config.duration().toNanos();
+        System.out.printf("Running %d clients: %s warmup, %s measured%n", config.concurrency(),
+                config.warmup(), config.duration());
+
+        List<LatencyRecorder> recorders = parallel(config.concurrency(), worker -> {
+            LatencyRecorder recorder = new LatencyRecorder();
+            SplittableRandom random = new SplittableRandom(config.seed() * 31 + worker);
+            long now;
+            while ((now = System.nanoTime()) < measureUntil) {
+                Operation operation = operations[random.nextInt(operations.length)];
+                ApiClient.Response response = execute(operation, random);
+                if (now >= measureFrom)
+                    recorder.record(operation, response.nanos(), response.status());
+            }
+            return recorder;
+        });
+
+        LatencyRecorder.merge(recorders).print(System.out, config.duration());
+    }
+
+    private ApiClient.Response execute(Operation operation, SplittableRandom random) {
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        return switch (operation) {
+            case LOGIN -> client.login(session.username(), session.email(), PASSWORD);
+            case ROOMS -> client.listRooms(session.token());
+            case RESERVATIONS -> client.listReservations(session.token());
+            case FILTERS -> client.filterReservations(session.token(), generator.day(random));
+            case CREATE -> client.createReservation(session.token(), session.userId(), generator.next(random));
+        };
+    }
+
+    /**
+     * Tabla de 100 posiciones en la que cada operación aparece en proporción a su peso, para
+     * elegir la siguiente con un único número aleatorio.
+     */
+    private static Operation[] operationTable(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        List<Operation> table = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < Math.round(weight * 100.0 / total); i++)
+                table.add(operation);
+        });
+        return table.toArray(Operation[]::new);
+    }
+
+    /**
+     * Ejecuta una tarea por índice en hilos virtuales, con como mucho {@code --concurrency} a la
+     * vez, y devuelve los resultados en orden.
+     */
+    private <T> List<T> parallel(int count, IndexedTask<T> task) throws Exception {
+        Semaphore permits = new Semaphore(config.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                Callable<T> callable = () -> {
+                    permits.acquire();
+                    try {
+                        return task.run(index);
+                    } finally {
+                        permits.release();
+                    }
+                };
+                futures.add(executor.submit(callable));
+            }
+            List<T> results = new ArrayList<>(count);
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof Exception cause)
+                        throw cause;
+                    throw ex;
+                }
+            }
+            return results;
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+
+    /**
+     * Usuario con la sesión iniciada.
+     */
+    private record Session(String username, String email, int userId, String token) {
+    }
+}
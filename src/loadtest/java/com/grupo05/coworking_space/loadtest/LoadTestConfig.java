@@ -0,0 +1,102 @@
+package com.grupo05.coworking_space.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parámetros de la prueba de carga, leídos de argumentos {@code --nombre=valor}.
+ *
+ * @param baseUrl URL base de la API (por defecto http://localhost:8080/api)
+ * @param adminEmail Email del administrador, que crea las salas
+ * @param adminPassword Contraseña del administrador
+ * @param runId Prefijo de los usuarios y salas creados, distinto en cada ejecución
+ * @param seed Semilla de todos los generadores aleatorios
+ * @param users Número de usuarios que se crean
+ * @param rooms Número de salas que se crean
+ * @param reservations Número de reservas que se intentan crear antes de la prueba
+ * @param days Días, a partir de mañana, en los que se reparten las reservas
+ * @param multiRoomRatio Fracción de reservas de 2 a 4 salas (eventos)
+ * @param cancelRatio Fracción de reservas creadas que se cancelan después
+ * @param concurrency Número de clientes simultáneos
+ * @param warmup Duración del calentamiento, cuyas peticiones no se miden
+ * @param duration Duración de la medición
+ * @param mix Peso de cada operación en la carga
+ */
+record LoadTestConfig(URI baseUrl, String adminEmail, String adminPassword, String runId, long seed, int users,
+        int rooms, int reservations, int days, double multiRoomRatio, double cancelRatio, int concurrency,
+        Duration warmup, Duration duration, Map<Operation, Integer> mix) {
+
+    /** Reparto por defecto: sobre todo consultas, con un 10 % de reservas nuevas */
+    private static final String DEFAULT_MIX = "login:5,rooms:30,reservations:30,filters:25,create:10";
+
+    /** Nombres de los argumentos admitidos */
+    private static final Set<String> KNOWN = Set.of("base-url", "admin-email", "admin-password", "run-id", "seed",
+            "users", "rooms", "reservations", "days", "multi-room-ratio", "cancel-ratio", "concurrency",
+            "warmup-seconds", "duration-seconds", "mix");
+
+    /**
+     * Lee los parámetros de los argumentos del programa; los que faltan toman su valor por defecto.
+     *
+     * @param args Argumentos {@code --nombre=valor}
+     * @return Parámetros de la prueba
+     * @throws IllegalArgumentException Si algún argumento no es válido
+     */
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0)
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(values.getOrDefault("base-url", "http://localhost:8080/api")),
+                values.getOrDefault("admin-email", "admin@coworking.com"),
+                values.getOrDefault("admin-password", "admin123"),
+                values.getOrDefault("run-id", Long.toString(System.currentTimeMillis() / 1000 % 1_000_000, 36)),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("users", "200")),
+                Integer.parseInt(values.getOrDefault("rooms", "50")),
+                Integer.parseInt(values.getOrDefault("reservations", "5000")),
+                Integer.parseInt(values.getOrDefault("days", "30")),
+                Double.parseDouble(values.getOrDefault("multi-room-ratio", "0.1")),
+                Double.parseDouble(values.getOrDefault("cancel-ratio", "0.05")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60"))),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)));
+        values.keySet().removeAll(KNOWN);
+        if (!values.isEmpty())
+            throw new IllegalArgumentException("Unknown arguments: " + values.keySet());
+        if (config.users < 1 || config.rooms < 1 || config.concurrency < 1 || config.days < 1)
+            throw new IllegalArgumentException("users, rooms, days and concurrency must be positive");
+        return config;
+    }
+
+    /**
+     * Lee el reparto de operaciones, por ejemplo {@code login:5,rooms:30,create:10}.
+     *
+     * @param mix Lista de operación:peso separada por comas
+     * @return Peso de cada operación
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Expected operation:weight but got " + entry);
+            int weight = Integer.parseInt(parts[1]);
+            if (weight < 0)
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            weights.put(Operation.fromName(parts[0]), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0)
+            throw new IllegalArgumentException("The mix must have at least one operation with positive weight");
+        return weights;
+    }
+}
@@ -0,0 +1,42 @@
+package com.grupo05.coworking_space.loadtest;
+
+/**
+ * Operaciones que se reparten en la prueba de carga, cada una contra un endpoint de la API.
+ */
+enum Operation {
+    /** POST /users/login */
+    LOGIN("login"),
+    /** GET /rooms, primera página */
+    ROOMS("rooms"),
+    /** GET /reservations, primera página */
+    RESERVATIONS("reservations"),
+    /** GET /reservations/filters para un día al azar */
+    FILTERS("filters"),
+    /** POST /reservations con una reserva generada */
+    CREATE("create");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    /**
+     * Obtiene la operación a partir de su nombre en los argumentos.
+     *
+     * @param name Nombre de la operación
+     * @return Operación
+     * @throws IllegalArgumentException Si no existe ninguna operación con ese nombre
+     */
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(name))
+                return operation;
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+}
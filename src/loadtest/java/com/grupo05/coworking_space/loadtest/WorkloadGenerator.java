@@ -0,0 +1,113 @@
+package com.grupo05.coworking_space.loadtest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera reservas con la forma de la demanda de un coworking:
+ * <ul>
+ * <li>Los días laborables tienen cinco veces más reservas que los fines de semana.</li>
+ * <li>El 70 % empiezan en las horas punta (de 9 a 12 y de 14 a 17), a en punto o y media.</li>
+ * <li>La mayoría duran una hora; pocas llegan a tres.</li>
+ * <li>Unas pocas salas concentran gran parte de la demanda.</li>
+ * <li>Una fracción configurable son eventos que ocupan de 2 a 4 salas.</li>
+ * </ul>
+ * Con la misma semilla genera siempre la misma secuencia de reservas.
+ */
+final class WorkloadGenerator {
+
+    private static final int[] PEAK_HOURS = {9, 10, 11, 14, 15, 16};
+    private static final int FIRST_HOUR = 8;
+    private static final int LAST_HOUR = 19;
+    private static final int[] DURATION_MINUTES = {30, 60, 90, 120, 180};
+    private static final int[] DURATION_WEIGHTS = {25, 40, 15, 12, 8};
+    private static final String[] MEETINGS = {"Reunión de equipo", "Entrevista", "Llamada con cliente", "Formación"};
+
+    private final List<Integer> roomIds;
+    private final LocalDate firstDay;
+    private final int days;
+    private final double multiRoomRatio;
+
+    /**
+     * Crea el generador.
+     *
+     * @param roomIds IDs de las salas, de la más a la menos solicitada
+     * @param firstDay Primer día en el que se reserva
+     * @param days Número de días en los que se reparten las reservas
+     * @param multiRoomRatio Fracción de reservas de varias salas
+     */
+    WorkloadGenerator(List<Integer> roomIds, LocalDate firstDay, int days, double multiRoomRatio) {
+        this.roomIds = List.copyOf(roomIds);
+        this.firstDay = firstDay;
+        this.days = days;
+        this.multiRoomRatio = multiRoomRatio;
+    }
+
+    /**
+     * Genera la siguiente reserva.
+     *
+     * @param random Generador aleatorio del cliente que hace la reserva
+     * @return Reserva generada
+     */
+    Booking next(SplittableRandom random) {
+        LocalDate day = day(random);
+        int hour = random.nextInt(10) < 7 ? PEAK_HOURS[random.nextInt(PEAK_HOURS.length)]
+                : FIRST_HOUR + random.nextInt(LAST_HOUR - FIRST_HOUR + 1);
+        LocalDateTime dateInit = day.atTime(hour, random.nextBoolean() ? 0 : 30);
+        LocalDateTime dateEnd = dateInit.plusMinutes(duration(random));
+
+        boolean event = roomIds.size() > 1 && random.nextDouble() < multiRoomRatio;
+        int roomCount = event ? Math.min(roomIds.size(), 2 + random.nextInt(3)) : 1;
+        List<Integer> rooms = new ArrayList<>(roomCount);
+        while (rooms.size() < roomCount) {
+            Integer roomId = room(random);
+            if (!rooms.contains(roomId))
+                rooms.add(roomId);
+        }
+        String description = event ? "Evento en " + roomCount + " salas" : MEETINGS[random.nextInt(MEETINGS.length)];
+        return new Booking(dateInit, dateEnd, rooms, description);
+    }
+
+    /**
+     * Elige un día del rango, descartando la mayoría de los fines de semana.
+     */
+    LocalDate day(SplittableRandom random) {
+        while (true) {
+            LocalDate day = firstDay.plusDays(random.nextInt(days));
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            if (!weekend || random.nextInt(5) == 0)
+                return day;
+        }
+    }
+
+    private static int duration(SplittableRandom random) {
+        int value = random.nextInt(100);
+        for (int i = 0; i < DURATION_WEIGHTS.length; i++) {
+            value -= DURATION_WEIGHTS[i];
+            if (value < 0)
+                return DURATION_MINUTES[i];
+        }
+        return DURATION_MINUTES[0];
+    }
+
+    /** Elige una sala con más probabilidad cuanto antes aparece en la lista */
+    private Integer room(SplittableRandom random) {
+        double u = random.nextDouble();
+        return roomIds.get((int) (u * u * roomIds.size()));
+    }
+
+    /**
+     * Reserva generada.
+     *
+     * @param dateInit Fecha de inicio
+     * @param dateEnd Fecha de fin
+     * @param roomIds IDs de las salas
+     * @param description Descripción
+     */
+    record Booking(LocalDateTime dateInit, LocalDateTime dateEnd, List<Integer> roomIds, String description) {
+    }
+}
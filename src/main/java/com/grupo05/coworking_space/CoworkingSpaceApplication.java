@@ -3,16 +3,19 @@ package com.grupo05.coworking_space;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
 /**
  * @CroosOrigin para permitir que "*" tenga acceso al backend
  * @SpringBootApplication para indicar que es una aplicacion de Spring Boot
  * @EnableAspectJAutoProxy para habilitar el uso de Aspectos
+ * @EnableScheduling para habilitar las tareas periódicas (envío de notificaciones)
  */
 @CrossOrigin
 @SpringBootApplication
 @EnableAspectJAutoProxy
+@EnableScheduling
 public class CoworkingSpaceApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CoworkingSpaceApplication.class, args);
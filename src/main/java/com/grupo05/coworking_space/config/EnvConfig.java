@@ -14,10 +14,11 @@ public class EnvConfig {
     /**
      * Crea y configura un bean Dotenv para cargar variables de entorno.
      * @Bean es una anotación que se utiliza para indicar a Spring que un método de configuración de Java debe ser tratado como un bean y devolverá un objeto que Spring debe registrar en el contexto de la aplicación.
+     * Si no existe el archivo .env (por ejemplo en los tests) se usan solo las variables de entorno.
      * @return Un objeto Dotenv configurado que ha cargado las variables del archivo .env
      */
     @Bean
     public Dotenv dotenv(){
-        return Dotenv.configure().load();
+        return Dotenv.configure().ignoreIfMissing().load();
     }
 }
\ No newline at end of file
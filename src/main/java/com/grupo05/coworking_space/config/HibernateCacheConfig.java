@@ -0,0 +1,47 @@
+package com.grupo05.coworking_space.config;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Configuración de la caché de segundo nivel de Hibernate.
+ * Crea el gestor de cachés de Caffeine a partir del recurso del classpath con las regiones
+ * (por defecto hibernate-cache.conf) y se lo entrega a Hibernate. Se crea aquí y no mediante
+ * hibernate.javax.cache.uri porque Hibernate convierte esa URI en una URL del JAR, que Caffeine
+ * no sabe leer cuando la aplicación se ejecuta empaquetada.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Crea el gestor de cachés JCache con las regiones definidas en el recurso indicado.
+     * Se usa un proveedor propio y no el compartido de {@link javax.cache.Caching}, que devuelve el
+     * mismo gestor a todos los contextos de Spring de la JVM (por ejemplo, en los tests): cada
+     * contexto tiene su propia base de datos y no debe ver las entidades cacheadas por otro.
+     * @param resource Recurso del classpath con la configuración de Caffeine
+     * @return Gestor de cachés, que se cierra al detener la aplicación
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${hibernate.cache.config:hibernate-cache.conf}") String resource) {
+        return new CaffeineCachingProvider().getCacheManager(URI.create(resource), getClass().getClassLoader());
+    }
+
+    /**
+     * Indica a Hibernate que use el gestor de cachés creado por Spring.
+     * @param hibernateCacheManager Gestor de cachés de Caffeine
+     * @return Personalización de las propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
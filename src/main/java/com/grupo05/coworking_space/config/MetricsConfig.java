@@ -0,0 +1,51 @@
+package com.grupo05.coworking_space.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.grupo05.coworking_space.service.EmailDispatcher;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Configuración de las métricas de la aplicación, expuestas por Actuator en /actuator/prometheus
+ * del puerto de gestión.
+ * Activa la anotación {@link io.micrometer.core.annotation.Timed} de los servicios y registra el
+ * estado de la cola de correos.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aspecto que mide con un timer los métodos anotados con {@link io.micrometer.core.annotation.Timed}.
+     *
+     * @param registry Registro de métricas de la aplicación
+     * @return Aspecto de los métodos cronometrados
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Registra el número de correos pendientes en la cola de envío y los huecos que le quedan.
+     * Los valores se leen de la cola cada vez que se consultan las métricas.
+     *
+     * @param emailDispatcher Servicio de entrega de correos
+     * @return Registro de las métricas de la cola de correos
+     */
+    @Bean
+    public MeterBinder emailQueueMetrics(EmailDispatcher emailDispatcher) {
+        return registry -> {
+            Gauge.builder("coworking.email.queue.depth", emailDispatcher, EmailDispatcher::pending)
+                    .description("Correos pendientes en la cola de envío")
+                    .register(registry);
+            Gauge.builder("coworking.email.queue.remaining", emailDispatcher, EmailDispatcher::remainingCapacity)
+                    .description("Correos que aún caben en la cola de envío")
+                    .register(registry);
+        };
+    }
+}
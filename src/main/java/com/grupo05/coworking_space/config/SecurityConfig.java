@@ -2,6 +2,9 @@ package com.grupo05.coworking_space.config;
 
 import com.grupo05.coworking_space.filter.JwtRequestFilter;
 import com.grupo05.coworking_space.utils.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +15,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * Configuración de seguridad para la aplicación.
@@ -28,21 +34,30 @@ public class SecurityConfig {
     /**
      * Configura la cadena de filtros de seguridad para la aplicación.
      * Define las reglas de acceso a distintos endpoints:
-     * - Rutas públicas: login, registro, documentación Swagger
-     * - Rutas para administradores: gestión de usuarios y operaciones de eliminación
+     * - Rutas públicas: login, registro, documentación Swagger y salud (/livez y /readyz en el puerto de la API)
+     * - Métricas en formato Prometheus: sin autenticación solo en el puerto de gestión
+     *   ({@code management.server.port}), que escucha en la interfaz interna
+     * - Rutas para administradores: gestión de usuarios, resto de endpoints de Actuator y operaciones de eliminación
      * - Resto de rutas: requieren autenticación
      * 
      * También se configura la desactivación de CSRF y la adición del filtro JWT.
      *
      * @param http Objeto HttpSecurity para configurar la seguridad HTTP
      * @param jwtRequestFilter Filtro personalizado para procesar tokens JWT
+     * @param managementPort Puerto de los endpoints de Actuator, o -1 si comparten el de la API
      * @return La cadena de filtros de seguridad configurada
      * @throws Exception Si ocurre algún error durante la configuración
      */
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            JwtRequestFilter jwtRequestFilter) throws Exception {
+            JwtRequestFilter jwtRequestFilter,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
+            // El scraping de Prometheus solo se acepta sin token en el puerto de gestión
+            RequestMatcher prometheusScrape = new AndRequestMatcher(
+                    request -> managementPort > 0 && request.getLocalPort() == managementPort,
+                    AntPathRequestMatcher.antMatcher("/actuator/prometheus"));
+
             http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -53,7 +68,10 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html",
                                 "/swagger-resources/**",
-                                "/webjars/**", "/js/**", "/static/**").permitAll()
+                                "/webjars/**", "/js/**", "/static/**",
+                                "/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll()
+                        .requestMatchers(prometheusScrape).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/users/list", "/users/admin/register", "/users/resources/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
@@ -79,10 +97,18 @@ public class SecurityConfig {
      * 
      * @param jwtUtil Utilidad para operaciones con JWT (generación, validación)
      * @param userDetailsService Servicio para cargar detalles de usuarios
+     * @param stateless true para autenticar con los claims del token sin consultar la base de datos
+     * @param cacheMaximumSize Número máximo de tokens verificados que se mantienen en caché
+     * @param cacheTtlSeconds Segundos que un token verificado permanece en caché
+     * @param meterRegistry Registro de métricas donde se cuentan las validaciones de tokens
      * @return Un filtro JwtRequestFilter configurado
      */
     @Bean
-    public JwtRequestFilter jwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
-        return new JwtRequestFilter(jwtUtil, userDetailsService);
+    public JwtRequestFilter jwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+            @Value("${jwt.stateless:true}") boolean stateless,
+            @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${jwt.cache.ttl-seconds:300}") long cacheTtlSeconds, MeterRegistry meterRegistry) {
+        return new JwtRequestFilter(jwtUtil, userDetailsService, stateless, cacheMaximumSize,
+                Duration.ofSeconds(cacheTtlSeconds), meterRegistry);
     }
 }
\ No newline at end of file
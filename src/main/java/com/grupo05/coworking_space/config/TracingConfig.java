@@ -0,0 +1,88 @@
+package com.grupo05.coworking_space.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import com.grupo05.coworking_space.filter.TracingFilter;
+import com.grupo05.coworking_space.tracing.TraceBuffer;
+import com.grupo05.coworking_space.tracing.TraceEndpoint;
+import com.grupo05.coworking_space.tracing.Tracer;
+import com.grupo05.coworking_space.tracing.TracingInterceptor;
+
+/**
+ * Configuración de las trazas por petición.
+ * Registra el filtro que muestrea las peticiones, el interceptor de los servicios y repositorios
+ * y el endpoint {@code /actuator/traces}. Con {@code tracing.enabled=false} no se crea nada de
+ * esto y las llamadas no pasan por ningún interceptor de trazas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    /** Servicios de la aplicación y repositorios de Spring Data */
+    private static final String TRACED_CALLS = "(within(com.grupo05.coworking_space.service..*)"
+            + " && @within(org.springframework.stereotype.Service)) || bean(*Repository)";
+
+    /**
+     * Crea el trazador con su búfer de spans.
+     *
+     * @param sampleRate Fracción de peticiones que se trazan
+     * @param bufferSize Número de spans que se conservan
+     * @return Trazador de la aplicación
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Tracer tracer(@Value("${tracing.sample-rate:0.01}") double sampleRate,
+            @Value("${tracing.buffer-size:4096}") int bufferSize) {
+        return new Tracer(new TraceBuffer(bufferSize), sampleRate);
+    }
+
+    /**
+     * Aplica el interceptor de trazas a los servicios y repositorios. Es estático y de
+     * infraestructura, como el trazador, porque los advisors se crean antes que el resto de beans.
+     *
+     * @param tracer Trazador de la aplicación
+     * @return Advisor de las llamadas trazadas
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tracingAdvisor(Tracer tracer) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(TRACED_CALLS);
+        return new DefaultPointcutAdvisor(pointcut, new TracingInterceptor(tracer));
+    }
+
+    /**
+     * Registra el filtro de trazas antes que el de Spring Security, para que el span de la
+     * petición incluya también la autenticación.
+     *
+     * @param tracer Trazador de la aplicación
+     * @return Registro del filtro de trazas
+     */
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Endpoint de Actuator para consultar los spans y cambiar la tasa de muestreo.
+     *
+     * @param tracer Trazador de la aplicación
+     * @return Endpoint de trazas
+     */
+    @Bean
+    public TraceEndpoint traceEndpoint(Tracer tracer) {
+        return new TraceEndpoint(tracer);
+    }
+}
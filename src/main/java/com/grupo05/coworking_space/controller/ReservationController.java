@@ -1,11 +1,21 @@
 package com.grupo05.coworking_space.controller;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import com.grupo05.coworking_space.dto.BatchReservationDTO;
+import com.grupo05.coworking_space.dto.BatchReservationResultDTO;
+import com.grupo05.coworking_space.dto.PageDTO;
 import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.dto.WaitlistEntryDTO;
 import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ExportFormat;
 import com.grupo05.coworking_space.exception.RequestException;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,10 +26,16 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.grupo05.coworking_space.annotations.SwaggerApiResponses;
 import com.grupo05.coworking_space.dto.ReservationDTO;
 import com.grupo05.coworking_space.enums.ApiSuccess;
+import com.grupo05.coworking_space.service.ReservationBatchService;
+import com.grupo05.coworking_space.service.ReservationBulkDeleteService;
+import com.grupo05.coworking_space.service.ReservationExportService;
+import com.grupo05.coworking_space.service.ReservationSeriesService;
 import com.grupo05.coworking_space.service.ReservationService;
+import com.grupo05.coworking_space.service.WaitlistService;
 import com.grupo05.coworking_space.utils.DataResponse;
 import com.grupo05.coworking_space.utils.ResponseHandler;
 import com.grupo05.coworking_space.utils.SwaggerExamples;
@@ -59,14 +75,28 @@ public class ReservationController {
 	 * @param reservationService servicio de reservas
 	 */
 	private final ReservationService reservationService;
+	private final ReservationExportService reservationExportService;
+	private final ReservationBatchService reservationBatchService;
+	private final ReservationSeriesService reservationSeriesService;
+	private final WaitlistService waitlistService;
+	private final ReservationBulkDeleteService reservationBulkDeleteService;
 
-	public ReservationController(ReservationService service) {
+	public ReservationController(ReservationService service, ReservationExportService exportService,
+			ReservationBatchService batchService, ReservationSeriesService seriesService,
+			WaitlistService waitlistService, ReservationBulkDeleteService bulkDeleteService) {
 		this.reservationService = service;
+		this.reservationExportService = exportService;
+		this.reservationBatchService = batchService;
+		this.reservationSeriesService = seriesService;
+		this.waitlistService = waitlistService;
+		this.reservationBulkDeleteService = bulkDeleteService;
 	}
 
 	/**
-     * Obtiene todas las reservas existentes, que pertenezcan al usuario logeado.
+     * Obtiene una página de las reservas que pertenezcan al usuario logeado.
      *
+     * @param pageable Página (page), tamaño (size) y orden (sort) solicitados, por defecto 20 reservas por ID
+     * @param cursor Cursor de la página siguiente; vacío para la primera página por cursor, sin indicar para paginar por número
      * @return ResponseEntity con la lista de reservas o mensaje de no contenido
      * @GetMapping Mapea solicitudes HTTP GET a este método
      */
@@ -79,10 +109,12 @@ public class ReservationController {
 			content = @Content)
 	})
 	@GetMapping
-	public ResponseEntity<DataResponse> findAllReservationsFiltered() {
-		List<ReservationDTO> allReserves = reservationService.findAllReservationsFiltered();
+	public ResponseEntity<DataResponse> findAllReservationsFiltered(
+			@ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+			@RequestParam(required = false) String cursor) {
+		PageDTO<ReservationDTO> allReserves = reservationService.findAllReservationsFiltered(pageable, cursor);
 
-		if (allReserves.isEmpty())
+		if (allReserves.getContent().isEmpty())
 			return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, allReserves);
 
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, allReserves);
@@ -111,7 +143,7 @@ public class ReservationController {
      *
      * @param requestReservationDTO DTO con la información de la reserva a crear
      * @return ResponseEntity con la reserva creada
-     * @throws RequestException si la fecha ya está ocupada
+     * @throws RequestException si alguna de las salas ya está reservada en esas fechas
      * @RequestBody Vincula el cuerpo de la solicitud HTTP al parámetro del método
      * @PostMapping Mapea solicitudes HTTP POST a este método
      */
@@ -123,15 +155,117 @@ public class ReservationController {
 			examples = { @ExampleObject(value = SwaggerExamples.DataResponseExamples.CREATED_EXAMPLE) }))
 	@PostMapping
 	public ResponseEntity<DataResponse> createReservation(@RequestBody RequestReservationDTO requestReservationDTO) {
-			List<ReservationDTO> dates = reservationService.findReservationsBetweenDates(requestReservationDTO.getReservationDTO().getDateInit(),
-			requestReservationDTO.getReservationDTO().getDateEnd());
-			if (!dates.isEmpty())
-				throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
-			
-			ReservationDTO createdReservation = reservationService.createReservation(requestReservationDTO);
+		ReservationDTO createdReservation = reservationService.createReservation(requestReservationDTO);
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_CREATED, createdReservation);
 	}
 
+	/**
+     * Crea varias reservas en una única petición y transacción.
+     *
+     * @param batchReservationDTO DTO con las reservas a crear
+     * @return ResponseEntity con el resultado de cada reserva: la reserva creada o el error por el que se rechazó
+     * @throws RequestException si el lote está vacío o supera el tamaño máximo
+     * @PostMapping Mapea solicitudes HTTP POST a este método
+     */
+	@Operation(summary = "Crear reservas en lote", description = "Crea varias reservas del usuario logeado en una única transacción. Cada reserva se valida igual que en la creación individual, y las que no son válidas se rechazan sin impedir que se creen las demás. El resultado indica, en el orden de la petición, la reserva creada o el error de cada una")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "200", description = "Lote procesado",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@PostMapping("/batch")
+	public ResponseEntity<DataResponse> createReservations(@Valid @RequestBody BatchReservationDTO batchReservationDTO) {
+		BatchReservationResultDTO result = reservationBatchService.createReservations(batchReservationDTO.getReservations());
+		return ResponseHandler.handleApiResponse(ApiSuccess.BATCH_PROCESSED, result);
+	}
+
+	/**
+     * Crea una serie de reservas que se repite según una regla RRULE.
+     *
+     * @param reservationSeriesDTO DTO con la primera ocurrencia, la regla y las salas de la serie
+     * @return ResponseEntity con la serie creada
+     * @throws RequestException si la regla no es válida o alguna ocurrencia se solapa con otra reserva
+     * @PostMapping Mapea solicitudes HTTP POST a este método
+     */
+	@Operation(summary = "Crear serie de reservas", description = "Crea una serie de reservas del usuario logeado que se repite según una regla RRULE (FREQ=DAILY|WEEKLY, INTERVAL, BYDAY, UNTIL y COUNT). Las ocurrencias no se guardan como reservas, pero aparecen en la búsqueda entre fechas y ocupan las salas igual que ellas")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "201", description = "Serie creada",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@PostMapping("/series")
+	public ResponseEntity<DataResponse> createSeries(@Valid @RequestBody ReservationSeriesDTO reservationSeriesDTO) {
+		ReservationSeriesDTO createdSeries = reservationSeriesService.createSeries(reservationSeriesDTO);
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_CREATED, createdSeries);
+	}
+
+	/**
+     * Busca una serie de reservas por su identificador.
+     *
+     * @param id ID de la serie a buscar
+     * @return ResponseEntity con la serie encontrada
+     * @GetMapping Mapea solicitudes HTTP GET a este método, con una variable en la ruta
+     */
+	@Operation(summary = "Obtener serie de reservas por id", description = "Devuelve una serie de reservas por su ID, con su regla y los días anulados")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "200", description = "Serie encontrada",
+	content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@GetMapping("/series/{id}")
+	public ResponseEntity<DataResponse> findSeriesById(@PathVariable("id") int id) {
+		ReservationSeriesDTO foundSeries = reservationSeriesService.findSeriesByID(id);
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, foundSeries);
+	}
+
+	/**
+     * Anula la ocurrencia de una serie en un día concreto.
+     *
+     * @param id ID de la serie
+     * @param date Día de la ocurrencia a anular
+     * @return ResponseEntity con la serie actualizada
+     * @PostMapping Mapea solicitudes HTTP POST a este método
+     */
+	@Operation(summary = "Anular una ocurrencia de una serie", description = "Anula la ocurrencia de una serie del usuario logeado en el día indicado, dejando libres sus salas ese día")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "200", description = "Ocurrencia anulada",
+	content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@PostMapping("/series/{id}/exceptions/{date}")
+	public ResponseEntity<DataResponse> addSeriesException(@PathVariable("id") int id,
+			@PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		ReservationSeriesDTO updatedSeries = reservationSeriesService.addException(id, date);
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_UPDATED, updatedSeries);
+	}
+
+	/**
+     * Apunta al usuario logeado a la lista de espera de unas salas y fechas.
+     *
+     * @param reservationDTO DTO con la reserva que se quiere hacer
+     * @return ResponseEntity con la petición creada, en espera o ya promocionada
+     * @throws RequestException si las salas no existen o no están disponibles
+     * @PostMapping Mapea solicitudes HTTP POST a este método
+     */
+	@Operation(summary = "Apuntarse a la lista de espera", description = "Apunta al usuario logeado a la lista de espera de unas salas y fechas ocupadas. Cuando se elimina, cancela o mueve una reserva que las ocupaba, la petición más antigua que cabe se convierte en reserva y se avisa al usuario por correo. Si las fechas ya están libres, la reserva se crea en el momento")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "201", description = "Petición creada",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@PostMapping("/waitlist")
+	public ResponseEntity<DataResponse> joinWaitlist(@Valid @RequestBody ReservationDTO reservationDTO) {
+		WaitlistEntryDTO entry = waitlistService.joinWaitlist(reservationDTO);
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_CREATED, entry);
+	}
+
+	/**
+     * Busca una petición de la lista de espera por su identificador.
+     *
+     * @param id ID de la petición a buscar
+     * @return ResponseEntity con la petición y su estado
+     * @GetMapping Mapea solicitudes HTTP GET a este método, con una variable en la ruta
+     */
+	@Operation(summary = "Obtener petición de la lista de espera por id", description = "Devuelve una petición de la lista de espera con su estado y, si se ha promocionado, el ID de su reserva")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "200", description = "Petición encontrada",
+	content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@GetMapping("/waitlist/{id}")
+	public ResponseEntity<DataResponse> findWaitlistEntryById(@PathVariable("id") int id) {
+		WaitlistEntryDTO foundEntry = waitlistService.findEntryByID(id);
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, foundEntry);
+	}
+
 	/**
      * Actualiza una reserva existente.
      *
@@ -146,26 +280,28 @@ public class ReservationController {
 	content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
 	@PutMapping()
 	public ResponseEntity<DataResponse> updateReservation(@Valid @RequestBody ReservationDTO reservation) {
-		List<ReservationDTO> dates = reservationService.findReservationsBetweenDates(reservation.getDateInit(),
-		reservation.getDateEnd());
-			if (!dates.isEmpty())
-				throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
 		ReservationDTO updatedReservation = reservationService.updateResevation(reservation);
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_UPDATED, updatedReservation);
 	}
 
 	/**
-     * Busca reservas entre un rango de fechas.
+     * Busca una página de reservas entre un rango de fechas.
+     * Para recorrer el rango completo se recomienda la paginación por cursor, ordenada por fecha de
+     * inicio e ID, cuyo coste no crece con el número de páginas ya leídas. Si el rango incluye
+     * ocurrencias de series, la paginación por número solo llega a la posición
+     * {@code reservation.search.max-page-offset}.
      *
      * @param dateInit Fecha de inicio 
      * @param dateEnd Fecha final 
-     * @return ResponseEntity con la lista de reservas encontradas
+     * @param pageable Página (page), tamaño (size) y orden (sort) solicitados, por defecto 20 reservas por fecha de inicio
+     * @param cursor Cursor de la página siguiente; vacío para la primera página por cursor, sin indicar para paginar por número
+     * @return ResponseEntity con la página de reservas encontradas
      * @throws IllegalArgumentException si la fecha inicial es posterior a la final
      * @RequestParam Vincula los parámetros de consulta de la URL a los parámetros del método
      * @GetMapping Mapea solicitudes HTTP GET a este método, en la ruta /filters
      * @DateTimeFormat Define el formato de la fecha recibida
      */
-	@Operation(summary = "Obtener reservas entre fechas", description = "Devuelve una lista con todas las reservas entre dos fechas, los valores deven ser mayores a la fecha actual y la fecha inicial no puede ser mayor a la fecha final")
+	@Operation(summary = "Obtener reservas entre fechas", description = "Devuelve una página de reservas entre dos fechas, los valores deven ser mayores a la fecha actual y la fecha inicial no puede ser mayor a la fecha final. Con el parámetro cursor (vacío para la primera página) se recorren por fecha de inicio usando el nextCursor de cada respuesta. Incluye las ocurrencias de las series en el rango, con id 0 y el seriesId de su serie")
 	@SwaggerApiResponses
 	@ApiResponse(responseCode = "200", description = "Lista de reservas entre fechas",
 	content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class), examples = {
@@ -176,25 +312,63 @@ public class ReservationController {
 	@GetMapping("/filters")
 	public ResponseEntity<DataResponse> findReservationsBetweenDates(
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDateTime dateInit,
-			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDateTime dateEnd) {
-		LocalDateTime defaultDateInit = LocalDateTime.now().minusYears(1);
-		LocalDateTime defaultDateEnd = LocalDateTime.now().plusYears(1);
-
-		LocalDateTime start = dateInit != null ? dateInit : defaultDateInit;
-		LocalDateTime end = dateEnd != null ? dateEnd : defaultDateEnd;
-
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDateTime dateEnd,
+			@ParameterObject @PageableDefault(size = 20, sort = {"dateInit", "id"}) Pageable pageable,
+			@RequestParam(required = false) String cursor) {
+		LocalDateTime start = rangeStart(dateInit);
+		LocalDateTime end = rangeEnd(dateEnd);
 		if (start.isAfter(end)) {
 			throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
 		}
 
-		List<ReservationDTO> allReserves = reservationService.findReservationsBetweenDates(start, end);
+		PageDTO<ReservationDTO> allReserves = reservationService.findReservationsBetweenDates(start, end, pageable, cursor);
 
-		if (allReserves.isEmpty())
+		if (allReserves.getContent().isEmpty())
 			return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, allReserves);
 
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, allReserves);
 	}
 
+	/**
+     * Exporta las reservas entre un rango de fechas como NDJSON (una reserva JSON por línea) o CSV.
+     * La respuesta se escribe a medida que se leen las reservas, sin cargarlas todas en memoria,
+     * por lo que sirve para exportar rangos con millones de reservas. Las ocurrencias de las
+     * series no se exportan.
+     *
+     * @param dateInit Fecha de inicio, por defecto hace un año
+     * @param dateEnd Fecha final, por defecto dentro de un año
+     * @param format Formato de salida: ndjson (por defecto) o csv
+     * @return ResponseEntity con el cuerpo de la exportación
+     * @GetMapping Mapea solicitudes HTTP GET a este método, en la ruta /export
+     */
+	@Operation(summary = "Exportar reservas entre fechas", description = "Exporta todas las reservas entre dos fechas en formato NDJSON o CSV, sin paginar y sin las ocurrencias de las series")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "200", description = "Reservas exportadas",
+	content = { @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") })
+	@GetMapping(value = "/export", produces = { "application/x-ndjson", "text/csv", MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<StreamingResponseBody> exportReservations(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateInit,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateEnd,
+			@RequestParam(defaultValue = "ndjson") String format) {
+		LocalDateTime start = rangeStart(dateInit);
+		LocalDateTime end = rangeEnd(dateEnd);
+		if (start.isAfter(end)) {
+			throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
+		}
+
+		ExportFormat exportFormat;
+		try {
+			exportFormat = ExportFormat.fromString(format);
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(ApiError.BAD_REQUEST, "Invalid Format", "Supported formats are ndjson and csv");
+		}
+
+		return ResponseEntity.ok()
+				.contentType(exportFormat.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations." + exportFormat.getExtension() + "\"")
+				.body(reservationExportService.exportReservations(start, end, exportFormat));
+	}
+
 	/**
      * Elimina una reserva por su ID.
      * 
@@ -211,6 +385,22 @@ public class ReservationController {
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_REMOVED, null);
 	}
 
+	/**
+     * Elimina una serie de reservas con todas sus ocurrencias.
+     *
+     * @param id ID de la serie a eliminar
+     * @return ResponseEntity con mensaje de éxito
+     * @DeleteMapping Mapea solicitudes HTTP DELETE a este método
+     */
+	@Operation(summary = "Eliminar serie de reservas", description = "Elimina una serie de reservas y todas sus ocurrencias, enpoint solo para administradores")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "204", description = "Serie eliminada", content = @Content)
+	@DeleteMapping("/series/{id}")
+	public ResponseEntity<DataResponse> deleteSeries(@PathVariable("id") int id) {
+		reservationSeriesService.deleteSeries(id);
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_REMOVED, null);
+	}
+
 	/**
 	 * Elimina todas las reservas existentes de un usuario
 	 * 
@@ -222,7 +412,21 @@ public class ReservationController {
 	@ApiResponse(responseCode = "204", description = "Reservas eliminadas", content = @Content)
 	@DeleteMapping("/user/{id}")
 	public ResponseEntity<DataResponse> deleteAllReservationsByUser(@PathVariable("id") int id) {
-		reservationService.deleteAllReservationsByUser(id);
+		reservationBulkDeleteService.deleteAllReservationsByUser(id);
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_REMOVED, null);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Fecha inicial de búsqueda: la indicada o, por defecto, hace un año.
+	 */
+	private static LocalDateTime rangeStart(LocalDateTime dateInit) {
+		return dateInit != null ? dateInit : LocalDateTime.now().minusYears(1);
+	}
+
+	/**
+	 * Fecha final de búsqueda: la indicada o, por defecto, dentro de un año.
+	 */
+	private static LocalDateTime rangeEnd(LocalDateTime dateEnd) {
+		return dateEnd != null ? dateEnd : LocalDateTime.now().plusYears(1);
+	}
+}
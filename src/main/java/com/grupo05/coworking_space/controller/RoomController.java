@@ -1,6 +1,8 @@
 package com.grupo05.coworking_space.controller;
 
 import com.grupo05.coworking_space.annotations.SwaggerApiResponses;
+import com.grupo05.coworking_space.dto.AvailabilityGridDTO;
+import com.grupo05.coworking_space.dto.PageDTO;
 import com.grupo05.coworking_space.dto.RoomDTO;
 import com.grupo05.coworking_space.enums.ApiSuccess;
 import com.grupo05.coworking_space.service.RoomService;
@@ -8,6 +10,10 @@ import com.grupo05.coworking_space.utils.DataResponse;
 import com.grupo05.coworking_space.utils.ResponseHandler;
 import com.grupo05.coworking_space.utils.SwaggerExamples;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -18,6 +24,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -26,6 +33,9 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Validated
@@ -45,11 +55,13 @@ public class RoomController {
 	}
 
 	/**
-	 * Recupera todas las salas registradas en el sistema.
+	 * Recupera una página de las salas registradas en el sistema.
 	 *
-	 * @return ResponseEntity con lista de salas en el cuerpo de la respuesta
+	 * @param pageable Página (page), tamaño (size) y orden (sort) solicitados, por defecto 20 salas por ID
+	 * @param cursor Cursor de la página siguiente; vacío para la primera página por cursor, sin indicar para paginar por número
+	 * @return ResponseEntity con la página de salas en el cuerpo de la respuesta
 	 */
-	@Operation(summary = "Obtener todas las salas", description = "Devuelve una lista con todas las salas")
+	@Operation(summary = "Obtener todas las salas", description = "Devuelve una página de salas. Con el parámetro cursor (vacío para la primera página) se recorren por ID usando el nextCursor de cada respuesta")
 	@SwaggerApiResponses
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Lista de salas",
@@ -57,15 +69,94 @@ public class RoomController {
 			@ApiResponse(responseCode = "204", description = "No hay ninguna sala", content = @Content)
 	})
 	@GetMapping
-	public ResponseEntity<DataResponse> findAllRooms() {
-		List<RoomDTO> allRooms = roomService.findAllRooms();
+	public ResponseEntity<DataResponse> findAllRooms(
+			@ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+			@RequestParam(required = false) String cursor) {
+		PageDTO<RoomDTO> allRooms = roomService.findAllRooms(pageable, cursor);
 
-		if (allRooms.isEmpty())
+		if (allRooms.getContent().isEmpty())
 			return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, allRooms);
 
 		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, allRooms);
 	}
 
+	/**
+	 * Devuelve la ocupación de todas las salas en un rango, por franjas, para dibujar un calendario.
+	 *
+	 * @param from Inicio del rango, por defecto el comienzo del día actual
+	 * @param to Fin del rango, por defecto una semana después del inicio
+	 * @param granularity Duración de cada franja (15m, 30m, 1h...), por defecto 15 minutos
+	 * @return ResponseEntity con la cuadrícula de ocupación
+	 */
+	@Operation(summary = "Ocupación de las salas", description = "Devuelve, para cada sala, una cadena con una posición por franja: 1 si está ocupada y 0 si está libre. El rango máximo es de 31 días")
+	@SwaggerApiResponses
+	@ApiResponse(responseCode = "200", description = "Cuadrícula de ocupación",
+	content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
+	@GetMapping("/availability")
+	public ResponseEntity<DataResponse> findAvailability(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(defaultValue = "15m") String granularity) {
+		LocalDateTime start = from != null ? from : LocalDate.now().atStartOfDay();
+		LocalDateTime end = to != null ? to : start.plusWeeks(1);
+		AvailabilityGridDTO grid = roomService.findAvailability(start, end, granularity);
+
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, grid);
+	}
+
+	/**
+	 * Busca las salas disponibles que están libres en todas las franjas indicadas.
+	 *
+	 * @param slots Franjas como inicio/fin en formato ISO; se puede repetir el parámetro
+	 * @return ResponseEntity con las salas libres
+	 */
+	@Operation(summary = "Salas libres", description = "Devuelve las salas disponibles que no tienen reservas en ninguna de las franjas indicadas, por ejemplo slot=2030-01-01T10:00/2030-01-01T11:00")
+	@SwaggerApiResponses
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Salas libres",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class))),
+			@ApiResponse(responseCode = "204", description = "Ninguna sala está libre en esas franjas", content = @Content)
+	})
+	@GetMapping("/availability/free")
+	public ResponseEntity<DataResponse> findFreeRooms(@RequestParam("slot") List<String> slots) {
+		List<RoomDTO> freeRooms = roomService.findFreeRooms(slots);
+
+		if (freeRooms.isEmpty())
+			return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, freeRooms);
+
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, freeRooms);
+	}
+
+	/**
+	 * Busca salas libres en un rango con una capacidad mínima, ordenadas por ajuste.
+	 *
+	 * @param dateInit Inicio del rango
+	 * @param dateEnd Fin del rango
+	 * @param capacity Capacidad mínima de la sala, por defecto 1
+	 * @param count Número máximo de salas a devolver, por defecto 5
+	 * @return ResponseEntity con las salas candidatas, de menor a mayor capacidad
+	 */
+	@Operation(summary = "Buscar sala libre", description = "Devuelve las salas disponibles sin reservas en el rango y con al menos la capacidad pedida, empezando por la más pequeña que cabe")
+	@SwaggerApiResponses
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Salas candidatas",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class))),
+			@ApiResponse(responseCode = "204", description = "Ninguna sala cumple los requisitos", content = @Content)
+	})
+	@GetMapping("/search")
+	public ResponseEntity<DataResponse> searchFreeRooms(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateInit,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateEnd,
+			@RequestParam(defaultValue = "1") int capacity,
+			@RequestParam(defaultValue = "5") int count) {
+		List<RoomDTO> rooms = roomService.searchFreeRooms(dateInit, dateEnd, capacity, count);
+
+		if (rooms.isEmpty())
+			return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, rooms);
+
+		return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, rooms);
+	}
+
 	/**
 	 * Busca una sala por su identificador único.
 	 *
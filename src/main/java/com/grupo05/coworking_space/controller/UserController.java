@@ -1,6 +1,7 @@
 package com.grupo05.coworking_space.controller;
 
 import com.grupo05.coworking_space.annotations.SwaggerApiResponses;
+import com.grupo05.coworking_space.dto.PageDTO;
 import com.grupo05.coworking_space.dto.ReservationDTO;
 import com.grupo05.coworking_space.dto.UserDTO;
 import com.grupo05.coworking_space.enums.ApiSuccess;
@@ -17,9 +18,10 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.ArrayList;
-import java.util.List;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -29,6 +31,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -121,11 +124,13 @@ public class UserController {
     }
 
     /**
-     * Obtiene las reservas asociadas a un usuario específico.
-     * Filtra todas las reservas del sistema para mostrar solo las asociadas al ID de usuario proporcionado.
+     * Obtiene una página de las reservas asociadas a un usuario específico.
+     * El filtrado por usuario y la paginación se hacen en la base de datos.
      * 
      * @param id ID del usuario cuyas reservas se quieren consultar
-     * @return ResponseEntity con la lista de reservas del usuario
+     * @param pageable Página (page), tamaño (size) y orden (sort) solicitados, por defecto 20 reservas por ID
+     * @param cursor Cursor de la página siguiente; vacío para la primera página por cursor, sin indicar para paginar por número
+     * @return ResponseEntity con la página de reservas del usuario
      * @PathVariable Vincula el parámetro de la URL al parámetro del método
      * @GetMapping Mapea solicitudes HTTP GET a este método
      */
@@ -134,41 +139,38 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "Recursos de el usuario, requiere haver obtenido un token al logearse previamente",
     content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
     @GetMapping("/resources/{id}")
-    public ResponseEntity<DataResponse>  findReservationsById(@PathVariable("id") int id) {
-        // Obtenemos todas las reservas
-        List<ReservationDTO> allResergvations = reservationService.findAllReservations(id);
+    public ResponseEntity<DataResponse>  findReservationsById(@PathVariable("id") int id,
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(required = false) String cursor) {
+        PageDTO<ReservationDTO> reservations = reservationService.findAllReservations(id, pageable, cursor);
 
-        // Creamos una nueva lista para almacenar las reservas del usuario
-        List<ReservationDTO> newAllReservation = new ArrayList<>();
-        
-        // Comprobamos si la reserva pertenece al usuario, si es asi la añadimos a la lista
-        for (ReservationDTO reservationDTO : allResergvations) 
-            if (reservationDTO.getUserFK() == id) 
-                newAllReservation.add(reservationDTO);
+        if(reservations.getContent().isEmpty())
+            return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, reservations);
 
-        if(newAllReservation.isEmpty())
-            return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, newAllReservation);
-
-        return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED , newAllReservation);
+        return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED , reservations);
     }
 
      /**
-     * Obtiene una lista de todos los usuarios registrados en el sistema.
+     * Obtiene una página de los usuarios registrados en el sistema.
      * Este endpoint está restringido a usuarios con rol de ADMIN.
      * 
-     * @return ResponseEntity con la lista de usuarios
+     * @param pageable Página (page), tamaño (size) y orden (sort) solicitados, por defecto 20 usuarios por ID
+     * @param cursor Cursor de la página siguiente; vacío para la primera página por cursor, sin indicar para paginar por número
+     * @return ResponseEntity con la página de usuarios
      * @GetMapping Mapea solicitudes HTTP GET a este método
      * @PreAuthorize Restringe el acceso solo a usuarios con rol ADMIN
      */
-    @Operation(summary = "Obtener todos los usuarios", description = "Devuelve una lista con todos los usuarios, endpoint reservado a administradores")
+    @Operation(summary = "Obtener todos los usuarios", description = "Devuelve una página de usuarios, endpoint reservado a administradores. Con el parámetro cursor (vacío para la primera página) se recorren por ID usando el nextCursor de cada respuesta")
     @SwaggerApiResponses
     @ApiResponse(responseCode = "200", description = "Recursos de todos los usuarios, solo para administradores", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataResponse.class)))
     @GetMapping("/list")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<DataResponse> getAllUsers() {
-        List<UserDTO> allUsers = userService.findAllUser();
+    public ResponseEntity<DataResponse> getAllUsers(
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(required = false) String cursor) {
+        PageDTO<UserDTO> allUsers = userService.findAllUser(pageable, cursor);
 
-        if (allUsers.isEmpty())
+        if (allUsers.getContent().isEmpty())
             return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_NO_CONTENT, allUsers);
 
         return ResponseHandler.handleApiResponse(ApiSuccess.RESOURCE_RETRIEVED, allUsers);
@@ -0,0 +1,36 @@
+package com.grupo05.coworking_space.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) con la cuadrícula de ocupación de todas las salas.
+ * La franja i de cada sala cubre [from + i * granularityMinutes, from + (i + 1) * granularityMinutes).
+ *
+ * @Schema Permite configurar la documentación de Swagger para este DTO.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Cuadrícula de ocupación de las salas")
+public class AvailabilityGridDTO implements Serializable {
+	@Schema(description = "Inicio de la primera franja", example = "2030-01-07T00:00:00")
+	private LocalDateTime from;
+
+	@Schema(description = "Fin de la última franja", example = "2030-01-14T00:00:00")
+	private LocalDateTime to;
+
+	@Schema(description = "Duración de cada franja en minutos", example = "15", type = "integer")
+	private long granularityMinutes;
+
+	@Schema(description = "Ocupación de cada sala, ordenadas por ID")
+	private List<RoomAvailabilityDTO> rooms;
+}
@@ -0,0 +1,25 @@
+package com.grupo05.coworking_space.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object para crear varias reservas en una única petición.
+ * Cada elemento tiene el mismo formato que el cuerpo de la creación de una reserva.
+ *
+ * @Schema Permite configurar la documentación de Swagger para este DTO
+ * @Getter y @Setter son anotaciones de Lombok para generar automáticamente los getters y setters
+ */
+@Getter
+@Setter
+@Schema(description = "Data Transfer Object para crear reservas en lote")
+public class BatchReservationDTO {
+
+    @Schema(description = "Reservas a crear, cada una con sus participantes", required = true)
+    @NotEmpty(message = "{field.empty}")
+    private List<RequestReservationDTO> reservations;
+}
@@ -0,0 +1,74 @@
+package com.grupo05.coworking_space.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) con el resultado de una creación de reservas en lote.
+ * Se devuelve un resultado por cada elemento de la petición, en el mismo orden: la reserva
+ * creada o el error por el que se rechazó, con el mismo formato que los errores de la API.
+ *
+ * @Schema Permite configurar la documentación de Swagger para este DTO.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Resultado de la creación de reservas en lote")
+public class BatchReservationResultDTO implements Serializable {
+	@Schema(description = "Número de reservas creadas", example = "98", type = "integer")
+	private int created;
+
+	@Schema(description = "Número de reservas rechazadas", example = "2", type = "integer")
+	private int rejected;
+
+	@Schema(description = "Resultado de cada reserva, en el orden de la petición")
+	private List<Item> results;
+
+	/**
+	 * Resultado de un elemento del lote.
+	 */
+	@Getter
+	@Setter
+	@AllArgsConstructor
+	@NoArgsConstructor
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	@Schema(description = "Resultado de una reserva del lote")
+	public static class Item implements Serializable {
+		@Schema(description = "Posición de la reserva en la petición, empezando en 0", example = "0", type = "integer")
+		private int index;
+
+		@Schema(description = "Código HTTP equivalente al resultado", example = "201", type = "integer")
+		private int code;
+
+		@Schema(description = "Reserva creada; solo si se ha creado")
+		private ReservationDTO reservation;
+
+		@Schema(description = "Mensaje del error; solo si se ha rechazado", type = "string")
+		private String message;
+
+		@Schema(description = "Descripción detallada del error; solo si se ha rechazado", type = "string")
+		private String description;
+
+		@Schema(description = "Razones adicionales del error", type = "map")
+		private Map<String, String> reasons;
+
+		public static Item created(int index, ReservationDTO reservation) {
+			return new Item(index, 201, reservation, null, null, null);
+		}
+
+		public static Item rejected(int index, int code, String message, String description,
+				Map<String, String> reasons) {
+			return new Item(index, code, null, message, description, reasons);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.grupo05.coworking_space.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) para devolver una página de resultados.
+ * <p>
+ * En la paginación por número de página se informa del total de elementos y de páginas.
+ * En la paginación por cursor (keyset) no se cuentan los elementos, para que el coste de cada
+ * página no dependa del tamaño de la tabla; en su lugar se devuelve el cursor de la página
+ * siguiente, o null si no hay más.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @Schema Permite configurar la documentación de Swagger para este DTO.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Página de resultados")
+public class PageDTO<T> implements Serializable {
+	@Schema(description = "Elementos de la página")
+	private List<T> content;
+
+	@Schema(description = "Número de página, empezando en 0; no se informa en la paginación por cursor", example = "0", type = "integer")
+	private Integer page;
+
+	@Schema(description = "Tamaño de página solicitado", example = "20", type = "integer")
+	private int size;
+
+	@Schema(description = "Número total de elementos; no se informa en la paginación por cursor", example = "125", type = "integer")
+	private Long totalElements;
+
+	@Schema(description = "Número total de páginas; no se informa en la paginación por cursor", example = "7", type = "integer")
+	private Integer totalPages;
+
+	@Schema(description = "Cursor para pedir la página siguiente (parámetro cursor), null si no hay más", type = "string")
+	private String nextCursor;
+
+	/**
+	 * Crea el DTO a partir de una página de Spring Data con otro contenido ya convertido.
+	 *
+	 * @param page Página de origen, usada para los datos de paginación
+	 * @param content Contenido de la página
+	 * @return DTO con el contenido y los datos de paginación
+	 */
+	public static <T> PageDTO<T> of(Page<?> page, List<T> content) {
+		return new PageDTO<>(content, page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), null);
+	}
+
+	/**
+	 * Crea el DTO convirtiendo cada elemento de una página de Spring Data.
+	 *
+	 * @param page Página de origen
+	 * @param mapper Conversión de cada elemento
+	 * @return DTO con el contenido convertido y los datos de paginación
+	 */
+	public static <S, T> PageDTO<T> of(Page<S> page, Function<S, T> mapper) {
+		return of(page, page.getContent().stream().map(mapper).toList());
+	}
+
+	/**
+	 * Crea el DTO de una página por cursor.
+	 *
+	 * @param content Contenido de la página
+	 * @param size Tamaño de página solicitado
+	 * @param nextCursor Cursor de la página siguiente, o null si no hay más
+	 * @return DTO con el contenido y el cursor siguiente
+	 */
+	public static <T> PageDTO<T> ofKeyset(List<T> content, int size, String nextCursor) {
+		return new PageDTO<>(content, null, size, null, null, nextCursor);
+	}
+}
@@ -0,0 +1,26 @@
+package com.grupo05.coworking_space.dto;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ocurrencia de una serie de reservas, calculada al consultar un rango de fechas.
+ * No es una fila de RESERVATION, por lo que su ID es 0 y se identifica por la serie y su fecha de inicio.
+ * @Getter es una anotación de Lombok para generar automáticamente los getters
+ */
+@Getter
+@Schema(description = "Ocurrencia de una serie de reservas")
+public class ReservationOccurrenceDTO extends ReservationDTO {
+    @Schema(description = "Identificador de la serie a la que pertenece la ocurrencia", type = "integer",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private final int seriesId;
+
+    public ReservationOccurrenceDTO(int seriesId, LocalDateTime dateInit, LocalDateTime dateEnd,
+            ReservationStatus reserveStatus, String description, int userFK, List<Integer> roomsFK) {
+        super(0, dateInit, dateEnd, reserveStatus, description, userFK, roomsFK);
+        this.seriesId = seriesId;
+    }
+}
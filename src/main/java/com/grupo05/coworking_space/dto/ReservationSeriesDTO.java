@@ -0,0 +1,69 @@
+package com.grupo05.coworking_space.dto;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object para series de reservas
+ * @Schema Permite configurar la documentación de Swagger para este DTO
+ * @Getter, @Setter, @NoArgsConstructor y @AllArgsConstructor son anotaciones de Lombok para generar automáticamente los getters, setters y constructores
+ * Para más infromacion sobre el dto, ver la documentacion de Swagger en: localhost:8080/api/swagger-ui.html
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Data Transfer Object para series de reservas")
+public class ReservationSeriesDTO implements Serializable {
+    @Schema(description = "Identificador único para series", type = "integer", required = false, hidden = true)
+    private int id;
+
+    @Schema(description = "Fecha y hora de inicio de la primera ocurrencia", example = "2025-02-24T09:00:00", format = "date-time", required = true)
+    @NotNull(message = "{field.null}")
+    @FutureOrPresent(message = "{reservation.date}")
+    private LocalDateTime dateInit;
+
+    @Schema(description = "Fecha y hora de fin de la primera ocurrencia", example = "2025-02-24T10:00:00", format = "date-time", required = true)
+    @NotNull(message = "{field.null}")
+    @FutureOrPresent(message = "{reservation.date}")
+    private LocalDateTime dateEnd;
+
+    @Schema(description = "Regla de repetición: FREQ=DAILY|WEEKLY con INTERVAL, BYDAY, UNTIL y COUNT opcionales",
+            example = "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;COUNT=40", type = "string", required = true)
+    @NotBlank(message = "{field.empty}")
+    private String rrule;
+
+    @Schema(description = "Estado de las ocurrencias de la serie del enum ReservationStatus", allowableValues = {
+            "PENDING", "CONFIRMED", "CANCELED", "COMPLETED",
+            "Pending", "Confirmed", "Canceled", "Completed" }, type = "string", required = true)
+    @NotNull(message = "{field.null}")
+    private ReservationStatus reserveStatus;
+
+    @Schema(description = "Descripcion de la serie", example = "Reunión diaria del equipo", type = "string", required = false)
+    @Size(max = 255, message = "{reservation.max.description}")
+    private String description;
+
+    @Schema(description = "Identificador único para usuarios FK", type = "integer", required = true)
+    @NotNull(message = "{field.null}")
+    private int userFK;
+
+    @Schema(description = "Identificador único para salas FK", type = "array", required = true)
+    @NotEmpty(message = "{field.empty}")
+    private List<Integer> roomsFK;
+
+    @Schema(description = "Días en los que se ha anulado la ocurrencia", type = "array", accessMode = Schema.AccessMode.READ_ONLY)
+    private List<LocalDate> exceptions;
+}
@@ -0,0 +1,37 @@
+package com.grupo05.coworking_space.dto;
+
+import java.io.Serializable;
+
+import com.grupo05.coworking_space.enums.RoomStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Objeto de Transferencia de Datos (DTO) con la ocupación de una sala en un rango de tiempo.
+ * La ocupación se devuelve como una cadena con un carácter por franja: '1' si la franja
+ * está ocupada, aunque sea en parte, y '0' si está libre.
+ *
+ * @Schema Permite configurar la documentación de Swagger para este DTO.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ocupación de una sala por franjas")
+public class RoomAvailabilityDTO implements Serializable {
+	@Schema(description = "Identificador de la sala", example = "1", type = "integer")
+	private int roomId;
+
+	@Schema(description = "Nombre de la sala", example = "Sala de reuniones", type = "string")
+	private String name;
+
+	@Schema(description = "Estado de la sala", example = "Available", type = "string")
+	private RoomStatus roomStatus;
+
+	@Schema(description = "Una posición por franja: 1 ocupada, 0 libre", example = "000011110000", type = "string")
+	private String busy;
+}
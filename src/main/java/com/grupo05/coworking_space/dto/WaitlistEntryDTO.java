@@ -0,0 +1,53 @@
+package com.grupo05.coworking_space.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object para las peticiones de la lista de espera
+ * @Schema Permite configurar la documentación de Swagger para este DTO
+ * @Getter y @AllArgsConstructor son anotaciones de Lombok para generar automáticamente los getters y el constructor con todos los argumentos
+ * Para más infromacion sobre el dto, ver la documentacion de Swagger en: localhost:8080/api/swagger-ui.html
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Data Transfer Object para peticiones de la lista de espera")
+public class WaitlistEntryDTO implements Serializable {
+    @Schema(description = "Identificador único de la petición", type = "integer")
+    private final int id;
+
+    @Schema(description = "Fecha y hora de inicio pedida", format = "date-time")
+    private final LocalDateTime dateInit;
+
+    @Schema(description = "Fecha y hora de fin pedida", format = "date-time")
+    private final LocalDateTime dateEnd;
+
+    @Schema(description = "Estado con el que se creará la reserva", type = "string")
+    private final ReservationStatus reserveStatus;
+
+    @Schema(description = "Descripcion de la reserva pedida", type = "string")
+    private final String description;
+
+    @Schema(description = "Identificador único para usuarios FK", type = "integer")
+    private final int userFK;
+
+    @Schema(description = "Identificador único para salas FK", type = "array")
+    private final List<Integer> roomsFK;
+
+    @Schema(description = "Estado de la petición", allowableValues = { "WAITING", "PROMOTED", "EXPIRED" }, type = "string")
+    private final WaitlistStatus status;
+
+    @Schema(description = "Identificador de la reserva creada al promocionar la petición", type = "integer")
+    private final Integer reservationId;
+
+    @Schema(description = "Fecha y hora en la que se apuntó a la lista de espera", format = "date-time")
+    private final LocalDateTime createdAt;
+}
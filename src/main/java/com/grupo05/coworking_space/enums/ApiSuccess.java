@@ -15,6 +15,7 @@ public enum ApiSuccess {
 	RESOURCE_RETRIEVED("Resource Retrieved", HttpStatus.OK),
 	RESOURCE_CREATED("Resource Created", HttpStatus.CREATED),
 	RESOURCE_UPDATED("Resource Updated", HttpStatus.OK),
+	BATCH_PROCESSED("Batch Processed", HttpStatus.OK),
 	RESOURCE_REMOVED("Resource Removed", HttpStatus.NO_CONTENT),
 	RESOURCE_NO_CONTENT("Resource No Content", HttpStatus.NO_CONTENT),
 	RESOURCE_REGISTERED("Correctly registered user", HttpStatus.OK),
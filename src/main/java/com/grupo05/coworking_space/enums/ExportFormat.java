@@ -0,0 +1,52 @@
+package com.grupo05.coworking_space.enums;
+
+import com.grupo05.coworking_space.utils.EnumLookup;
+import org.springframework.http.MediaType;
+
+/**
+ * Enumeración que define los formatos disponibles para exportar reservas.
+ */
+public enum ExportFormat {
+	/** Un objeto JSON por línea (newline-delimited JSON) */
+	NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+	/** Valores separados por comas con una fila de cabecera */
+	CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+	private static final EnumLookup<ExportFormat> LOOKUP = EnumLookup.of(ExportFormat.class, ExportFormat::getExtension);
+
+	private final String extension;
+	private final MediaType mediaType;
+
+	/**
+	 * Constructor para los valores de la enumeración.
+	 *
+	 * @param extension Extensión del fichero exportado, usada también como nombre del formato
+	 * @param mediaType Tipo de contenido de la respuesta
+	 */
+	ExportFormat(String extension, MediaType mediaType) {
+		this.extension = extension;
+		this.mediaType = mediaType;
+	}
+
+	/**
+	 * Convierte el nombre de un formato (ndjson, csv) en un valor de la enumeración.
+	 *
+	 * @param value Nombre del formato, sin distinguir mayúsculas
+	 * @return El formato correspondiente
+	 * @throws IllegalArgumentException Si el nombre no corresponde a ningún formato
+	 */
+	public static ExportFormat fromString(String value) {
+		ExportFormat format = LOOKUP.find(value);
+		if (format == null)
+			throw new IllegalArgumentException("Invalid format: " + value);
+		return format;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+}
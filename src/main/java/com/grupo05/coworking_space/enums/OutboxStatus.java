@@ -0,0 +1,15 @@
+package com.grupo05.coworking_space.enums;
+
+/**
+ * Enumeración que define los estados de una notificación de la tabla outbox.
+ */
+public enum OutboxStatus {
+	/** Notificación guardada y pendiente de enviarse */
+	PENDING,
+	/** Notificación entregada al servicio de correo y a la espera del resultado */
+	IN_PROGRESS,
+	/** Notificación aceptada por el servidor SMTP */
+	SENT,
+	/** Notificación que no se ha podido entregar tras agotar los reintentos */
+	FAILED
+}
@@ -2,6 +2,7 @@ package com.grupo05.coworking_space.enums;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.grupo05.coworking_space.utils.EnumLookup;
 
 /**
  * Enumeración que define los posibles estados de una reserva.
@@ -17,7 +18,10 @@ public enum ReservationStatus {
      CANCELED("Canceled"),
      /** Estado que indica que la reserva se ha completado correctamente */
      COMPLETED("Completed");
-    
+
+    /** Búsqueda precalculada por el texto del estado */
+    private static final EnumLookup<ReservationStatus> LOOKUP = EnumLookup.of(ReservationStatus.class);
+
     private String state;
 
     /**
@@ -31,7 +35,8 @@ public enum ReservationStatus {
     /**
      * Convierte una cadena de texto en un valor de la enumeración ReservationStatus.
      * Este método se utiliza durante la deserialización JSON para convertir
-     * un valor de texto en el tipo enumerado correspondiente.
+     * un valor de texto en el tipo enumerado correspondiente. No distingue mayúsculas de
+     * minúsculas y no crea objetos salvo la excepción.
      * 
      * @param value Texto que representa el estado de reserva
      * @return El valor de enumeración correspondiente al texto proporcionado
@@ -40,11 +45,10 @@ public enum ReservationStatus {
      */
     @JsonCreator
     public static ReservationStatus fromString(String value) {
-        for (ReservationStatus status : ReservationStatus.values()) {
-            if (status.getState().equalsIgnoreCase(value))
-                return status;
-        }
-        throw new IllegalArgumentException("Invalid status: " + value);
+        ReservationStatus status = LOOKUP.find(value);
+        if (status == null)
+            throw new IllegalArgumentException("Invalid status: " + value);
+        return status;
     }
 
     /**
@@ -2,6 +2,7 @@ package com.grupo05.coworking_space.enums;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.grupo05.coworking_space.utils.EnumLookup;
 
 /**
  * Enumeración que define los posibles estados de una sala de coworking.
@@ -19,6 +20,9 @@ public enum RoomStatus {
 	 NOT_AVAILABLE("Not Available");
 
 
+	/** Búsqueda precalculada por el texto del estado, compartida con {@code EnumValidator} */
+	private static final EnumLookup<RoomStatus> LOOKUP = EnumLookup.of(RoomStatus.class);
+
 	private String state;
 
 	/**
@@ -34,7 +38,8 @@ public enum RoomStatus {
      * Convierte una cadena de texto en un valor de la enumeración RoomStatus.
      * <p>
      * Este método se utiliza durante la deserialización JSON para convertir
-     * un valor de texto en el tipo enumerado correspondiente.
+     * un valor de texto en el tipo enumerado correspondiente. No distingue mayúsculas de
+     * minúsculas y no crea objetos salvo la excepción.
      * 
      * @param value Texto que representa el estado de la sala
      * @return El valor de enumeración correspondiente al texto proporcionado
@@ -43,11 +48,10 @@ public enum RoomStatus {
      */
 	@JsonCreator
 	public static RoomStatus fromString(String value) {
-		for (RoomStatus status : RoomStatus.values()) {
-			if (status.getState().equalsIgnoreCase(value))
-				return status;
-		}
-		throw new IllegalArgumentException("Invalid status: " + value);
+		RoomStatus status = LOOKUP.find(value);
+		if (status == null)
+			throw new IllegalArgumentException("Invalid status: " + value);
+		return status;
 	}
 
 	/**
@@ -63,4 +67,15 @@ public enum RoomStatus {
 	public String getState() {
 		return state;
 	}
+
+	/**
+	 * Indica si la sala admite nuevas reservas. Una sala ocupada solo lo está mientras dura la
+	 * reserva en curso, así que se puede reservar para otras fechas; los solapamientos se
+	 * comprueban aparte.
+	 *
+	 * @return true si la sala está disponible u ocupada
+	 */
+	public boolean isBookable() {
+		return this == AVAILABLE || this == BUSY;
+	}
 }
@@ -0,0 +1,13 @@
+package com.grupo05.coworking_space.enums;
+
+/**
+ * Enumeración que define los estados de una petición de la lista de espera.
+ */
+public enum WaitlistStatus {
+	/** Petición a la espera de que se liberen sus salas en el rango pedido */
+	WAITING,
+	/** Petición convertida en reserva al liberarse el rango */
+	PROMOTED,
+	/** Petición descartada porque su fecha de inicio pasó sin que se liberara el rango */
+	EXPIRED
+}
@@ -1,32 +1,94 @@
 package com.grupo05.coworking_space.filter;
 
-import com.grupo05.coworking_space.service.UserDetailsServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.grupo05.coworking_space.utils.JwtUtil;
+import com.grupo05.coworking_space.utils.TokenClaims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 
+/**
+ * Filtro que autentica las peticiones a partir del token JWT de la cabecera Authorization.
+ * <p>
+ * En modo sin estado (por defecto) el usuario y su rol se obtienen directamente de los claims
+ * del token, que se verifica una única vez, sin consultar la base de datos. Los tokens ya
+ * verificados se guardan en una caché acotada cuyas entradas caducan a los pocos minutos o
+ * cuando caduca el propio token, lo que ocurra antes.
+ * <p>
+ * En modo con estado se mantiene el comportamiento clásico: se carga el usuario desde la base
+ * de datos en cada petición, de forma que los cambios de rol o borrados se aplican al instante.
+ * <p>
+ * Cada token recibido se cuenta en {@code coworking.jwt.validations} según el resultado: válido,
+ * servido desde la caché, inválido (firma incorrecta, mal formado o caducado) o rechazado (claims
+ * incompletos o usuario que ya no coincide).
+ */
+@Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtUtil jwtUtil;
+    private static final String BEARER_PREFIX = "Bearer ";
 
-    @Autowired
-    private UserDetailsServiceImpl userDetailsServiceImpl;
+    /** Nombre del contador de validaciones de tokens */
+    public static final String VALIDATIONS = "coworking.jwt.validations";
 
-    public JwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final boolean stateless;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Counter validTokens;
+    private final Counter cachedTokens;
+    private final Counter invalidTokens;
+    private final Counter rejectedTokens;
+
+    /**
+     * Crea el filtro JWT.
+     *
+     * @param jwtUtil Utilidad para verificar y leer los tokens
+     * @param userDetailsService Servicio de usuarios, usado solo en modo con estado
+     * @param stateless true para autenticar únicamente con los claims del token
+     * @param cacheMaximumSize Número máximo de tokens verificados en caché
+     * @param cacheTtl Tiempo máximo que un token verificado permanece en caché
+     * @param meterRegistry Registro donde se cuentan los resultados de validación
+     */
+    public JwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, boolean stateless,
+            long cacheMaximumSize, Duration cacheTtl, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsServiceImpl = (UserDetailsServiceImpl) userDetailsService;
+        this.userDetailsService = userDetailsService;
+        this.stateless = stateless;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry(cacheTtl.toNanos()))
+                .build();
+        this.validTokens = validations(meterRegistry, "valid");
+        this.cachedTokens = validations(meterRegistry, "cached");
+        this.invalidTokens = validations(meterRegistry, "invalid");
+        this.rejectedTokens = validations(meterRegistry, "rejected");
+    }
+
+    private static Counter validations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(VALIDATIONS)
+                .description("Tokens JWT recibidos según el resultado de su validación")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -34,18 +96,12 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
+            UserDetails userDetails = stateless ? authenticateStateless(jwt) : authenticateWithUserStore(jwt);
 
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsServiceImpl.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 usernamePasswordAuthenticationToken
@@ -55,4 +111,98 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Obtiene el usuario a partir de los claims del token, usando la caché de tokens verificados.
+     *
+     * @param jwt Token recibido
+     * @return Usuario autenticado, o null si el token no es válido o ha caducado
+     */
+    private UserDetails authenticateStateless(String jwt) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(jwt);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            cachedTokens.increment();
+            return cached.userDetails();
+        }
+
+        TokenClaims claims = parse(jwt);
+        if (claims == null)
+            return null;
+        if (claims.subject() == null || claims.expiration() == null) {
+            rejectedTokens.increment();
+            return null;
+        }
+
+        String role = claims.role();
+        List<SimpleGrantedAuthority> authorities = role == null ? List.of() : List.of(new SimpleGrantedAuthority(role));
+        UserDetails userDetails = new User(claims.subject(), "", authorities);
+
+        verifiedTokens.put(jwt, new VerifiedToken(userDetails, claims.expiration().getTime()));
+        validTokens.increment();
+        return userDetails;
+    }
+
+    /**
+     * Obtiene el usuario desde la base de datos y comprueba que coincide con el token.
+     *
+     * @param jwt Token recibido
+     * @return Usuario autenticado, o null si el token no es válido o el usuario no existe
+     */
+    private UserDetails authenticateWithUserStore(String jwt) {
+        TokenClaims claims = parse(jwt);
+        if (claims == null)
+            return null;
+        try {
+            if (claims.subject() != null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(claims.subject());
+                if (jwtUtil.validateToken(claims, userDetails)) {
+                    validTokens.increment();
+                    return userDetails;
+                }
+            }
+        } catch (UsernameNotFoundException e) {
+            log.debug("Usuario del token no encontrado: {}", claims.subject());
+        }
+        rejectedTokens.increment();
+        return null;
+    }
+
+    /**
+     * Verifica la firma y la caducidad del token y devuelve sus claims.
+     *
+     * @param jwt Token recibido
+     * @return Claims del token, o null si no es válido
+     */
+    private TokenClaims parse(String jwt) {
+        try {
+            return jwtUtil.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTokens.increment();
+            log.debug("Token JWT rechazado: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Usuario obtenido de un token ya verificado y el instante en que caduca el token */
+    private record VerifiedToken(UserDetails userDetails, long expiresAtMillis) {
+    }
+
+    /** Caducidad de cada entrada: el menor entre el TTL configurado y lo que le queda al token */
+    private record TokenExpiry(long ttlNanos) implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingNanos = Duration.ofMillis(value.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.grupo05.coworking_space.filter;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.grupo05.coworking_space.tracing.Tracer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que decide qué peticiones se trazan y abre su traza.
+ * Las peticiones no muestreadas pasan sin más; en las muestreadas, las llamadas a servicios y
+ * repositorios se guardan como spans de la traza y la propia petición como span raíz.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    /**
+     * Crea el filtro de trazas.
+     *
+     * @param tracer Trazador que decide el muestreo y guarda los spans
+     */
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!tracer.shouldSample()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Tracer.ActiveTrace trace = tracer.start();
+        boolean error = true;
+        try {
+            filterChain.doFilter(request, response);
+            error = response.getStatus() >= 500;
+        } finally {
+            tracer.finish(trace, request.getMethod(), request.getRequestURI(), error);
+        }
+    }
+}
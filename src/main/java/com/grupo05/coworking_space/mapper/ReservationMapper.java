@@ -1,12 +1,18 @@
 package com.grupo05.coworking_space.mapper;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 import org.springframework.stereotype.Component;
 
 import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationOccurrenceDTO;
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.dto.WaitlistEntryDTO;
 import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.ReservationSeries;
 import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.model.WaitlistEntry;
 
 /**
  * Clase encargada de convertir entre entidades de Reservation y sus correspondientes DTOs.
@@ -68,4 +74,101 @@ public class ReservationMapper {
 
         return reservation;
     }
+
+    /**
+     * Convierte una serie de reservas a su correspondiente objeto DTO.
+     *
+     * @param reservationSeries Serie a convertir, con sus salas y días anulados
+     * @return Objeto DTO con los datos de la serie
+     */
+    public ReservationSeriesDTO convertToDTO(ReservationSeries reservationSeries) {
+        return new ReservationSeriesDTO(
+                reservationSeries.getId(),
+                reservationSeries.getDateInit(),
+                reservationSeries.getDateEnd(),
+                reservationSeries.getRrule(),
+                reservationSeries.getReserveStatus(),
+                reservationSeries.getDescription(),
+                reservationSeries.getUserFK(),
+                reservationSeries.getRoomsFK(),
+                reservationSeries.getExceptions().stream().sorted().toList());
+    }
+
+    /**
+     * Convierte un objeto DTO a una nueva serie de reservas, sin salas ni días anulados.
+     * La regla se copia tal cual; quien guarda la serie la normaliza.
+     *
+     * @param reservationSeriesDTO DTO de la serie a convertir
+     * @return Entidad ReservationSeries con los datos del DTO
+     */
+    public ReservationSeries convertToEntity(ReservationSeriesDTO reservationSeriesDTO) {
+        User user = userMapper.getForeignKey(reservationSeriesDTO.getUserFK());
+
+        ReservationSeries reservationSeries = new ReservationSeries();
+        reservationSeries.setDateInit(reservationSeriesDTO.getDateInit());
+        reservationSeries.setDateEnd(reservationSeriesDTO.getDateEnd());
+        reservationSeries.setRrule(reservationSeriesDTO.getRrule());
+        reservationSeries.setReserveStatus(reservationSeriesDTO.getReserveStatus());
+        reservationSeries.setDescription(reservationSeriesDTO.getDescription());
+        reservationSeries.setUser(user);
+
+        return reservationSeries;
+    }
+
+    /**
+     * Crea el DTO de una ocurrencia de una serie.
+     *
+     * @param reservationSeries Serie a la que pertenece la ocurrencia
+     * @param dateInit Inicio de la ocurrencia
+     * @param dateEnd Fin de la ocurrencia
+     * @return Objeto DTO con los datos de la serie en las fechas de la ocurrencia
+     */
+    public ReservationOccurrenceDTO convertToOccurrenceDTO(ReservationSeries reservationSeries,
+            LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return new ReservationOccurrenceDTO(
+                reservationSeries.getId(),
+                dateInit,
+                dateEnd,
+                reservationSeries.getReserveStatus(),
+                reservationSeries.getDescription(),
+                reservationSeries.getUserFK(),
+                reservationSeries.getRoomsFK());
+    }
+
+    /**
+     * Convierte una petición de la lista de espera a su correspondiente objeto DTO.
+     *
+     * @param entry Petición a convertir, con sus salas
+     * @return Objeto DTO con los datos de la petición
+     */
+    public WaitlistEntryDTO convertToDTO(WaitlistEntry entry) {
+        return new WaitlistEntryDTO(
+                entry.getId(),
+                entry.getDateInit(),
+                entry.getDateEnd(),
+                entry.getReserveStatus(),
+                entry.getDescription(),
+                entry.getUserFK(),
+                entry.getRoomsFK(),
+                entry.getStatus(),
+                entry.getReservationId(),
+                entry.getCreatedAt());
+    }
+
+    /**
+     * Crea la reserva de una petición de la lista de espera, con sus fechas, salas y usuario.
+     *
+     * @param entry Petición que se promociona, con sus salas
+     * @return Entidad Reservation nueva, sin guardar
+     */
+    public Reservation convertToReservation(WaitlistEntry entry) {
+        Reservation reservation = new Reservation();
+        reservation.setDateInit(entry.getDateInit());
+        reservation.setDateEnd(entry.getDateEnd());
+        reservation.setReserveStatus(entry.getReserveStatus());
+        reservation.setDescription(entry.getDescription());
+        reservation.setUser(entry.getUser());
+        reservation.setRooms(new ArrayList<>(entry.getRooms()));
+        return reservation;
+    }
 }
@@ -1,15 +1,17 @@
 package com.grupo05.coworking_space.mapper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import java.util.Optional;
 import org.springframework.stereotype.Component;
 
 import com.grupo05.coworking_space.dto.RoomDTO;
 import com.grupo05.coworking_space.enums.ApiError;
 import com.grupo05.coworking_space.exception.RequestException;
-import com.grupo05.coworking_space.model.Reservation;
 import com.grupo05.coworking_space.model.Room;
 import com.grupo05.coworking_space.repository.RoomRepository;
 
@@ -34,20 +36,39 @@ public class RoomMapper {
 		return room;
 	}
 
-	public List<Room> getForeignKeys(List<Integer> listRooms, Reservation reservation) {
-		List<Room> rooms = new ArrayList<>();
-		for (Integer i : listRooms) {
-			Optional<Room> roomOptional = roomRepository.findById(i);
-			if (roomOptional.isPresent()) {
-				Room room = roomOptional.get();
-				List<Reservation> reservations = room.getReservations();
-				reservations.add(reservation);
-				room.setReservations(reservations);
+	/**
+	 * Obtiene las salas correspondientes a una lista de claves foráneas. Las salas se leen de la
+	 * caché de segundo nivel y solo las que no están en ella se consultan, con una única consulta.
+	 * Las salas se devuelven en el mismo orden en que se solicitaron, sin duplicados, y sin
+	 * inicializar su colección de reservas.
+	 *
+	 * @param listRooms IDs de las salas a buscar
+	 * @return Lista de salas encontradas
+	 * @throws RequestException Si alguno de los IDs no existe, indicando todos los que faltan
+	 */
+	public List<Room> getForeignKeys(List<Integer> listRooms) {
+		Set<Integer> ids = new LinkedHashSet<>(listRooms);
+		Map<Integer, Room> roomsById = new HashMap<>();
+		for (Room room : roomRepository.loadAllById(ids))
+			roomsById.put(room.getId(), room);
+
+		List<Room> rooms = new ArrayList<>(ids.size());
+		List<Integer> missing = new ArrayList<>();
+		for (Integer id : ids) {
+			Room room = roomsById.get(id);
+			if (room == null)
+				missing.add(id);
+			else
 				rooms.add(room);
-			} else {
-				throw new RequestException(ApiError.BAD_REQUEST);
-			}
 		}
+
+		if (!missing.isEmpty())
+			throw new RequestException(
+				ApiError.BAD_REQUEST.getTitle(),
+				ApiError.BAD_REQUEST.getDetail(),
+				ApiError.BAD_REQUEST.getStatus(),
+				Map.of("roomsFK", "Rooms not found: " + missing));
+
 		return rooms;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.grupo05.coworking_space.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa un correo que no se pudo entregar tras agotar todos los reintentos.
+ * Se guarda para poder revisarlo o reenviarlo más adelante sin perder la notificación.
+ *
+ * @Entity es una anotación de JPA que indica que la clase es una entidad.
+ * @Table es una anotación de JPA que indica la tabla de base de datos a la que se asigna la entidad.
+ * @Data es una anotación de Lombok que genera automáticamente los métodos equals, hashCode, toString y otros.
+ */
+@Entity(name = "EMAIL_DEAD_LETTER")
+@Table(name = "EMAIL_DEAD_LETTER", schema = "coworking_space")
+@Data
+public class EmailDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "dead_letter_id", unique = true)
+    private long id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false, length = 4000)
+    private String body;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,74 @@
+package com.grupo05.coworking_space.model;
+
+import com.grupo05.coworking_space.enums.OutboxStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clase que representa una notificación por correo pendiente de enviar (patrón outbox).
+ * Las notificaciones se guardan en la misma transacción que la operación que las genera,
+ * de forma que solo se envían si esa operación se confirma, y las envía en segundo plano
+ * {@link com.grupo05.coworking_space.service.NotificationOutboxRelay}.
+ *
+ * @Entity es una anotación de JPA que indica que la clase es una entidad.
+ * @Table es una anotación de JPA que indica la tabla de base de datos a la que se asigna la entidad.
+ * @Data es una anotación de Lombok que genera automáticamente los métodos equals, hashCode, toString y otros.
+ */
+@Entity(name = "NOTIFICATION_OUTBOX")
+@Table(name = "NOTIFICATION_OUTBOX", schema = "coworking_space",
+        indexes = {
+            @Index(name = "idx_outbox_status_id", columnList = "status, outbox_id"),
+            @Index(name = "idx_outbox_claim_token", columnList = "claim_token")
+        })
+@Data
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id", unique = true)
+    private long id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false, length = 4000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    /** Número de veces que el relay ha tomado la notificación para enviarla */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** Identificador del lote del relay que tiene tomada la notificación */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    /** Instante a partir del cual otro lote puede volver a tomar la notificación */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -5,21 +5,26 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
-import com.grupo05.coworking_space.enums.RoomStatus;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,14 +40,31 @@ import com.grupo05.coworking_space.enums.ReservationStatus;
  * 
  * @Entity es una anotación de JPA que indica que la clase es una entidad.
  * @Table es una anotación de JPA que indica la tabla de base de datos a la que se asigna la entidad.
+ * @NamedEntityGraph define el plan de carga "Reservation.rooms", que trae las salas en la misma
+ * consulta que la reserva; lo usan las lecturas de ReservationRepository que convierten a DTO.
  * @Data es una anotación de Lombok que genera automáticamente los métodos equals, hashCode, toString y otros.
  */
 @Entity(name = "RESERVATION")
-@Table(name = "RESERVATION", schema = "coworking_space")
+@NamedEntityGraph(name = Reservation.WITH_ROOMS, attributeNodes = @NamedAttributeNode("rooms"))
+@Table(name = "RESERVATION", schema = "coworking_space",
+        indexes = {
+            @Index(name = "idx_reservation_user", columnList = "user_id"),
+            @Index(name = "idx_reservation_start", columnList = "start_date, reservation_id"),
+            @Index(name = "idx_reservation_status_end", columnList = "reservation_status, end_date")
+        })
 @Data
 public class Reservation {
+    /** Nombre del plan de carga que incluye las salas de la reserva */
+    public static final String WITH_ROOMS = "Reservation.rooms";
+
+    /**
+     * Identificador generado con una secuencia que reserva 50 valores en cada consulta, de forma
+     * que Hibernate conoce el ID antes de insertar y puede agrupar las inserciones en lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", schema = "coworking_space",
+            allocationSize = 50)
     @Column(name = "reservation_id", unique = true)
     private int id;
 
@@ -65,16 +87,25 @@ public class Reservation {
     @Column(name = "description", nullable = true)
     private String description;
 
+    /**
+     * Versión para el bloqueo optimista: una actualización hecha sobre una versión anterior
+     * de la reserva falla en lugar de sobrescribir los cambios de otra petición.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     /**
      * @MayToOne es una anotación de JPA que indica que la relación entre las entidades
      * es de uno a uno. En este caso, una reserva solo puede tener un usuario asociado.
+     * Se carga de forma perezosa: para el DTO solo hace falta su ID, que ya está en la reserva.
      * @JoinColumn es una anotación de JPA que indica la columna de la tabla de la base de
      * datos que se utilizará para la relación.
      * @param user es el usuario que realizó la reserva.
      * @Valid es una anotación de Bean Validation que indica que la validación debe aplicarse a la propiedad.
      */
     @Valid
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
     private User user;
 
@@ -91,7 +122,8 @@ public class Reservation {
     @JoinTable(
         name = "reservation_room",
         joinColumns = @JoinColumn(name = "reservation_id"),
-        inverseJoinColumns = @JoinColumn(name = "room_id")
+        inverseJoinColumns = @JoinColumn(name = "room_id"),
+        indexes = @Index(name = "idx_reservation_room_reservation", columnList = "reservation_id")
     )
     private List<Room> rooms;
 
@@ -119,7 +151,6 @@ public class Reservation {
     private void preRemove() {
         // Eliminar this de la lista de reservas de cada sala
         for (Room room : new ArrayList<>(rooms)) {
-            room.setRoomStatus(RoomStatus.AVAILABLE);
             room.getReservations().remove(this);
         }
         // Limpiar la lista de salas
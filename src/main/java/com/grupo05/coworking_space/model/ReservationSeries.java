@@ -0,0 +1,149 @@
+package com.grupo05.coworking_space.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.utils.RecurrenceRule;
+import com.grupo05.coworking_space.utils.SeriesSchedule;
+
+/**
+ * Serie de reservas que se repiten según una regla (por ejemplo, todos los días laborables).
+ * Solo se guarda la primera ocurrencia, la regla y los días anulados: las ocurrencias no son
+ * filas de RESERVATION, sino que se calculan al consultar un rango (ver {@link SeriesSchedule}).
+ *
+ * @Entity es una anotación de JPA que indica que la clase es una entidad.
+ * @Table es una anotación de JPA que indica la tabla de base de datos a la que se asigna la entidad.
+ * @NamedEntityGraph define el plan de carga "ReservationSeries.rooms", que trae las salas y los
+ * días anulados en la misma consulta que la serie.
+ * @Data es una anotación de Lombok que genera automáticamente los métodos equals, hashCode, toString y otros.
+ */
+@Entity(name = "RESERVATION_SERIES")
+@NamedEntityGraph(name = ReservationSeries.WITH_ROOMS, attributeNodes = {
+        @NamedAttributeNode("rooms"), @NamedAttributeNode("exceptions") })
+@Table(name = "RESERVATION_SERIES", schema = "coworking_space")
+@Data
+public class ReservationSeries {
+    /** Nombre del plan de carga que incluye las salas y los días anulados de la serie */
+    public static final String WITH_ROOMS = "ReservationSeries.rooms";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_series_seq")
+    @SequenceGenerator(name = "reservation_series_seq", sequenceName = "reservation_series_seq",
+            schema = "coworking_space", allocationSize = 50)
+    @Column(name = "series_id", unique = true)
+    private int id;
+
+    /** Inicio de la primera ocurrencia; la hora es la misma en todas */
+    @NotNull(message = "{field.null}")
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime dateInit;
+
+    /** Fin de la primera ocurrencia; fija la duración de todas */
+    @NotNull(message = "{field.null}")
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime dateEnd;
+
+    /**
+     * Fin de la última ocurrencia, o null si la serie no termina. Se deriva de la regla y permite
+     * descartar en la consulta las series que ya han terminado.
+     */
+    @Column(name = "series_end", nullable = true)
+    private LocalDateTime seriesEnd;
+
+    /** Regla de repetición en formato RRULE, sin COUNT */
+    @NotNull(message = "{field.null}")
+    @Column(name = "rrule", nullable = false)
+    private String rrule;
+
+    @NotNull(message = "{field.null}")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reservation_status", nullable = false)
+    private ReservationStatus reserveStatus;
+
+    @Size(max = 255, message = "{reservation.max.description}")
+    @Column(name = "description", nullable = true)
+    private String description;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
+    private User user;
+
+    @ManyToMany
+    @JoinTable(
+        name = "reservation_series_room",
+        joinColumns = @JoinColumn(name = "series_id"),
+        inverseJoinColumns = @JoinColumn(name = "room_id")
+    )
+    private List<Room> rooms = new ArrayList<>();
+
+    /**
+     * Días en los que se ha anulado la ocurrencia de la serie.
+     * @ElementCollection guarda los días en la tabla reservation_series_exception.
+     */
+    @ElementCollection
+    @CollectionTable(name = "reservation_series_exception", schema = "coworking_space",
+            joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "occurrence_date", nullable = false)
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    /**
+     * Método que permite obtener el identificador del usuario asociado a la serie.
+     * @return el identificador del usuario asociado a la serie.
+     */
+    public int getUserFK() {
+        return user.getId();
+    }
+
+    /**
+     * Método que permite obtener los identificadores de las salas asociadas a la serie.
+     * @return la lista de identificadores de las salas asociadas a la serie.
+     */
+    public List<Integer> getRoomsFK() {
+        List<Integer> roomsFK = new ArrayList<>();
+        for (Room room : rooms)
+            roomsFK.add(room.getId());
+        return roomsFK;
+    }
+
+    /**
+     * Calendario de la serie, con el que se calculan sus ocurrencias.
+     * @return Calendario con la regla, la duración y los días anulados actuales
+     */
+    public SeriesSchedule toSchedule() {
+        return new SeriesSchedule(id, dateInit, Duration.between(dateInit, dateEnd),
+                RecurrenceRule.parse(rrule, dateInit), Set.copyOf(exceptions));
+    }
+}
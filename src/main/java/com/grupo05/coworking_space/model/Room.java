@@ -3,8 +3,12 @@ package com.grupo05.coworking_space.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.grupo05.coworking_space.enums.RoomStatus;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -14,6 +18,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -23,12 +28,28 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 
+/**
+ * Sala del espacio de coworking.
+ * Las salas se leen en casi todas las peticiones y rara vez se modifican, por lo que se guardan
+ * en la caché de segundo nivel (región {@value #CACHE_REGION}, configurada en hibernate-cache.conf).
+ * Las escrituras hechas a través de JPA actualizan o invalidan la entrada al confirmar la transacción.
+ */
 @Entity(name = "ROOM")
 @Table(name = "ROOM", schema = "coworking_space")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Room.CACHE_REGION)
 @Data
 public class Room {
+	/** Región de la caché de segundo nivel donde se guardan las salas */
+	public static final String CACHE_REGION = "room";
+
+	/**
+	 * Identificador generado con una secuencia que reserva 50 valores en cada consulta, de forma
+	 * que Hibernate conoce el ID antes de insertar y puede agrupar las inserciones en lotes JDBC.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_seq")
+	@SequenceGenerator(name = "room_seq", sequenceName = "room_seq", schema = "coworking_space", allocationSize = 50)
 	@Column(name = "room_id", unique = true)
 	private int id;
 
@@ -1,6 +1,7 @@
 package com.grupo05.coworking_space.model;
 
 import com.grupo05.coworking_space.enums.Role;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,29 +9,45 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Clase que representa un usuario del sistema.
  * Esta clase define los atributos y relaciones de un usuario,
  * incluyendo el nombre de usuario, el correo electrónico, la contraseña
  * y el rol de usuario.
+ * Los usuarios se guardan en la caché de segundo nivel (región {@value #CACHE_REGION}), de modo
+ * que las búsquedas por ID no consultan la base de datos mientras la entrada siga vigente.
  *
  * @Entity es una anotación de JPA que indica que la clase es una entidad.
  * @Table es una anotación de JPA que indica la tabla de base de datos a la que se asigna la entidad.
+ * @Cache es una anotación de Hibernate que indica la región y la estrategia de la caché de segundo nivel.
  * @Data es una anotación de Lombok que genera automáticamente los métodos equals, hashCode, toString y otros.
  */
 @Entity(name = "USER")
 @Table(name = "USERS", schema = "coworking_space")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Data
 public class User {
+	/** Región de la caché de segundo nivel donde se guardan los usuarios */
+	public static final String CACHE_REGION = "user";
+
+	/**
+	 * Identificador generado con una secuencia que reserva 50 valores en cada consulta, de forma
+	 * que Hibernate conoce el ID antes de insertar y puede agrupar las inserciones en lotes JDBC.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+	@SequenceGenerator(name = "user_seq", sequenceName = "user_seq", schema = "coworking_space", allocationSize = 50)
 	@Column(name = "user_id", unique = true)
 	private Integer id;
 
@@ -0,0 +1,123 @@
+package com.grupo05.coworking_space.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+
+/**
+ * Petición de reserva en lista de espera: las salas y el rango que un usuario quería reservar
+ * cuando estaban ocupados. Cuando se libera el rango, la petición más antigua que cabe se
+ * convierte en una reserva (ver {@link com.grupo05.coworking_space.service.WaitlistService}).
+ *
+ * @Entity es una anotación de JPA que indica que la clase es una entidad.
+ * @Table es una anotación de JPA que indica la tabla de base de datos a la que se asigna la entidad.
+ * @NamedEntityGraph define el plan de carga "WaitlistEntry.rooms", que trae las salas en la misma
+ * consulta que la petición.
+ * @Data es una anotación de Lombok que genera automáticamente los métodos equals, hashCode, toString y otros.
+ */
+@Entity(name = "WAITLIST_ENTRY")
+@NamedEntityGraph(name = WaitlistEntry.WITH_ROOMS, attributeNodes = @NamedAttributeNode("rooms"))
+@Table(name = "WAITLIST_ENTRY", schema = "coworking_space",
+        indexes = @Index(name = "idx_waitlist_status", columnList = "status"))
+@Data
+public class WaitlistEntry {
+    /** Nombre del plan de carga que incluye las salas de la petición */
+    public static final String WITH_ROOMS = "WaitlistEntry.rooms";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_seq")
+    @SequenceGenerator(name = "waitlist_seq", sequenceName = "waitlist_seq", schema = "coworking_space",
+            allocationSize = 50)
+    @Column(name = "waitlist_id", unique = true)
+    private int id;
+
+    @NotNull(message = "{field.null}")
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime dateInit;
+
+    @NotNull(message = "{field.null}")
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime dateEnd;
+
+    /** Estado con el que se creará la reserva al promocionar la petición */
+    @NotNull(message = "{field.null}")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reservation_status", nullable = false)
+    private ReservationStatus reserveStatus;
+
+    @Size(max = 255, message = "{reservation.max.description}")
+    @Column(name = "description", nullable = true)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    /** Momento en el que se apuntó a la lista; las peticiones más antiguas tienen prioridad */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** ID de la reserva creada al promocionar la petición; sin clave ajena, la reserva puede borrarse después */
+    @Column(name = "reservation_id", nullable = true)
+    private Integer reservationId;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
+    private User user;
+
+    @ManyToMany
+    @JoinTable(
+        name = "waitlist_entry_room",
+        joinColumns = @JoinColumn(name = "waitlist_id"),
+        inverseJoinColumns = @JoinColumn(name = "room_id")
+    )
+    private List<Room> rooms = new ArrayList<>();
+
+    /**
+     * Método que permite obtener el identificador del usuario asociado a la petición.
+     * @return el identificador del usuario asociado a la petición.
+     */
+    public int getUserFK() {
+        return user.getId();
+    }
+
+    /**
+     * Método que permite obtener los identificadores de las salas asociadas a la petición.
+     * @return la lista de identificadores de las salas asociadas a la petición.
+     */
+    public List<Integer> getRoomsFK() {
+        List<Integer> roomsFK = new ArrayList<>();
+        for (Room room : rooms)
+            roomsFK.add(room.getId());
+        return roomsFK;
+    }
+}
@@ -0,0 +1,12 @@
+package com.grupo05.coworking_space.repository;
+
+import com.grupo05.coworking_space.model.EmailDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de los correos que no se pudieron entregar (dead-letter).
+ */
+@Repository
+public interface EmailDeadLetterRepository extends JpaRepository<EmailDeadLetter, Long> {
+}
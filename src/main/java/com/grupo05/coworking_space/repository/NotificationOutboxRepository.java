@@ -0,0 +1,117 @@
+package com.grupo05.coworking_space.repository;
+
+import com.grupo05.coworking_space.model.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de las notificaciones pendientes de envío (outbox).
+ * Las operaciones de actualización se ejecutan cada una en su propia transacción porque las
+ * invocan el relay y los hilos de envío de correo, fuera de cualquier transacción de negocio.
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+	/**
+	 * Obtiene, por orden de creación, los IDs de las notificaciones listas para enviarse: las
+	 * pendientes y las tomadas por un lote cuyo plazo ya ha vencido.
+	 *
+	 * @param now Instante actual
+	 * @param pageable Tamaño máximo del lote
+	 * @return IDs de las notificaciones a enviar
+	 */
+	@Query("SELECT o.id FROM NOTIFICATION_OUTBOX o WHERE o.status = com.grupo05.coworking_space.enums.OutboxStatus.PENDING"
+			+ " OR (o.status = com.grupo05.coworking_space.enums.OutboxStatus.IN_PROGRESS AND o.leaseUntil < :now)"
+			+ " ORDER BY o.id")
+	List<Long> findIdsReadyToRelay(@Param("now") LocalDateTime now, Pageable pageable);
+
+	/**
+	 * Toma las notificaciones indicadas para un lote del relay. Solo se toman las que siguen
+	 * listas para enviarse, por lo que dos instancias de la aplicación nunca toman la misma.
+	 *
+	 * @param ids IDs de las notificaciones a tomar
+	 * @param token Identificador del lote
+	 * @param leaseUntil Instante hasta el que el lote tiene tomadas las notificaciones
+	 * @param now Instante actual
+	 * @return Número de notificaciones tomadas
+	 */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE NOTIFICATION_OUTBOX o SET o.status = com.grupo05.coworking_space.enums.OutboxStatus.IN_PROGRESS,"
+			+ " o.claimToken = :token, o.leaseUntil = :leaseUntil, o.attempts = o.attempts + 1"
+			+ " WHERE o.id IN :ids AND (o.status = com.grupo05.coworking_space.enums.OutboxStatus.PENDING"
+			+ " OR (o.status = com.grupo05.coworking_space.enums.OutboxStatus.IN_PROGRESS AND o.leaseUntil < :now))")
+	int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+			@Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+	/**
+	 * Obtiene las notificaciones tomadas por un lote.
+	 *
+	 * @param claimToken Identificador del lote
+	 * @return Notificaciones del lote
+	 */
+	List<NotificationOutbox> findByClaimToken(String claimToken);
+
+	/**
+	 * Devuelve a pendientes las notificaciones de un lote que no se han podido encolar.
+	 *
+	 * @param ids IDs de las notificaciones
+	 * @param token Identificador del lote que las tiene tomadas
+	 * @return Número de notificaciones liberadas
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE NOTIFICATION_OUTBOX o SET o.status = com.grupo05.coworking_space.enums.OutboxStatus.PENDING,"
+			+ " o.claimToken = NULL, o.leaseUntil = NULL, o.attempts = o.attempts - 1"
+			+ " WHERE o.id IN :ids AND o.claimToken = :token")
+	int release(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+	/**
+	 * Marca una notificación como enviada, siempre que siga tomada por el mismo lote.
+	 *
+	 * @param id ID de la notificación
+	 * @param token Identificador del lote
+	 * @param sentAt Instante del envío
+	 * @return Número de notificaciones actualizadas
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE NOTIFICATION_OUTBOX o SET o.status = com.grupo05.coworking_space.enums.OutboxStatus.SENT,"
+			+ " o.sentAt = :sentAt, o.leaseUntil = NULL WHERE o.id = :id AND o.claimToken = :token")
+	int markSent(@Param("id") long id, @Param("token") String token, @Param("sentAt") LocalDateTime sentAt);
+
+	/**
+	 * Marca una notificación como fallida, siempre que siga tomada por el mismo lote.
+	 *
+	 * @param id ID de la notificación
+	 * @param token Identificador del lote
+	 * @param error Motivo del fallo
+	 * @return Número de notificaciones actualizadas
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE NOTIFICATION_OUTBOX o SET o.status = com.grupo05.coworking_space.enums.OutboxStatus.FAILED,"
+			+ " o.lastError = :error, o.leaseUntil = NULL WHERE o.id = :id AND o.claimToken = :token")
+	int markFailed(@Param("id") long id, @Param("token") String token, @Param("error") String error);
+
+	/**
+	 * Elimina las notificaciones enviadas antes de un instante dado.
+	 *
+	 * @param before Instante límite
+	 * @return Número de notificaciones eliminadas
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM NOTIFICATION_OUTBOX o WHERE o.status = com.grupo05.coworking_space.enums.OutboxStatus.SENT"
+			+ " AND o.sentAt < :before")
+	int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -1,13 +1,26 @@
 package com.grupo05.coworking_space.repository;
 
+import com.grupo05.coworking_space.enums.ReservationStatus;
 import com.grupo05.coworking_space.model.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @Repository es una anotación de Spring que indica que la clase anotada es un "repositorio",
@@ -40,22 +53,216 @@ public interface ReservationRepository extends JpaRepository<Reservation, Intege
 	boolean existsById(int id);
 
 	/**
-	 * Busca reservas que se solapan con un rango de fechas específico.
-	 * 
-	 * La consulta encuentra reservas donde:
-	 * - La fecha de inicio de la reserva es menor o igual a la fecha final del rango.
-	 * - La fecha de fin de la reserva es mayor o igual a la fecha inicial del rango.
+	 * Obtiene una página con los IDs de las reservas que se solapan con un rango de fechas:
+	 * las que empiezan antes o en la fecha final del rango y terminan después o en la inicial.
 	 *
 	 * @param dateInit Fecha de inicio del rango de búsqueda (inclusive)
 	 * @param dateEnd  Fecha de fin del rango de búsqueda (inclusive)
-	 * @return Lista de reservas que se solapan con el rango especificado.
+	 * @param pageable Página, tamaño y orden solicitados
+	 * @return Página de IDs de las reservas que se solapan con el rango
 	 */
-	@Query(
-		value = "SELECT * FROM coworking_space.reservation r WHERE r.start_date <= :dateEnd AND r.end_date >= :dateInit",
-		nativeQuery = true
-	)
-	List<Reservation> findReservationsBetweenDates(
+	@Query(value = "SELECT r.id FROM RESERVATION r WHERE r.dateInit <= :dateEnd AND r.dateEnd >= :dateInit",
+			countQuery = "SELECT COUNT(r) FROM RESERVATION r WHERE r.dateInit <= :dateEnd AND r.dateEnd >= :dateInit")
+	Page<Integer> findIdsBetweenDates(
 		@Param("dateInit") LocalDateTime dateInit,
-		@Param("dateEnd") LocalDateTime dateEnd
+		@Param("dateEnd") LocalDateTime dateEnd,
+		Pageable pageable
 	);
-}
\ No newline at end of file
+
+	/**
+	 * Obtiene la primera página por cursor de los IDs de las reservas que se solapan con un
+	 * rango de fechas, ordenados por fecha de inicio e ID.
+	 *
+	 * @param dateInit Fecha de inicio del rango de búsqueda (inclusive)
+	 * @param dateEnd  Fecha de fin del rango de búsqueda (inclusive)
+	 * @param limit Número máximo de IDs
+	 * @return IDs de las reservas que se solapan con el rango
+	 */
+	@Query("SELECT r.id FROM RESERVATION r WHERE r.dateInit <= :dateEnd AND r.dateEnd >= :dateInit"
+			+ " ORDER BY r.dateInit, r.id")
+	List<Integer> findIdsBetweenDates(
+		@Param("dateInit") LocalDateTime dateInit,
+		@Param("dateEnd") LocalDateTime dateEnd,
+		Limit limit
+	);
+
+	/**
+	 * Obtiene la página por cursor siguiente a una reserva dada de los IDs de las reservas que se
+	 * solapan con un rango de fechas, ordenados por fecha de inicio e ID.
+	 *
+	 * @param dateInit Fecha de inicio del rango de búsqueda (inclusive)
+	 * @param dateEnd  Fecha de fin del rango de búsqueda (inclusive)
+	 * @param afterDate Fecha de inicio de la última reserva ya devuelta
+	 * @param afterId ID de la última reserva ya devuelta
+	 * @param limit Número máximo de IDs
+	 * @return IDs de las reservas que se solapan con el rango y van después de la indicada
+	 */
+	@Query("SELECT r.id FROM RESERVATION r WHERE r.dateInit <= :dateEnd AND r.dateEnd >= :dateInit"
+			+ " AND (r.dateInit > :afterDate OR (r.dateInit = :afterDate AND r.id > :afterId))"
+			+ " ORDER BY r.dateInit, r.id")
+	List<Integer> findIdsBetweenDatesAfter(
+		@Param("dateInit") LocalDateTime dateInit,
+		@Param("dateEnd") LocalDateTime dateEnd,
+		@Param("afterDate") LocalDateTime afterDate,
+		@Param("afterId") int afterId,
+		Limit limit
+	);
+
+	/**
+	 * Obtiene los datos necesarios para cargar el índice de intervalos de reservas:
+	 * una fila por cada par reserva-sala con [ID reserva, fecha inicio, fecha fin, ID sala].
+	 *
+	 * @param excluded Estado de las reservas que no se deben indexar
+	 * @return Lista de filas con los intervalos reservados de cada sala
+	 */
+	@Query("SELECT r.id, r.dateInit, r.dateEnd, rm.id FROM RESERVATION r JOIN r.rooms rm WHERE r.reserveStatus <> :excluded")
+	List<Object[]> findIntervalIndexEntries(@Param("excluded") ReservationStatus excluded);
+
+	/**
+	 * Obtiene una página con los IDs de las reservas de un usuario. Se paginan solo los IDs
+	 * para que la paginación se haga en la base de datos, sin multiplicar filas por las salas.
+	 *
+	 * @param userId ID del usuario
+	 * @param pageable Página, tamaño y orden solicitados
+	 * @return Página de IDs de reservas del usuario
+	 */
+	@Query(value = "SELECT r.id FROM RESERVATION r WHERE r.user.id = :userId",
+			countQuery = "SELECT COUNT(r) FROM RESERVATION r WHERE r.user.id = :userId")
+	Page<Integer> findIdsByUserId(@Param("userId") int userId, Pageable pageable);
+
+	/**
+	 * Obtiene los IDs de las reservas de un usuario siguientes a un ID, ordenados por ID
+	 * (paginación por cursor).
+	 *
+	 * @param userId ID del usuario
+	 * @param afterId ID de la última reserva ya devuelta, 0 para empezar desde el principio
+	 * @param limit Número máximo de IDs
+	 * @return IDs de reservas del usuario
+	 */
+	@Query("SELECT r.id FROM RESERVATION r WHERE r.user.id = :userId AND r.id > :afterId ORDER BY r.id")
+	List<Integer> findIdsByUserIdAfter(@Param("userId") int userId, @Param("afterId") int afterId, Limit limit);
+
+	/**
+	 * Obtiene los datos necesarios para liberar las salas de las reservas de un usuario:
+	 * una fila por cada par reserva-sala con [ID reserva, fecha inicio, fecha fin, estado, ID sala].
+	 *
+	 * @param userId ID del usuario
+	 * @return Filas con los intervalos reservados por el usuario en cada sala
+	 */
+	@Query("SELECT r.id, r.dateInit, r.dateEnd, r.reserveStatus, rm.id FROM RESERVATION r JOIN r.rooms rm"
+			+ " WHERE r.user.id = :userId")
+	List<Object[]> findReleaseEntriesByUserId(@Param("userId") int userId);
+
+	/**
+	 * Obtiene los datos necesarios para liberar las salas de las reservas indicadas, con el
+	 * mismo formato que {@link #findReleaseEntriesByUserId(int)}.
+	 *
+	 * @param ids IDs de las reservas
+	 * @return Filas con los intervalos reservados en cada sala
+	 */
+	@Query("SELECT r.id, r.dateInit, r.dateEnd, r.reserveStatus, rm.id FROM RESERVATION r JOIN r.rooms rm"
+			+ " WHERE r.id IN :ids")
+	List<Object[]> findReleaseEntriesByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Cuenta las reservas de un usuario.
+	 *
+	 * @param userId ID del usuario
+	 * @return Número de reservas del usuario
+	 */
+	@Query("SELECT COUNT(r) FROM RESERVATION r WHERE r.user.id = :userId")
+	long countByUserId(@Param("userId") int userId);
+
+	/**
+	 * Elimina las reservas de un usuario sin cargarlas. Hibernate borra antes, con otra única
+	 * sentencia, sus filas de la tabla intermedia con las salas.
+	 *
+	 * @param userId ID del usuario
+	 * @return Número de reservas eliminadas
+	 */
+	@Modifying
+	@Query("DELETE FROM RESERVATION r WHERE r.user.id = :userId")
+	int deleteAllByUserId(@Param("userId") int userId);
+
+	/**
+	 * Elimina las reservas indicadas sin cargarlas. Hibernate borra antes, con otra única
+	 * sentencia, sus filas de la tabla intermedia con las salas.
+	 *
+	 * @param ids IDs de las reservas
+	 * @return Número de reservas eliminadas
+	 */
+	@Modifying
+	@Query("DELETE FROM RESERVATION r WHERE r.id IN :ids")
+	int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Obtiene, por orden de ID, los IDs de las reservas activas que ya han terminado.
+	 *
+	 * @param statuses Estados de las reservas activas
+	 * @param now Instante actual
+	 * @param limit Número máximo de IDs
+	 * @return IDs de las reservas a completar
+	 */
+	@Query("SELECT r.id FROM RESERVATION r WHERE r.reserveStatus IN :statuses AND r.dateEnd <= :now ORDER BY r.id")
+	List<Integer> findIdsEndedBefore(@Param("statuses") Collection<ReservationStatus> statuses,
+			@Param("now") LocalDateTime now, Limit limit);
+
+	/**
+	 * Marca como completadas en una única sentencia las reservas indicadas que sigan activas y
+	 * hayan terminado, sin cargarlas. Se incrementa su versión para que una actualización hecha
+	 * sobre la versión anterior falle. Se ejecuta en su propia transacción.
+	 *
+	 * @param ids IDs de las reservas
+	 * @param statuses Estados de las reservas activas
+	 * @param now Instante actual
+	 * @return Número de reservas completadas
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE RESERVATION r SET r.reserveStatus = com.grupo05.coworking_space.enums.ReservationStatus.COMPLETED,"
+			+ " r.version = r.version + 1"
+			+ " WHERE r.id IN :ids AND r.reserveStatus IN :statuses AND r.dateEnd <= :now")
+	int markCompleted(@Param("ids") Collection<Integer> ids, @Param("statuses") Collection<ReservationStatus> statuses,
+			@Param("now") LocalDateTime now);
+
+	/**
+	 * Obtiene las reservas indicadas junto con sus salas en una única consulta.
+	 *
+	 * @param ids IDs de las reservas
+	 * @return Reservas con sus salas ya cargadas, sin un orden concreto
+	 */
+	@EntityGraph(Reservation.WITH_ROOMS)
+	@Query("SELECT r FROM RESERVATION r WHERE r.id IN :ids")
+	List<Reservation> findAllWithRoomsByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Obtiene una reserva junto con sus salas en una única consulta.
+	 *
+	 * @param id ID de la reserva
+	 * @return Reserva con sus salas ya cargadas, o vacío si no existe
+	 */
+	@EntityGraph(Reservation.WITH_ROOMS)
+	@Query("SELECT r FROM RESERVATION r WHERE r.id = :id")
+	Optional<Reservation> findWithRoomsById(@Param("id") int id);
+
+	/**
+	 * Recorre, sin cargar entidades, las reservas que se solapan con un rango de fechas para su
+	 * exportación: una fila por cada par reserva-sala con [ID, fecha inicio, fecha fin, estado,
+	 * descripción, ID usuario, ID sala], ordenadas por fecha de inicio e ID de reserva para que
+	 * las filas de una misma reserva lleguen seguidas. Debe consumirse dentro de una transacción
+	 * y cerrarse al terminar.
+	 *
+	 * @param dateInit Fecha de inicio del rango (inclusive)
+	 * @param dateEnd Fecha de fin del rango (inclusive)
+	 * @return Flujo de filas leído de la base de datos por bloques
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT r.id, r.dateInit, r.dateEnd, r.reserveStatus, r.description, r.user.id, rm.id"
+			+ " FROM RESERVATION r LEFT JOIN r.rooms rm"
+			+ " WHERE r.dateInit <= :dateEnd AND r.dateEnd >= :dateInit"
+			+ " ORDER BY r.dateInit, r.id, rm.id")
+	Stream<Object[]> streamExportRows(@Param("dateInit") LocalDateTime dateInit, @Param("dateEnd") LocalDateTime dateEnd);
+}
@@ -0,0 +1,57 @@
+package com.grupo05.coworking_space.repository;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.model.ReservationSeries;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de las series de reservas.
+ * @Repository es una anotación de Spring que indica que la clase anotada es un "repositorio".
+ */
+@Repository
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Integer> {
+
+	/**
+	 * Obtiene las series no canceladas con sus salas y días anulados, para cargar el índice de intervalos.
+	 *
+	 * @param excluded Estado de las series que no se indexan
+	 * @return Series con sus salas y días anulados ya cargados
+	 */
+	@EntityGraph(ReservationSeries.WITH_ROOMS)
+	@Query("SELECT s FROM RESERVATION_SERIES s WHERE s.reserveStatus <> :excluded")
+	List<ReservationSeries> findAllForIndex(@Param("excluded") ReservationStatus excluded);
+
+	/**
+	 * Obtiene las series que pueden tener ocurrencias en un rango: las que empiezan antes o en la
+	 * fecha final del rango y no han terminado antes de su fecha inicial.
+	 *
+	 * @param dateInit Fecha de inicio del rango (inclusive)
+	 * @param dateEnd Fecha de fin del rango (inclusive)
+	 * @return Series con sus salas y días anulados ya cargados, ordenadas por ID
+	 */
+	@EntityGraph(ReservationSeries.WITH_ROOMS)
+	@Query("SELECT s FROM RESERVATION_SERIES s WHERE s.dateInit <= :dateEnd"
+			+ " AND (s.seriesEnd IS NULL OR s.seriesEnd >= :dateInit) ORDER BY s.id")
+	List<ReservationSeries> findAllActiveBetween(
+		@Param("dateInit") LocalDateTime dateInit,
+		@Param("dateEnd") LocalDateTime dateEnd
+	);
+
+	/**
+	 * Obtiene una serie junto con sus salas y días anulados en una única consulta.
+	 *
+	 * @param id ID de la serie
+	 * @return Serie con sus salas y días anulados ya cargados, o vacío si no existe
+	 */
+	@EntityGraph(ReservationSeries.WITH_ROOMS)
+	@Query("SELECT s FROM RESERVATION_SERIES s WHERE s.id = :id")
+	Optional<ReservationSeries> findWithRoomsById(@Param("id") int id);
+}
@@ -1,15 +1,52 @@
 package com.grupo05.coworking_space.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.grupo05.coworking_space.enums.RoomStatus;
 import com.grupo05.coworking_space.model.Room;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Integer> {
+public interface RoomRepository extends JpaRepository<Room, Integer>, RoomRepositoryCustom {
     Optional<Room> findByName(String name);
 
     boolean existsByNameAndIdNot(String name, int id);
+
+    /**
+     * Obtiene las salas siguientes a un ID, ordenadas por ID (paginación por cursor).
+     * @param id ID de la última sala ya devuelta, 0 para empezar desde el principio
+     * @param limit Número máximo de salas
+     * @return Salas con ID mayor que el indicado
+     */
+    List<Room> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+    /**
+     * Obtiene los IDs de las salas que están en un estado.
+     * @param roomStatus Estado de las salas
+     * @return IDs de las salas en ese estado
+     */
+    @Query("SELECT r.id FROM ROOM r WHERE r.roomStatus = :roomStatus")
+    List<Integer> findIdsByRoomStatus(@Param("roomStatus") RoomStatus roomStatus);
+
+    /**
+     * Cambia en una única sentencia el estado de las salas indicadas que sigan en el estado de
+     * origen, sin cargarlas. Se ejecuta en su propia transacción.
+     * @param ids IDs de las salas
+     * @param from Estado que deben tener las salas para cambiarlo
+     * @param to Nuevo estado
+     * @return Número de salas actualizadas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ROOM r SET r.roomStatus = :to WHERE r.id IN :ids AND r.roomStatus = :from")
+    int updateStatus(@Param("ids") Collection<Integer> ids, @Param("from") RoomStatus from, @Param("to") RoomStatus to);
 }
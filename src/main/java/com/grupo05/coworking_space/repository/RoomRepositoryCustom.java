@@ -0,0 +1,25 @@
+package com.grupo05.coworking_space.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.grupo05.coworking_space.model.Room;
+
+/**
+ * Consultas de salas que necesitan acceso directo a la sesión de Hibernate.
+ */
+public interface RoomRepositoryCustom {
+    /**
+     * Carga varias salas por ID consultando primero la caché de segundo nivel.
+     * Solo las salas que no están en caché se leen de la base de datos, con una única consulta.
+     * A diferencia de findAllById, que siempre lanza una consulta, este método no accede a la
+     * base de datos si todas las salas están en caché.
+     *
+     * @param ids IDs de las salas a cargar
+     * @return Salas encontradas, en el orden de los IDs y sin las que no existen
+     */
+    @Transactional(readOnly = true)
+    List<Room> loadAllById(Collection<Integer> ids);
+}
@@ -0,0 +1,42 @@
+package com.grupo05.coworking_space.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import com.grupo05.coworking_space.model.Room;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementación de {@link RoomRepositoryCustom} mediante la carga múltiple de Hibernate,
+ * que resuelve cada ID desde la sesión o la caché de segundo nivel antes de ir a la base de datos.
+ */
+class RoomRepositoryCustomImpl implements RoomRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Room> loadAllById(Collection<Integer> ids) {
+        if (ids.isEmpty())
+            return List.of();
+
+        List<Room> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Room.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(new ArrayList<>(ids));
+
+        List<Room> rooms = new ArrayList<>(loaded.size());
+        for (Room room : loaded) {
+            if (room != null)
+                rooms.add(room);
+        }
+        return rooms;
+    }
+}
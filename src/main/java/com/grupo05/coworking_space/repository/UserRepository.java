@@ -2,9 +2,13 @@ package com.grupo05.coworking_space.repository;
 
 import com.grupo05.coworking_space.enums.Role;
 import com.grupo05.coworking_space.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -34,4 +38,20 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * 
      */
     Optional<User> findByUsernameAndEmail(String username, String email);
+
+    /**
+     * Método que permite obtener solo el ID de un usuario a partir de su nombre de usuario.
+     * @param username Nombre de usuario
+     * @return ID del usuario, o vacío si no existe
+     */
+    @Query("SELECT u.id FROM USER u WHERE u.username = :username")
+    Optional<Integer> findIdByUsername(@Param("username") String username);
+
+    /**
+     * Método que permite obtener los usuarios siguientes a un ID, ordenados por ID (paginación por cursor).
+     * @param id ID del último usuario ya devuelto, 0 para empezar desde el principio
+     * @param limit Número máximo de usuarios
+     * @return Usuarios con ID mayor que el indicado
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
 }
@@ -0,0 +1,51 @@
+package com.grupo05.coworking_space.repository;
+
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import com.grupo05.coworking_space.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de las peticiones de la lista de espera.
+ * @Repository es una anotación de Spring que indica que la clase anotada es un "repositorio".
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Integer> {
+
+	/**
+	 * Obtiene las peticiones en un estado con sus salas, para cargar el índice de la lista de espera.
+	 *
+	 * @param status Estado de las peticiones
+	 * @return Peticiones con sus salas ya cargadas
+	 */
+	@EntityGraph(WaitlistEntry.WITH_ROOMS)
+	@Query("SELECT w FROM WAITLIST_ENTRY w WHERE w.status = :status")
+	List<WaitlistEntry> findAllWithRoomsByStatus(@Param("status") WaitlistStatus status);
+
+	/**
+	 * Obtiene varias peticiones junto con sus salas en una única consulta.
+	 *
+	 * @param ids IDs de las peticiones
+	 * @return Peticiones encontradas, con sus salas ya cargadas, en cualquier orden
+	 */
+	@EntityGraph(WaitlistEntry.WITH_ROOMS)
+	@Query("SELECT w FROM WAITLIST_ENTRY w WHERE w.id IN :ids")
+	List<WaitlistEntry> findAllWithRoomsByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Obtiene una petición junto con sus salas en una única consulta.
+	 *
+	 * @param id ID de la petición
+	 * @return Petición con sus salas ya cargadas, o vacío si no existe
+	 */
+	@EntityGraph(WaitlistEntry.WITH_ROOMS)
+	@Query("SELECT w FROM WAITLIST_ENTRY w WHERE w.id = :id")
+	Optional<WaitlistEntry> findWithRoomsById(@Param("id") int id);
+}
@@ -0,0 +1,64 @@
+package com.grupo05.coworking_space.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Métricas de las reservas rechazadas por conflicto.
+ * Cuenta en {@code coworking.reservation.conflicts}, etiquetado por motivo, las reservas que no se
+ * guardan porque el rango ya está ocupado o porque otra petición ha modificado la reserva. Los
+ * contadores se crean al arrancar para no buscarlos en el registro en cada rechazo.
+ *
+ * @Component para indicar que es un componente de Spring
+ */
+@Component
+public class BookingMetrics {
+
+    /** Nombre del contador de conflictos */
+    public static final String CONFLICTS = "coworking.reservation.conflicts";
+
+    /** Motivo por el que se rechaza una reserva */
+    public enum ConflictReason {
+        /** El índice en memoria detecta que el rango se solapa con otra reserva */
+        OVERLAP("overlap"),
+        /** La restricción de exclusión de la base de datos rechaza el solapamiento */
+        EXCLUSION("exclusion"),
+        /** Otra petición ha modificado la reserva (bloqueo optimista) */
+        CONCURRENT_UPDATE("concurrent_update");
+
+        private final String tag;
+
+        ConflictReason(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<ConflictReason, Counter> conflicts = new EnumMap<>(ConflictReason.class);
+
+    /**
+     * Registra un contador por cada motivo de conflicto.
+     *
+     * @param registry Registro de métricas de la aplicación
+     */
+    public BookingMetrics(MeterRegistry registry) {
+        for (ConflictReason reason : ConflictReason.values())
+            conflicts.put(reason, Counter.builder(CONFLICTS)
+                    .description("Reservas rechazadas por conflicto")
+                    .tag("reason", reason.tag)
+                    .register(registry));
+    }
+
+    /**
+     * Cuenta una reserva rechazada.
+     *
+     * @param reason Motivo del rechazo
+     */
+    public void conflict(ConflictReason reason) {
+        conflicts.get(reason).increment();
+    }
+}
@@ -0,0 +1,23 @@
+package com.grupo05.coworking_space.service;
+
+/**
+ * Recibe el resultado final de un correo enviado con {@link EmailDispatcher#submit(EmailMessage)}.
+ * Se invoca desde los hilos de envío, por lo que las implementaciones no deben bloquearse mucho tiempo.
+ */
+public interface EmailDeliveryListener {
+
+    /**
+     * El servidor SMTP ha aceptado el correo.
+     *
+     * @param message Correo entregado
+     */
+    void delivered(EmailMessage message);
+
+    /**
+     * El correo no se ha podido entregar y no se volverá a intentar.
+     *
+     * @param message Correo no entregado, con el número de intentos realizados
+     * @param reason Motivo del último fallo
+     */
+    void failed(EmailMessage message, String reason);
+}
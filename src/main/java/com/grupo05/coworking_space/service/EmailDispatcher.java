@@ -0,0 +1,320 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.model.EmailDeadLetter;
+import com.grupo05.coworking_space.repository.EmailDeadLetterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.AddressException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de entrega asíncrona de correos electrónicos.
+ * <p>
+ * Los correos se encolan en una cola acotada y los envía un grupo fijo de hilos virtuales.
+ * Cada hilo mantiene abierta su propia conexión SMTP y la reutiliza para todos los mensajes
+ * que envía, cerrándola solo cuando falla o cuando lleva un tiempo sin uso.
+ * <p>
+ * Los fallos temporales se reintentan con espera exponencial; los correos con direcciones no
+ * válidas, los que agotan los reintentos y los que no caben en la cola se guardan en la tabla
+ * de dead-letter ({@link EmailDeadLetter}). Los correos enviados con {@link #submit(EmailMessage)}
+ * notifican en su lugar el resultado a su {@link EmailDeliveryListener}.
+ */
+@Slf4j
+@Service
+public class EmailDispatcher {
+
+    /** Espera máxima entre dos reintentos de un mismo correo */
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final EmailSender emailSender;
+    private final EmailDeadLetterRepository emailDeadLetterRepository;
+    private final BlockingQueue<EmailMessage> queue;
+    private final int workers;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long idleTimeoutMillis;
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    /**
+     * Crea el servicio de entrega de correos.
+     *
+     * @param emailSender Servicio que construye los mensajes y abre las conexiones SMTP
+     * @param emailDeadLetterRepository Repositorio donde se guardan los correos no entregados
+     * @param workers Número de hilos que envían correos en paralelo
+     * @param queueCapacity Número máximo de correos pendientes en la cola
+     * @param maxAttempts Número máximo de intentos de envío de cada correo
+     * @param initialBackoffMillis Espera antes del primer reintento; se duplica en cada intento
+     * @param idleTimeoutMillis Tiempo sin envíos tras el que un hilo cierra su conexión SMTP
+     */
+    public EmailDispatcher(EmailSender emailSender, EmailDeadLetterRepository emailDeadLetterRepository,
+            @Value("${email.delivery.workers:4}") int workers,
+            @Value("${email.delivery.queue-capacity:10000}") int queueCapacity,
+            @Value("${email.delivery.max-attempts:5}") int maxAttempts,
+            @Value("${email.delivery.initial-backoff-ms:1000}") long initialBackoffMillis,
+            @Value("${email.delivery.idle-timeout-ms:30000}") long idleTimeoutMillis) {
+        this.emailSender = emailSender;
+        this.emailDeadLetterRepository = emailDeadLetterRepository;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Arranca los hilos de envío y el planificador de reintentos.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (running)
+            return;
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("email-retry").factory());
+        ThreadFactory factory = Thread.ofVirtual().name("email-worker-", 0).factory();
+        for (int i = 0; i < workers; i++) {
+            Thread worker = factory.newThread(this::work);
+            workerThreads.add(worker);
+            worker.start();
+        }
+        log.info("Entrega de correo iniciada con {} hilos", workers);
+    }
+
+    /**
+     * Detiene los hilos de envío. Los correos que quedan en la cola se guardan como no entregados
+     * para no perderlos, salvo los que tienen un receptor del resultado, que ya están guardados
+     * por quien los envió (ver {@link NotificationOutboxRelay}).
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running)
+            return;
+        running = false;
+        retryScheduler.shutdownNow();
+        workerThreads.forEach(Thread::interrupt);
+        for (Thread worker : workerThreads) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workerThreads.clear();
+
+        List<EmailMessage> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.stream()
+                .filter(message -> message.listener() == null)
+                .forEach(message -> deadLetter(message, "Aplicación detenida antes de enviar el correo"));
+    }
+
+    /**
+     * Encola un correo para su envío asíncrono. No bloquea: si la cola está llena el correo se
+     * guarda directamente como no entregado.
+     *
+     * @param to Dirección del destinatario
+     * @param subject Asunto del correo
+     * @param body Cuerpo del mensaje
+     * @return true si el correo se ha encolado
+     */
+    public boolean enqueue(String to, String subject, String body) {
+        EmailMessage message = new EmailMessage(to, subject, body);
+        if (queue.offer(message))
+            return true;
+        log.warn("Cola de correo llena, no se puede enviar el correo a {}", to);
+        deadLetter(message, "Cola de correo llena");
+        return false;
+    }
+
+    /**
+     * Encola un correo cuyo resultado final se notificará a su {@link EmailDeliveryListener}.
+     * No bloquea ni guarda nada si la cola está llena: el llamante decide cuándo reintentarlo.
+     *
+     * @param message Correo a enviar
+     * @return true si el correo se ha encolado, false si la cola está llena
+     */
+    public boolean submit(EmailMessage message) {
+        return queue.offer(message);
+    }
+
+    /**
+     * Devuelve cuántos correos más caben en la cola.
+     *
+     * @return Huecos libres en la cola
+     */
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * Devuelve el número de correos que esperan en la cola.
+     *
+     * @return Correos pendientes de envío
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Bucle de cada hilo de envío: toma correos de la cola y los envía reutilizando la misma
+     * conexión SMTP mientras siga abierta. Los errores de un correo no detienen el hilo.
+     */
+    private void work() {
+        Transport transport = null;
+        try {
+            while (running) {
+                EmailMessage message = queue.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    transport = close(transport);
+                    continue;
+                }
+                EmailMessage attempt = message.nextAttempt();
+                try {
+                    if (transport == null || !transport.isConnected())
+                        transport = emailSender.openTransport();
+                    Message mimeMessage = emailSender.createMessage(message.to(), message.subject(), message.body());
+                    transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                    log.debug("Correo enviado correctamente a {}", message.to());
+                    delivered(attempt);
+                } catch (AddressException e) {
+                    fail(attempt, e.getMessage());
+                } catch (SendFailedException e) {
+                    // El servidor rechaza el destinatario: reintentar no cambiará el resultado
+                    fail(attempt, e.getMessage());
+                } catch (MessagingException e) {
+                    transport = close(transport);
+                    retry(attempt, e);
+                } catch (RuntimeException e) {
+                    // Un fallo inesperado no debe detener el hilo: se descarta la conexión y se reintenta
+                    log.error("Error inesperado al enviar el correo a {}", message.to(), e);
+                    transport = close(transport);
+                    retry(attempt, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    /**
+     * Programa un nuevo intento del correo con espera exponencial, o lo guarda como no entregado
+     * si ya ha agotado los intentos.
+     *
+     * @param message Correo que ha fallado, con el intento fallido ya contabilizado
+     * @param error Error producido en el último intento
+     */
+    private void retry(EmailMessage message, Exception error) {
+        if (message.attempts() >= maxAttempts) {
+            log.error("No se pudo enviar el correo a {} tras {} intentos", message.to(), message.attempts(), error);
+            fail(message, error.getMessage());
+            return;
+        }
+        long delay = Math.min(MAX_BACKOFF_MILLIS, initialBackoffMillis << Math.min(message.attempts() - 1, 20));
+        log.warn("Error al enviar el correo a {} (intento {}), se reintentará en {} ms: {}",
+                message.to(), message.attempts(), delay, error.getMessage());
+        try {
+            retryScheduler.schedule(() -> {
+                if (!queue.offer(message))
+                    fail(message, "Cola de correo llena");
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Aplicación detenida: los correos con receptor se recuperan desde su origen
+            if (message.listener() == null)
+                deadLetter(message, error.getMessage());
+        }
+    }
+
+    /**
+     * Notifica la entrega de un correo a su receptor del resultado, si lo tiene.
+     *
+     * @param message Correo entregado
+     */
+    private void delivered(EmailMessage message) {
+        if (message.listener() == null)
+            return;
+        try {
+            message.listener().delivered(message);
+        } catch (RuntimeException e) {
+            log.error("Error al notificar la entrega del correo a {}", message.to(), e);
+        }
+    }
+
+    /**
+     * Da por perdido un correo: se notifica a su receptor del resultado o, si no lo tiene,
+     * se guarda en la tabla de dead-letter.
+     *
+     * @param message Correo no entregado
+     * @param reason Motivo del fallo
+     */
+    private void fail(EmailMessage message, String reason) {
+        if (message.listener() == null) {
+            deadLetter(message, reason);
+            return;
+        }
+        try {
+            message.listener().failed(message, reason);
+        } catch (RuntimeException e) {
+            log.error("Error al notificar el fallo del correo a {}", message.to(), e);
+        }
+    }
+
+    /**
+     * Guarda un correo que no se ha podido entregar.
+     *
+     * @param message Correo no entregado
+     * @param reason Motivo del fallo
+     */
+    private void deadLetter(EmailMessage message, String reason) {
+        EmailDeadLetter deadLetter = new EmailDeadLetter();
+        deadLetter.setRecipient(message.to());
+        deadLetter.setSubject(message.subject());
+        deadLetter.setBody(message.body());
+        deadLetter.setAttempts(message.attempts());
+        deadLetter.setLastError(reason == null || reason.length() <= 1000 ? reason : reason.substring(0, 1000));
+        deadLetter.setFailedAt(LocalDateTime.now());
+        try {
+            emailDeadLetterRepository.save(deadLetter);
+        } catch (RuntimeException e) {
+            log.error("No se pudo guardar el correo no entregado a {}", message.to(), e);
+        }
+    }
+
+    /**
+     * Cierra la conexión SMTP ignorando los errores de cierre.
+     *
+     * @param transport Conexión a cerrar, puede ser null
+     * @return Siempre null, para limpiar la referencia del llamante
+     */
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException | RuntimeException e) {
+                log.debug("Error al cerrar la conexión SMTP: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+}
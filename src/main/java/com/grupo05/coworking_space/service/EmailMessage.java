@@ -0,0 +1,30 @@
+package com.grupo05.coworking_space.service;
+
+/**
+ * Correo pendiente de entrega en la cola de {@link EmailDispatcher}.
+ *
+ * @param to Dirección del destinatario
+ * @param subject Asunto del correo
+ * @param body Cuerpo del mensaje
+ * @param attempts Número de intentos de envío ya realizados
+ * @param listener Receptor del resultado final del envío, o null si no hace falta avisar a nadie
+ */
+public record EmailMessage(String to, String subject, String body, int attempts, EmailDeliveryListener listener) {
+
+    public EmailMessage(String to, String subject, String body) {
+        this(to, subject, body, 0, null);
+    }
+
+    public EmailMessage(String to, String subject, String body, EmailDeliveryListener listener) {
+        this(to, subject, body, 0, listener);
+    }
+
+    /**
+     * Devuelve una copia del mensaje con un intento más contabilizado.
+     *
+     * @return Mensaje con el contador de intentos incrementado
+     */
+    public EmailMessage nextAttempt() {
+        return new EmailMessage(to, subject, body, attempts + 1, listener);
+    }
+}
@@ -13,53 +13,91 @@ import org.springframework.stereotype.Service;
 /**
  * Servicio para el envío de correos electrónicos mediante SMTP.
  * Utiliza autenticación y configuración de servidor SMTP para enviar correos electrónicos.
+ * La sesión de correo se crea una única vez; las conexiones SMTP las abre quien envía
+ * (ver {@link EmailDispatcher}) para poder reutilizarlas en varios envíos.
  */
 @Service
 public class EmailSender {
 
 
-    private String username;
-    private String password;
+    private final String username;
+    private final String password;
+    private final String host;
+    private final int port;
+    private final boolean auth;
+    private final Session session;
     private static final Logger logger = LoggerFactory.getLogger(EmailSender.class);
 
     public EmailSender(@Value("${email.username}") String username,
-                       @Value("${email.password}") String password) {
+                       @Value("${email.password}") String password,
+                       @Value("${email.smtp.host:smtp.gmail.com}") String host,
+                       @Value("${email.smtp.port:587}") int port,
+                       @Value("${email.smtp.auth:true}") boolean auth,
+                       @Value("${email.smtp.starttls:true}") boolean starttls) {
         this.username = username;
         this.password = password;
+        this.host = host;
+        this.port = port;
+        this.auth = auth;
+
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", String.valueOf(auth));
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(port));
+        this.session = Session.getInstance(props);
+    }
+
+    /**
+     * Abre una conexión SMTP autenticada que puede usarse para enviar varios mensajes.
+     * La conexión no es segura para hilos: cada hilo debe abrir la suya y cerrarla al terminar.
+     *
+     * @return Transporte SMTP conectado
+     * @throws MessagingException Si no se puede conectar o autenticar con el servidor
+     */
+    public Transport openTransport() throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        if (auth)
+            transport.connect(host, port, username, password);
+        else
+            transport.connect(host, port, null, null);
+        return transport;
     }
 
     /**
-     * Envía un correo electrónico a la dirección especificada.
+     * Construye un mensaje de texto plano listo para enviarse.
      *
      * @param to      Dirección de correo electrónico del destinatario.
      * @param subject Asunto del correo.
      * @param body    Cuerpo del mensaje.
+     * @return Mensaje construido
+     * @throws MessagingException Si alguna dirección no es válida
      */
-    public void sendEmail(String to, String subject, String body) {
-        Properties props = new Properties();
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.smtp.host", "smtp.gmail.com");
-        props.put("mail.smtp.port", "587");
-
-        Session session = Session.getInstance(props,new Authenticator(){
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(username, password);
-            }
-        });
-
-        try{
-            Message message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(username));
-            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
-            message.setSubject(subject);
-            message.setText(body);
+    public Message createMessage(String to, String subject, String body) throws MessagingException {
+        Message message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(username));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
+        message.setSubject(subject);
+        message.setText(body);
+        message.saveChanges();
+        return message;
+    }
 
-            Transport.send(message);
+    /**
+     * Envía un correo electrónico a la dirección especificada abriendo una conexión solo para él.
+     * Para envíos masivos se debe usar {@link EmailDispatcher}, que reutiliza las conexiones.
+     *
+     * @param to      Dirección de correo electrónico del destinatario.
+     * @param subject Asunto del correo.
+     * @param body    Cuerpo del mensaje.
+     */
+    public void sendEmail(String to, String subject, String body) {
+        try (Transport transport = openTransport()) {
+            Message message = createMessage(to, subject, body);
+            transport.sendMessage(message, message.getAllRecipients());
             logger.info("Correo enviado correctamente a {}", to);
-        }catch(MessagingException e){
-            logger.error("Error al enviar el correo",e);
+        } catch (MessagingException e) {
+            logger.error("Error al enviar el correo", e);
         }
     }
 }
@@ -0,0 +1,133 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.model.NotificationOutbox;
+import com.grupo05.coworking_space.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Proceso en segundo plano que envía las notificaciones de la tabla outbox.
+ * <p>
+ * En cada ejecución toma lotes de notificaciones pendientes, las marca con un identificador de
+ * lote y un plazo, y las entrega a {@link EmailDispatcher}. Cuando el servidor SMTP acepta o
+ * rechaza definitivamente un correo, la notificación se marca como enviada o fallida. Si la
+ * aplicación se detiene antes, el plazo vence y otro lote la vuelve a tomar, por lo que cada
+ * notificación se envía al menos una vez.
+ *
+ * @Component para indicar que es un componente de Spring
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Component
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final EmailDispatcher emailDispatcher;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retention;
+
+    /**
+     * Crea el relay de la tabla outbox.
+     *
+     * @param notificationOutboxRepository Repositorio de notificaciones pendientes
+     * @param emailDispatcher Servicio de entrega de correos
+     * @param batchSize Número máximo de notificaciones por lote
+     * @param leaseSeconds Segundos que un lote tiene tomadas sus notificaciones
+     * @param retentionHours Horas que se conservan las notificaciones ya enviadas
+     */
+    public NotificationOutboxRelay(NotificationOutboxRepository notificationOutboxRepository,
+            EmailDispatcher emailDispatcher,
+            @Value("${notification.outbox.batch-size:100}") int batchSize,
+            @Value("${notification.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${notification.outbox.retention-hours:24}") long retentionHours) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.emailDispatcher = emailDispatcher;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Envía lotes de notificaciones mientras haya pendientes y quepan en la cola de correo.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        while (true) {
+            int capacity = Math.min(batchSize, emailDispatcher.remainingCapacity());
+            if (capacity <= 0)
+                return;
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = notificationOutboxRepository.findIdsReadyToRelay(now, PageRequest.of(0, capacity));
+            if (ids.isEmpty())
+                return;
+
+            String token = UUID.randomUUID().toString();
+            notificationOutboxRepository.claim(ids, token, now.plus(lease), now);
+            List<NotificationOutbox> claimed = notificationOutboxRepository.findByClaimToken(token);
+
+            List<Long> rejected = new ArrayList<>();
+            for (NotificationOutbox notification : claimed) {
+                EmailMessage message = new EmailMessage(notification.getRecipient(), notification.getSubject(),
+                        notification.getBody(), new OutboxDelivery(notification.getId(), token));
+                if (!emailDispatcher.submit(message))
+                    rejected.add(notification.getId());
+            }
+            log.debug("Lote {} del outbox: {} notificaciones encoladas", token, claimed.size() - rejected.size());
+
+            // La cola de correo está llena: se liberan las que no caben y se esperan a la siguiente ejecución
+            if (!rejected.isEmpty()) {
+                notificationOutboxRepository.release(rejected, token);
+                return;
+            }
+            if (ids.size() < capacity)
+                return;
+        }
+    }
+
+    /**
+     * Elimina periódicamente las notificaciones enviadas hace más del tiempo de retención.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.cleanup-interval-ms:3600000}")
+    public void purgeSent() {
+        int deleted = notificationOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0)
+            log.info("Eliminadas {} notificaciones ya enviadas del outbox", deleted);
+    }
+
+    /**
+     * Receptor del resultado del correo de una notificación. Solo la actualiza si sigue tomada
+     * por el mismo lote, por si el plazo ha vencido y otro lote la ha vuelto a tomar.
+     */
+    private class OutboxDelivery implements EmailDeliveryListener {
+        private final long id;
+        private final String token;
+
+        OutboxDelivery(long id, String token) {
+            this.id = id;
+            this.token = token;
+        }
+
+        @Override
+        public void delivered(EmailMessage message) {
+            notificationOutboxRepository.markSent(id, token, LocalDateTime.now());
+        }
+
+        @Override
+        public void failed(EmailMessage message, String reason) {
+            String error = reason == null || reason.length() <= 1000 ? reason : reason.substring(0, 1000);
+            notificationOutboxRepository.markFailed(id, token, error);
+            log.warn("Notificación {} a {} marcada como fallida: {}", id, message.to(), reason);
+        }
+    }
+}
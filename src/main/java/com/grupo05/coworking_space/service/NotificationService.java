@@ -0,0 +1,89 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.model.NotificationOutbox;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio que genera las notificaciones por correo de las reservas.
+ * Las notificaciones no se envían aquí: se guardan en la tabla outbox dentro de la transacción
+ * del llamante y las envía después {@link NotificationOutboxRelay}.
+ *
+ * @Service para indicar que es un servicio de la aplicacion
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Service
+public class NotificationService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+
+    public NotificationService(NotificationOutboxRepository notificationOutboxRepository) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+    }
+
+    /**
+     * Guarda una invitación por correo para cada participante de la reserva. Debe llamarse
+     * dentro de la transacción que crea la reserva, para que las invitaciones solo se envíen
+     * si la reserva se confirma.
+     *
+     * @param reservation Reserva ya guardada, con su usuario y sus salas
+     * @param emailsParticipants Correos de los participantes, puede ser null
+     */
+    public void enqueueReservationInvitations(Reservation reservation, List<String> emailsParticipants) {
+        if (emailsParticipants == null || emailsParticipants.isEmpty())
+            return;
+
+        LocalDateTime dateTime = reservation.getDateInit();
+        String hora = String.format("%02d:%02d", dateTime.getHour(), dateTime.getMinute());
+        String body = reservation.getUser().getUsername() +
+                " te invitó a participar de la reunión para el " + DATE_FORMAT.format(dateTime) +
+                " a las " + hora + "hs en " +
+                reservation.getRooms().getFirst().getName();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> notifications = new ArrayList<>(emailsParticipants.size());
+        for (String email : emailsParticipants) {
+            NotificationOutbox notification = new NotificationOutbox();
+            notification.setRecipient(email);
+            notification.setSubject("Reserva");
+            notification.setBody(body);
+            notification.setCreatedAt(now);
+            notifications.add(notification);
+        }
+        notificationOutboxRepository.saveAll(notifications);
+        log.info("{} invitaciones pendientes de envío para la reserva {}", notifications.size(), reservation.getId());
+    }
+
+    /**
+     * Guarda el aviso al usuario cuya petición de la lista de espera se ha convertido en reserva.
+     * Debe llamarse dentro de la transacción que crea la reserva.
+     *
+     * @param reservation Reserva creada a partir de la petición, con sus salas
+     * @param user Usuario que estaba en la lista de espera
+     */
+    public void enqueueWaitlistPromotion(Reservation reservation, User user) {
+        LocalDateTime dateTime = reservation.getDateInit();
+        String hora = String.format("%02d:%02d", dateTime.getHour(), dateTime.getMinute());
+
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setRecipient(user.getEmail());
+        notification.setSubject("Reserva confirmada desde la lista de espera");
+        notification.setBody("Hola " + user.getUsername() + ", se ha liberado la sala que esperabas: tienes la reserva "
+                + reservation.getId() + " para el " + DATE_FORMAT.format(dateTime) + " a las " + hora + "hs en "
+                + reservation.getRooms().getFirst().getName());
+        notification.setCreatedAt(LocalDateTime.now());
+        notificationOutboxRepository.save(notification);
+        log.info("Aviso de promoción pendiente de envío para la reserva {}", reservation.getId());
+    }
+}
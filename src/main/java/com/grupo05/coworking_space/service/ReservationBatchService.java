@@ -0,0 +1,258 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.grupo05.coworking_space.dto.BatchReservationResultDTO;
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.mapper.ReservationMapper;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.service.BookingMetrics.ConflictReason;
+
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio de creación de reservas en lote.
+ * <p>
+ * Todo el lote se procesa en una única transacción: las salas se leen una sola vez, se bloquean
+ * juntas con {@link RoomBookingLocks} y cada reserva se valida contra la misma foto de
+ * {@link ReservationIntervalIndex} más las reservas del lote ya aceptadas. Las reservas válidas
+ * se guardan juntas, de forma que Hibernate las inserta (con sus filas de reservation_room) en
+ * lotes JDBC de hibernate.jdbc.batch_size sentencias. Las reservas no válidas se rechazan
+ * individualmente sin afectar al resto.
+ *
+ * @Service para indicar que es un servicio de la aplicacion
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Service
+public class ReservationBatchService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationMapper reservationMapper;
+    private final RoomRepository roomRepository;
+    private final UserDetailsServiceImpl userDetailsServiceImpl;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final NotificationService notificationService;
+    private final RoomBookingLocks roomBookingLocks;
+    private final Validator validator;
+    private final BookingMetrics bookingMetrics;
+    private final int maxBatchSize;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param reservationRepository Repositorio de reservas
+     * @param reservationMapper Mapper para conversión entre entidades y DTOs de reservas
+     * @param roomRepository Repositorio de salas, para leer todas las salas del lote a la vez
+     * @param userDetailsServiceImpl Servicio de usuarios, para resolver el usuario autenticado
+     * @param reservationIntervalIndex Índice en memoria de los intervalos reservados de cada sala
+     * @param notificationService Servicio que guarda las invitaciones pendientes de envío
+     * @param roomBookingLocks Cerrojos por sala que hacen atómicas la comprobación y el guardado
+     * @param validator Validador de Bean Validation, para validar cada reserva por separado
+     * @param bookingMetrics Métricas de las reservas rechazadas por conflicto
+     * @param maxBatchSize Número máximo de reservas por lote
+     */
+    public ReservationBatchService(ReservationRepository reservationRepository, ReservationMapper reservationMapper,
+            RoomRepository roomRepository, UserDetailsServiceImpl userDetailsServiceImpl,
+            ReservationIntervalIndex reservationIntervalIndex, NotificationService notificationService,
+            RoomBookingLocks roomBookingLocks, Validator validator, BookingMetrics bookingMetrics,
+            @Value("${reservation.batch.max-size:500}") int maxBatchSize) {
+        this.reservationRepository = reservationRepository;
+        this.reservationMapper = reservationMapper;
+        this.roomRepository = roomRepository;
+        this.userDetailsServiceImpl = userDetailsServiceImpl;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.notificationService = notificationService;
+        this.roomBookingLocks = roomBookingLocks;
+        this.validator = validator;
+        this.bookingMetrics = bookingMetrics;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Crea varias reservas del usuario autenticado en una única transacción.
+     * Cada reserva se valida igual que en la creación individual; las rechazadas se informan
+     * en el resultado con el error correspondiente y no impiden crear las demás.
+     *
+     * @param requests Reservas a crear, con sus participantes
+     * @return Resultado de cada reserva, en el orden de la petición
+     * @throws RequestException Si el lote está vacío, supera el tamaño máximo o no hay usuario autenticado
+     */
+    @Transactional
+    public BatchReservationResultDTO createReservations(List<RequestReservationDTO> requests) {
+        if (requests == null || requests.isEmpty())
+            throw new RequestException(ApiError.BAD_REQUEST);
+        if (requests.size() > maxBatchSize)
+            throw new RequestException(ApiError.BAD_REQUEST.getTitle(), ApiError.BAD_REQUEST.getDetail(),
+                    ApiError.BAD_REQUEST.getStatus(),
+                    Map.of("reservations", "At most " + maxBatchSize + " reservations per batch"));
+
+        int userId = userDetailsServiceImpl.findAuthenticatedUserId();
+        Map<Integer, Room> rooms = loadRooms(requests);
+        // Se bloquean todas las salas del lote antes de validar, así la foto del índice no cambia
+        roomBookingLocks.lockUntilCompletion(rooms.keySet());
+
+        BatchReservationResultDTO.Item[] results = new BatchReservationResultDTO.Item[requests.size()];
+        Map<Integer, TreeMap<LocalDateTime, LocalDateTime>> accepted = new HashMap<>();
+        List<Reservation> reservations = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                ReservationDTO reservationDTO = validate(requests.get(i), userId, rooms, accepted);
+                Reservation reservation = reservationMapper.convertToEntity(reservationDTO);
+                List<Room> reservationRooms = new ArrayList<>();
+                for (Integer roomId : new LinkedHashSet<>(reservationDTO.getRoomsFK()))
+                    reservationRooms.add(rooms.get(roomId));
+                reservation.setRooms(reservationRooms);
+                reservations.add(reservation);
+                indexes.add(i);
+            } catch (RequestException e) {
+                results[i] = BatchReservationResultDTO.Item.rejected(i, e.getStatusCode().value(), e.getTitle(),
+                        e.getDetail(), e.getReasons());
+            }
+        }
+
+        try {
+            reservationRepository.saveAll(reservations);
+            reservationRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (ReservationService.isExclusionViolation(e)) {
+                bookingMetrics.conflict(ConflictReason.EXCLUSION);
+                throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
+            }
+            throw e;
+        }
+
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            int index = indexes.get(i);
+            reservationIntervalIndex.register(reservation);
+            notificationService.enqueueReservationInvitations(reservation, requests.get(index).getEmailsParticipants());
+            results[index] = BatchReservationResultDTO.Item.created(index, reservationMapper.convertToDTO(reservation));
+        }
+
+        log.info("Lote de reservas procesado: {} creadas, {} rechazadas", reservations.size(),
+                requests.size() - reservations.size());
+        return new BatchReservationResultDTO(reservations.size(), requests.size() - reservations.size(),
+                List.of(results));
+    }
+
+    /**
+     * Lee en una sola consulta todas las salas referenciadas por el lote.
+     */
+    private Map<Integer, Room> loadRooms(List<RequestReservationDTO> requests) {
+        Set<Integer> roomIds = new LinkedHashSet<>();
+        for (RequestReservationDTO request : requests) {
+            if (request != null && request.getReservationDTO() != null && request.getReservationDTO().getRoomsFK() != null)
+                roomIds.addAll(request.getReservationDTO().getRoomsFK());
+        }
+        roomIds.remove(null);
+
+        Map<Integer, Room> rooms = new LinkedHashMap<>();
+        for (Room room : roomRepository.loadAllById(roomIds))
+            rooms.put(room.getId(), room);
+        return rooms;
+    }
+
+    /**
+     * Valida una reserva del lote y, si es válida, la añade a las aceptadas de cada sala.
+     *
+     * @param request Reserva a validar
+     * @param userId ID del usuario autenticado
+     * @param rooms Salas del lote por ID
+     * @param accepted Intervalos ya aceptados en el lote de cada sala, por inicio
+     * @return DTO de la reserva validada
+     * @throws RequestException Con el motivo por el que se rechaza la reserva
+     */
+    private ReservationDTO validate(RequestReservationDTO request, int userId, Map<Integer, Room> rooms,
+            Map<Integer, TreeMap<LocalDateTime, LocalDateTime>> accepted) {
+        if (request == null || request.getReservationDTO() == null)
+            throw new RequestException(ApiError.BAD_REQUEST);
+
+        ReservationDTO reservationDTO = request.getReservationDTO();
+        Set<ConstraintViolation<ReservationDTO>> violations = validator.validate(reservationDTO);
+        if (!violations.isEmpty()) {
+            Map<String, String> reasons = new HashMap<>();
+            for (ConstraintViolation<ReservationDTO> violation : violations)
+                reasons.put(violation.getPropertyPath().toString(), violation.getMessage());
+            throw new RequestException(ApiError.BAD_REQUEST.getTitle(), ApiError.BAD_REQUEST.getDetail(),
+                    ApiError.BAD_REQUEST.getStatus(), reasons);
+        }
+
+        if (reservationDTO.getUserFK() != userId)
+            throw new RequestException(ApiError.AUTHENTICATION_FAILED, "Error de permisos",
+                    "No puedes crear reservas para otros usuarios");
+
+        List<Integer> missing = new ArrayList<>();
+        for (Integer roomId : reservationDTO.getRoomsFK()) {
+            Room room = rooms.get(roomId);
+            if (room == null)
+                missing.add(roomId);
+            else if (!room.getRoomStatus().isBookable())
+                throw new RequestException(ApiError.ROOM_NOT_AVAILABLE, "Room Not Available",
+                        "Room is not available for reservation because it is " + room.getRoomStatus().getState());
+        }
+        if (!missing.isEmpty())
+            throw new RequestException(ApiError.BAD_REQUEST.getTitle(), ApiError.BAD_REQUEST.getDetail(),
+                    ApiError.BAD_REQUEST.getStatus(), Map.of("roomsFK", "Rooms not found: " + missing));
+
+        LocalDateTime dateInit = reservationDTO.getDateInit();
+        LocalDateTime dateEnd = reservationDTO.getDateEnd();
+        if (!dateInit.isBefore(dateEnd))
+            throw new RequestException(ApiError.DATE_NOT_AVAILABLE_AFTER);
+
+        if (reservationIntervalIndex.hasConflict(reservationDTO.getRoomsFK(), dateInit, dateEnd, 0)) {
+            bookingMetrics.conflict(ConflictReason.OVERLAP);
+            throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
+        }
+        for (Integer roomId : reservationDTO.getRoomsFK()) {
+            if (overlapsAccepted(accepted.get(roomId), dateInit, dateEnd)) {
+                bookingMetrics.conflict(ConflictReason.OVERLAP);
+                throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
+            }
+        }
+
+        for (Integer roomId : reservationDTO.getRoomsFK())
+            accepted.computeIfAbsent(roomId, id -> new TreeMap<>()).put(dateInit, dateEnd);
+        return reservationDTO;
+    }
+
+    /**
+     * Comprueba si [dateInit, dateEnd) se solapa con algún intervalo aceptado de una sala.
+     * Como los intervalos aceptados no se solapan entre sí, basta con mirar el que empieza
+     * justo antes y el que empieza justo después del inicio.
+     */
+    private static boolean overlapsAccepted(TreeMap<LocalDateTime, LocalDateTime> intervals,
+            LocalDateTime dateInit, LocalDateTime dateEnd) {
+        if (intervals == null)
+            return false;
+        Entry<LocalDateTime, LocalDateTime> before = intervals.floorEntry(dateInit);
+        if (before != null && before.getValue().isAfter(dateInit))
+            return true;
+        LocalDateTime nextStart = intervals.higherKey(dateInit);
+        return nextStart != null && nextStart.isBefore(dateEnd);
+    }
+}
@@ -0,0 +1,224 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio para eliminar de una vez todas las reservas de un usuario.
+ * <p>
+ * Las reservas se eliminan con una sentencia DELETE sobre la tabla intermedia y otra sobre la de
+ * reservas, sin cargar entidades ni pasar por {@code preRemove}. Antes se leen, sin entidades, los
+ * intervalos de cada sala y se bloquean las salas de las listas de espera afectadas; tras el
+ * borrado se quitan del índice, se promociona la lista de espera y se liberan en una única
+ * sentencia las salas ocupadas por una reserva en curso. Los usuarios con muchas
+ * reservas se eliminan por bloques, cada uno en su propia transacción.
+ *
+ * @Service para indicar que es un servicio de la aplicacion
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Service
+public class ReservationBulkDeleteService {
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final RoomCapacityIndex roomCapacityIndex;
+    private final WaitlistService waitlistService;
+    private final RoomBookingLocks roomBookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param reservationRepository Repositorio de reservas
+     * @param roomRepository Repositorio de salas, para liberar las ocupadas
+     * @param reservationIntervalIndex Índice en memoria de los intervalos reservados de cada sala
+     * @param roomCapacityIndex Índice de salas, que se actualiza con los nuevos estados
+     * @param waitlistService Servicio de la lista de espera, que promociona peticiones al liberarse un rango
+     * @param roomBookingLocks Cerrojos por sala, que se toman antes de promocionar la lista de espera
+     * @param transactionManager Gestor con el que se abre la transacción de cada bloque
+     * @param chunkSize Número de reservas a partir del cual se eliminan por bloques, y tamaño de cada bloque
+     */
+    public ReservationBulkDeleteService(ReservationRepository reservationRepository, RoomRepository roomRepository,
+            ReservationIntervalIndex reservationIntervalIndex, RoomCapacityIndex roomCapacityIndex,
+            WaitlistService waitlistService, RoomBookingLocks roomBookingLocks,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.delete.chunk-size:1000}") int chunkSize) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.roomCapacityIndex = roomCapacityIndex;
+        this.waitlistService = waitlistService;
+        this.roomBookingLocks = roomBookingLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Elimina todas las reservas de un usuario. Si tiene más reservas que el tamaño de bloque,
+     * se eliminan por bloques con {@link #deleteAllReservationsByUserInChunks(int, int)}; si no,
+     * en una única transacción.
+     *
+     * @param id ID del usuario
+     * @return Número de reservas eliminadas
+     * @throws RequestException Si ocurre un error de base de datos o cualquier otro error
+     */
+    public int deleteAllReservationsByUser(int id) {
+        try {
+            if (reservationRepository.countByUserId(id) > chunkSize)
+                return deleteAllReservationsByUserInChunks(id, chunkSize);
+
+            int deleted = transactionTemplate.execute(status -> {
+                Release release = prepareRelease(reservationRepository.findReleaseEntriesByUserId(id));
+                int count = reservationRepository.deleteAllByUserId(id);
+                release(release);
+                return count;
+            });
+            log.info("Reservas eliminadas con exito del usuario {}: {}", id, deleted);
+            return deleted;
+        } catch (DataAccessException ex) {
+            throw new RequestException(ApiError.DATABASE_ERROR);
+        } catch (RequestException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RequestException(ApiError.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Elimina todas las reservas de un usuario por bloques de IDs, cada bloque en su propia
+     * transacción, para no mantener bloqueadas muchas filas a la vez. Si falla un bloque, los
+     * anteriores ya quedan eliminados.
+     *
+     * @param id ID del usuario
+     * @param chunkSize Número máximo de reservas por bloque
+     * @return Número de reservas eliminadas
+     * @throws RequestException Si ocurre un error de base de datos o cualquier otro error
+     */
+    public int deleteAllReservationsByUserInChunks(int id, int chunkSize) {
+        try {
+            int deleted = 0;
+            int afterId = 0;
+            List<Integer> ids;
+            do {
+                ids = reservationRepository.findIdsByUserIdAfter(id, afterId, Limit.of(chunkSize));
+                if (ids.isEmpty())
+                    break;
+                List<Integer> chunk = ids;
+                deleted += transactionTemplate.execute(status -> {
+                    Release release = prepareRelease(reservationRepository.findReleaseEntriesByIdIn(chunk));
+                    int count = reservationRepository.deleteAllByIdIn(chunk);
+                    release(release);
+                    return count;
+                });
+                afterId = ids.getLast();
+            } while (ids.size() == chunkSize);
+            log.info("Reservas eliminadas con exito del usuario {} por bloques: {}", id, deleted);
+            return deleted;
+        } catch (DataAccessException ex) {
+            throw new RequestException(ApiError.DATABASE_ERROR);
+        } catch (RequestException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RequestException(ApiError.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Prepara la liberación de las reservas que se van a eliminar y bloquea, en una sola llamada,
+     * las salas de las listas de espera de sus rangos futuros. Debe llamarse en la transacción del
+     * borrado antes de ejecutarlo: como en {@link ReservationService#deleteReservation(int)}, las
+     * salas se bloquean antes de escribir, de modo que el borrado no espera a una reserva que a su
+     * vez espera a las filas que el borrado ya tiene bloqueadas.
+     *
+     * @param rows Filas [ID reserva, fecha inicio, fecha fin, estado, ID sala] de las reservas a eliminar
+     * @return Reservas, salas a liberar y salas bloqueadas, para {@link #release(Release)}
+     */
+    private Release prepareRelease(List<Object[]> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, List<Integer>> roomsByReservation = new LinkedHashMap<>();
+        Map<Integer, Object[]> reservations = new LinkedHashMap<>();
+        Set<Integer> freedRooms = new LinkedHashSet<>();
+        for (Object[] row : rows) {
+            int reservationId = (Integer) row[0];
+            LocalDateTime dateInit = (LocalDateTime) row[1];
+            LocalDateTime dateEnd = (LocalDateTime) row[2];
+            int roomId = (Integer) row[4];
+            reservations.putIfAbsent(reservationId, row);
+            roomsByReservation.computeIfAbsent(reservationId, k -> new ArrayList<>()).add(roomId);
+            // Una sala solo puede tener una reserva en curso, así que queda libre si no hay otra
+            if (!dateInit.isAfter(now) && dateEnd.isAfter(now)
+                    && !reservationIntervalIndex.overlaps(roomId, now, now.plusNanos(1), reservationId))
+                freedRooms.add(roomId);
+        }
+
+        // Las salas de todas las listas de espera afectadas se bloquean en una sola llamada
+        Map<Integer, Object[]> released = new LinkedHashMap<>();
+        Set<Integer> lockedRooms = new LinkedHashSet<>();
+        reservations.forEach((reservationId, row) -> {
+            if (row[3] != ReservationStatus.CANCELED && ((LocalDateTime) row[2]).isAfter(now)) {
+                released.put(reservationId, row);
+                waitlistService.addRoomsToLock(roomsByReservation.get(reservationId), (LocalDateTime) row[1],
+                        (LocalDateTime) row[2], lockedRooms);
+            }
+        });
+        if (!released.isEmpty())
+            roomBookingLocks.lockUntilCompletion(lockedRooms);
+        return new Release(roomsByReservation, released, freedRooms, lockedRooms);
+    }
+
+    /**
+     * Quita del índice las reservas eliminadas, promociona la lista de espera en sus rangos
+     * futuros y libera las salas que solo estaban ocupadas por ellas. Debe llamarse en la
+     * transacción del borrado, después de ejecutarlo.
+     *
+     * @param release Liberación preparada con {@link #prepareRelease(List)} antes del borrado
+     */
+    private void release(Release release) {
+        release.roomsByReservation().keySet().forEach(reservationIntervalIndex::unregister);
+        release.released().forEach((reservationId, row) -> waitlistService.promoteReleased(
+                release.roomsByReservation().get(reservationId), (LocalDateTime) row[1], (LocalDateTime) row[2],
+                reservationId, null, release.lockedRooms()));
+
+        Set<Integer> freedRooms = release.freedRooms();
+        if (!freedRooms.isEmpty()) {
+            roomRepository.updateStatus(freedRooms, RoomStatus.BUSY, RoomStatus.AVAILABLE);
+            roomCapacityIndex.updateStatus(freedRooms, RoomStatus.BUSY, RoomStatus.AVAILABLE);
+        }
+    }
+
+    /**
+     * Reservas que se van a eliminar, con lo necesario para liberarlas tras el borrado.
+     *
+     * @param roomsByReservation Salas de cada reserva
+     * @param released Filas de las reservas activas con rango futuro, cuya lista de espera se promociona
+     * @param freedRooms Salas ocupadas solo por alguna de las reservas
+     * @param lockedRooms Salas bloqueadas antes del borrado
+     */
+    private record Release(Map<Integer, List<Integer>> roomsByReservation, Map<Integer, Object[]> released,
+            Set<Integer> freedRooms, Set<Integer> lockedRooms) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.grupo05.coworking_space.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.enums.ExportFormat;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de exportación masiva de reservas.
+ * <p>
+ * Las reservas se leen de la base de datos como un flujo de filas escalares (sin cargar
+ * entidades, por lo que el contexto de persistencia no crece) y se escriben directamente en la
+ * respuesta a medida que llegan. La memoria usada no depende del número de reservas exportadas.
+ * <p>
+ * Solo se exportan las filas de reservas: las ocurrencias de las series no se guardan como
+ * reservas y no se incluyen; cada serie se consulta en GET /reservations/series/{id}.
+ *
+ * @Service para indicar que es un servicio de la aplicacion
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Service
+public class ReservationExportService {
+
+    /** Número de reservas escritas entre dos vaciados del buffer hacia el cliente */
+    private static final int FLUSH_EVERY = 1000;
+    private static final String CSV_HEADER = "id,dateInit,dateEnd,reserveStatus,description,userFK,roomsFK\n";
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jsonWriter;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param reservationRepository Repositorio de reservas
+     * @param transactionManager Gestor de transacciones, para abrir la transacción de lectura del flujo
+     * @param objectMapper Serializador JSON de la aplicación, para que las fechas y estados se
+     *                     escriban igual que en el resto de la API
+     */
+    public ReservationExportService(ReservationRepository reservationRepository,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(ReservationDTO.class);
+    }
+
+    /**
+     * Prepara la exportación de las reservas que se solapan con un rango de fechas. La consulta
+     * se ejecuta cuando el servidor escribe la respuesta, en un hilo aparte del de la petición.
+     *
+     * @param dateInit Fecha inicial del rango
+     * @param dateEnd Fecha final del rango
+     * @param format Formato de salida
+     * @return Cuerpo de respuesta que escribe las reservas a medida que se leen
+     */
+    public StreamingResponseBody exportReservations(LocalDateTime dateInit, LocalDateTime dateEnd, ExportFormat format) {
+        return outputStream -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeReservations(dateInit, dateEnd, format, outputStream));
+            } catch (UncheckedIOException e) {
+                // Normalmente el cliente ha cerrado la conexión
+                log.warn("Exportación de reservas interrumpida: {}", e.getCause().getMessage());
+                throw e.getCause();
+            }
+        };
+    }
+
+    /**
+     * Lee las filas de la exportación y escribe una reserva por línea. Las filas de una misma
+     * reserva (una por sala) llegan seguidas, por lo que basta con acumular la reserva actual.
+     *
+     * @param dateInit Fecha inicial del rango
+     * @param dateEnd Fecha final del rango
+     * @param format Formato de salida
+     * @param outputStream Flujo de salida de la respuesta
+     */
+    private void writeReservations(LocalDateTime dateInit, LocalDateTime dateEnd, ExportFormat format,
+            OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        long written = 0;
+        try (Stream<Object[]> rows = reservationRepository.streamExportRows(dateInit, dateEnd)) {
+            if (format == ExportFormat.CSV)
+                writer.write(CSV_HEADER);
+
+            ReservationDTO current = null;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                int id = (Integer) row[0];
+                if (current == null || current.getId() != id) {
+                    if (current != null) {
+                        write(writer, current, format);
+                        if (++written % FLUSH_EVERY == 0)
+                            writer.flush();
+                    }
+                    current = new ReservationDTO(id, (LocalDateTime) row[1], (LocalDateTime) row[2],
+                            (ReservationStatus) row[3], (String) row[4], (Integer) row[5], new ArrayList<>(1));
+                }
+                if (row[6] != null)
+                    current.getRoomsFK().add((Integer) row[6]);
+            }
+            if (current != null) {
+                write(writer, current, format);
+                written++;
+            }
+            writer.flush();
+            log.info("Exportadas {} reservas en formato {}", written, format.getExtension());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escribe una reserva en el formato indicado, terminada en salto de línea.
+     *
+     * @param writer Destino
+     * @param reservation Reserva a escribir
+     * @param format Formato de salida
+     * @throws IOException Si no se puede escribir en la respuesta
+     */
+    private void write(Writer writer, ReservationDTO reservation, ExportFormat format) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(jsonWriter.writeValueAsString(reservation));
+        } else {
+            writer.write(Integer.toString(reservation.getId()));
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(reservation.getDateInit()));
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(reservation.getDateEnd()));
+            writer.write(',');
+            writer.write(reservation.getReserveStatus().getState());
+            writer.write(',');
+            writer.write(csvField(reservation.getDescription()));
+            writer.write(',');
+            writer.write(Integer.toString(reservation.getUserFK()));
+            writer.write(',');
+            writer.write(joinIds(reservation.getRoomsFK()));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Escapa un campo de texto libre para CSV (RFC 4180).
+     *
+     * @param value Valor del campo, puede ser null
+     * @return Valor entre comillas si contiene separadores, comillas o saltos de línea
+     */
+    private static String csvField(String value) {
+        if (value == null)
+            return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Une los IDs de las salas con punto y coma, para que ocupen una sola columna del CSV.
+     *
+     * @param ids IDs de las salas
+     * @return IDs separados por punto y coma
+     */
+    private static String joinIds(List<Integer> ids) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0)
+                builder.append(';');
+            builder.append(ids.get(i));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,477 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.ReservationSeries;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.ReservationSeriesRepository;
+import com.grupo05.coworking_space.utils.IntervalTree;
+import com.grupo05.coworking_space.utils.SeriesSchedule;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice en memoria de los intervalos reservados de cada sala.
+ * Permite comprobar si una sala está ocupada en un rango [dateInit, dateEnd)
+ * en O(log n) sin consultar la base de datos, con un {@link IntervalTree} por sala. Los intervalos se consideran
+ * semiabiertos, por lo que dos reservas consecutivas (una termina cuando empieza
+ * la otra) no entran en conflicto. Las reservas canceladas no se indexan.
+ * <p>
+ * Las series de reservas ({@link ReservationSeries}) se indexan por su calendario, no por sus
+ * ocurrencias: cada comprobación calcula solo la ocurrencia de la serie que puede caer en el
+ * rango consultado, así que su coste no crece con la duración de la serie.
+ *
+ * El índice se carga al iniciar la aplicación y se mantiene sincronizado con las
+ * escrituras de {@link Reservation}; los cambios hechos dentro de una transacción
+ * solo se aplican cuando esta se confirma. Las reservas terminadas se quitan periódicamente con
+ * {@link #evictEndedBy(LocalDateTime)}. Otros índices derivados (ver {@link RoomOccupancyIndex})
+ * pueden suscribirse a esos cambios con {@link #addListener(Listener)}.
+ *
+ * @Component para indicar que es un componente de Spring
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Component
+public class ReservationIntervalIndex {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationSeriesRepository reservationSeriesRepository;
+
+    /** Línea temporal de cada sala, indexada por el ID de la sala */
+    private final Map<Integer, RoomTimeline> timelines = new ConcurrentHashMap<>();
+
+    /** Intervalo y salas indexadas de cada reserva, para poder reemplazarla o eliminarla */
+    private final Map<Integer, IndexedReservation> reservations = new ConcurrentHashMap<>();
+
+    /** Calendario y salas indexadas de cada serie */
+    private final Map<Integer, IndexedSeries> series = new ConcurrentHashMap<>();
+
+    /** Suscriptores a los cambios ya aplicados en el índice */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param reservationRepository Repositorio usado para la carga inicial del índice
+     * @param reservationSeriesRepository Repositorio de series usado para la carga inicial del índice
+     */
+    public ReservationIntervalIndex(ReservationRepository reservationRepository,
+            ReservationSeriesRepository reservationSeriesRepository) {
+        this.reservationRepository = reservationRepository;
+        this.reservationSeriesRepository = reservationSeriesRepository;
+    }
+
+    /**
+     * Carga en el índice todas las reservas y series no canceladas de la base de datos.
+     * @PostConstruct Se ejecuta al iniciar la aplicación
+     */
+    @PostConstruct
+    public void load() {
+        Map<Integer, List<Integer>> roomsByReservation = new HashMap<>();
+        Map<Integer, Object[]> rows = new HashMap<>();
+        for (Object[] row : reservationRepository.findIntervalIndexEntries(ReservationStatus.CANCELED)) {
+            int reservationId = (Integer) row[0];
+            rows.putIfAbsent(reservationId, row);
+            roomsByReservation.computeIfAbsent(reservationId, k -> new ArrayList<>()).add((Integer) row[3]);
+        }
+        rows.forEach((reservationId, row) -> put(reservationId, (LocalDateTime) row[1], (LocalDateTime) row[2],
+                roomsByReservation.get(reservationId)));
+        for (ReservationSeries reservationSeries : reservationSeriesRepository.findAllForIndex(ReservationStatus.CANCELED))
+            putSeries(reservationSeries.toSchedule(), reservationSeries.getRoomsFK());
+        log.info("Índice de reservas cargado: {} reservas, {} series", reservations.size(), series.size());
+    }
+
+    /**
+     * Comprueba si alguna de las salas indicadas tiene una reserva que se solape con el rango dado.
+     *
+     * @param roomIds IDs de las salas a comprobar
+     * @param dateInit Inicio del rango (inclusive)
+     * @param dateEnd Fin del rango (exclusive)
+     * @param excludedReservationId ID de una reserva que se ignora (la que se está actualizando), 0 si no hay ninguna
+     * @return true si hay al menos un solapamiento
+     */
+    public boolean hasConflict(Collection<Integer> roomIds, LocalDateTime dateInit, LocalDateTime dateEnd,
+            int excludedReservationId) {
+        for (Integer roomId : roomIds) {
+            if (overlaps(roomId, dateInit, dateEnd, excludedReservationId))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si alguna ocurrencia de una serie chocaría, en alguna de las salas indicadas,
+     * con una reserva o con una ocurrencia de otra serie ya indexadas.
+     *
+     * @param roomIds IDs de las salas de la serie
+     * @param schedule Calendario de la serie
+     * @return true si hay al menos un solapamiento
+     */
+    public boolean hasConflict(Collection<Integer> roomIds, SeriesSchedule schedule) {
+        for (Integer roomId : roomIds) {
+            RoomTimeline timeline = timelines.get(roomId);
+            if (timeline != null && timeline.collidesWith(schedule))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si una sala tiene alguna reserva u ocurrencia de una serie que se solape con el rango dado.
+     *
+     * @param roomId ID de la sala
+     * @param dateInit Inicio del rango (inclusive)
+     * @param dateEnd Fin del rango (exclusive)
+     * @param excludedReservationId ID de una reserva que se ignora, 0 si no hay ninguna
+     * @return true si la sala está ocupada en algún momento del rango
+     */
+    public boolean overlaps(int roomId, LocalDateTime dateInit, LocalDateTime dateEnd, int excludedReservationId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        return timeline != null && timeline.overlaps(dateInit, dateEnd, excludedReservationId);
+    }
+
+    /**
+     * Recorre los intervalos reservados de una sala que se solapan con el rango dado.
+     *
+     * @param roomId ID de la sala
+     * @param from Inicio del rango (inclusive)
+     * @param to Fin del rango (exclusive)
+     * @param consumer Recibe el inicio y el fin de cada intervalo, ordenados por inicio
+     */
+    public void forEachInterval(int roomId, LocalDateTime from, LocalDateTime to,
+            BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline != null)
+            timeline.forEachOverlapping(from, to, consumer);
+    }
+
+    /**
+     * Comprueba si una sala tiene alguna serie indexada.
+     *
+     * @param roomId ID de la sala
+     * @return true si la sala tiene al menos una serie
+     */
+    public boolean hasSeries(int roomId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        return timeline != null && timeline.hasSeries();
+    }
+
+    /**
+     * Recorre las ocurrencias de las series de una sala que se solapan con el rango dado.
+     * No incluye las reservas, que se recorren con {@link #forEachInterval(int, LocalDateTime, LocalDateTime, BiConsumer)}.
+     *
+     * @param roomId ID de la sala
+     * @param from Inicio del rango (inclusive)
+     * @param to Fin del rango (exclusive)
+     * @param consumer Recibe el inicio y el fin de cada ocurrencia, ordenadas por inicio dentro de cada serie
+     */
+    public void forEachSeriesOccurrence(int roomId, LocalDateTime from, LocalDateTime to,
+            BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline != null)
+            timeline.forEachSeriesOccurrence(from, to, consumer);
+    }
+
+    /**
+     * Recorre todos los intervalos reservados de cada sala.
+     *
+     * @param consumer Recibe el ID de la sala, el inicio y el fin de cada intervalo
+     */
+    public void forEachInterval(IntervalConsumer consumer) {
+        timelines.forEach((roomId, timeline) -> timeline.forEach((start, end) -> consumer.accept(roomId, start, end)));
+    }
+
+    /**
+     * Suscribe un listener a los cambios del índice. Se le avisa después de aplicar cada cambio,
+     * es decir, tras confirmarse la transacción que lo produjo.
+     *
+     * @param listener Listener a suscribir
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registra (o reemplaza) una reserva en el índice cuando se confirme la transacción actual.
+     * Si la reserva está cancelada se elimina del índice.
+     *
+     * @param reservation Reserva guardada
+     */
+    public void register(Reservation reservation) {
+        int reservationId = reservation.getId();
+        LocalDateTime dateInit = reservation.getDateInit();
+        LocalDateTime dateEnd = reservation.getDateEnd();
+        List<Integer> roomIds = reservation.getRooms() == null ? List.of() : reservation.getRooms().stream()
+                .map(Room::getId)
+                .toList();
+        boolean canceled = reservation.getReserveStatus() == ReservationStatus.CANCELED;
+
+        afterCommit(() -> {
+            removeNow(reservationId);
+            if (!canceled)
+                put(reservationId, dateInit, dateEnd, roomIds);
+        });
+    }
+
+    /**
+     * Elimina una reserva del índice cuando se confirme la transacción actual.
+     *
+     * @param reservationId ID de la reserva eliminada
+     */
+    public void unregister(int reservationId) {
+        afterCommit(() -> removeNow(reservationId));
+    }
+
+    /**
+     * Registra (o reemplaza) una serie en el índice cuando se confirme la transacción actual.
+     * Si la serie está cancelada se elimina del índice.
+     *
+     * @param reservationSeries Serie guardada, con sus salas y días anulados
+     */
+    public void registerSeries(ReservationSeries reservationSeries) {
+        SeriesSchedule schedule = reservationSeries.toSchedule();
+        List<Integer> roomIds = reservationSeries.getRoomsFK();
+        boolean canceled = reservationSeries.getReserveStatus() == ReservationStatus.CANCELED;
+
+        afterCommit(() -> {
+            removeSeriesNow(schedule.seriesId());
+            if (!canceled)
+                putSeries(schedule, roomIds);
+        });
+    }
+
+    /**
+     * Elimina una serie del índice cuando se confirme la transacción actual.
+     *
+     * @param seriesId ID de la serie eliminada
+     */
+    public void unregisterSeries(int seriesId) {
+        afterCommit(() -> removeSeriesNow(seriesId));
+    }
+
+    /**
+     * Quita del índice las reservas que terminan en un instante o antes. Las reservas solo se
+     * pueden crear o mover a fechas futuras, así que ya no pueden entrar en conflicto con ninguna;
+     * no se avisa a los suscriptores, que conservan lo que ya habían calculado de ellas.
+     *
+     * @param cutoff Instante límite, normalmente el actual
+     * @return Número de reservas eliminadas del índice
+     */
+    public int evictEndedBy(LocalDateTime cutoff) {
+        int evicted = 0;
+        for (RoomTimeline timeline : timelines.values()) {
+            for (Interval interval : timeline.removeEndedBy(cutoff)) {
+                IndexedReservation indexed = reservations.get(interval.reservationId());
+                if (indexed != null && indexed.interval().equals(interval)
+                        && reservations.remove(interval.reservationId(), indexed))
+                    evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Elimina del índice la línea temporal de una sala cuando se confirme la transacción actual.
+     *
+     * @param roomId ID de la sala eliminada
+     */
+    public void unregisterRoom(int roomId) {
+        afterCommit(() -> {
+            timelines.remove(roomId);
+            listeners.forEach(listener -> listener.roomRemoved(roomId));
+        });
+    }
+
+    private void put(int reservationId, LocalDateTime dateInit, LocalDateTime dateEnd, List<Integer> roomIds) {
+        Interval interval = new Interval(reservationId, dateInit, dateEnd);
+        for (Integer roomId : roomIds)
+            timelines.computeIfAbsent(roomId, id -> new RoomTimeline()).add(interval);
+        reservations.put(reservationId, new IndexedReservation(interval, roomIds));
+        notifyChanged(roomIds, interval);
+    }
+
+    private void removeNow(int reservationId) {
+        IndexedReservation indexed = reservations.remove(reservationId);
+        if (indexed == null)
+            return;
+        for (Integer roomId : indexed.roomIds()) {
+            RoomTimeline timeline = timelines.get(roomId);
+            if (timeline != null)
+                timeline.remove(indexed.interval());
+        }
+        notifyChanged(indexed.roomIds(), indexed.interval());
+    }
+
+    private void putSeries(SeriesSchedule schedule, List<Integer> roomIds) {
+        for (Integer roomId : roomIds)
+            timelines.computeIfAbsent(roomId, id -> new RoomTimeline()).addSeries(schedule);
+        series.put(schedule.seriesId(), new IndexedSeries(schedule, roomIds));
+    }
+
+    private void removeSeriesNow(int seriesId) {
+        IndexedSeries indexed = series.remove(seriesId);
+        if (indexed == null)
+            return;
+        for (Integer roomId : indexed.roomIds()) {
+            RoomTimeline timeline = timelines.get(roomId);
+            if (timeline != null)
+                timeline.removeSeries(seriesId);
+        }
+    }
+
+    private void notifyChanged(List<Integer> roomIds, Interval interval) {
+        for (Listener listener : listeners) {
+            for (Integer roomId : roomIds)
+                listener.intervalChanged(roomId, interval.start(), interval.end());
+        }
+    }
+
+    /**
+     * Ejecuta la acción al confirmarse la transacción activa, o inmediatamente si no hay ninguna.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Recibe los cambios del índice una vez aplicados.
+     */
+    public interface Listener {
+        /**
+         * Se ha añadido o eliminado un intervalo reservado de una sala.
+         *
+         * @param roomId ID de la sala
+         * @param start Inicio del intervalo
+         * @param end Fin del intervalo
+         */
+        void intervalChanged(int roomId, LocalDateTime start, LocalDateTime end);
+
+        /**
+         * Se ha eliminado una sala y todos sus intervalos.
+         *
+         * @param roomId ID de la sala
+         */
+        void roomRemoved(int roomId);
+    }
+
+    /** Recibe un intervalo reservado junto con su sala */
+    @FunctionalInterface
+    public interface IntervalConsumer {
+        void accept(int roomId, LocalDateTime start, LocalDateTime end);
+    }
+
+    /** Intervalo semiabierto [start, end) de una reserva */
+    private record Interval(int reservationId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /** Intervalo y salas con los que se indexó una reserva */
+    private record IndexedReservation(Interval interval, List<Integer> roomIds) {
+    }
+
+    /** Calendario y salas con los que se indexó una serie */
+    private record IndexedSeries(SeriesSchedule schedule, List<Integer> roomIds) {
+    }
+
+    /**
+     * Intervalos reservados de una sala en un {@link IntervalTree}, más los calendarios de sus series.
+     * Cada consulta solo recorre los intervalos que se solapan con el rango, aunque la sala tenga
+     * reservas muy largas.
+     */
+    private static final class RoomTimeline {
+        private static final Comparator<Interval> ORDER = Comparator.comparing(Interval::start)
+                .thenComparingInt(Interval::reservationId);
+
+        private final IntervalTree<Interval> intervals = new IntervalTree<>(ORDER, Interval::start, Interval::end);
+        private final List<SeriesSchedule> series = new ArrayList<>();
+
+        synchronized void add(Interval interval) {
+            intervals.add(interval);
+        }
+
+        synchronized void remove(Interval interval) {
+            intervals.remove(interval);
+        }
+
+        synchronized List<Interval> removeEndedBy(LocalDateTime cutoff) {
+            return intervals.removeEndedBy(cutoff);
+        }
+
+        synchronized void addSeries(SeriesSchedule schedule) {
+            series.add(schedule);
+        }
+
+        synchronized void removeSeries(int seriesId) {
+            series.removeIf(schedule -> schedule.seriesId() == seriesId);
+        }
+
+        synchronized boolean hasSeries() {
+            return !series.isEmpty();
+        }
+
+        synchronized boolean overlaps(LocalDateTime dateInit, LocalDateTime dateEnd, int excludedReservationId) {
+            if (intervals.anyOverlapping(dateInit, dateEnd,
+                    interval -> interval.reservationId() != excludedReservationId))
+                return true;
+            for (SeriesSchedule schedule : series) {
+                if (schedule.overlaps(dateInit, dateEnd))
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * Comprueba si una serie choca con alguna reserva o serie de la sala. Solo se recorren
+         * las reservas que pueden solaparse con la serie, entre su primera y su última ocurrencia.
+         */
+        synchronized boolean collidesWith(SeriesSchedule schedule) {
+            for (SeriesSchedule other : series) {
+                if (other.seriesId() != schedule.seriesId() && schedule.collidesWith(other))
+                    return true;
+            }
+            LocalDateTime lastEnd = schedule.lastEnd();
+            return intervals.anyOverlapping(schedule.firstStart(), lastEnd == null ? LocalDateTime.MAX : lastEnd,
+                    interval -> schedule.overlaps(interval.start(), interval.end()));
+        }
+
+        synchronized void forEachSeriesOccurrence(LocalDateTime dateInit, LocalDateTime dateEnd,
+                BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+            for (SeriesSchedule schedule : series)
+                schedule.forEachOverlapping(dateInit, dateEnd, consumer);
+        }
+
+        synchronized void forEachOverlapping(LocalDateTime dateInit, LocalDateTime dateEnd,
+                BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+            intervals.forEachOverlapping(dateInit, dateEnd, interval -> consumer.accept(interval.start(), interval.end()));
+        }
+
+        synchronized void forEach(BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+            intervals.forEach(interval -> consumer.accept(interval.start(), interval.end()));
+        }
+    }
+}
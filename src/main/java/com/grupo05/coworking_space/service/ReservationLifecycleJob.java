@@ -0,0 +1,131 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Proceso en segundo plano que avanza el estado de reservas y salas según pasa el tiempo.
+ * <p>
+ * Las reservas pendientes o confirmadas que ya han terminado pasan a completadas, y las salas
+ * disponibles con una reserva en curso pasan a ocupadas (y al revés cuando termina); las
+ * terminadas también se quitan del índice de intervalos. Los cambios se hacen con sentencias
+ * UPDATE sobre bloques de IDs, cada bloque en su propia transacción, de modo que nunca se cargan
+ * entidades ni se mantienen bloqueadas muchas filas a la vez aunque haya millones de reservas
+ * por completar.
+ *
+ * @Component para indicar que es un componente de Spring
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Component
+public class ReservationLifecycleJob {
+
+    /** Estados de las reservas que siguen activas */
+    private static final Set<ReservationStatus> ACTIVE = Set.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final RoomCapacityIndex roomCapacityIndex;
+    private final int chunkSize;
+
+    /**
+     * Crea el proceso de ciclo de vida de reservas y salas.
+     *
+     * @param reservationRepository Repositorio de reservas
+     * @param roomRepository Repositorio de salas
+     * @param reservationIntervalIndex Índice de intervalos, para saber qué salas tienen una reserva en curso
+     * @param roomCapacityIndex Índice de salas, que se actualiza con los nuevos estados
+     * @param chunkSize Número máximo de filas por sentencia y transacción
+     */
+    public ReservationLifecycleJob(ReservationRepository reservationRepository, RoomRepository roomRepository,
+            ReservationIntervalIndex reservationIntervalIndex, RoomCapacityIndex roomCapacityIndex,
+            @Value("${reservation.lifecycle.chunk-size:1000}") int chunkSize) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.roomCapacityIndex = roomCapacityIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Completa las reservas terminadas y actualiza el estado de las salas.
+     */
+    @Scheduled(fixedDelayString = "${reservation.lifecycle.interval-ms:60000}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        int completed = completeEndedReservations(now);
+        int rooms = updateRoomStatuses(now);
+        int evicted = reservationIntervalIndex.evictEndedBy(now);
+        if (completed > 0 || rooms > 0)
+            log.info("Ciclo de vida: {} reservas completadas, {} salas actualizadas", completed, rooms);
+        if (evicted > 0)
+            log.debug("Ciclo de vida: {} reservas terminadas fuera del índice", evicted);
+    }
+
+    /**
+     * Marca como completadas, por bloques, las reservas activas que terminan antes de un instante.
+     *
+     * @param now Instante actual
+     * @return Número de reservas completadas
+     */
+    public int completeEndedReservations(LocalDateTime now) {
+        int completed = 0;
+        List<Integer> ids;
+        do {
+            ids = reservationRepository.findIdsEndedBefore(ACTIVE, now, Limit.of(chunkSize));
+            if (!ids.isEmpty())
+                completed += reservationRepository.markCompleted(ids, ACTIVE, now);
+        } while (ids.size() == chunkSize);
+        return completed;
+    }
+
+    /**
+     * Marca como ocupadas las salas disponibles con una reserva u ocurrencia en curso, y como
+     * disponibles las ocupadas que ya no la tienen. Las salas en mantenimiento o no disponibles
+     * no se tocan.
+     *
+     * @param now Instante actual
+     * @return Número de salas actualizadas
+     */
+    public int updateRoomStatuses(LocalDateTime now) {
+        List<Integer> toBusy = new ArrayList<>();
+        for (Integer roomId : roomRepository.findIdsByRoomStatus(RoomStatus.AVAILABLE)) {
+            if (isOccupied(roomId, now))
+                toBusy.add(roomId);
+        }
+        List<Integer> toFree = new ArrayList<>();
+        for (Integer roomId : roomRepository.findIdsByRoomStatus(RoomStatus.BUSY)) {
+            if (!isOccupied(roomId, now))
+                toFree.add(roomId);
+        }
+        return updateStatus(toBusy, RoomStatus.AVAILABLE, RoomStatus.BUSY)
+                + updateStatus(toFree, RoomStatus.BUSY, RoomStatus.AVAILABLE);
+    }
+
+    private boolean isOccupied(int roomId, LocalDateTime now) {
+        return reservationIntervalIndex.overlaps(roomId, now, now.plusNanos(1), 0);
+    }
+
+    private int updateStatus(List<Integer> roomIds, RoomStatus from, RoomStatus to) {
+        int updated = 0;
+        for (int i = 0; i < roomIds.size(); i += chunkSize) {
+            List<Integer> chunk = roomIds.subList(i, Math.min(i + chunkSize, roomIds.size()));
+            updated += roomRepository.updateStatus(chunk, from, to);
+            roomCapacityIndex.updateStatus(chunk, from, to);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,216 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.mapper.ReservationMapper;
+import com.grupo05.coworking_space.mapper.RoomMapper;
+import com.grupo05.coworking_space.model.ReservationSeries;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.repository.ReservationSeriesRepository;
+import com.grupo05.coworking_space.utils.RecurrenceRule;
+import com.grupo05.coworking_space.utils.SeriesSchedule;
+import com.grupo05.coworking_space.service.BookingMetrics.ConflictReason;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio para la gestión de series de reservas.
+ * <p>
+ * Una serie guarda una única fila con la primera ocurrencia, la regla de repetición y los días
+ * anulados; sus ocurrencias no se guardan como reservas. La comprobación de solapamientos y la
+ * búsqueda por fechas calculan solo las ocurrencias que caen en el rango consultado, usando
+ * {@link ReservationIntervalIndex} y {@link SeriesOccurrences}.
+ *
+ * @Service para indicar que es un servicio de la aplicacion
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Service
+public class ReservationSeriesService {
+
+    /** Duración máxima de cada ocurrencia, para que las ocurrencias de una serie no se solapen entre sí */
+    private static final Duration MAX_OCCURRENCE_DURATION = Duration.ofDays(1);
+
+    private final ReservationSeriesRepository reservationSeriesRepository;
+    private final ReservationMapper reservationMapper;
+    private final RoomMapper roomMapper;
+    private final UserDetailsServiceImpl userDetailsServiceImpl;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final RoomBookingLocks roomBookingLocks;
+    private final BookingMetrics bookingMetrics;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param reservationSeriesRepository Repositorio de series de reservas
+     * @param reservationMapper Mapper para conversión entre entidades y DTOs de series
+     * @param roomMapper Mapper para manejar las salas de las series
+     * @param userDetailsServiceImpl Servicio de usuarios, para resolver el usuario autenticado
+     * @param reservationIntervalIndex Índice en memoria de los intervalos reservados de cada sala
+     * @param roomBookingLocks Cerrojos por sala que hacen atómicas la comprobación y el guardado
+     * @param bookingMetrics Métricas de las reservas rechazadas por conflicto
+     */
+    public ReservationSeriesService(ReservationSeriesRepository reservationSeriesRepository,
+            ReservationMapper reservationMapper, RoomMapper roomMapper, UserDetailsServiceImpl userDetailsServiceImpl,
+            ReservationIntervalIndex reservationIntervalIndex, RoomBookingLocks roomBookingLocks,
+            BookingMetrics bookingMetrics) {
+        this.reservationSeriesRepository = reservationSeriesRepository;
+        this.reservationMapper = reservationMapper;
+        this.roomMapper = roomMapper;
+        this.userDetailsServiceImpl = userDetailsServiceImpl;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.roomBookingLocks = roomBookingLocks;
+        this.bookingMetrics = bookingMetrics;
+    }
+
+    /**
+     * Crea una serie de reservas del usuario autenticado.
+     * La regla se normaliza (COUNT se sustituye por la fecha de la última ocurrencia) y, con las
+     * salas bloqueadas, se comprueba que ninguna ocurrencia choque con reservas u otras series.
+     *
+     * @param reservationSeriesDTO DTO con los datos de la serie a crear
+     * @return DTO con los datos de la serie creada, incluyendo su ID
+     * @throws RequestException Si la regla o las fechas no son válidas, la serie es de otro usuario,
+     *                          las salas no están disponibles o alguna ocurrencia se solapa
+     */
+    @Transactional
+    public ReservationSeriesDTO createSeries(ReservationSeriesDTO reservationSeriesDTO) {
+        if (reservationSeriesDTO == null)
+            throw new RequestException(ApiError.BAD_REQUEST);
+        if (reservationSeriesDTO.getUserFK() != userDetailsServiceImpl.findAuthenticatedUserId())
+            throw new RequestException(ApiError.AUTHENTICATION_FAILED, "Error de permisos",
+                    "No puedes crear reservas para otros usuarios");
+
+        LocalDateTime dateInit = reservationSeriesDTO.getDateInit();
+        LocalDateTime dateEnd = reservationSeriesDTO.getDateEnd();
+        if (!dateInit.isBefore(dateEnd))
+            throw new RequestException(ApiError.DATE_NOT_AVAILABLE_AFTER);
+        if (Duration.between(dateInit, dateEnd).compareTo(MAX_OCCURRENCE_DURATION) > 0)
+            throw new RequestException(ApiError.BAD_REQUEST, "Invalid Series",
+                    "Each occurrence of a series must last at most one day");
+
+        RecurrenceRule rule = RecurrenceRule.parse(reservationSeriesDTO.getRrule(), dateInit).resolveCount(dateInit);
+        SeriesSchedule schedule = new SeriesSchedule(0, dateInit, Duration.between(dateInit, dateEnd), rule, Set.of());
+        if (!schedule.starts(dateInit).hasNext())
+            throw new RequestException(ApiError.BAD_REQUEST, "Invalid Recurrence Rule",
+                    "The rule has no occurrences after the first start");
+
+        List<Integer> roomsFK = reservationSeriesDTO.getRoomsFK();
+        List<Room> rooms = roomMapper.getForeignKeys(roomsFK);
+        for (Room room : rooms) {
+            if (!room.getRoomStatus().isBookable())
+                throw new RequestException(ApiError.ROOM_NOT_AVAILABLE, "Room Not Available",
+                        "Room is not available for reservation because it is " + room.getRoomStatus().getState());
+        }
+
+        boolean canceled = reservationSeriesDTO.getReserveStatus() == ReservationStatus.CANCELED;
+        if (!canceled) {
+            roomBookingLocks.lockUntilCompletion(roomsFK);
+            if (reservationIntervalIndex.hasConflict(roomsFK, schedule)) {
+                bookingMetrics.conflict(ConflictReason.OVERLAP);
+                throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
+            }
+        }
+
+        ReservationSeries reservationSeries = reservationMapper.convertToEntity(reservationSeriesDTO);
+        reservationSeries.setRrule(rule.toString());
+        reservationSeries.setSeriesEnd(schedule.lastEnd());
+        reservationSeries.setRooms(rooms);
+        ReservationSeries saved = reservationSeriesRepository.saveAndFlush(reservationSeries);
+        reservationIntervalIndex.registerSeries(saved);
+
+        log.info("Serie de reservas creada: {} ({})", saved.getId(), saved.getRrule());
+        return reservationMapper.convertToDTO(saved);
+    }
+
+    /**
+     * Busca una serie de reservas por su identificador.
+     *
+     * @param id ID de la serie
+     * @return DTO con los datos de la serie
+     * @throws RequestException Si no se encuentra la serie
+     */
+    public ReservationSeriesDTO findSeriesByID(int id) {
+        return reservationMapper.convertToDTO(findWithRooms(id));
+    }
+
+    /**
+     * Anula la ocurrencia de una serie en un día concreto, sin afectar al resto.
+     *
+     * @param id ID de la serie
+     * @param date Día de la ocurrencia a anular
+     * @return DTO con los datos actualizados de la serie
+     * @throws RequestException Si la serie no existe, es de otro usuario, no tiene ocurrencia ese día
+     *                          o se ha modificado a la vez desde otra petición
+     */
+    @Transactional
+    public ReservationSeriesDTO addException(int id, LocalDate date) {
+        ReservationSeries reservationSeries = findWithRooms(id);
+        if (reservationSeries.getUserFK() != userDetailsServiceImpl.findAuthenticatedUserId())
+            throw new RequestException(ApiError.AUTHENTICATION_FAILED, "Error de permisos",
+                    "No puedes modificar reservas de otros usuarios");
+
+        Iterator<LocalDateTime> starts = reservationSeries.toSchedule().starts(date.atStartOfDay());
+        if (!starts.hasNext() || !starts.next().toLocalDate().equals(date))
+            throw new RequestException(ApiError.BAD_REQUEST, "Not An Occurrence",
+                    "The series has no occurrence on " + date);
+
+        reservationSeries.getExceptions().add(date);
+        try {
+            ReservationSeries saved = reservationSeriesRepository.saveAndFlush(reservationSeries);
+            reservationIntervalIndex.registerSeries(saved);
+            log.info("Ocurrencia del {} anulada en la serie {}", date, id);
+            return reservationMapper.convertToDTO(saved);
+        } catch (OptimisticLockingFailureException e) {
+            bookingMetrics.conflict(ConflictReason.CONCURRENT_UPDATE);
+            throw new RequestException(ApiError.CONFLICT, "Concurrent Update",
+                    "The series was modified by another request, reload it and try again");
+        }
+    }
+
+    /**
+     * Elimina una serie de reservas con todas sus ocurrencias.
+     *
+     * @param id ID de la serie a eliminar
+     * @throws RequestException Si no se encuentra la serie
+     */
+    @Transactional
+    public void deleteSeries(int id) {
+        ReservationSeries reservationSeries = findWithRooms(id);
+        reservationSeriesRepository.delete(reservationSeries);
+        reservationIntervalIndex.unregisterSeries(id);
+        log.info("Serie de reservas eliminada: {}", id);
+    }
+
+    /**
+     * Obtiene las ocurrencias de las series que se solapan con un rango cerrado de fechas.
+     * Solo se leen de la base de datos las series activas en el rango; las ocurrencias se
+     * calculan al recorrerlas.
+     *
+     * @param dateInit Fecha inicial del rango (inclusive)
+     * @param dateEnd Fecha final del rango (inclusive)
+     * @return Ocurrencias del rango
+     */
+    public SeriesOccurrences findOccurrencesBetween(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return new SeriesOccurrences(reservationSeriesRepository.findAllActiveBetween(dateInit, dateEnd),
+                reservationMapper, dateInit, dateEnd);
+    }
+
+    private ReservationSeries findWithRooms(int id) {
+        return reservationSeriesRepository.findWithRoomsById(id)
+                .orElseThrow(() -> new RequestException(ApiError.RECORD_NOT_FOUND));
+    }
+}
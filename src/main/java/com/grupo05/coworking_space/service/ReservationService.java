@@ -1,30 +1,50 @@
 package com.grupo05.coworking_space.service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.grupo05.coworking_space.dto.RequestReservationDTO;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.PathVariable;
+import com.grupo05.coworking_space.dto.PageDTO;
 import com.grupo05.coworking_space.dto.ReservationDTO;
 import com.grupo05.coworking_space.dto.UserDTO;
 import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ReservationStatus;
 import com.grupo05.coworking_space.exception.RequestException;
 import com.grupo05.coworking_space.mapper.ReservationMapper;
 import com.grupo05.coworking_space.model.Reservation;
 import com.grupo05.coworking_space.model.Room;
 import com.grupo05.coworking_space.repository.ReservationRepository;
 import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.utils.KeysetCursor;
 
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import com.grupo05.coworking_space.mapper.RoomMapper;
+import com.grupo05.coworking_space.service.BookingMetrics.ConflictReason;
 
 
 /**
@@ -35,9 +55,11 @@ import com.grupo05.coworking_space.mapper.RoomMapper;
  *
  * @Service para indicar que es un servicio de la aplicacion
  * @Slf4j Logs de la aplicacion
+ * @Timed Duración de cada método en la métrica coworking.service
  */
 @Slf4j
 @Service
+@Timed(value = "coworking.service", histogram = true)
 public class ReservationService {
 
     private ReservationRepository reservationRepository;
@@ -45,6 +67,16 @@ public class ReservationService {
     private RoomMapper roomMapper;
     private UserDetailsServiceImpl userDatailsServiiceImpl;
     private RoomRepository roomRepository;
+    private ReservationIntervalIndex reservationIntervalIndex;
+    private NotificationService notificationService;
+    private RoomBookingLocks roomBookingLocks;
+    private ReservationSeriesService reservationSeriesService;
+    private WaitlistService waitlistService;
+    private BookingMetrics bookingMetrics;
+    private final int maxMergedOffset;
+
+    /** SQLSTATE de PostgreSQL para las violaciones de restricciones de exclusión */
+    private static final String EXCLUSION_VIOLATION = "23P01";
 
     /**
      * Constructor para inyección de dependencias.
@@ -52,14 +84,33 @@ public class ReservationService {
      * @param reservationRepository Repositorio para operaciones de reservas
      * @param reservationMapper Mapper para conversión entre entidades y DTOs de reservas
      * @param roomMapper Mapper para manejar salas relacionadas con reservas
+     * @param reservationIntervalIndex Índice en memoria de los intervalos reservados de cada sala
+     * @param notificationService Servicio que guarda las invitaciones pendientes de envío
+     * @param roomBookingLocks Cerrojos por sala que hacen atómicas la comprobación y el guardado
+     * @param reservationSeriesService Servicio de series, para incluir sus ocurrencias en las búsquedas por fechas
+     * @param waitlistService Servicio de la lista de espera, que promociona peticiones al liberarse un rango
+     * @param bookingMetrics Métricas de las reservas rechazadas por conflicto
+     * @param maxMergedOffset Posición máxima de la paginación por número de página cuando el rango
+     *                        tiene ocurrencias de series; más allá se debe usar el cursor
      */
     public ReservationService(ReservationRepository reservationRepository, ReservationMapper reservationMapper,
-            RoomMapper roomMapper, UserDetailsServiceImpl userDatailsServiiceImpl,RoomRepository roomRepository) {
+            RoomMapper roomMapper, UserDetailsServiceImpl userDatailsServiiceImpl,RoomRepository roomRepository,
+            ReservationIntervalIndex reservationIntervalIndex, NotificationService notificationService,
+            RoomBookingLocks roomBookingLocks, ReservationSeriesService reservationSeriesService,
+            WaitlistService waitlistService, BookingMetrics bookingMetrics,
+            @Value("${reservation.search.max-page-offset:1000}") int maxMergedOffset) {
         this.reservationRepository = reservationRepository;
         this.reservationMapper = reservationMapper;
         this.roomMapper = roomMapper;
         this.userDatailsServiiceImpl = userDatailsServiiceImpl;
         this.roomRepository=roomRepository;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.notificationService = notificationService;
+        this.roomBookingLocks = roomBookingLocks;
+        this.reservationSeriesService = reservationSeriesService;
+        this.waitlistService = waitlistService;
+        this.bookingMetrics = bookingMetrics;
+        this.maxMergedOffset = maxMergedOffset;
     }
 
      /**
@@ -67,6 +118,11 @@ public class ReservationService {
      * Este método garantiza que toda la operación se completa correctamente 
      * o no se realiza ningún cambio (transaccionalidad).
      * Verifica la disponibilidad de las salas y actualiza sus estados.
+     * Las salas se bloquean hasta que termina la transacción y la disponibilidad se vuelve a
+     * comprobar con ellas bloqueadas, por lo que dos peticiones simultáneas no pueden reservar
+     * la misma sala en el mismo rango; las reservas de otras salas no esperan.
+     * Las invitaciones a los participantes se guardan en la misma transacción y se envían
+     * en segundo plano una vez confirmada la reserva.
      *
      * @param requestReservationDTO DTO con los datos de la reserva a crear
      * @return DTO con los datos de la reserva creada, incluyendo su ID
@@ -89,14 +145,10 @@ public class ReservationService {
             }
 
             ReservationDTO reservationDTO = requestReservationDTO.getReservationDTO();
-            List<ReservationDTO> dates = this.findReservationsBetweenDates(reservationDTO.getDateInit(), reservationDTO.getDateEnd());
-
-            if (!dates.isEmpty()) {
-                throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
-            }
-
             List<Integer> roomsFK = reservationDTO.getRoomsFK();
-            List<Room> rooms = roomMapper.getForeignKeys(roomsFK, null);
+            verifyRoomsAvailable(roomsFK, reservationDTO.getDateInit(), reservationDTO.getDateEnd(), 0);
+
+            List<Room> rooms = roomMapper.getForeignKeys(roomsFK);
 
             if (rooms.isEmpty()) {
                 throw new RequestException(ApiError.ROOM_NOT_AVAILABLE, "Room Not Available",
@@ -105,28 +157,26 @@ public class ReservationService {
 
             // Verificar disponibilidad antes de crear la reserva
             for (Room room : rooms) {
-                String status = room.getRoomStatus().getState().toUpperCase();
-                if (status.equals("BUSY") || status.equals("MAINTENANCE") || status.equals("NOT AVAILABLE")) {
+                if (!room.getRoomStatus().isBookable()) {
                     throw new RequestException(ApiError.ROOM_NOT_AVAILABLE, "Room Not Available",
-                            "Room is not available for reservation because it is " + status);
+                            "Room is not available for reservation because it is " + room.getRoomStatus().getState());
                 }
             }
 
-            // Convertir y guardar la reserva, ya que sabemos que todo es válido
-            Reservation reservation = reservationMapper.convertToEntity(reservationDTO);
-            Reservation savedReservation = reservationRepository.save(reservation);
-
-            // Asociar habitaciones a la reserva
-            for (Room room : rooms) {
-                if (room.getReservations() == null) {
-                    room.setReservations(new ArrayList<>());
-                }
-                room.getReservations().add(savedReservation);
-                roomRepository.save(room);
-            }
+            // Con las salas bloqueadas ninguna otra reserva suya puede confirmarse hasta que
+            // termine esta transacción, así que la comprobación del índice ya es definitiva
+            roomBookingLocks.lockUntilCompletion(roomsFK);
+            verifyRoomsAvailable(roomsFK, reservationDTO.getDateInit(), reservationDTO.getDateEnd(), 0);
 
-            savedReservation.setRooms(rooms);
-            savedReservation = reservationRepository.save(savedReservation);
+            // Convertir y guardar la reserva con sus salas, ya que sabemos que todo es válido.
+            // La reserva es la propietaria de la relación, por lo que no hace falta tocar
+            // la colección de reservas de cada sala
+            Reservation reservation = reservationMapper.convertToEntity(reservationDTO);
+            reservation.setRooms(rooms);
+            Reservation savedReservation = saveAndFlush(reservation);
+            reservationIntervalIndex.register(savedReservation);
+            notificationService.enqueueReservationInvitations(savedReservation,
+                    requestReservationDTO.getEmailsParticipants());
 
             log.info("Reserva creada: {}", savedReservation.getId());
             return reservationMapper.convertToDTO(savedReservation);
@@ -150,14 +200,14 @@ public class ReservationService {
     public ReservationDTO findReservationByID(int id) {
         try {
             // Obtenemos la reserva por su ID, lo convertimos a dto y comprobamos que exista
-            Optional<Reservation> reservation = reservationRepository.findById(id);
+            Optional<Reservation> reservation = reservationRepository.findWithRoomsById(id);
 
             // Comprobamos si los datos de la reserva son invalidos
             if (reservation.isEmpty())
                 throw new RequestException(ApiError.RECORD_NOT_FOUND);
 
             // Retornamos la reserva en formato DTO
-            log.info("Reserva encontrada: {}" + reservation.get().getId());
+            log.info("Reserva encontrada: {}", reservation.get().getId());
             return reservationMapper.convertToDTO(reservation.get());
         } catch (Exception e) {
             throw new RuntimeException("Error al buscar la reserva: " + e.getMessage());
@@ -165,29 +215,21 @@ public class ReservationService {
     }
 
     /**
-     * Obtiene todas las reservas existentes en el sistema, que pertenezcan al usuario logueado.
+     * Obtiene una página de las reservas del usuario logueado. El usuario se resuelve una única
+     * vez a partir del token y el filtrado y la paginación se hacen en la base de datos.
      *
-     * @return Lista de DTOs con los datos de todas las reservas
+     * @param pageable Página, tamaño y orden solicitados
+     * @param cursor Cursor de la paginación por clave; null para paginar por número de página
+     * @return Página de DTOs con las reservas del usuario
+     * @throws RequestException Si no hay usuario autenticado o el cursor no es válido
      * @throws RuntimeException Si ocurre algún error durante la búsqueda
      */
-    public List<ReservationDTO> findAllReservationsFiltered() {
+    public PageDTO<ReservationDTO> findAllReservationsFiltered(Pageable pageable, String cursor) {
         try {
-            // Obtenemos todas las reservas, las convertimos a DTO y las retornamos
-            List<Reservation> reservations = reservationRepository.findAll();
-            List<Reservation> filterReservations= new ArrayList<>();
-            for (Reservation reservation : reservations) {
-                int id = reservation.getUserFK();
-                if(verificationSameUser(id)){
-                    filterReservations.add(reservation);
-                }   
-            }
-
-            // Verificar que solo se muestren las reservas del usuario que hizo la consulta
-            log.info("Se han encontrado {} reservas" + filterReservations.size());
-            return filterReservations
-                    .stream()
-                    .map(reservationMapper::convertToDTO)
-                    .collect(Collectors.toList());
+            int userId = userDatailsServiiceImpl.findAuthenticatedUserId();
+            PageDTO<ReservationDTO> reservations = findReservationsByUser(userId, pageable, cursor);
+            log.info("Se han encontrado {} reservas", reservations.getContent().size());
+            return reservations;
         } catch (RequestException e) {
             throw e;
         } catch (Exception e) {
@@ -196,56 +238,170 @@ public class ReservationService {
     }
 
     /**
-     * Obtiene todas las reservas existentes en el sistema.
-     * 
-     * @param id
-     * @return
+     * Obtiene una página de las reservas de un usuario cualquiera.
+     *
+     * @param id ID del usuario
+     * @param pageable Página, tamaño y orden solicitados
+     * @param cursor Cursor de la paginación por clave; null para paginar por número de página
+     * @return Página de DTOs con las reservas del usuario
      */
-    public List<ReservationDTO>  findAllReservations(@PathVariable("id") int id) {
-        try{
-            // Obtenemos todas las reservas
-            List<ReservationDTO> allReservations = reservationRepository.findAll().stream()
-            .map(reservationMapper::convertToDTO)
-            .collect(Collectors.toList());
-            
-            // Creamos una nueva lista para almacenar las reservas del usuario
-            List<ReservationDTO> newAllReservation = new ArrayList<>();
-            
-            // Comprobamos si la reserva pertenece al usuario, si es asi la añadimos a la lista
-            for (ReservationDTO reservationDTO : allReservations) 
-            if (reservationDTO.getUserFK() == id) 
-            newAllReservation.add(reservationDTO);
-            
-            return newAllReservation;
+    public PageDTO<ReservationDTO> findAllReservations(int id, Pageable pageable, String cursor) {
+        try {
+            return findReservationsByUser(id, pageable, cursor);
+        } catch (RequestException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error al obtener las reservas: " + e.getMessage());
         }
     }
 
+    /**
+     * Carga una página de reservas de un usuario en dos consultas: primero la página de IDs
+     * y después las reservas de esos IDs con sus salas, manteniendo el orden de la página.
+     * Con cursor, las reservas se recorren por ID sin contar el total.
+     *
+     * @param userId ID del usuario
+     * @param pageable Página, tamaño y orden solicitados
+     * @param cursor Cursor de la paginación por clave; null para paginar por número de página
+     * @return Página de DTOs con las reservas del usuario
+     */
+    private PageDTO<ReservationDTO> findReservationsByUser(int userId, Pageable pageable, String cursor) {
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            int size = pageable.getPageSize();
+            List<Integer> ids = reservationRepository.findIdsByUserIdAfter(userId,
+                    after == null ? 0 : after.id(), Limit.of(size + 1));
+            return keysetPage(ids, size, reservation -> KeysetCursor.afterId(reservation.getId()));
+        }
+
+        Page<Integer> ids = reservationRepository.findIdsByUserId(userId, pageable);
+        return PageDTO.of(ids, findWithRooms(ids.getContent()));
+    }
+
+    /**
+     * Construye una página por cursor a partir de los IDs obtenidos pidiendo una fila más que el
+     * tamaño de página, lo que permite saber si hay página siguiente sin contar el total.
+     *
+     * @param ids IDs en el orden del listado, como mucho size + 1
+     * @param size Tamaño de página
+     * @param cursorOf Construye el cursor a partir de la última reserva de la página
+     * @return Página de DTOs con el cursor de la página siguiente, si la hay
+     */
+    private PageDTO<ReservationDTO> keysetPage(List<Integer> ids, int size,
+            Function<Reservation, KeysetCursor> cursorOf) {
+        boolean hasNext = ids.size() > size;
+        List<Integer> pageIds = hasNext ? ids.subList(0, size) : ids;
+        List<Reservation> reservations = findWithRoomsOrdered(pageIds);
+        String nextCursor = hasNext && !reservations.isEmpty() ? cursorOf.apply(reservations.getLast()).encode() : null;
+        return PageDTO.ofKeyset(reservations.stream().map(reservationMapper::convertToDTO).toList(), size, nextCursor);
+    }
+
+    /**
+     * Mezcla reservas y ocurrencias de series, ambas ya ordenadas por {@link SeriesOccurrences#ORDER},
+     * hasta reunir el número de elementos indicado.
+     *
+     * @param reservations Reservas ordenadas
+     * @param occurrences Ocurrencias ordenadas; solo se calculan las que se llegan a usar
+     * @param limit Número máximo de elementos
+     * @return Reservas y ocurrencias ordenadas, como mucho limit
+     */
+    private static List<ReservationDTO> mergeByStart(List<ReservationDTO> reservations,
+            Iterator<ReservationDTO> occurrences, int limit) {
+        List<ReservationDTO> merged = new ArrayList<>(limit);
+        ReservationDTO occurrence = occurrences.hasNext() ? occurrences.next() : null;
+        int i = 0;
+        while (merged.size() < limit && (i < reservations.size() || occurrence != null)) {
+            if (occurrence == null
+                    || (i < reservations.size() && SeriesOccurrences.ORDER.compare(reservations.get(i), occurrence) < 0)) {
+                merged.add(reservations.get(i++));
+            } else {
+                merged.add(occurrence);
+                occurrence = occurrences.hasNext() ? occurrences.next() : null;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Carga las reservas indicadas con sus salas y las convierte a DTO en el mismo orden.
+     *
+     * @param ids IDs de las reservas en el orden deseado
+     * @return DTOs de las reservas encontradas
+     */
+    private List<ReservationDTO> findWithRooms(List<Integer> ids) {
+        return findWithRoomsOrdered(ids).stream().map(reservationMapper::convertToDTO).toList();
+    }
+
+    /**
+     * Carga las reservas indicadas con sus salas en una única consulta, en el orden de los IDs.
+     *
+     * @param ids IDs de las reservas en el orden deseado
+     * @return Reservas encontradas; puede faltar alguna si se eliminó entre las dos consultas
+     */
+    private List<Reservation> findWithRoomsOrdered(List<Integer> ids) {
+        if (ids.isEmpty())
+            return List.of();
+
+        Map<Integer, Reservation> reservations = new HashMap<>();
+        for (Reservation reservation : reservationRepository.findAllWithRoomsByIdIn(ids))
+            reservations.put(reservation.getId(), reservation);
+
+        List<Reservation> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Reservation reservation = reservations.get(id);
+            if (reservation != null)
+                ordered.add(reservation);
+        }
+        return ordered;
+    }
+
      /**
      * Actualiza los datos de una reserva existente.
+     * Se bloquean a la vez las salas actuales, las nuevas y las de la lista de espera del rango
+     * anterior hasta que termina la transacción, y la versión de la reserva evita que dos
+     * actualizaciones simultáneas se pisen entre sí.
+     * Si la reserva se cancela o deja libre parte de su rango anterior, en la misma transacción se
+     * promocionan las peticiones de la lista de espera que caben en él.
      *
      * @param reservationDTO DTO con los nuevos datos de la reserva
-     * @param id ID de la reserva a actualizar
      * @return DTO con los datos actualizados de la reserva
-     * @throws RequestException Si la reserva no existe o hay un error de validación
+     * @throws RequestException Si la reserva no existe, hay un error de validación, las salas están
+     *                          ocupadas o la reserva se ha modificado a la vez desde otra petición
      * @throws RuntimeException Si ocurre cualquier otro error durante la actualización
      */
+    @Transactional
     public ReservationDTO updateResevation(ReservationDTO reservationDTO) {
         try {
             // Comprobamos si los datos de la reserva son invalidos
             if (reservationDTO == null)
                 throw new RequestException(ApiError.BAD_REQUEST);
 
-            // Obtenemos la reserva por su ID, lo convertimos a dto, no comprabamos que exista porque ya lo controla
-            // el metodo findReservationByID por ello se controla en el catch
-            ReservationDTO optionalReservation = this.findReservationByID(reservationDTO.getId());
-
-            // Obtenemos el DTO de la reserva que se quiere actualizar
-            Reservation updateReservation = reservationMapper.convertToEntity(optionalReservation);
+            // Comprobamos que las salas esten libres, sin tener en cuenta la propia reserva
+            verifyRoomsAvailable(reservationDTO.getRoomsFK(), reservationDTO.getDateInit(),
+                    reservationDTO.getDateEnd(), reservationDTO.getId());
+
+            // Cargamos la reserva gestionada, con su versión, para modificarla en esta transacción
+            Reservation updateReservation = reservationRepository.findWithRoomsById(reservationDTO.getId())
+                    .orElseThrow(() -> new RequestException(ApiError.RECORD_NOT_FOUND));
+
+            // Rango que ocupaba la reserva antes del cambio, por si queda libre
+            List<Integer> previousRooms = updateReservation.getRoomsFK();
+            LocalDateTime previousInit = updateReservation.getDateInit();
+            LocalDateTime previousEnd = updateReservation.getDateEnd();
+            boolean wasActive = updateReservation.getReserveStatus() != ReservationStatus.CANCELED;
+
+            // Bloqueamos de una vez las salas que deja, las que pasa a ocupar y las de la lista de
+            // espera del rango que deja, y repetimos la comprobación
+            Set<Integer> lockedRooms = new LinkedHashSet<>(reservationDTO.getRoomsFK());
+            if (wasActive)
+                waitlistService.addRoomsToLock(previousRooms, previousInit, previousEnd, lockedRooms);
+            else
+                lockedRooms.addAll(previousRooms);
+            roomBookingLocks.lockUntilCompletion(lockedRooms);
+            verifyRoomsAvailable(reservationDTO.getRoomsFK(), reservationDTO.getDateInit(),
+                    reservationDTO.getDateEnd(), reservationDTO.getId());
 
             // Actualizamos los datos de la reserva
-            updateReservation.setId(reservationDTO.getId());
             updateReservation.setDateInit(reservationDTO.getDateInit());
             updateReservation.setDateEnd(reservationDTO.getDateEnd());
             updateReservation.setReserveStatus(reservationDTO.getReserveStatus());
@@ -254,17 +410,24 @@ public class ReservationService {
             updateReservation.setUser(reservationMapper.convertToEntity(reservationDTO).getUser());
             
             // Obtenemos las habitaciones asociadas a la reserva y las guardamos en la reserva
-            List<Room> rooms = roomMapper.getForeignKeys(reservationDTO.getRoomsFK(), updateReservation);
+            List<Room> rooms = roomMapper.getForeignKeys(reservationDTO.getRoomsFK());
 
             if(rooms.isEmpty())
                 throw new RequestException(ApiError.CONFLICT, "Room Not Found",
                             "Reservation is not updated, because dont found the room");
 
-            updateReservation.setRooms(rooms);
+            updateReservation.setRooms(new ArrayList<>(rooms));
             // Lo guardamos en la base de datos
-            Reservation savedReservation = reservationRepository.save(updateReservation);
-
-            log.info("Reserva actualizada: {}" + savedReservation.getId());
+            Reservation savedReservation = saveAndFlush(updateReservation);
+            reservationIntervalIndex.register(savedReservation);
+            if (wasActive && (savedReservation.getReserveStatus() == ReservationStatus.CANCELED
+                    || !previousInit.equals(savedReservation.getDateInit())
+                    || !previousEnd.equals(savedReservation.getDateEnd())
+                    || !previousRooms.equals(savedReservation.getRoomsFK())))
+                waitlistService.promoteReleased(previousRooms, previousInit, previousEnd, savedReservation.getId(),
+                        savedReservation, lockedRooms);
+
+            log.info("Reserva actualizada: {}", savedReservation.getId());
             return reservationMapper.convertToDTO(savedReservation);
         }catch (RequestException e) {
             throw e;
@@ -275,17 +438,34 @@ public class ReservationService {
 
      /**
      * Elimina una reserva del sistema por su ID.
+     * En la misma transacción, con sus salas bloqueadas, se promocionan las peticiones de la lista de
+     * espera que caben en el rango que deja libre.
      *
      * @param id ID de la reserva a eliminar
      * @throws RequestException Si la reserva no existe
      * @throws RuntimeException Si ocurre cualquier otro error durante la eliminación
      */
+    @Transactional
     public void deleteReservation(int id) {
         try {
              // Obtenemos la reserva por su ID, lo convertimos a dto, no comprabamos que exista porque ya lo controla
             // el catch, eliminamos la reserva encontrada en la base de datos
             ReservationDTO reservationDTO = this.findReservationByID(id);
+            boolean wasActive = reservationDTO.getReserveStatus() != ReservationStatus.CANCELED;
+            // Bloqueamos las salas de la lista de espera del rango antes de liberarlo
+            Set<Integer> lockedRooms = new LinkedHashSet<>();
+            if (wasActive) {
+                waitlistService.addRoomsToLock(reservationDTO.getRoomsFK(), reservationDTO.getDateInit(),
+                        reservationDTO.getDateEnd(), lockedRooms);
+                roomBookingLocks.lockUntilCompletion(lockedRooms);
+            }
             reservationRepository.deleteById(reservationDTO.getId());
+            // El borrado se escribe antes de insertar las reservas promocionadas en el mismo rango
+            reservationRepository.flush();
+            reservationIntervalIndex.unregister(reservationDTO.getId());
+            if (wasActive)
+                waitlistService.promoteReleased(reservationDTO.getRoomsFK(), reservationDTO.getDateInit(),
+                        reservationDTO.getDateEnd(), reservationDTO.getId(), null, lockedRooms);
             log.info("Reserva eliminada: {}", reservationDTO.getId());
         }catch (RequestException e) {
             throw e;
@@ -295,20 +475,73 @@ public class ReservationService {
     }
 
      /**
-     * Busca reservas dentro de un rango de fechas específico.
+     * Busca una página de reservas dentro de un rango de fechas específico.
+     * Sin cursor se pagina por número de página; con cursor se recorren las reservas por fecha
+     * de inicio e ID, lo que mantiene constante el coste de cada página al recorrer todo el rango.
+     * <p>
+     * El resultado incluye las ocurrencias de las series que caen en el rango, mezcladas por fecha
+     * de inicio con las reservas (ver {@link SeriesOccurrences}). Solo se calculan las ocurrencias
+     * necesarias para la página pedida; el total de la paginación por número de página se calcula
+     * sin expandirlas. Si hay ocurrencias, esa paginación ordena siempre por fecha de inicio y solo
+     * llega hasta la posición {@code reservation.search.max-page-offset}, porque cada página recorre
+     * las anteriores en memoria; para seguir hay que usar el cursor.
      *
      * @param dateInit Fecha inicial del rango de búsqueda
      * @param dateEnd Fecha final del rango de búsqueda
-     * @return Lista de DTOs con las reservas encontradas dentro del rango de fechas
-     * @throws RequestException Si hay un error de acceso a datos o un error interno
+     * @param pageable Página, tamaño y orden solicitados
+     * @param cursor Cursor de la paginación por clave; null para paginar por número de página
+     * @return Página de DTOs con las reservas encontradas dentro del rango de fechas
+     * @throws RequestException Si el cursor no es válido, la página está más allá de la posición máxima
+     *                          con ocurrencias, hay un error de acceso a datos o un error interno
      */
-    public List<ReservationDTO> findReservationsBetweenDates(LocalDateTime dateInit, LocalDateTime dateEnd) {
+    public PageDTO<ReservationDTO> findReservationsBetweenDates(LocalDateTime dateInit, LocalDateTime dateEnd,
+            Pageable pageable, String cursor) {
         try {
-            List<Reservation> reservations = reservationRepository.findReservationsBetweenDates(dateInit, dateEnd);
-            return reservations
-                    .stream()
-                    .map(reservationMapper::convertToDTO)
-                    .collect(Collectors.toList());
+            SeriesOccurrences occurrences = reservationSeriesService.findOccurrencesBetween(dateInit, dateEnd);
+            if (cursor != null) {
+                KeysetCursor after = KeysetCursor.decode(cursor);
+                if (after != null && after.date() == null)
+                    after = null;
+                int size = pageable.getPageSize();
+                List<Integer> ids = after == null
+                        ? reservationRepository.findIdsBetweenDates(dateInit, dateEnd, Limit.of(size + 1))
+                        : reservationRepository.findIdsBetweenDatesAfter(dateInit, dateEnd, after.date(), after.id(),
+                                Limit.of(size + 1));
+                Iterator<ReservationDTO> pending = occurrences.iterator(after);
+                if (!pending.hasNext())
+                    return keysetPage(ids, size,
+                            reservation -> new KeysetCursor(reservation.getDateInit(), reservation.getId()));
+
+                List<ReservationDTO> merged = mergeByStart(findWithRooms(ids), pending, size + 1);
+                boolean hasNext = merged.size() > size;
+                List<ReservationDTO> content = hasNext ? List.copyOf(merged.subList(0, size)) : merged;
+                ReservationDTO last = content.getLast();
+                String nextCursor = hasNext
+                        ? new KeysetCursor(last.getDateInit(), SeriesOccurrences.sortKey(last)).encode()
+                        : null;
+                return PageDTO.ofKeyset(content, size, nextCursor);
+            }
+
+            if (occurrences.isEmpty()) {
+                Page<Integer> ids = reservationRepository.findIdsBetweenDates(dateInit, dateEnd, pageable);
+                return PageDTO.of(ids, findWithRooms(ids.getContent()));
+            }
+
+            // Las reservas y ocurrencias de las páginas anteriores se recorren para saber dónde empieza
+            // esta, así que la posición se limita para acotar la memoria de cada petición
+            if (pageable.getOffset() > maxMergedOffset)
+                throw new RequestException(ApiError.BAD_REQUEST, "Page Too Deep",
+                        "Pages beyond offset " + maxMergedOffset
+                                + " are not available when the range has series occurrences, use the cursor");
+            int limit = (int) pageable.getOffset() + pageable.getPageSize();
+            Page<Integer> ids = reservationRepository.findIdsBetweenDates(dateInit, dateEnd,
+                    PageRequest.of(0, limit, Sort.by("dateInit", "id")));
+            List<ReservationDTO> merged = mergeByStart(findWithRooms(ids.getContent()), occurrences.iterator(null), limit);
+            int from = Math.min(Math.toIntExact(pageable.getOffset()), merged.size());
+            List<ReservationDTO> content = List.copyOf(merged.subList(from, merged.size()));
+            return PageDTO.of(new PageImpl<>(content, pageable, ids.getTotalElements() + occurrences.count()), content);
+        } catch (RequestException ex) {
+            throw ex;
         } catch (DataAccessException ex) {
             throw new RequestException(ApiError.DATABASE_ERROR);
         } catch (Exception ex) {
@@ -317,32 +550,66 @@ public class ReservationService {
     }
 
     /**
-     * Actualiza los datos de un usuario en el sistema.
-     * 
-     * @param id id del usuario que se dessea eliminar las reservas
-     * @return DTO con los datos del usuario actualizado
-     * @throws RequestException Si no se encuentra el usuario con el ID proporcionado
-     * @throws RuntimeException Si ocurre otro tipo de error durante la actualización
+     * Comprueba en el índice de intervalos que ninguna de las salas esté reservada en el rango
+     * [dateInit, dateEnd), sin consultar la base de datos.
+     *
+     * @param roomsFK IDs de las salas a comprobar
+     * @param dateInit Fecha de inicio de la reserva
+     * @param dateEnd Fecha de fin de la reserva
+     * @param excludedReservationId ID de la reserva que se actualiza, 0 si es una reserva nueva
+     * @throws RequestException Si las fechas no son coherentes o alguna sala ya está reservada
      */
-    public void deleteAllReservationsByUser(int id) {
-        try {
-           List<Reservation> reservations = reservationRepository.findAll();
+    private void verifyRoomsAvailable(List<Integer> roomsFK, LocalDateTime dateInit, LocalDateTime dateEnd,
+            int excludedReservationId) {
+        if (roomsFK == null || dateInit == null || dateEnd == null)
+            throw new RequestException(ApiError.BAD_REQUEST);
 
-            for (Reservation actualReservation : reservations) {
-                if(actualReservation.getUserFK() == id){
-                    this.deleteReservation(actualReservation.getId());
-                    log.info("Reserva eliminada: {}, de el usurio {}", actualReservation.getId(), actualReservation.getUserFK());
-                }
-            }
+        if (!dateInit.isBefore(dateEnd))
+            throw new RequestException(ApiError.DATE_NOT_AVAILABLE_AFTER);
 
-            log.info("Reservas eliminadas con exito del usuario: {}", id);
-        } catch (DataAccessException ex) {
-            throw new RequestException(ApiError.DATABASE_ERROR);
-        } catch (Exception ex) {
-            throw new RequestException(ApiError.INTERNAL_SERVER_ERROR);
+        if (reservationIntervalIndex.hasConflict(roomsFK, dateInit, dateEnd, excludedReservationId)) {
+            bookingMetrics.conflict(ConflictReason.OVERLAP);
+            throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
         }
     }
 
+    /**
+     * Guarda la reserva y escribe los cambios en la base de datos en el momento, para que los
+     * conflictos de versión y la restricción de exclusión de PostgreSQL se detecten aquí.
+     *
+     * @param reservation Reserva a guardar
+     * @return Reserva guardada
+     * @throws RequestException Si otra petición ha modificado la reserva (CONFLICT) o la base de
+     *                          datos rechaza el solapamiento (DATE_NOT_AVAILABLE)
+     */
+    private Reservation saveAndFlush(Reservation reservation) {
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (OptimisticLockingFailureException e) {
+            bookingMetrics.conflict(ConflictReason.CONCURRENT_UPDATE);
+            throw new RequestException(ApiError.CONFLICT, "Concurrent Update",
+                    "The reservation was modified by another request, reload it and try again");
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                bookingMetrics.conflict(ConflictReason.EXCLUSION);
+                throw new RequestException(ApiError.DATE_NOT_AVAILABLE);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Indica si el error lo ha producido la restricción de exclusión de PostgreSQL que impide
+     * reservas solapadas de una misma sala.
+     *
+     * @param e Error de integridad devuelto por la base de datos
+     * @return true si es una violación de la restricción de exclusión
+     */
+    static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION.equals(sqlException.getSQLState());
+    }
+
     /**
      * Verifica si el usuario que esta logueado es el mismo que el que se esta buscando
      * 
@@ -0,0 +1,97 @@
+package com.grupo05.coworking_space.service;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.exception.RequestException;
+
+/**
+ * Cerrojos por sala para que la comprobación de solapamientos y el guardado de una reserva
+ * sean atómicos sin serializar todas las reservas.
+ * <p>
+ * Las salas se reparten entre un número fijo de cerrojos (stripes): dos reservas solo se
+ * esperan si alguna de sus salas cae en el mismo cerrojo. Los cerrojos se toman siempre en
+ * orden creciente, por lo que dos reservas con varias salas no pueden bloquearse mutuamente,
+ * y se mantienen hasta que termina la transacción, después de que {@link ReservationIntervalIndex}
+ * haya aplicado la reserva confirmada. Así la siguiente reserva de la misma sala ya ve la anterior.
+ *
+ * @Component para indicar que es un componente de Spring
+ */
+@Component
+public class RoomBookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    /**
+     * Crea los cerrojos.
+     *
+     * @param stripes Número de cerrojos entre los que se reparten las salas
+     * @param timeoutMillis Tiempo máximo de espera por un cerrojo antes de rechazar la reserva
+     */
+    public RoomBookingLocks(@Value("${reservation.lock.stripes:256}") int stripes,
+            @Value("${reservation.lock.timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++)
+            this.stripes[i] = new ReentrantLock();
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Bloquea las salas indicadas hasta que termine la transacción actual, se confirme o no.
+     *
+     * @param roomIds IDs de las salas a bloquear
+     * @throws RequestException Si no se obtienen los cerrojos a tiempo (REQUEST_TIMEOUT)
+     * @throws IllegalStateException Si no hay una transacción activa
+     */
+    public void lockUntilCompletion(Collection<Integer> roomIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            throw new IllegalStateException("Los cerrojos de salas requieren una transacción activa");
+
+        int[] indexes = roomIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (; acquired < indexes.length; acquired++) {
+                if (!stripes[indexes[acquired]].tryLock(timeoutMillis, TimeUnit.MILLISECONDS))
+                    throw new RequestException(ApiError.REQUEST_TIMEOUT, "Rooms Busy",
+                            "The rooms are being booked by other requests, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(indexes, acquired);
+            throw new RequestException(ApiError.REQUEST_TIMEOUT);
+        } catch (RuntimeException e) {
+            unlock(indexes, acquired);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(indexes, indexes.length);
+            }
+        });
+    }
+
+    private int stripeOf(int roomId) {
+        int hash = roomId * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--)
+            stripes[indexes[i]].unlock();
+    }
+}
@@ -0,0 +1,174 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.grupo05.coworking_space.dto.RoomDTO;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.repository.RoomRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice en memoria de las salas ordenadas por capacidad.
+ * Junto con {@link ReservationIntervalIndex} permite buscar salas libres con una capacidad
+ * mínima sin consultar la base de datos: se recorren las salas desde la menor capacidad que
+ * cumple el mínimo y se descartan las que tienen alguna reserva en el rango, en O(log n) cada una.
+ *
+ * El índice se carga al iniciar la aplicación y se mantiene sincronizado con las escrituras
+ * de {@link Room}; los cambios hechos dentro de una transacción solo se aplican cuando esta se confirma.
+ *
+ * @Component para indicar que es un componente de Spring
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Component
+public class RoomCapacityIndex {
+
+    private static final Comparator<IndexedRoom> ORDER = Comparator.comparingInt(IndexedRoom::capacity)
+            .thenComparingInt(IndexedRoom::id);
+
+    private final RoomRepository roomRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+
+    /** Salas ordenadas por capacidad y, a igual capacidad, por ID */
+    private final NavigableSet<IndexedRoom> byCapacity = new ConcurrentSkipListSet<>(ORDER);
+
+    /** Entrada actual de cada sala, para poder reemplazarla o eliminarla */
+    private final Map<Integer, IndexedRoom> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param roomRepository Repositorio usado para la carga inicial del índice
+     * @param reservationIntervalIndex Índice de intervalos reservados de cada sala
+     */
+    public RoomCapacityIndex(RoomRepository roomRepository, ReservationIntervalIndex reservationIntervalIndex) {
+        this.roomRepository = roomRepository;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+    }
+
+    /**
+     * Carga en el índice todas las salas de la base de datos.
+     * @PostConstruct Se ejecuta al iniciar la aplicación
+     */
+    @PostConstruct
+    public void load() {
+        for (Room room : roomRepository.findAll())
+            put(IndexedRoom.of(room));
+        log.info("Índice de capacidad de salas cargado: {} salas", rooms.size());
+    }
+
+    /**
+     * Busca salas disponibles, con al menos la capacidad indicada, sin reservas en el rango dado.
+     * Las salas se devuelven de la que mejor se ajusta (menor capacidad suficiente) a la que peor.
+     *
+     * @param dateInit Inicio del rango (inclusive)
+     * @param dateEnd Fin del rango (exclusive)
+     * @param minCapacity Capacidad mínima
+     * @param count Número máximo de salas a devolver
+     * @return Salas libres ordenadas por capacidad y, a igual capacidad, por ID
+     */
+    public List<RoomDTO> findFreeRooms(LocalDateTime dateInit, LocalDateTime dateEnd, int minCapacity, int count) {
+        List<RoomDTO> result = new ArrayList<>(Math.min(count, 16));
+        IndexedRoom from = new IndexedRoom(Integer.MIN_VALUE, null, null, minCapacity);
+        for (IndexedRoom room : byCapacity.tailSet(from, true)) {
+            if (result.size() >= count)
+                break;
+            if (room.roomStatus().isBookable()
+                    && !reservationIntervalIndex.overlaps(room.id(), dateInit, dateEnd, 0))
+                result.add(room.toDTO());
+        }
+        return result;
+    }
+
+    /**
+     * Registra (o reemplaza) una sala en el índice cuando se confirme la transacción actual.
+     *
+     * @param room Sala guardada
+     */
+    public void register(Room room) {
+        IndexedRoom indexed = IndexedRoom.of(room);
+        afterCommit(() -> put(indexed));
+    }
+
+    /**
+     * Elimina una sala del índice cuando se confirme la transacción actual.
+     *
+     * @param roomId ID de la sala eliminada
+     */
+    public void unregister(int roomId) {
+        afterCommit(() -> remove(roomId));
+    }
+
+    /**
+     * Cambia el estado de las salas indicadas que sigan en el estado de origen, cuando se
+     * confirme la transacción actual. Refleja las actualizaciones masivas hechas sin entidades.
+     *
+     * @param roomIds IDs de las salas
+     * @param from Estado que deben tener las salas para cambiarlo
+     * @param to Nuevo estado
+     */
+    public void updateStatus(Collection<Integer> roomIds, RoomStatus from, RoomStatus to) {
+        List<Integer> ids = List.copyOf(roomIds);
+        afterCommit(() -> {
+            for (Integer roomId : ids) {
+                IndexedRoom room = rooms.get(roomId);
+                if (room != null && room.roomStatus() == from)
+                    put(new IndexedRoom(room.id(), room.name(), to, room.capacity()));
+            }
+        });
+    }
+
+    private synchronized void put(IndexedRoom room) {
+        remove(room.id());
+        byCapacity.add(room);
+        rooms.put(room.id(), room);
+    }
+
+    private synchronized void remove(int roomId) {
+        IndexedRoom previous = rooms.remove(roomId);
+        if (previous != null)
+            byCapacity.remove(previous);
+    }
+
+    /**
+     * Ejecuta la acción al confirmarse la transacción activa, o inmediatamente si no hay ninguna.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Datos de una sala necesarios para buscar y devolver resultados sin ir a la base de datos */
+    private record IndexedRoom(int id, String name, RoomStatus roomStatus, int capacity) {
+        static IndexedRoom of(Room room) {
+            return new IndexedRoom(room.getId(), room.getName(), room.getRoomStatus(), room.getCapacity());
+        }
+
+        RoomDTO toDTO() {
+            return new RoomDTO(id, name, roomStatus, capacity);
+        }
+    }
+}
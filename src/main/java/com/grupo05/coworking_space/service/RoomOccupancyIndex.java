@@ -0,0 +1,258 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.grupo05.coworking_space.utils.TimeRange;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mapa de ocupación de cada sala, en bits por franjas de {@value #SLOT_MINUTES} minutos.
+ * Cada sala guarda un bitset por día con reservas ({@value #SLOTS_PER_DAY} bits, uno por franja)
+ * en el que un bit a 1 indica que la franja está ocupada, aunque sea en parte.
+ * <p>
+ * El mapa se deriva de {@link ReservationIntervalIndex}: se construye a partir de él al iniciar
+ * y, cada vez que el índice aplica un cambio confirmado, se recalculan los días afectados de la
+ * sala. Así las altas, modificaciones y borrados de reservas se reflejan sin consultar la base de datos.
+ * <p>
+ * Como las franjas son de tamaño fijo, un bit ocupado solo garantiza que hay alguna reserva en
+ * esa franja; para respuestas exactas los bordes se comprueban con el índice de intervalos.
+ * <p>
+ * Las ocurrencias de las series de reservas no se guardan en el mapa, porque una serie sin fin
+ * ocuparía días indefinidamente: se calculan en cada consulta solo dentro del rango pedido.
+ *
+ * @Component para indicar que es un componente de Spring
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Component
+public class RoomOccupancyIndex implements ReservationIntervalIndex.Listener {
+
+    /** Duración de cada franja del mapa de ocupación */
+    public static final int SLOT_MINUTES = 5;
+    /** Número de franjas de un día */
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+
+    private final ReservationIntervalIndex reservationIntervalIndex;
+
+    /** Días ocupados de cada sala, indexados por el ID de la sala */
+    private final Map<Integer, RoomDays> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param reservationIntervalIndex Índice de intervalos del que se deriva la ocupación
+     */
+    public RoomOccupancyIndex(ReservationIntervalIndex reservationIntervalIndex) {
+        this.reservationIntervalIndex = reservationIntervalIndex;
+    }
+
+    /**
+     * Se suscribe a los cambios del índice de intervalos y construye el mapa con su contenido actual.
+     * @PostConstruct Se ejecuta al iniciar la aplicación
+     */
+    @PostConstruct
+    public void load() {
+        reservationIntervalIndex.addListener(this);
+        reservationIntervalIndex.forEachInterval((roomId, start, end) -> {
+            RoomDays days = rooms.computeIfAbsent(roomId, id -> new RoomDays());
+            for (LocalDate day = start.toLocalDate(); day.isBefore(dayAfterLast(end)); day = day.plusDays(1))
+                days.mark(day, start, end);
+        });
+        log.info("Mapa de ocupación cargado: {} salas", rooms.size());
+    }
+
+    @Override
+    public void intervalChanged(int roomId, LocalDateTime start, LocalDateTime end) {
+        RoomDays days = rooms.computeIfAbsent(roomId, id -> new RoomDays());
+        for (LocalDate day = start.toLocalDate(); day.isBefore(dayAfterLast(end)); day = day.plusDays(1))
+            days.rebuild(roomId, day);
+    }
+
+    @Override
+    public void roomRemoved(int roomId) {
+        rooms.remove(roomId);
+    }
+
+    /**
+     * Devuelve la ocupación de una sala agrupada en franjas del tamaño indicado.
+     * Una franja está ocupada si alguna de sus franjas de {@value #SLOT_MINUTES} minutos lo está,
+     * ya sea por una reserva o por una ocurrencia de una serie.
+     *
+     * @param roomId ID de la sala
+     * @param from Inicio del rango; debe coincidir con el inicio de una franja de {@value #SLOT_MINUTES} minutos
+     * @param slots Número de franjas a devolver
+     * @param granularity Duración de cada franja, múltiplo de {@value #SLOT_MINUTES} minutos
+     * @return Bitset con un bit por franja, a 1 si la franja está ocupada
+     */
+    public BitSet occupancy(int roomId, LocalDateTime from, int slots, Duration granularity) {
+        int slotsPerGroup = (int) (granularity.toSeconds() / SLOT_SECONDS);
+        BitSet base = baseSlots(roomId, from, slots * slotsPerGroup);
+        BitSet grid = new BitSet(slots);
+        for (int i = 0; i < slots; i++) {
+            int next = base.nextSetBit(i * slotsPerGroup);
+            if (next < 0)
+                break;
+            if (next < (i + 1) * slotsPerGroup)
+                grid.set(i);
+            else
+                i = next / slotsPerGroup - 1;
+        }
+        return grid;
+    }
+
+    /**
+     * Busca, entre las salas candidatas, las que están libres en todos los rangos indicados.
+     * Los rangos se combinan con OR en una máscara por día que se cruza con AND con la ocupación
+     * de cada sala; solo las salas cuya máscara se solapa con alguna franja ocupada, o que tienen
+     * series, se comprueban después con el índice de intervalos, por si la reserva solo ocupa parte
+     * de la franja.
+     *
+     * @param roomIds IDs de las salas candidatas
+     * @param ranges Rangos en los que la sala debe estar libre
+     * @return IDs de las salas libres, en el orden de las candidatas
+     */
+    public List<Integer> findFreeRooms(Collection<Integer> roomIds, List<TimeRange> ranges) {
+        Map<LocalDate, long[]> mask = new HashMap<>();
+        for (TimeRange range : ranges) {
+            for (LocalDate day = range.start().toLocalDate(); day.isBefore(dayAfterLast(range.end())); day = day.plusDays(1))
+                markDay(mask.computeIfAbsent(day, d -> new long[WORDS_PER_DAY]), day, range.start(), range.end());
+        }
+
+        List<Integer> free = new ArrayList<>();
+        for (Integer roomId : roomIds) {
+            RoomDays days = rooms.get(roomId);
+            boolean maybeBusy = (days != null && days.intersects(mask)) || reservationIntervalIndex.hasSeries(roomId);
+            if (!maybeBusy || !overlapsAny(roomId, ranges))
+                free.add(roomId);
+        }
+        return free;
+    }
+
+    /** Comprobación exacta con el índice de intervalos */
+    private boolean overlapsAny(int roomId, List<TimeRange> ranges) {
+        for (TimeRange range : ranges) {
+            if (reservationIntervalIndex.overlaps(roomId, range.start(), range.end(), 0))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copia los bits de las franjas base [from, from + count) de una sala en un bitset y marca
+     * encima las ocurrencias de sus series.
+     */
+    private BitSet baseSlots(int roomId, LocalDateTime from, int count) {
+        BitSet result = new BitSet(count);
+        reservationIntervalIndex.forEachSeriesOccurrence(roomId, from, from.plusSeconds(count * SLOT_SECONDS),
+                (start, end) -> result.set(
+                        (int) Math.max(0, ChronoUnit.SECONDS.between(from, start) / SLOT_SECONDS),
+                        (int) Math.min(count, Math.ceilDiv(ChronoUnit.SECONDS.between(from, end), SLOT_SECONDS))));
+        RoomDays days = rooms.get(roomId);
+        if (days == null)
+            return result;
+
+        LocalDate day = from.toLocalDate();
+        int offset = -slotOf(day, from);
+        while (offset < count) {
+            long[] bits = days.snapshot(day);
+            if (bits != null) {
+                BitSet dayBits = BitSet.valueOf(bits);
+                for (int slot = dayBits.nextSetBit(Math.max(0, -offset)); slot >= 0 && offset + slot < count;
+                        slot = dayBits.nextSetBit(slot + 1))
+                    result.set(offset + slot);
+            }
+            offset += SLOTS_PER_DAY;
+            day = day.plusDays(1);
+        }
+        return result;
+    }
+
+    /** Día siguiente al último día tocado por un intervalo que termina (sin incluir) en end */
+    private static LocalDate dayAfterLast(LocalDateTime end) {
+        return end.minusNanos(1).toLocalDate().plusDays(1);
+    }
+
+    /** Franja base del día en la que cae un instante (0 si es anterior al día) */
+    private static int slotOf(LocalDate day, LocalDateTime time) {
+        long seconds = ChronoUnit.SECONDS.between(day.atStartOfDay(), time);
+        return (int) Math.max(0, seconds / SLOT_SECONDS);
+    }
+
+    /** Marca en los bits de un día las franjas que toca el intervalo [start, end) */
+    private static void markDay(long[] bits, LocalDate day, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        long from = Math.max(0, ChronoUnit.SECONDS.between(dayStart, start)) / SLOT_SECONDS;
+        long to = Math.min(SLOTS_PER_DAY, Math.ceilDiv(ChronoUnit.SECONDS.between(dayStart, end), SLOT_SECONDS));
+        for (long slot = from; slot < to; slot++)
+            bits[(int) (slot >>> 6)] |= 1L << slot;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bits de ocupación de cada día de una sala. Solo se guardan los días con alguna franja ocupada.
+     */
+    private final class RoomDays {
+        private final Map<LocalDate, long[]> days = new HashMap<>();
+
+        synchronized void mark(LocalDate day, LocalDateTime start, LocalDateTime end) {
+            markDay(days.computeIfAbsent(day, d -> new long[WORDS_PER_DAY]), day, start, end);
+        }
+
+        /**
+         * Recalcula un día a partir de los intervalos actuales del índice. Se hace con el cerrojo
+         * de la sala tomado para que el último recálculo siempre refleje el último cambio aplicado.
+         */
+        synchronized void rebuild(int roomId, LocalDate day) {
+            long[] bits = new long[WORDS_PER_DAY];
+            reservationIntervalIndex.forEachInterval(roomId, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                    (start, end) -> markDay(bits, day, start, end));
+            if (isEmpty(bits))
+                days.remove(day);
+            else
+                days.put(day, bits);
+        }
+
+        synchronized long[] snapshot(LocalDate day) {
+            long[] bits = days.get(day);
+            return bits == null ? null : bits.clone();
+        }
+
+        synchronized boolean intersects(Map<LocalDate, long[]> mask) {
+            for (Map.Entry<LocalDate, long[]> entry : mask.entrySet()) {
+                long[] bits = days.get(entry.getKey());
+                if (bits == null)
+                    continue;
+                long[] wanted = entry.getValue();
+                for (int i = 0; i < WORDS_PER_DAY; i++) {
+                    if ((bits[i] & wanted[i]) != 0)
+                        return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,54 +1,104 @@
 package com.grupo05.coworking_space.service;
 
+import com.grupo05.coworking_space.dto.AvailabilityGridDTO;
+import com.grupo05.coworking_space.dto.PageDTO;
+import com.grupo05.coworking_space.dto.RoomAvailabilityDTO;
 import com.grupo05.coworking_space.dto.RoomDTO;
 import com.grupo05.coworking_space.enums.ApiError;
 import com.grupo05.coworking_space.exception.RequestException;
 import com.grupo05.coworking_space.mapper.RoomMapper;
 import com.grupo05.coworking_space.model.Room;
 import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.utils.KeysetCursor;
+import com.grupo05.coworking_space.utils.TimeRange;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @Service
+@Timed(value = "coworking.service", histogram = true)
 public class RoomService {
 	private final RoomRepository roomRepository;
 	private final RoomMapper roomMapper;
+	private final ReservationIntervalIndex reservationIntervalIndex;
+	private final RoomOccupancyIndex roomOccupancyIndex;
+	private final RoomCapacityIndex roomCapacityIndex;
+
+	/** Rango máximo que se puede pedir en la cuadrícula de ocupación */
+	private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(31);
+	/** Número máximo de franjas en una búsqueda de salas libres */
+	private static final int MAX_FREE_ROOM_SLOTS = 100;
+	/** Número máximo de salas que devuelve la búsqueda por capacidad */
+	private static final int MAX_SEARCH_RESULTS = 50;
 
 	/**
 	 * Constructor principal para la inyección de dependencias.
 	 *
 	 * @param repository Repositorio de acceso a datos para habitaciones
 	 * @param mapper     Mapper para conversión entre entidades y DTOs
+	 * @param reservationIntervalIndex Índice en memoria de los intervalos reservados de cada sala
+	 * @param roomOccupancyIndex Mapa de ocupación por franjas de cada sala
+	 * @param roomCapacityIndex Índice en memoria de las salas ordenadas por capacidad
 	 */
-	public RoomService(RoomRepository repository, RoomMapper mapper) {
+	public RoomService(RoomRepository repository, RoomMapper mapper, ReservationIntervalIndex reservationIntervalIndex,
+			RoomOccupancyIndex roomOccupancyIndex, RoomCapacityIndex roomCapacityIndex) {
 		this.roomRepository = repository;
 		this.roomMapper = mapper;
+		this.reservationIntervalIndex = reservationIntervalIndex;
+		this.roomOccupancyIndex = roomOccupancyIndex;
+		this.roomCapacityIndex = roomCapacityIndex;
 	}
 
 	/**
-	 * Obtiene todas las habitaciones registradas en el sistema.
+	 * Obtiene una página de las habitaciones registradas en el sistema.
+	 * Sin cursor se pagina por número de página; con cursor se recorren por ID.
 	 *
-	 * @return Lista de DTOs con todas las habitaciones
-	 * @throws RequestException Si ocurre un error en la base de datos (DATABASE_ERROR)
+	 * @param pageable Página, tamaño y orden solicitados
+	 * @param cursor Cursor de la paginación por clave; null para paginar por número de página
+	 * @return Página de DTOs con las habitaciones
+	 * @throws RequestException Si el cursor no es válido, ocurre un error en la base de datos (DATABASE_ERROR)
 	 *                          o un error interno inesperado (INTERNAL_SERVER_ERROR)
 	 */
-	
-	public List<RoomDTO> findAllRooms() {
+	public PageDTO<RoomDTO> findAllRooms(Pageable pageable, String cursor) {
 		try {
-			
-			List<Room> rooms = roomRepository.findAll();
-			log.info("Rooms found: {}", rooms.size());
-			return rooms.stream().map(roomMapper::convertToDTO).collect(Collectors.toList());
+			if (cursor != null) {
+				KeysetCursor after = KeysetCursor.decode(cursor);
+				int size = pageable.getPageSize();
+				List<Room> rooms = roomRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0 : after.id(),
+						Limit.of(size + 1));
+				boolean hasNext = rooms.size() > size;
+				List<Room> page = hasNext ? rooms.subList(0, size) : rooms;
+				log.info("Rooms found: {}", page.size());
+				return PageDTO.ofKeyset(page.stream().map(roomMapper::convertToDTO).toList(), size,
+						hasNext ? KeysetCursor.afterId(page.getLast().getId()).encode() : null);
+			}
+
+			Page<Room> rooms = roomRepository.findAll(pageable);
+			log.info("Rooms found: {}", rooms.getNumberOfElements());
+			return PageDTO.of(rooms, roomMapper::convertToDTO);
+		} catch (RequestException ex) {
+			throw ex;
 		} catch (DataAccessException ex) {
 			throw new RequestException(ApiError.DATABASE_ERROR);
 		} catch (Exception ex) {
@@ -84,6 +134,130 @@ public class RoomService {
 		}
 	}
 
+	/**
+	 * Obtiene la ocupación de todas las salas en un rango, por franjas del tamaño indicado.
+	 * La ocupación se lee del mapa en memoria; solo las salas se consultan en la base de datos.
+	 * El inicio se redondea hacia abajo a una franja de {@value RoomOccupancyIndex#SLOT_MINUTES} minutos
+	 * y el final hacia arriba hasta completar la última franja.
+	 *
+	 * @param from Inicio del rango
+	 * @param to Fin del rango
+	 * @param granularity Duración de cada franja, como 15m, 1h o PT30M
+	 * @return Cuadrícula con la ocupación de cada sala
+	 * @throws RequestException Si el rango o la duración no son válidos (BAD_REQUEST),
+	 *                          error en la base de datos (DATABASE_ERROR)
+	 *                          o error interno inesperado (INTERNAL_SERVER_ERROR)
+	 */
+	public AvailabilityGridDTO findAvailability(LocalDateTime from, LocalDateTime to, String granularity) {
+		try {
+			Duration step = parseGranularity(granularity);
+			LocalDateTime start = from.truncatedTo(ChronoUnit.MINUTES)
+					.minusMinutes(from.getMinute() % RoomOccupancyIndex.SLOT_MINUTES);
+			if (!start.isBefore(to) || Duration.between(start, to).compareTo(MAX_AVAILABILITY_RANGE) > 0)
+				throw new RequestException(ApiError.BAD_REQUEST, "Invalid Range",
+						"The range must end after it starts and span at most " + MAX_AVAILABILITY_RANGE.toDays() + " days");
+
+			int slots = (int) Math.ceilDiv(Duration.between(start, to).toSeconds(), step.toSeconds());
+			List<RoomAvailabilityDTO> rooms = roomRepository.findAll(Sort.by("id")).stream()
+					.map(room -> new RoomAvailabilityDTO(room.getId(), room.getName(), room.getRoomStatus(),
+							toGrid(roomOccupancyIndex.occupancy(room.getId(), start, slots, step), slots)))
+					.toList();
+
+			return new AvailabilityGridDTO(start, start.plus(step.multipliedBy(slots)), step.toMinutes(), rooms);
+		} catch (RequestException ex) {
+			throw ex;
+		} catch (DataAccessException ex) {
+			throw new RequestException(ApiError.DATABASE_ERROR);
+		} catch (Exception ex) {
+			throw new RequestException(ApiError.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Busca las salas disponibles que están libres en todas las franjas indicadas.
+	 *
+	 * @param slots Franjas escritas como inicio/fin en formato ISO, por ejemplo 2030-01-01T10:00/2030-01-01T11:00
+	 * @return Salas libres, ordenadas por ID
+	 * @throws RequestException Si alguna franja no es válida o hay demasiadas (BAD_REQUEST),
+	 *                          error en la base de datos (DATABASE_ERROR)
+	 *                          o error interno inesperado (INTERNAL_SERVER_ERROR)
+	 */
+	public List<RoomDTO> findFreeRooms(List<String> slots) {
+		try {
+			if (slots == null || slots.isEmpty() || slots.size() > MAX_FREE_ROOM_SLOTS)
+				throw new RequestException(ApiError.BAD_REQUEST, "Invalid Slots",
+						"Between 1 and " + MAX_FREE_ROOM_SLOTS + " slots are required");
+			List<TimeRange> ranges = slots.stream().map(TimeRange::parse).toList();
+
+			List<Room> candidates = roomRepository.findAll(Sort.by("id")).stream()
+					.filter(room -> room.getRoomStatus().isBookable())
+					.toList();
+			Set<Integer> free = new HashSet<>(
+					roomOccupancyIndex.findFreeRooms(candidates.stream().map(Room::getId).toList(), ranges));
+
+			return candidates.stream()
+					.filter(room -> free.contains(room.getId()))
+					.map(roomMapper::convertToDTO)
+					.toList();
+		} catch (RequestException ex) {
+			throw ex;
+		} catch (DataAccessException ex) {
+			throw new RequestException(ApiError.DATABASE_ERROR);
+		} catch (Exception ex) {
+			throw new RequestException(ApiError.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Busca salas disponibles y libres en un rango con al menos la capacidad indicada.
+	 * La búsqueda se resuelve en memoria con los índices de capacidad y de intervalos, sin consultar
+	 * la base de datos, y devuelve primero las salas que mejor se ajustan (menor capacidad suficiente).
+	 *
+	 * @param dateInit Inicio del rango
+	 * @param dateEnd Fin del rango
+	 * @param capacity Capacidad mínima de la sala
+	 * @param count Número máximo de salas a devolver
+	 * @return Salas candidatas ordenadas por ajuste
+	 * @throws RequestException Si el rango, la capacidad o el número de salas no son válidos (BAD_REQUEST)
+	 */
+	public List<RoomDTO> searchFreeRooms(LocalDateTime dateInit, LocalDateTime dateEnd, int capacity, int count) {
+		if (!dateInit.isBefore(dateEnd))
+			throw new RequestException(ApiError.BAD_REQUEST, "Invalid Range", "dateInit must be before dateEnd");
+		if (capacity < 1 || count < 1 || count > MAX_SEARCH_RESULTS)
+			throw new RequestException(ApiError.BAD_REQUEST, "Invalid Search",
+					"capacity must be positive and count between 1 and " + MAX_SEARCH_RESULTS);
+
+		return roomCapacityIndex.findFreeRooms(dateInit, dateEnd, capacity, count);
+	}
+
+	/**
+	 * Lee la duración de las franjas: admite el formato corto (15m, 1h) y el ISO-8601 (PT15M).
+	 * Debe ser un múltiplo de la franja base del mapa de ocupación y como mucho un día.
+	 */
+	private static Duration parseGranularity(String granularity) {
+		Duration step;
+		try {
+			step = DurationStyle.detectAndParse(granularity, ChronoUnit.MINUTES);
+		} catch (IllegalArgumentException ex) {
+			step = null;
+		}
+		long baseSeconds = RoomOccupancyIndex.SLOT_MINUTES * 60L;
+		if (step == null || step.toSeconds() < baseSeconds || step.toSeconds() % baseSeconds != 0
+				|| step.compareTo(Duration.ofDays(1)) > 0)
+			throw new RequestException(ApiError.BAD_REQUEST, "Invalid Granularity",
+					"Granularity must be a multiple of " + RoomOccupancyIndex.SLOT_MINUTES + " minutes and at most one day");
+		return step;
+	}
+
+	/** Escribe la ocupación como una cadena de '0' (libre) y '1' (ocupada) */
+	private static String toGrid(BitSet busy, int slots) {
+		char[] grid = new char[slots];
+		Arrays.fill(grid, '0');
+		for (int slot = busy.nextSetBit(0); slot >= 0 && slot < slots; slot = busy.nextSetBit(slot + 1))
+			grid[slot] = '1';
+		return new String(grid);
+	}
+
 	/**
 	 * Crea una nueva habitación en la base de datos.
 	 *
@@ -102,6 +276,7 @@ public class RoomService {
                 throw new RequestException(ApiError.DUPLICATE_RESOURCE);
 
 			Room savedRoom = roomRepository.save(roomToSave);
+			roomCapacityIndex.register(savedRoom);
 
 			log.info("Room created: {}", savedRoom.getId());
 			return roomMapper.convertToDTO(savedRoom);
@@ -144,7 +319,9 @@ public class RoomService {
 			roomFound.setCapacity(room.getCapacity());
 
 			log.info("Room updated: {}", roomFound.getId());
-			return roomMapper.convertToDTO(roomRepository.save(roomFound));
+			Room savedRoom = roomRepository.save(roomFound);
+			roomCapacityIndex.register(savedRoom);
+			return roomMapper.convertToDTO(savedRoom);
 		} catch (RequestException ex) {
 			throw ex;
 		} catch (DataIntegrityViolationException ex) {
@@ -176,6 +353,8 @@ public class RoomService {
 			RoomDTO result = this.findRoomById(id);
 
 			roomRepository.deleteById(result.getId());
+			reservationIntervalIndex.unregisterRoom(result.getId());
+			roomCapacityIndex.unregister(result.getId());
 			
 			log.info("Room deleted: {}", result.getId());
 		} catch (RequestException ex) {
@@ -0,0 +1,156 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationOccurrenceDTO;
+import com.grupo05.coworking_space.mapper.ReservationMapper;
+import com.grupo05.coworking_space.model.ReservationSeries;
+import com.grupo05.coworking_space.utils.KeysetCursor;
+import com.grupo05.coworking_space.utils.SeriesSchedule;
+
+/**
+ * Ocurrencias de un conjunto de series que se solapan con un rango cerrado [dateInit, dateEnd],
+ * con el mismo criterio que la búsqueda de reservas por fechas.
+ * <p>
+ * Las ocurrencias se calculan a medida que se recorren: el iterador mezcla los calendarios de
+ * todas las series con una cola de prioridad, de modo que obtener las primeras n ocurrencias
+ * cuesta O(n log s) con s series, sin expandir el resto del rango. El orden es el de los listados
+ * por cursor, por fecha de inicio y clave ({@link #sortKey(ReservationDTO)}).
+ */
+public final class SeriesOccurrences {
+
+    /** Orden de los listados de reservas y ocurrencias por fecha de inicio y clave */
+    public static final Comparator<ReservationDTO> ORDER = Comparator.comparing(ReservationDTO::getDateInit)
+            .thenComparingInt(SeriesOccurrences::sortKey);
+
+    private final List<ReservationSeries> series;
+    private final ReservationMapper reservationMapper;
+    private final LocalDateTime dateInit;
+    private final LocalDateTime dateEnd;
+
+    /**
+     * @param series Series que pueden tener ocurrencias en el rango, con sus salas y días anulados
+     * @param reservationMapper Mapper con el que se crea el DTO de cada ocurrencia
+     * @param dateInit Inicio del rango (inclusive)
+     * @param dateEnd Fin del rango (inclusive)
+     */
+    public SeriesOccurrences(List<ReservationSeries> series, ReservationMapper reservationMapper,
+            LocalDateTime dateInit, LocalDateTime dateEnd) {
+        this.series = series;
+        this.reservationMapper = reservationMapper;
+        this.dateInit = dateInit;
+        this.dateEnd = dateEnd;
+    }
+
+    /**
+     * Clave con la que se desempatan reservas y ocurrencias que empiezan a la vez, y que se guarda
+     * en el cursor: el ID de las reservas y el ID de la serie en negativo para las ocurrencias,
+     * que así van antes que cualquier reserva y nunca coinciden con ella.
+     *
+     * @param reservation Reserva u ocurrencia
+     * @return Clave de orden
+     */
+    public static int sortKey(ReservationDTO reservation) {
+        return reservation instanceof ReservationOccurrenceDTO occurrence ? -occurrence.getSeriesId() : reservation.getId();
+    }
+
+    /**
+     * Indica si no hay ninguna ocurrencia en el rango.
+     *
+     * @return true si no hay ocurrencias
+     */
+    public boolean isEmpty() {
+        return !iterator(null).hasNext();
+    }
+
+    /**
+     * Cuenta las ocurrencias del rango sin calcularlas, con {@link SeriesSchedule#countStarts}: el
+     * coste depende del número de series y de días anulados, no de la longitud del rango.
+     *
+     * @return Número de ocurrencias
+     */
+    public long count() {
+        long count = 0;
+        for (ReservationSeries reservationSeries : series) {
+            SeriesSchedule schedule = reservationSeries.toSchedule();
+            count += schedule.countStarts(dateInit.minus(schedule.duration()), dateEnd.plusNanos(1));
+        }
+        return count;
+    }
+
+    /**
+     * Recorre en orden las ocurrencias del rango que van después de un cursor.
+     *
+     * @param after Fecha y clave del último elemento ya devuelto, o null para empezar desde el principio
+     * @return Ocurrencias ordenadas por fecha de inicio y clave
+     */
+    public Iterator<ReservationDTO> iterator(KeysetCursor after) {
+        PriorityQueue<SeriesCursor> queue = new PriorityQueue<>(Math.max(1, series.size()));
+        for (ReservationSeries reservationSeries : series) {
+            SeriesCursor cursor = new SeriesCursor(reservationSeries, after);
+            if (cursor.next != null)
+                queue.add(cursor);
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public ReservationDTO next() {
+                SeriesCursor cursor = queue.poll();
+                if (cursor == null)
+                    throw new NoSuchElementException();
+                LocalDateTime start = cursor.next;
+                cursor.advance();
+                if (cursor.next != null)
+                    queue.add(cursor);
+                return reservationMapper.convertToOccurrenceDTO(cursor.reservationSeries, start,
+                        start.plus(cursor.duration));
+            }
+        };
+    }
+
+    /** Siguiente ocurrencia de una serie dentro del rango */
+    private final class SeriesCursor implements Comparable<SeriesCursor> {
+        private final ReservationSeries reservationSeries;
+        private final Duration duration;
+        private final Iterator<LocalDateTime> starts;
+        private LocalDateTime next;
+
+        SeriesCursor(ReservationSeries reservationSeries, KeysetCursor after) {
+            SeriesSchedule schedule = reservationSeries.toSchedule();
+            this.reservationSeries = reservationSeries;
+            this.duration = schedule.duration();
+            LocalDateTime from = dateInit.minus(duration);
+            if (after != null && after.date() != null && after.date().isAfter(from))
+                from = after.date();
+            this.starts = schedule.starts(from);
+            advance();
+            // Las ocurrencias que empiezan justo en la fecha del cursor solo van después si su clave es mayor
+            if (next != null && after != null && next.equals(after.date()) && -reservationSeries.getId() <= after.id())
+                advance();
+        }
+
+        void advance() {
+            next = starts.hasNext() ? starts.next() : null;
+            if (next != null && next.isAfter(dateEnd))
+                next = null;
+        }
+
+        @Override
+        public int compareTo(SeriesCursor other) {
+            int byStart = next.compareTo(other.next);
+            return byStart != 0 ? byStart : Integer.compare(-reservationSeries.getId(), -other.reservationSeries.getId());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.grupo05.coworking_space.service;
 
+import com.grupo05.coworking_space.dto.PageDTO;
 import com.grupo05.coworking_space.dto.ReservationDTO;
 import com.grupo05.coworking_space.dto.UserDTO;
 import com.grupo05.coworking_space.enums.ApiError;
@@ -9,19 +10,23 @@ import com.grupo05.coworking_space.mapper.UserMapper;
 import com.grupo05.coworking_space.model.User;
 import com.grupo05.coworking_space.repository.UserRepository;
 import com.grupo05.coworking_space.utils.JwtUtil;
+import com.grupo05.coworking_space.utils.KeysetCursor;
 
 import jakarta.annotation.PostConstruct;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.module.ResolutionException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -40,9 +45,11 @@ import org.springframework.stereotype.Service;
  * @see UserDetailsService Interfaz de Spring Security para cargar usuarios por nombre de usuario.
  * @Slf4j para habilitar el uso de logs en la aplicación.
  * @Service para indicar que es un servicio de Spring.
+ * @Timed para medir la duración de cada método en la métrica coworking.service.
  */
 @Slf4j
 @Service
+@Timed(value = "coworking.service", histogram = true)
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Value("${admin.default.password}")
@@ -156,6 +163,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
     }
 
+    /**
+     * Obtiene el ID del usuario autenticado en la petición actual con una única consulta
+     * que solo lee el ID.
+     *
+     * @return ID del usuario autenticado
+     * @throws RequestException Si no hay usuario autenticado o ya no existe
+     */
+    public int findAuthenticatedUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null)
+            throw new RequestException(ApiError.AUTHENTICATION_FAILED);
+        return userRepository.findIdByUsername(authentication.getName())
+                .orElseThrow(() -> new RequestException(ApiError.RECORD_NOT_FOUND));
+    }
+
     public UserDTO findByUsernameAndEmail(String username,String email) {
         try {
             Optional<User> user = userRepository.findByUsernameAndEmail(username, email);
@@ -185,7 +207,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     public UserDTO registrerUser(UserDTO user, Role role) {
         try {
-            log.info(adminDefaultPassword);
             if (userRepository.findByUsernameAndEmail(user.getUsername(), user.getEmail()).isPresent()) 
                 throw new RequestException(ApiError.DUPLICATE_EMAIL);
 
@@ -245,18 +266,34 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     /**
-     * Obtiene todos los usuarios registrados en el sistema.
-     * 
-     * @return Lista de DTOs con los datos de todos los usuarios
+     * Obtiene una página de los usuarios registrados en el sistema.
+     * Sin cursor se pagina por número de página; con cursor se recorren por ID.
+     *
+     * @param pageable Página, tamaño y orden solicitados
+     * @param cursor Cursor de la paginación por clave; null para paginar por número de página
+     * @return Página de DTOs con los datos de los usuarios
+     * @throws RequestException Si el cursor no es válido
      * @throws RuntimeException Si ocurre algún error durante la búsqueda
      */
-    public List<UserDTO> findAllUser() {
+    public PageDTO<UserDTO> findAllUser(Pageable pageable, String cursor) {
         try {
-            List<User> user = userRepository.findAll();
-            log.info("Se han encontrado {} usuarios", user.size());
-            return user.stream()
-                    .map(userMapper::convertToDTO)
-                    .collect(Collectors.toList());
+            if (cursor != null) {
+                KeysetCursor after = KeysetCursor.decode(cursor);
+                int size = pageable.getPageSize();
+                List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0 : after.id(),
+                        Limit.of(size + 1));
+                boolean hasNext = users.size() > size;
+                List<User> page = hasNext ? users.subList(0, size) : users;
+                log.info("Se han encontrado {} usuarios", page.size());
+                return PageDTO.ofKeyset(page.stream().map(userMapper::convertToDTO).toList(), size,
+                        hasNext ? KeysetCursor.afterId(page.getLast().getId()).encode() : null);
+            }
+
+            Page<User> users = userRepository.findAll(pageable);
+            log.info("Se han encontrado {} usuarios", users.getNumberOfElements());
+            return PageDTO.of(users, userMapper::convertToDTO);
+        } catch (RequestException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error al buscar los usuarios: " + e.getMessage());
         }
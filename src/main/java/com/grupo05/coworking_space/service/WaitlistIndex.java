@@ -0,0 +1,226 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import com.grupo05.coworking_space.model.WaitlistEntry;
+import com.grupo05.coworking_space.repository.WaitlistEntryRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice en memoria de las peticiones de la lista de espera de cada sala.
+ * <p>
+ * Cada sala guarda sus peticiones ordenadas por fecha de inicio, con la duración máxima para
+ * acotar la búsqueda igual que {@link ReservationIntervalIndex}: al liberarse un rango solo se
+ * recorren las peticiones que se solapan con él. Esas candidatas se ordenan por prioridad (la
+ * más antigua primero) con una cola de prioridad, así que encontrar a quién promocionar cuesta
+ * O(log n + k log k) con k candidatas, sin consultar la base de datos.
+ * <p>
+ * El índice se carga al iniciar la aplicación y los cambios hechos dentro de una transacción
+ * solo se aplican cuando esta se confirma.
+ *
+ * @Component para indicar que es un componente de Spring
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Component
+public class WaitlistIndex {
+
+    /** Prioridad de las peticiones: primero la que se apuntó antes y, a la vez, la de menor ID */
+    private static final Comparator<Waiter> PRIORITY = Comparator.comparing(Waiter::createdAt)
+            .thenComparingInt(Waiter::id);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    /** Peticiones de cada sala, indexadas por el ID de la sala */
+    private final Map<Integer, RoomWaitlist> rooms = new ConcurrentHashMap<>();
+
+    /** Petición indexada de cada ID, para poder eliminarla */
+    private final Map<Integer, Waiter> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param waitlistEntryRepository Repositorio usado para la carga inicial del índice
+     */
+    public WaitlistIndex(WaitlistEntryRepository waitlistEntryRepository) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+    }
+
+    /**
+     * Carga en el índice todas las peticiones que siguen en espera.
+     * @PostConstruct Se ejecuta al iniciar la aplicación
+     */
+    @PostConstruct
+    public void load() {
+        for (WaitlistEntry entry : waitlistEntryRepository.findAllWithRoomsByStatus(WaitlistStatus.WAITING))
+            put(Waiter.of(entry));
+        log.info("Lista de espera cargada: {} peticiones", waiters.size());
+    }
+
+    /**
+     * Busca las peticiones en espera de alguna de las salas indicadas cuyo rango se solapa con el
+     * rango liberado [dateInit, dateEnd).
+     *
+     * @param roomIds IDs de las salas liberadas
+     * @param dateInit Inicio del rango liberado (inclusive)
+     * @param dateEnd Fin del rango liberado (exclusive)
+     * @return IDs de las peticiones, de mayor a menor prioridad
+     */
+    public List<Integer> candidates(Collection<Integer> roomIds, LocalDateTime dateInit, LocalDateTime dateEnd) {
+        PriorityQueue<Waiter> queue = new PriorityQueue<>(PRIORITY);
+        Set<Integer> seen = new HashSet<>();
+        for (Integer roomId : roomIds) {
+            RoomWaitlist waitlist = rooms.get(roomId);
+            if (waitlist == null)
+                continue;
+            for (Waiter waiter : waitlist.overlapping(dateInit, dateEnd)) {
+                if (seen.add(waiter.id()))
+                    queue.add(waiter);
+            }
+        }
+
+        List<Integer> ordered = new ArrayList<>(queue.size());
+        while (!queue.isEmpty())
+            ordered.add(queue.poll().id());
+        return ordered;
+    }
+
+    /**
+     * Reúne las salas de las peticiones que {@link #candidates} devolvería para el rango liberado,
+     * para poder bloquearlas antes de promocionarlas.
+     *
+     * @param roomIds IDs de las salas liberadas
+     * @param dateInit Inicio del rango liberado (inclusive)
+     * @param dateEnd Fin del rango liberado (exclusive)
+     * @param into Conjunto al que se añaden las salas de las candidatas
+     */
+    public void addCandidateRooms(Collection<Integer> roomIds, LocalDateTime dateInit, LocalDateTime dateEnd,
+            Set<Integer> into) {
+        for (Integer roomId : roomIds) {
+            RoomWaitlist waitlist = rooms.get(roomId);
+            if (waitlist == null)
+                continue;
+            for (Waiter waiter : waitlist.overlapping(dateInit, dateEnd))
+                into.addAll(waiter.roomIds());
+        }
+    }
+
+    /**
+     * Registra una petición en espera cuando se confirme la transacción actual.
+     *
+     * @param entry Petición guardada, con sus salas
+     */
+    public void register(WaitlistEntry entry) {
+        Waiter waiter = Waiter.of(entry);
+        afterCommit(() -> {
+            remove(waiter.id());
+            put(waiter);
+        });
+    }
+
+    /**
+     * Elimina una petición del índice cuando se confirme la transacción actual.
+     *
+     * @param entryId ID de la petición promocionada o descartada
+     */
+    public void unregister(int entryId) {
+        afterCommit(() -> remove(entryId));
+    }
+
+    private void put(Waiter waiter) {
+        for (Integer roomId : waiter.roomIds())
+            rooms.computeIfAbsent(roomId, id -> new RoomWaitlist()).add(waiter);
+        waiters.put(waiter.id(), waiter);
+    }
+
+    private void remove(int entryId) {
+        Waiter waiter = waiters.remove(entryId);
+        if (waiter == null)
+            return;
+        for (Integer roomId : waiter.roomIds()) {
+            RoomWaitlist waitlist = rooms.get(roomId);
+            if (waitlist != null)
+                waitlist.remove(waiter);
+        }
+    }
+
+    /**
+     * Ejecuta la acción al confirmarse la transacción activa, o inmediatamente si no hay ninguna.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Datos de una petición necesarios para buscarla y ordenarla */
+    private record Waiter(int id, LocalDateTime start, LocalDateTime end, LocalDateTime createdAt,
+            List<Integer> roomIds) {
+        static Waiter of(WaitlistEntry entry) {
+            return new Waiter(entry.getId(), entry.getDateInit(), entry.getDateEnd(), entry.getCreatedAt(),
+                    entry.getRoomsFK());
+        }
+    }
+
+    /**
+     * Peticiones de una sala ordenadas por fecha de inicio, con la duración máxima de todas ellas.
+     */
+    private static final class RoomWaitlist {
+        private static final Comparator<Waiter> ORDER = Comparator.comparing(Waiter::start)
+                .thenComparingInt(Waiter::id);
+
+        private final NavigableSet<Waiter> waiters = new TreeSet<>(ORDER);
+        private Duration maxDuration = Duration.ZERO;
+
+        synchronized void add(Waiter waiter) {
+            waiters.add(waiter);
+            Duration duration = Duration.between(waiter.start(), waiter.end());
+            if (duration.compareTo(maxDuration) > 0)
+                maxDuration = duration;
+        }
+
+        synchronized void remove(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+
+        synchronized List<Waiter> overlapping(LocalDateTime dateInit, LocalDateTime dateEnd) {
+            LocalDateTime earliestStart = dateInit.minus(maxDuration);
+            if (waiters.isEmpty() || !earliestStart.isBefore(dateEnd))
+                return List.of();
+            Waiter from = new Waiter(Integer.MIN_VALUE, earliestStart, null, null, null);
+            Waiter to = new Waiter(Integer.MIN_VALUE, dateEnd, null, null, null);
+            List<Waiter> result = new ArrayList<>();
+            for (Waiter waiter : waiters.subSet(from, true, to, false)) {
+                if (waiter.end().isAfter(dateInit))
+                    result.add(waiter);
+            }
+            return result;
+        }
+    }
+}
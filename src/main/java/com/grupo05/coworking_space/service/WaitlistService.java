@@ -0,0 +1,262 @@
+package com.grupo05.coworking_space.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.WaitlistEntryDTO;
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.mapper.ReservationMapper;
+import com.grupo05.coworking_space.mapper.RoomMapper;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.model.WaitlistEntry;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.WaitlistEntryRepository;
+import com.grupo05.coworking_space.utils.TimeRange;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio de la lista de espera de reservas.
+ * <p>
+ * Cuando un rango está ocupado, el usuario se apunta a la lista en lugar de reintentar la reserva.
+ * Al liberarse un rango (se elimina una reserva, se cancela o se mueve) se promocionan, en la misma
+ * transacción y por orden de llegada, las peticiones que ahora caben: se crea su reserva y se
+ * guarda un aviso en la tabla outbox, que {@link NotificationOutboxRelay} envía en segundo plano.
+ *
+ * @Service para indicar que es un servicio de la aplicacion
+ * @Slf4j Logs de la aplicacion
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationMapper reservationMapper;
+    private final RoomMapper roomMapper;
+    private final UserDetailsServiceImpl userDetailsServiceImpl;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final WaitlistIndex waitlistIndex;
+    private final NotificationService notificationService;
+    private final RoomBookingLocks roomBookingLocks;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param waitlistEntryRepository Repositorio de las peticiones de la lista de espera
+     * @param reservationRepository Repositorio de reservas, para guardar las promocionadas
+     * @param reservationMapper Mapper para conversión entre entidades y DTOs
+     * @param roomMapper Mapper para manejar las salas de las peticiones
+     * @param userDetailsServiceImpl Servicio de usuarios, para resolver el usuario autenticado
+     * @param reservationIntervalIndex Índice en memoria de los intervalos reservados de cada sala
+     * @param waitlistIndex Índice en memoria de las peticiones en espera de cada sala
+     * @param notificationService Servicio que guarda los avisos pendientes de envío
+     * @param roomBookingLocks Cerrojos por sala que hacen atómicas la comprobación y el guardado
+     */
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository, ReservationRepository reservationRepository,
+            ReservationMapper reservationMapper, RoomMapper roomMapper, UserDetailsServiceImpl userDetailsServiceImpl,
+            ReservationIntervalIndex reservationIntervalIndex, WaitlistIndex waitlistIndex,
+            NotificationService notificationService, RoomBookingLocks roomBookingLocks) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationMapper = reservationMapper;
+        this.roomMapper = roomMapper;
+        this.userDetailsServiceImpl = userDetailsServiceImpl;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.waitlistIndex = waitlistIndex;
+        this.notificationService = notificationService;
+        this.roomBookingLocks = roomBookingLocks;
+    }
+
+    /**
+     * Apunta al usuario autenticado a la lista de espera de unas salas y un rango.
+     * Si el rango ya está libre, la petición se promociona en el momento.
+     *
+     * @param reservationDTO Reserva que se quiere hacer
+     * @return DTO de la petición, en espera o ya promocionada con el ID de su reserva
+     * @throws RequestException Si la reserva es de otro usuario, las fechas no son coherentes o
+     *                          alguna sala no existe o no está disponible
+     */
+    @Transactional
+    public WaitlistEntryDTO joinWaitlist(ReservationDTO reservationDTO) {
+        if (reservationDTO == null)
+            throw new RequestException(ApiError.BAD_REQUEST);
+        if (reservationDTO.getUserFK() != userDetailsServiceImpl.findAuthenticatedUserId())
+            throw new RequestException(ApiError.AUTHENTICATION_FAILED, "Error de permisos",
+                    "No puedes crear reservas para otros usuarios");
+        if (!reservationDTO.getDateInit().isBefore(reservationDTO.getDateEnd()))
+            throw new RequestException(ApiError.DATE_NOT_AVAILABLE_AFTER);
+
+        List<Room> rooms = roomMapper.getForeignKeys(reservationDTO.getRoomsFK());
+        for (Room room : rooms) {
+            if (!room.getRoomStatus().isBookable())
+                throw new RequestException(ApiError.ROOM_NOT_AVAILABLE, "Room Not Available",
+                        "Room is not available for reservation because it is " + room.getRoomStatus().getState());
+        }
+
+        Reservation template = reservationMapper.convertToEntity(reservationDTO);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setDateInit(template.getDateInit());
+        entry.setDateEnd(template.getDateEnd());
+        entry.setReserveStatus(template.getReserveStatus());
+        entry.setDescription(template.getDescription());
+        entry.setUser(template.getUser());
+        entry.setRooms(new ArrayList<>(rooms));
+        entry.setCreatedAt(LocalDateTime.now());
+
+        roomBookingLocks.lockUntilCompletion(entry.getRoomsFK());
+        if (reservationIntervalIndex.hasConflict(entry.getRoomsFK(), entry.getDateInit(), entry.getDateEnd(), 0)) {
+            WaitlistEntry saved = waitlistEntryRepository.save(entry);
+            waitlistIndex.register(saved);
+            log.info("Petición {} en lista de espera para las salas {}", saved.getId(), saved.getRoomsFK());
+            return reservationMapper.convertToDTO(saved);
+        }
+
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        promote(saved);
+        return reservationMapper.convertToDTO(saved);
+    }
+
+    /**
+     * Busca una petición de la lista de espera por su identificador.
+     *
+     * @param id ID de la petición
+     * @return DTO con los datos y el estado de la petición
+     * @throws RequestException Si no se encuentra la petición
+     */
+    public WaitlistEntryDTO findEntryByID(int id) {
+        return waitlistEntryRepository.findWithRoomsById(id)
+                .map(reservationMapper::convertToDTO)
+                .orElseThrow(() -> new RequestException(ApiError.RECORD_NOT_FOUND));
+    }
+
+    /**
+     * Salas que hay que bloquear antes de liberar un rango para poder promocionar su lista de
+     * espera: las liberadas y las de las peticiones que esperan en él. Quien libera el rango debe
+     * bloquearlas junto con el resto de sus salas en una sola llamada a
+     * {@link RoomBookingLocks#lockUntilCompletion}, ya que los cerrojos solo se toman en orden
+     * creciente dentro de cada llamada.
+     *
+     * @param roomIds Salas que se van a liberar
+     * @param dateInit Inicio del rango que se va a liberar (inclusive)
+     * @param dateEnd Fin del rango que se va a liberar (exclusive)
+     * @param into Conjunto al que se añaden las salas a bloquear
+     */
+    public void addRoomsToLock(Collection<Integer> roomIds, LocalDateTime dateInit, LocalDateTime dateEnd,
+            Set<Integer> into) {
+        into.addAll(roomIds);
+        waitlistIndex.addCandidateRooms(roomIds, dateInit, dateEnd, into);
+    }
+
+    /**
+     * Promociona las peticiones en espera que caben en un rango liberado. Debe llamarse dentro de
+     * la transacción que libera el rango, después de escribir el cambio en la base de datos: las
+     * reservas promocionadas se confirman o se descartan junto con él.
+     * <p>
+     * No toma cerrojos: quien llama ya tiene bloqueadas las salas que obtuvo con
+     * {@link #addRoomsToLock}. Las peticiones con alguna sala fuera de ellas, apuntadas después de
+     * calcularlas, siguen en espera hasta que se libere otro rango.
+     * <p>
+     * Las candidatas se recorren por orden de llegada; cada una se promociona si ninguna de sus
+     * salas está ocupada en su rango, sin contar la reserva liberada, y no choca con las ya
+     * promocionadas o con la reserva que ocupa ahora la liberada.
+     *
+     * @param roomIds Salas liberadas
+     * @param dateInit Inicio del rango liberado (inclusive)
+     * @param dateEnd Fin del rango liberado (exclusive)
+     * @param releasedReservationId ID de la reserva eliminada o modificada, que el índice aún contiene
+     * @param kept Reserva que sigue ocupando alguna sala tras el cambio (la modificada), o null
+     * @param lockedRooms Salas bloqueadas por la transacción actual
+     * @return Número de peticiones promocionadas
+     */
+    public int promoteReleased(Collection<Integer> roomIds, LocalDateTime dateInit, LocalDateTime dateEnd,
+            int releasedReservationId, Reservation kept, Set<Integer> lockedRooms) {
+        List<Integer> candidateIds = waitlistIndex.candidates(roomIds, dateInit, dateEnd);
+        if (candidateIds.isEmpty())
+            return 0;
+
+        Map<Integer, WaitlistEntry> entries = new HashMap<>();
+        for (WaitlistEntry entry : waitlistEntryRepository.findAllWithRoomsByIdIn(candidateIds)) {
+            if (lockedRooms.containsAll(entry.getRoomsFK()))
+                entries.put(entry.getId(), entry);
+            else
+                log.debug("Petición {} sin promocionar: sus salas no están bloqueadas", entry.getId());
+        }
+
+        Map<Integer, List<TimeRange>> taken = new HashMap<>();
+        if (kept != null && kept.getReserveStatus() != ReservationStatus.CANCELED)
+            take(taken, kept.getRoomsFK(), kept.getDateInit(), kept.getDateEnd());
+
+        LocalDateTime now = LocalDateTime.now();
+        int promoted = 0;
+        for (Integer id : candidateIds) {
+            WaitlistEntry entry = entries.get(id);
+            if (entry == null || entry.getStatus() != WaitlistStatus.WAITING)
+                continue;
+            if (entry.getDateInit().isBefore(now)) {
+                entry.setStatus(WaitlistStatus.EXPIRED);
+                waitlistIndex.unregister(entry.getId());
+                continue;
+            }
+            if (!fits(entry, releasedReservationId, taken))
+                continue;
+
+            promote(entry);
+            take(taken, entry.getRoomsFK(), entry.getDateInit(), entry.getDateEnd());
+            promoted++;
+        }
+        return promoted;
+    }
+
+    /**
+     * Comprueba si las salas de una petición están disponibles y libres en su rango.
+     */
+    private boolean fits(WaitlistEntry entry, int releasedReservationId, Map<Integer, List<TimeRange>> taken) {
+        for (Room room : entry.getRooms()) {
+            if (!room.getRoomStatus().isBookable())
+                return false;
+            for (TimeRange range : taken.getOrDefault(room.getId(), List.of())) {
+                if (range.start().isBefore(entry.getDateEnd()) && range.end().isAfter(entry.getDateInit()))
+                    return false;
+            }
+        }
+        return !reservationIntervalIndex.hasConflict(entry.getRoomsFK(), entry.getDateInit(), entry.getDateEnd(),
+                releasedReservationId);
+    }
+
+    /**
+     * Crea la reserva de una petición, la marca como promocionada y guarda el aviso al usuario.
+     */
+    private void promote(WaitlistEntry entry) {
+        Reservation reservation = reservationRepository.saveAndFlush(reservationMapper.convertToReservation(entry));
+        reservationIntervalIndex.register(reservation);
+
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setReservationId(reservation.getId());
+        waitlistIndex.unregister(entry.getId());
+
+        User user = entry.getUser();
+        notificationService.enqueueWaitlistPromotion(reservation, user);
+        log.info("Petición {} de la lista de espera promocionada a la reserva {}", entry.getId(), reservation.getId());
+    }
+
+    private static void take(Map<Integer, List<TimeRange>> taken, List<Integer> roomIds, LocalDateTime dateInit,
+            LocalDateTime dateEnd) {
+        for (Integer roomId : roomIds)
+            taken.computeIfAbsent(roomId, id -> new ArrayList<>()).add(new TimeRange(dateInit, dateEnd));
+    }
+}
@@ -0,0 +1,94 @@
+package com.grupo05.coworking_space.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Búfer circular sin bloqueos con los últimos spans registrados.
+ * <p>
+ * Cada escritor reserva una posición incrementando un contador atómico y escribe el span en ella,
+ * sobrescribiendo el más antiguo cuando el búfer está lleno. Ni los escritores ni los lectores
+ * esperan nunca a otro hilo; a cambio, una lectura concurrente con escrituras puede omitir algún
+ * span que se esté sobrescribiendo en ese momento.
+ */
+public class TraceBuffer {
+
+    private final AtomicReferenceArray<Span> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    /**
+     * Crea un búfer con capacidad para la potencia de dos igual o mayor que la indicada.
+     *
+     * @param capacity Número mínimo de spans que se conservan
+     */
+    public TraceBuffer(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The trace buffer capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Guarda un span, sobrescribiendo el más antiguo si el búfer está lleno.
+     *
+     * @param traceId Identificador de la traza
+     * @param depth Profundidad de la llamada
+     * @param type Clase o interfaz llamada, o método HTTP
+     * @param operation Método llamado, o ruta de la petición
+     * @param startEpochMicros Instante de inicio en microsegundos desde la época
+     * @param durationMicros Duración en microsegundos
+     * @param error true si la llamada ha fallado
+     */
+    public void record(long traceId, int depth, String type, String operation, long startEpochMicros,
+            long durationMicros, boolean error) {
+        long position = sequence.getAndIncrement();
+        slots.lazySet((int) (position & mask),
+                new Span(position, traceId, depth, type, operation, startEpochMicros, durationMicros, error));
+    }
+
+    /**
+     * Devuelve los spans más recientes, del más nuevo al más antiguo.
+     *
+     * @param limit Número máximo de spans
+     * @return Spans guardados
+     */
+    public List<Span> snapshot(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.min(limit, slots.length()));
+        List<Span> spans = new ArrayList<>((int) (end - start));
+        for (long position = end - 1; position >= start; position--) {
+            Span span = slots.get((int) (position & mask));
+            // La posición puede estar reservada pero aún sin escribir, o ya sobrescrita por otra vuelta
+            if (span != null && span.sequence() == position)
+                spans.add(span);
+        }
+        return spans;
+    }
+
+    /** Número de spans que caben en el búfer */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Llamada a un servicio o repositorio, o petición HTTP completa, dentro de una traza.
+     *
+     * @param sequence Posición del span en el búfer
+     * @param traceId Identificador de la traza (una por petición muestreada)
+     * @param depth Profundidad de la llamada; 0 para la petición HTTP
+     * @param type Clase o interfaz llamada, o método HTTP
+     * @param operation Método llamado, o ruta de la petición
+     * @param startEpochMicros Instante de inicio en microsegundos desde la época
+     * @param durationMicros Duración en microsegundos
+     * @param error true si la llamada terminó con una excepción o la petición con un estado 5xx
+     */
+    public record Span(long sequence, long traceId, int depth, String type, String operation,
+            long startEpochMicros, long durationMicros, boolean error) {
+    }
+}
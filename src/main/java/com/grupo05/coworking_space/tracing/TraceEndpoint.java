@@ -0,0 +1,60 @@
+package com.grupo05.coworking_space.tracing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Endpoint de Actuator ({@code /actuator/traces}, solo administradores) para consultar los spans
+ * de las peticiones muestreadas y cambiar la tasa de muestreo sin reiniciar la aplicación.
+ */
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+
+    /** Número de spans que se devuelven si no se indica otro */
+    private static final int DEFAULT_LIMIT = 500;
+
+    private final Tracer tracer;
+
+    /**
+     * Crea el endpoint.
+     *
+     * @param tracer Trazador con los spans guardados
+     */
+    public TraceEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Devuelve la tasa de muestreo y los spans más recientes, del más nuevo al más antiguo.
+     *
+     * @param limit Número máximo de spans (por defecto 500)
+     * @return Tasa de muestreo y spans guardados
+     */
+    @ReadOperation
+    public Traces traces(@Nullable Integer limit) {
+        return new Traces(tracer.getSampleRate(), tracer.spans(limit == null ? DEFAULT_LIMIT : Math.max(0, limit)));
+    }
+
+    /**
+     * Cambia la fracción de peticiones que se trazan.
+     *
+     * @param sampleRate Fracción entre 0 (ninguna) y 1 (todas)
+     */
+    @WriteOperation
+    public void sampleRate(double sampleRate) {
+        tracer.setSampleRate(sampleRate);
+    }
+
+    /**
+     * Respuesta del endpoint.
+     *
+     * @param sampleRate Fracción de peticiones que se trazan
+     * @param spans Spans más recientes
+     */
+    public record Traces(double sampleRate, List<TraceBuffer.Span> spans) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.grupo05.coworking_space.tracing;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trazas por petición de las llamadas a servicios y repositorios.
+ * <p>
+ * Solo se traza una fracción de las peticiones, elegida al azar según la tasa de muestreo. La traza
+ * activa se guarda en el hilo de la petición; las llamadas hechas fuera de una traza solo consultan
+ * ese hilo y no reservan memoria. Los spans terminados se guardan en un {@link TraceBuffer}.
+ */
+public class Tracer {
+
+    private final ThreadLocal<ActiveTrace> current = new ThreadLocal<>();
+    private final AtomicLong traceIds = new AtomicLong();
+    private final TraceBuffer buffer;
+    private volatile double sampleRate;
+
+    /**
+     * Crea el trazador.
+     *
+     * @param buffer Búfer donde se guardan los spans terminados
+     * @param sampleRate Fracción de peticiones que se trazan, entre 0 y 1
+     */
+    public Tracer(TraceBuffer buffer, double sampleRate) {
+        this.buffer = buffer;
+        setSampleRate(sampleRate);
+    }
+
+    /**
+     * Decide al azar si se traza una petición.
+     *
+     * @return true si la petición debe trazarse
+     */
+    public boolean shouldSample() {
+        double rate = sampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Empieza una traza en el hilo actual.
+     *
+     * @return Traza iniciada
+     */
+    public ActiveTrace start() {
+        Instant now = Instant.now();
+        ActiveTrace trace = new ActiveTrace(traceIds.incrementAndGet(),
+                ChronoUnit.MICROS.between(Instant.EPOCH, now), System.nanoTime());
+        current.set(trace);
+        return trace;
+    }
+
+    /**
+     * Termina la traza del hilo actual y guarda su span raíz.
+     *
+     * @param trace Traza devuelta por {@link #start()}
+     * @param type Método HTTP de la petición
+     * @param operation Ruta de la petición
+     * @param error true si la petición ha fallado
+     */
+    public void finish(ActiveTrace trace, String type, String operation, boolean error) {
+        current.remove();
+        record(trace, 0, type, operation, trace.startNanos, System.nanoTime(), error);
+    }
+
+    /**
+     * Devuelve la traza del hilo actual.
+     *
+     * @return Traza activa, o null si la petición no se está trazando
+     */
+    public ActiveTrace current() {
+        return current.get();
+    }
+
+    /**
+     * Guarda un span de la traza.
+     *
+     * @param trace Traza a la que pertenece
+     * @param depth Profundidad de la llamada
+     * @param type Clase o interfaz llamada
+     * @param operation Método llamado
+     * @param startNanos Inicio según {@link System#nanoTime()}
+     * @param endNanos Fin según {@link System#nanoTime()}
+     * @param error true si la llamada ha lanzado una excepción
+     */
+    void record(ActiveTrace trace, int depth, String type, String operation, long startNanos, long endNanos,
+            boolean error) {
+        long startEpochMicros = trace.startEpochMicros + (startNanos - trace.startNanos) / 1_000;
+        buffer.record(trace.traceId, depth, type, operation, startEpochMicros, (endNanos - startNanos) / 1_000, error);
+    }
+
+    /**
+     * Devuelve los spans más recientes, del más nuevo al más antiguo.
+     *
+     * @param limit Número máximo de spans
+     * @return Spans guardados
+     */
+    public List<TraceBuffer.Span> spans(int limit) {
+        return buffer.snapshot(limit);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Cambia la fracción de peticiones que se trazan. Se aplica a las peticiones que empiezan después.
+     *
+     * @param sampleRate Fracción entre 0 (ninguna) y 1 (todas)
+     */
+    public void setSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1))
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1");
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Traza en curso de una petición. Solo la usa el hilo que la ha iniciado.
+     */
+    public static final class ActiveTrace {
+
+        private final long traceId;
+        private final long startEpochMicros;
+        private final long startNanos;
+        private int depth;
+
+        private ActiveTrace(long traceId, long startEpochMicros, long startNanos) {
+            this.traceId = traceId;
+            this.startEpochMicros = startEpochMicros;
+            this.startNanos = startNanos;
+        }
+
+        public long getTraceId() {
+            return traceId;
+        }
+
+        /**
+         * Entra en una llamada anidada.
+         *
+         * @return Profundidad de la nueva llamada
+         */
+        int enter() {
+            return ++depth;
+        }
+
+        /** Sale de la llamada anidada actual */
+        void exit() {
+            depth--;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.grupo05.coworking_space.tracing;
+
+import java.lang.reflect.Proxy;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Interceptor que guarda un span por cada llamada hecha dentro de una traza.
+ * <p>
+ * Es un {@link MethodInterceptor} y no un aspecto {@code @Around} para no crear un
+ * {@code JoinPoint} en cada llamada. Fuera de una traza solo consulta la traza del hilo y continúa,
+ * sin reservar memoria; el nombre de cada clase se calcula una vez y se guarda.
+ */
+public class TracingInterceptor implements MethodInterceptor {
+
+    /** Nombre corto de cada clase llamada; para los repositorios, el de su interfaz */
+    private static final ClassValue<String> TYPE_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0)
+                return type.getInterfaces()[0].getSimpleName();
+            return ClassUtils.getUserClass(type).getSimpleName();
+        }
+    };
+
+    private final Tracer tracer;
+
+    /**
+     * Crea el interceptor.
+     *
+     * @param tracer Trazador con la traza de cada hilo
+     */
+    public TracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer.ActiveTrace trace = tracer.current();
+        if (trace == null)
+            return invocation.proceed();
+
+        int depth = trace.enter();
+        long start = System.nanoTime();
+        boolean error = false;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            error = true;
+            throw e;
+        } finally {
+            long end = System.nanoTime();
+            trace.exit();
+            Object target = invocation.getThis();
+            String type = target == null ? invocation.getMethod().getDeclaringClass().getSimpleName()
+                    : TYPE_NAMES.get(target.getClass());
+            tracer.record(trace, depth, type, invocation.getMethod().getName(), start, end, error);
+        }
+    }
+}
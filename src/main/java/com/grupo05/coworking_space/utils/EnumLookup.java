@@ -0,0 +1,161 @@
+package com.grupo05.coworking_space.utils;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Búsqueda de constantes de un enum por su texto sin distinguir mayúsculas de minúsculas, para
+ * los valores que llegan en las peticiones.
+ * <p>
+ * Al crearla se guarda el texto de cada constante en una tabla hash con direccionamiento abierto
+ * cuyo hash no depende de las mayúsculas. Cada búsqueda calcula el hash del texto recibido y lo
+ * compara con {@link String#equalsIgnoreCase} solo con las claves de su posición, de modo que no
+ * crea objetos: ni copias del texto en mayúsculas ni el array de {@code values()}.
+ *
+ * @param <E> Tipo del enum
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    /** Búsquedas por el texto JSON de cada enum, creadas la primera vez que se piden */
+    private static final ClassValue<EnumLookup<?>> BY_JSON_VALUE = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumLookup<?> computeValue(Class<?> type) {
+            return new EnumLookup(type.asSubclass(Enum.class), jsonValue(type));
+        }
+    };
+
+    private final Class<E> type;
+    private final String[] keys;
+    private final int[] hashes;
+    private final E[] constants;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    private EnumLookup(Class<E> type, Function<E, String> key) {
+        E[] values = type.getEnumConstants();
+        int size = Integer.highestOneBit(Math.max(1, values.length) * 4 - 1) << 1;
+        this.type = type;
+        this.keys = new String[size];
+        this.hashes = new int[size];
+        this.constants = (E[]) Array.newInstance(type, size);
+        this.mask = size - 1;
+        for (E value : values) {
+            String text = key.apply(value);
+            int hash = foldedHash(text);
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].equalsIgnoreCase(text))
+                    throw new IllegalArgumentException("Duplicate key " + text + " in " + type.getName());
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = text;
+            hashes[slot] = hash;
+            constants[slot] = value;
+        }
+    }
+
+    /**
+     * Crea una búsqueda con el texto que devuelve {@code key} para cada constante.
+     *
+     * @param type Clase del enum
+     * @param key Texto de cada constante
+     * @return Búsqueda del enum
+     * @throws IllegalArgumentException Si dos constantes tienen el mismo texto sin contar mayúsculas
+     */
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> type, Function<E, String> key) {
+        return new EnumLookup<>(type, key);
+    }
+
+    /**
+     * Obtiene la búsqueda compartida de un enum por el mismo texto con el que se escribe en JSON:
+     * el que devuelve su método {@link JsonValue}, o el nombre de la constante si no tiene.
+     *
+     * @param type Clase del enum
+     * @return Búsqueda del enum
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return (EnumLookup<E>) BY_JSON_VALUE.get(type);
+    }
+
+    /**
+     * Busca la constante con el texto indicado, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param value Texto recibido
+     * @return Constante con ese texto, o null si no hay ninguna o el texto es null
+     */
+    public E find(String value) {
+        if (value == null)
+            return null;
+        int hash = foldedHash(value);
+        for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && keys[slot].equalsIgnoreCase(value))
+                return constants[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Indica si el texto corresponde a alguna constante, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param value Texto recibido
+     * @return true si hay una constante con ese texto
+     */
+    public boolean contains(String value) {
+        return find(value) != null;
+    }
+
+    /**
+     * @return Clase del enum
+     */
+    public Class<E> type() {
+        return type;
+    }
+
+    /**
+     * Hash de la longitud y del primer y último carácter en minúsculas, sin crear ninguna cadena.
+     * Basta para separar las constantes de un enum y evita recorrer el texto dos veces; dos textos
+     * iguales según {@link String#equalsIgnoreCase} tienen el mismo hash.
+     */
+    private static int foldedHash(String value) {
+        int length = value.length();
+        if (length == 0)
+            return 0;
+        int hash = length * 31 + fold(value.codePointAt(0));
+        hash = hash * 31 + fold(value.codePointBefore(length));
+        // Mezcla los bits altos para repartir mejor en tablas pequeñas
+        return hash ^ (hash >>> 16);
+    }
+
+    /** Carácter en minúsculas con el mismo criterio que {@link String#equalsIgnoreCase} */
+    private static int fold(int c) {
+        if (c < 0x80)
+            return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Texto JSON de las constantes de un enum: el de su método {@link JsonValue} o su nombre.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function jsonValue(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            JsonValue annotation = method.getAnnotation(JsonValue.class);
+            if (annotation != null && annotation.value() && method.getParameterCount() == 0
+                    && method.getReturnType() == String.class) {
+                return constant -> {
+                    try {
+                        return (String) method.invoke(constant);
+                    } catch (ReflectiveOperationException ex) {
+                        throw new IllegalStateException("Cannot read " + method, ex);
+                    }
+                };
+            }
+        }
+        return constant -> ((Enum<?>) constant).name();
+    }
+}
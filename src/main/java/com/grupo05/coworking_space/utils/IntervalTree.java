@@ -0,0 +1,275 @@
+package com.grupo05.coworking_space.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Árbol de intervalos semiabiertos [inicio, fin): un árbol AVL ordenado por inicio en el que cada
+ * nodo guarda el fin máximo de su subárbol. Buscar los intervalos que se solapan con un rango
+ * cuesta O(log n + k) con k resultados, porque se descartan los subárboles cuyo fin máximo no
+ * llega al rango y los que empiezan después de él, sin importar lo largos que sean otros intervalos.
+ * <p>
+ * No es seguro para varios hilos: quien lo usa debe sincronizar los accesos.
+ *
+ * @param <T> Tipo de los intervalos
+ */
+public final class IntervalTree<T> {
+
+    private final Comparator<T> order;
+    private final Function<T, LocalDateTime> startOf;
+    private final Function<T, LocalDateTime> endOf;
+    private Node<T> root;
+    private int size;
+    /** Resultado de la última inserción o eliminación */
+    private boolean changed;
+
+    /**
+     * Crea un árbol vacío.
+     *
+     * @param order Orden total de los intervalos, que debe ordenar primero por inicio
+     * @param startOf Inicio de cada intervalo (inclusive)
+     * @param endOf Fin de cada intervalo (exclusive)
+     */
+    public IntervalTree(Comparator<T> order, Function<T, LocalDateTime> startOf, Function<T, LocalDateTime> endOf) {
+        this.order = order;
+        this.startOf = startOf;
+        this.endOf = endOf;
+    }
+
+    /**
+     * Añade un intervalo.
+     *
+     * @param value Intervalo a añadir
+     * @return true si se ha añadido, false si ya había uno igual según el orden
+     */
+    public boolean add(T value) {
+        changed = false;
+        root = insert(root, value);
+        return changed;
+    }
+
+    /**
+     * Elimina un intervalo.
+     *
+     * @param value Intervalo a eliminar
+     * @return true si estaba en el árbol
+     */
+    public boolean remove(T value) {
+        changed = false;
+        root = delete(root, value);
+        return changed;
+    }
+
+    /**
+     * @return Número de intervalos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true si no hay ningún intervalo
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Comprueba si algún intervalo que cumple la condición se solapa con el rango [from, to).
+     *
+     * @param from Inicio del rango (inclusive)
+     * @param to Fin del rango (exclusive)
+     * @param filter Condición que debe cumplir el intervalo
+     * @return true si hay al menos uno
+     */
+    public boolean anyOverlapping(LocalDateTime from, LocalDateTime to, Predicate<T> filter) {
+        return visit(root, from, to, filter);
+    }
+
+    /**
+     * Recorre por orden de inicio los intervalos que se solapan con el rango [from, to).
+     *
+     * @param from Inicio del rango (inclusive)
+     * @param to Fin del rango (exclusive)
+     * @param consumer Recibe cada intervalo
+     */
+    public void forEachOverlapping(LocalDateTime from, LocalDateTime to, Consumer<T> consumer) {
+        visit(root, from, to, value -> {
+            consumer.accept(value);
+            return false;
+        });
+    }
+
+    /**
+     * Recorre todos los intervalos por orden de inicio.
+     *
+     * @param consumer Recibe cada intervalo
+     */
+    public void forEach(Consumer<T> consumer) {
+        forEach(root, consumer);
+    }
+
+    /**
+     * Elimina los intervalos que terminan en un instante o antes. Solo se recorren los que
+     * empiezan antes de él.
+     *
+     * @param cutoff Instante límite
+     * @return Intervalos eliminados
+     */
+    public List<T> removeEndedBy(LocalDateTime cutoff) {
+        List<T> ended = new ArrayList<>();
+        collectEnded(root, cutoff, ended);
+        for (T value : ended)
+            remove(value);
+        return ended;
+    }
+
+    private boolean visit(Node<T> node, LocalDateTime from, LocalDateTime to, Predicate<T> action) {
+        if (node == null || !node.maxEnd.isAfter(from))
+            return false;
+        if (visit(node.left, from, to, action))
+            return true;
+        // Este nodo y su subárbol derecho empiezan en to o después
+        if (!startOf.apply(node.value).isBefore(to))
+            return false;
+        if (endOf.apply(node.value).isAfter(from) && action.test(node.value))
+            return true;
+        return visit(node.right, from, to, action);
+    }
+
+    private void forEach(Node<T> node, Consumer<T> consumer) {
+        if (node == null)
+            return;
+        forEach(node.left, consumer);
+        consumer.accept(node.value);
+        forEach(node.right, consumer);
+    }
+
+    private void collectEnded(Node<T> node, LocalDateTime cutoff, List<T> ended) {
+        if (node == null)
+            return;
+        collectEnded(node.left, cutoff, ended);
+        if (!startOf.apply(node.value).isBefore(cutoff))
+            return;
+        if (!endOf.apply(node.value).isAfter(cutoff))
+            ended.add(node.value);
+        collectEnded(node.right, cutoff, ended);
+    }
+
+    private Node<T> insert(Node<T> node, T value) {
+        if (node == null) {
+            changed = true;
+            size++;
+            return new Node<>(value, endOf.apply(value));
+        }
+        int compared = order.compare(value, node.value);
+        if (compared == 0)
+            return node;
+        if (compared < 0)
+            node.left = insert(node.left, value);
+        else
+            node.right = insert(node.right, value);
+        return balance(node);
+    }
+
+    private Node<T> delete(Node<T> node, T value) {
+        if (node == null)
+            return null;
+        int compared = order.compare(value, node.value);
+        if (compared < 0) {
+            node.left = delete(node.left, value);
+            return balance(node);
+        }
+        if (compared > 0) {
+            node.right = delete(node.right, value);
+            return balance(node);
+        }
+
+        changed = true;
+        size--;
+        if (node.left == null)
+            return node.right;
+        if (node.right == null)
+            return node.left;
+        Node<T> successor = node.right;
+        while (successor.left != null)
+            successor = successor.left;
+        successor.right = deleteMin(node.right);
+        successor.left = node.left;
+        return balance(successor);
+    }
+
+    private Node<T> deleteMin(Node<T> node) {
+        if (node.left == null)
+            return node.right;
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private Node<T> balance(Node<T> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right))
+                node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left))
+                node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = endOf.apply(node.value);
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd))
+            maxEnd = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd))
+            maxEnd = node.right.maxEnd;
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /** Nodo con su intervalo, la altura y el fin máximo de su subárbol */
+    private static final class Node<T> {
+        private final T value;
+        private Node<T> left;
+        private Node<T> right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        Node(T value, LocalDateTime end) {
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+}
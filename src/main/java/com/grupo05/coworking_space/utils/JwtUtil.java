@@ -1,71 +1,81 @@
 package com.grupo05.coworking_space.utils;
 
 import com.grupo05.coworking_space.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
-import io.jsonwebtoken.Claims;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
 
+/**
+ * Utilidad para generar y verificar tokens JWT firmados con HS256.
+ * La clave de firma y el parser se construyen una única vez al iniciar la aplicación;
+ * el parser es inmutable y seguro para usarse desde varios hilos a la vez.
+ *
+ * @Component para indicar que es un componente de Spring
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${secret.key}")
-    private String SECRET_KEY;
+    /** Tiempo de validez de los tokens: 10 horas */
+    private static final long EXPIRATION_MILLIS = 1000 * 60 * 60 * 10;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Crea la clave de firma y el parser a partir del secreto configurado.
+     *
+     * @param secretKey Secreto codificado en Base64, como en versiones anteriores
+     */
+    public JwtUtil(@Value("${secret.key}") String secretKey) {
+        this.signingKey = new SecretKeySpec(Decoders.BASE64.decode(secretKey), "HmacSHA256");
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifica la firma y la caducidad del token y devuelve todos sus claims con un único parseo.
+     *
+     * @param token Token JWT firmado
+     * @return Sujeto, rol y fecha de caducidad del token
+     * @throws io.jsonwebtoken.JwtException Si el token no es válido o ha caducado
+     */
+    public TokenClaims parseToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new TokenClaims(claims.getSubject(), claims.get("role", String.class), claims.getExpiration());
     }
 
+    /**
+     * Genera un token para el usuario con su rol como claim.
+     *
+     * @param user Usuario autenticado
+     * @return Token JWT firmado
+     */
     public String generateToken(User user) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        return createToken(claims, user.getUsername());
-    }
-
-    public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
-    }
-
-    private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .claim("role", user.getRole().name())
+                .subject(user.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_MILLIS))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * Comprueba que los claims de un token ya verificado pertenecen al usuario y no han caducado.
+     *
+     * @param claims Claims obtenidos con {@link #parseToken(String)}
+     * @param userDetails Usuario cargado desde la base de datos
+     * @return true si el token es del usuario y sigue vigente
+     */
+    public boolean validateToken(TokenClaims claims, UserDetails userDetails) {
+        return claims.subject().equals(userDetails.getUsername()) && !claims.isExpired();
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package com.grupo05.coworking_space.utils;
+
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.exception.RequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de la última fila devuelta en una paginación por clave (keyset). Se envía al cliente
+ * como un token opaco que debe devolver tal cual para pedir la página siguiente.
+ * <p>
+ * Los listados ordenados por ID solo usan {@code id}; los ordenados por fecha usan además
+ * {@code date} para desempatar las filas con la misma fecha.
+ *
+ * @param date Fecha de la última fila devuelta, o null si el listado se ordena solo por ID
+ * @param id ID de la última fila devuelta
+ */
+public record KeysetCursor(LocalDateTime date, int id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Crea un cursor para un listado ordenado solo por ID.
+     *
+     * @param id ID de la última fila devuelta
+     * @return Cursor posicionado tras esa fila
+     */
+    public static KeysetCursor afterId(int id) {
+        return new KeysetCursor(null, id);
+    }
+
+    /**
+     * Codifica el cursor como token opaco.
+     *
+     * @return Token en Base64 apto para URLs
+     */
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente.
+     *
+     * @param token Token devuelto en una página anterior; vacío para pedir la primera página
+     * @return Cursor decodificado, o null si se pide la primera página
+     * @throws RequestException Si el token no es válido
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank())
+            return null;
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0)
+                throw new IllegalArgumentException("Separador no encontrado");
+            String date = raw.substring(0, separator);
+            return new KeysetCursor(date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RequestException(ApiError.BAD_REQUEST, "Invalid Cursor",
+                    "The cursor is not valid, use the nextCursor value of a previous page");
+        }
+    }
+}
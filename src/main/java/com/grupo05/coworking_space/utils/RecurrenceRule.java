@@ -0,0 +1,285 @@
+package com.grupo05.coworking_space.utils;
+
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.exception.RequestException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Regla de repetición de una serie de reservas, con un subconjunto de la sintaxis RRULE
+ * (RFC 5545): {@code FREQ=DAILY|WEEKLY}, {@code INTERVAL}, {@code BYDAY} (solo semanal),
+ * {@code UNTIL} (fecha, inclusive) y {@code COUNT}. Por ejemplo, todos los días laborables:
+ * {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR}.
+ * <p>
+ * Las ocurrencias se calculan bajo demanda: {@link #starts(LocalDateTime, LocalDateTime)} salta
+ * directamente al periodo que contiene la fecha pedida, por lo que el coste no depende de cuánto
+ * tiempo lleve activa la serie.
+ *
+ * @param frequency Frecuencia de repetición
+ * @param interval Número de días o semanas entre periodos, de 1 a {@value #MAX_INTERVAL}
+ * @param byDays Días de la semana en los que se repite una regla semanal; vacío en las diarias
+ * @param until Último día en el que puede haber una ocurrencia, o null si no termina
+ * @param count Número total de ocurrencias, o null si no se limita por número
+ */
+public record RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDays, LocalDate until,
+        Integer count) {
+
+    /** Intervalo máximo entre periodos, que acota la búsqueda de choques entre dos series */
+    public static final int MAX_INTERVAL = 12;
+    /** Número máximo de ocurrencias con COUNT */
+    public static final int MAX_COUNT = 1000;
+
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    /** Frecuencias admitidas */
+    public enum Frequency {
+        DAILY, WEEKLY
+    }
+
+    /**
+     * Lee una regla en formato RRULE. Las reglas semanales sin BYDAY se repiten el mismo día de
+     * la semana que la primera ocurrencia.
+     *
+     * @param value Regla recibida del cliente
+     * @param firstStart Inicio de la primera ocurrencia
+     * @return Regla leída
+     * @throws RequestException Si la regla no es válida
+     */
+    public static RecurrenceRule parse(String value, LocalDateTime firstStart) {
+        try {
+            if (value == null || value.isBlank())
+                throw new IllegalArgumentException("Regla vacía");
+
+            Frequency frequency = null;
+            int interval = 1;
+            Set<DayOfWeek> byDays = EnumSet.noneOf(DayOfWeek.class);
+            LocalDate until = null;
+            Integer count = null;
+            for (String part : value.trim().split(";")) {
+                int separator = part.indexOf('=');
+                if (separator < 0)
+                    throw new IllegalArgumentException("Parte sin valor: " + part);
+                String name = part.substring(0, separator).trim().toUpperCase();
+                String partValue = part.substring(separator + 1).trim();
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(partValue.toUpperCase());
+                    case "INTERVAL" -> interval = Integer.parseInt(partValue);
+                    case "BYDAY" -> {
+                        for (String day : partValue.split(","))
+                            byDays.add(dayOf(day.trim().toUpperCase()));
+                    }
+                    case "UNTIL" -> until = parseUntil(partValue);
+                    case "COUNT" -> count = Integer.parseInt(partValue);
+                    default -> throw new IllegalArgumentException("Parte desconocida: " + name);
+                }
+            }
+
+            if (frequency == null || interval < 1 || interval > MAX_INTERVAL
+                    || (count != null && (count < 1 || count > MAX_COUNT))
+                    || (frequency == Frequency.DAILY && !byDays.isEmpty())
+                    || (until != null && until.isBefore(firstStart.toLocalDate())))
+                throw new IllegalArgumentException("Regla no válida");
+            if (frequency == Frequency.WEEKLY && byDays.isEmpty())
+                byDays.add(firstStart.getDayOfWeek());
+            return new RecurrenceRule(frequency, interval, Set.copyOf(byDays), until, count);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RequestException(ApiError.BAD_REQUEST, "Invalid Recurrence Rule",
+                    "Rules must use FREQ=DAILY|WEEKLY with optional INTERVAL (1-" + MAX_INTERVAL
+                            + "), BYDAY (weekly only), UNTIL (not before the first occurrence) and COUNT (1-"
+                            + MAX_COUNT + ")");
+        }
+    }
+
+    /**
+     * Devuelve una regla equivalente en la que COUNT se ha sustituido por la fecha de la última
+     * ocurrencia, para poder calcular cualquier ocurrencia sin contar las anteriores.
+     *
+     * @param firstStart Inicio de la primera ocurrencia
+     * @return Regla sin COUNT
+     */
+    public RecurrenceRule resolveCount(LocalDateTime firstStart) {
+        if (count == null)
+            return this;
+        LocalDateTime last = firstStart;
+        Iterator<LocalDateTime> starts = new RecurrenceRule(frequency, interval, byDays, until, null)
+                .starts(firstStart, firstStart);
+        for (int i = 0; i < count && starts.hasNext(); i++)
+            last = starts.next();
+        return new RecurrenceRule(frequency, interval, byDays, last.toLocalDate(), null);
+    }
+
+    /**
+     * Duración en días de un periodo de la regla: el intervalo en días o en semanas.
+     *
+     * @return Días de cada periodo
+     */
+    public int periodDays() {
+        return frequency == Frequency.DAILY ? interval : interval * 7;
+    }
+
+    /**
+     * Cuenta sin recorrerlas las ocurrencias que empiezan antes de un instante: cada periodo
+     * completo aporta las mismas ocurrencias, así que solo se revisan los días del último.
+     *
+     * @param firstStart Inicio de la primera ocurrencia
+     * @param bound Instante límite (exclusive)
+     * @return Número de ocurrencias que empiezan antes de bound
+     */
+    public long countBefore(LocalDateTime firstStart, LocalDateTime bound) {
+        // Último día cuya ocurrencia empieza antes del límite
+        LocalDate last = firstStart.toLocalTime().isBefore(bound.toLocalTime())
+                ? bound.toLocalDate()
+                : bound.toLocalDate().minusDays(1);
+        if (until != null && until.isBefore(last))
+            last = until;
+        LocalDate first = firstStart.toLocalDate();
+        if (last.isBefore(first))
+            return 0;
+        if (frequency == Frequency.DAILY)
+            return ChronoUnit.DAYS.between(first, last) / interval + 1;
+
+        LocalDate firstPeriod = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return weeklyMatchesThrough(firstPeriod, last) - weeklyMatchesThrough(firstPeriod, first.minusDays(1));
+    }
+
+    /**
+     * Indica si la regla tiene una ocurrencia el día indicado.
+     *
+     * @param firstStart Inicio de la primera ocurrencia
+     * @param date Día a comprobar
+     * @return true si alguna ocurrencia empieza ese día
+     */
+    public boolean occursOn(LocalDateTime firstStart, LocalDate date) {
+        LocalDate first = firstStart.toLocalDate();
+        if (date.isBefore(first) || (until != null && date.isAfter(until)))
+            return false;
+        if (frequency == Frequency.DAILY)
+            return ChronoUnit.DAYS.between(first, date) % interval == 0;
+        LocalDate firstPeriod = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return byDays.contains(date.getDayOfWeek())
+                && ChronoUnit.DAYS.between(firstPeriod, date) / 7 % interval == 0;
+    }
+
+    /** Días de BYDAY entre el inicio del primer periodo semanal y el día indicado, ambos inclusive */
+    private long weeklyMatchesThrough(LocalDate firstPeriod, LocalDate last) {
+        if (last.isBefore(firstPeriod))
+            return 0;
+        long days = ChronoUnit.DAYS.between(firstPeriod, last) + 1;
+        long matches = days / periodDays() * byDays.size();
+        long remaining = Math.min(days % periodDays(), 7);
+        for (DayOfWeek day : byDays) {
+            if (day.getValue() - 1 < remaining)
+                matches++;
+        }
+        return matches;
+    }
+
+    /**
+     * Recorre en orden los inicios de las ocurrencias que empiezan en from o después.
+     * Si la regla no termina, el iterador no termina: quien lo recorre debe dejar de pedir
+     * ocurrencias al pasar el final del rango que le interesa.
+     *
+     * @param firstStart Inicio de la primera ocurrencia
+     * @param from Instante a partir del cual se devuelven ocurrencias (inclusive)
+     * @return Inicios de las ocurrencias
+     */
+    public Iterator<LocalDateTime> starts(LocalDateTime firstStart, LocalDateTime from) {
+        LocalDate firstPeriod = frequency == Frequency.WEEKLY
+                ? firstStart.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : firstStart.toLocalDate();
+        long skipped = from.isAfter(firstStart)
+                ? ChronoUnit.DAYS.between(firstPeriod, from.toLocalDate()) / periodDays()
+                : 0;
+        LocalDate period = firstPeriod.plusDays(skipped * periodDays());
+        LocalDateTime lowerBound = from.isAfter(firstStart) ? from : firstStart;
+
+        return new Iterator<>() {
+            private LocalDate periodStart = period;
+            private int dayOffset = 0;
+            private LocalDateTime next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                LocalDateTime current = next;
+                next = advance();
+                return current;
+            }
+
+            private LocalDateTime advance() {
+                while (true) {
+                    int daysInPeriod = frequency == Frequency.DAILY ? 1 : 7;
+                    if (dayOffset >= daysInPeriod) {
+                        periodStart = periodStart.plusDays(periodDays());
+                        dayOffset = 0;
+                    }
+                    LocalDate date = periodStart.plusDays(dayOffset++);
+                    if (until != null && date.isAfter(until))
+                        return null;
+                    if (frequency == Frequency.WEEKLY && !byDays.contains(date.getDayOfWeek()))
+                        continue;
+                    LocalDateTime start = date.atTime(firstStart.toLocalTime());
+                    if (!start.isBefore(lowerBound))
+                        return start;
+                }
+            }
+        };
+    }
+
+    /**
+     * Escribe la regla en formato RRULE, como se guarda en la base de datos.
+     *
+     * @return Regla en formato RRULE
+     */
+    @Override
+    public String toString() {
+        StringJoiner rule = new StringJoiner(";");
+        rule.add("FREQ=" + frequency);
+        if (interval != 1)
+            rule.add("INTERVAL=" + interval);
+        if (frequency == Frequency.WEEKLY) {
+            StringJoiner days = new StringJoiner(",");
+            for (DayOfWeek day : EnumSet.copyOf(byDays))
+                days.add(DAY_CODES[day.ordinal()]);
+            rule.add("BYDAY=" + days);
+        }
+        if (until != null)
+            rule.add("UNTIL=" + BASIC_DATE.format(until));
+        if (count != null)
+            rule.add("COUNT=" + count);
+        return rule.toString();
+    }
+
+    private static DayOfWeek dayOf(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++) {
+            if (DAY_CODES[i].equals(code))
+                return DayOfWeek.of(i + 1);
+        }
+        throw new IllegalArgumentException("Día no válido: " + code);
+    }
+
+    /** UNTIL admite la fecha básica de RRULE (20261231, con o sin hora) o una fecha ISO */
+    private static LocalDate parseUntil(String value) {
+        if (value.contains("-"))
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+        return LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, BASIC_DATE);
+    }
+}
@@ -0,0 +1,168 @@
+package com.grupo05.coworking_space.utils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Calendario de una serie de reservas: la primera ocurrencia, su duración, la regla de repetición
+ * y los días excluidos. Las ocurrencias no se guardan; se calculan bajo demanda solo dentro del
+ * rango consultado.
+ *
+ * @param seriesId ID de la serie
+ * @param firstStart Inicio de la primera ocurrencia
+ * @param duration Duración de cada ocurrencia
+ * @param rule Regla de repetición, sin COUNT (ver {@link RecurrenceRule#resolveCount(LocalDateTime)})
+ * @param exceptions Días en los que se ha anulado la ocurrencia
+ */
+public record SeriesSchedule(int seriesId, LocalDateTime firstStart, Duration duration, RecurrenceRule rule,
+        Set<LocalDate> exceptions) {
+
+    /**
+     * Recorre en orden los inicios de las ocurrencias no anuladas que empiezan en from o después.
+     * Si la serie no termina, el iterador tampoco.
+     *
+     * @param from Instante a partir del cual se devuelven ocurrencias (inclusive)
+     * @return Inicios de las ocurrencias
+     */
+    public Iterator<LocalDateTime> starts(LocalDateTime from) {
+        Iterator<LocalDateTime> starts = rule.starts(firstStart, from);
+        return new Iterator<>() {
+            private LocalDateTime next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                LocalDateTime current = next;
+                next = advance();
+                return current;
+            }
+
+            private LocalDateTime advance() {
+                while (starts.hasNext()) {
+                    LocalDateTime start = starts.next();
+                    if (!exceptions.contains(start.toLocalDate()))
+                        return start;
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Cuenta las ocurrencias no anuladas que empiezan en el rango semiabierto [from, to), sin
+     * recorrerlas: el coste solo depende del número de días anulados.
+     *
+     * @param from Inicio del rango (inclusive)
+     * @param to Fin del rango (exclusive)
+     * @return Número de ocurrencias que empiezan en el rango
+     */
+    public long countStarts(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to))
+            return 0;
+        long count = rule.countBefore(firstStart, to) - rule.countBefore(firstStart, from);
+        for (LocalDate exception : exceptions) {
+            LocalDateTime start = exception.atTime(firstStart.toLocalTime());
+            if (!start.isBefore(from) && start.isBefore(to) && rule.occursOn(firstStart, exception))
+                count--;
+        }
+        return count;
+    }
+
+    /**
+     * Comprueba si alguna ocurrencia se solapa con el rango semiabierto [dateInit, dateEnd).
+     *
+     * @param dateInit Inicio del rango (inclusive)
+     * @param dateEnd Fin del rango (exclusive)
+     * @return true si hay al menos una ocurrencia en el rango
+     */
+    public boolean overlaps(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        // La primera ocurrencia que termina después de dateInit es la única candidata
+        Iterator<LocalDateTime> starts = starts(dateInit.minus(duration).plusNanos(1));
+        return starts.hasNext() && starts.next().isBefore(dateEnd);
+    }
+
+    /**
+     * Recorre las ocurrencias que se solapan con el rango semiabierto [dateInit, dateEnd).
+     *
+     * @param dateInit Inicio del rango (inclusive)
+     * @param dateEnd Fin del rango (exclusive)
+     * @param consumer Recibe el inicio y el fin de cada ocurrencia, ordenadas por inicio
+     */
+    public void forEachOverlapping(LocalDateTime dateInit, LocalDateTime dateEnd,
+            BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+        Iterator<LocalDateTime> starts = starts(dateInit.minus(duration).plusNanos(1));
+        while (starts.hasNext()) {
+            LocalDateTime start = starts.next();
+            if (!start.isBefore(dateEnd))
+                return;
+            consumer.accept(start, start.plus(duration));
+        }
+    }
+
+    /**
+     * Fin de la última ocurrencia posible, o null si la serie no termina.
+     *
+     * @return Fin de la serie
+     */
+    public LocalDateTime lastEnd() {
+        return rule.until() == null ? null : rule.until().atTime(firstStart.toLocalTime()).plus(duration);
+    }
+
+    /**
+     * Comprueba si alguna ocurrencia de esta serie se solapa con alguna de otra.
+     * <p>
+     * Las ocurrencias de las dos series se repiten juntas cada mínimo común múltiplo de sus
+     * periodos, así que si chocan lo hacen en cada ciclo. Cada día anulado puede eliminar el choque
+     * de un ciclo como mucho, por lo que basta con revisar tantos ciclos como días anulados más uno.
+     *
+     * @param other Otra serie
+     * @return true si las series chocan
+     */
+    public boolean collidesWith(SeriesSchedule other) {
+        LocalDateTime from = firstStart.isAfter(other.firstStart()) ? firstStart : other.firstStart();
+        long cycleDays = lcm(rule.periodDays(), other.rule().periodDays());
+        LocalDateTime horizon = from.plusDays(cycleDays * (1 + exceptions.size() + other.exceptions().size()))
+                .plus(duration.compareTo(other.duration()) > 0 ? duration : other.duration());
+        LocalDateTime end = earliest(horizon, earliest(lastEnd(), other.lastEnd()));
+
+        Iterator<LocalDateTime> starts = starts(from.minus(duration).plusNanos(1));
+        while (starts.hasNext()) {
+            LocalDateTime start = starts.next();
+            if (!start.isBefore(end))
+                return false;
+            if (other.overlaps(start, start.plus(duration)))
+                return true;
+        }
+        return false;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static long lcm(long a, long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+        return a / x * b;
+    }
+}
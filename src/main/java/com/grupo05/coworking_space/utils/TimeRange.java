@@ -0,0 +1,40 @@
+package com.grupo05.coworking_space.utils;
+
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.exception.RequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Rango de tiempo semiabierto [start, end), como los intervalos de las reservas.
+ *
+ * @param start Inicio del rango (inclusive)
+ * @param end Fin del rango (exclusive)
+ */
+public record TimeRange(LocalDateTime start, LocalDateTime end) {
+
+    /**
+     * Lee un rango escrito como dos fechas ISO separadas por una barra,
+     * por ejemplo {@code 2030-01-01T10:00/2030-01-01T11:30}.
+     *
+     * @param value Texto recibido del cliente
+     * @return Rango leído
+     * @throws RequestException Si el texto no es válido o el rango está vacío
+     */
+    public static TimeRange parse(String value) {
+        int separator = value == null ? -1 : value.indexOf('/');
+        try {
+            if (separator < 0)
+                throw new IllegalArgumentException("Separador no encontrado");
+            TimeRange range = new TimeRange(LocalDateTime.parse(value.substring(0, separator).trim()),
+                    LocalDateTime.parse(value.substring(separator + 1).trim()));
+            if (!range.start().isBefore(range.end()))
+                throw new IllegalArgumentException("Rango vacío");
+            return range;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RequestException(ApiError.BAD_REQUEST, "Invalid Slot",
+                    "Slots must be written as start/end ISO date-times, with start before end");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.grupo05.coworking_space.utils;
+
+import java.util.Date;
+
+/**
+ * Claims de un token JWT ya verificado por {@link JwtUtil#parseToken(String)}.
+ *
+ * @param subject Nombre del usuario al que pertenece el token
+ * @param role Rol del usuario (ROLE_USER, ROLE_ADMIN)
+ * @param expiration Fecha de caducidad del token
+ */
+public record TokenClaims(String subject, String role, Date expiration) {
+
+    /**
+     * Indica si el token ya ha caducado.
+     *
+     * @return true si la fecha de caducidad es anterior al instante actual
+     */
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
@@ -1,34 +1,26 @@
 package com.grupo05.coworking_space.validation;
 
-import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.utils.EnumLookup;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.Arrays;
-
+/**
+ * Valida que un texto sea uno de los valores JSON del enum indicado en {@link ValidEnum}, sin
+ * distinguir mayúsculas de minúsculas. La búsqueda se obtiene una vez al inicializar el validador
+ * y es la misma que usa el {@code fromString} del enum.
+ */
 public class EnumValidator implements ConstraintValidator<ValidEnum, String> {
-//	private Class<? extends Enum<?>> enumClass;
-	private RoomStatus[] enumValues;
+	private EnumLookup<?> lookup;
 
 	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
 	public void initialize(ValidEnum constraintAnnotation) {
-//		enumClass = constraintAnnotation.enumClass();
-		this.enumValues = (RoomStatus[]) constraintAnnotation.enumClass().getEnumConstants();
+		this.lookup = EnumLookup.of((Class) constraintAnnotation.enumClass());
 	}
 
 	@Override
 	public boolean isValid(String value, ConstraintValidatorContext context) {
 		if (value == null) return true;
-
-		// Si el campo es un String, validar si coincide con algún nombre del enum.
-//		if (value instanceof String) {
-//			return Arrays.stream(enumClass.getEnumConstants()).anyMatch(e -> e
-//				.name()
-//				.equalsIgnoreCase((String) value));
-//		}
-		// Si el campo es del tipo del enum, validar si es una instancia válida.
-//		return Arrays.asList(enumClass.getEnumConstants()).contains(value);
-		return Arrays.stream(RoomStatus.values())
-			.anyMatch(rs -> rs.getState().equalsIgnoreCase(value));
+		return lookup.contains(value);
 	}
 }
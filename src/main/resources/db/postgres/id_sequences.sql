@@ -0,0 +1,24 @@
+-- Migración de los IDs de reservas, salas y usuarios de IDENTITY a secuencias. Hibernate reserva
+-- 50 valores por consulta (allocationSize = 50) con el optimizador pooled-lo: el valor devuelto por
+-- la secuencia es el primer ID del bloque, y la aplicación usa ese valor y los 49 siguientes.
+--
+-- Solo para PostgreSQL; se ejecuta una vez, con la aplicación parada, antes de arrancar la versión
+-- que usa las secuencias. Cada secuencia continúa después del mayor ID existente de su tabla.
+
+CREATE SEQUENCE IF NOT EXISTS coworking_space.reservation_seq INCREMENT BY 50;
+SELECT setval('coworking_space.reservation_seq',
+              (SELECT COALESCE(MAX(reservation_id), 0) + 1 FROM coworking_space.reservation), false);
+ALTER TABLE coworking_space.reservation ALTER COLUMN reservation_id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS coworking_space.room_seq INCREMENT BY 50;
+SELECT setval('coworking_space.room_seq',
+              (SELECT COALESCE(MAX(room_id), 0) + 1 FROM coworking_space.room), false);
+ALTER TABLE coworking_space.room ALTER COLUMN room_id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS coworking_space.user_seq INCREMENT BY 50;
+SELECT setval('coworking_space.user_seq',
+              (SELECT COALESCE(MAX(user_id), 0) + 1 FROM coworking_space.users), false);
+ALTER TABLE coworking_space.users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+
+-- Inserciones hechas fuera de la aplicación: usar el primer valor de un bloque nuevo, por ejemplo
+-- INSERT INTO coworking_space.room (room_id, ...) VALUES (nextval('coworking_space.room_seq'), ...);
@@ -0,0 +1,62 @@
+-- Restricción de exclusión que impide, en la propia base de datos, que dos reservas no canceladas
+-- ocupen la misma sala en rangos solapados. Complementa los cerrojos por sala de RoomBookingLocks,
+-- que solo protegen frente a peticiones atendidas por la misma instancia de la aplicación.
+-- ReservationService traduce su violación (SQLSTATE 23P01) a DATE_NOT_AVAILABLE.
+--
+-- Solo para PostgreSQL; se ejecuta una vez tras crear el esquema (ddl-auto=update no la genera).
+-- La tabla intermedia reservation_room no declara esquema, por lo que está en el esquema por defecto.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE coworking_space.reservation
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Copia del rango y del estado de la reserva en cada fila de la tabla intermedia, ya que una
+-- restricción de exclusión solo puede comparar columnas de una misma tabla
+ALTER TABLE reservation_room
+    ADD COLUMN IF NOT EXISTS start_date TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS end_date TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS reservation_status VARCHAR(255);
+
+UPDATE reservation_room rr
+   SET start_date = r.start_date, end_date = r.end_date, reservation_status = r.reservation_status
+  FROM coworking_space.reservation r
+ WHERE r.reservation_id = rr.reservation_id;
+
+CREATE OR REPLACE FUNCTION reservation_room_copy_range() RETURNS trigger AS $$
+BEGIN
+    SELECT r.start_date, r.end_date, r.reservation_status
+      INTO NEW.start_date, NEW.end_date, NEW.reservation_status
+      FROM coworking_space.reservation r
+     WHERE r.reservation_id = NEW.reservation_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION coworking_space.reservation_propagate_range() RETURNS trigger AS $$
+BEGIN
+    UPDATE reservation_room
+       SET start_date = NEW.start_date, end_date = NEW.end_date, reservation_status = NEW.reservation_status
+     WHERE reservation_id = NEW.reservation_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS reservation_room_copy_range ON reservation_room;
+CREATE TRIGGER reservation_room_copy_range
+    BEFORE INSERT ON reservation_room
+    FOR EACH ROW EXECUTE FUNCTION reservation_room_copy_range();
+
+DROP TRIGGER IF EXISTS reservation_propagate_range ON coworking_space.reservation;
+CREATE TRIGGER reservation_propagate_range
+    AFTER UPDATE OF start_date, end_date, reservation_status ON coworking_space.reservation
+    FOR EACH ROW EXECUTE FUNCTION coworking_space.reservation_propagate_range();
+
+-- Rangos semiabiertos [inicio, fin), igual que ReservationIntervalIndex: una reserva puede
+-- empezar justo cuando termina la anterior
+ALTER TABLE reservation_room
+    DROP CONSTRAINT IF EXISTS reservation_room_no_overlap;
+ALTER TABLE reservation_room
+    ADD CONSTRAINT reservation_room_no_overlap
+    EXCLUDE USING gist (room_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+    WHERE (reservation_status <> 'CANCELED');
@@ -0,0 +1,168 @@
+package com.grupo05.coworking_space.filter;
+
+import com.grupo05.coworking_space.utils.JwtUtil;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de {@link JwtRequestFilter} en modo sin estado: tokens servidos desde la caché, tokens
+ * caducados, manipulados o sin claims obligatorios, y el rol del token en una ruta de administración.
+ */
+@SpringBootTest
+class JwtRequestFilterTest {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    @Value("${secret.key}")
+    private String secretKey;
+
+    private SecretKey signingKey;
+    private MeterRegistry meterRegistry;
+    private JwtRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        signingKey = new SecretKeySpec(Decoders.BASE64.decode(secretKey), "HmacSHA256");
+        meterRegistry = new SimpleMeterRegistry();
+        // En modo sin estado no se consulta el servicio de usuarios
+        filter = new JwtRequestFilter(jwtUtil, username -> {
+            throw new UsernameNotFoundException(username);
+        }, true, 100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void verifiedTokenIsServedFromTheCache() throws Exception {
+        String token = token("cacheado", "ROLE_USER", inMinutes(10)).compact();
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        assertEquals("cacheado", first.getName());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(List.of("ROLE_USER"), authorities(second));
+        assertEquals(1, validations("valid"));
+        assertEquals(1, validations("cached"));
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        String token = token("caducado", "ROLE_USER", inMinutes(-1)).compact();
+
+        assertNull(authenticate(token));
+        assertEquals(1, validations("invalid"));
+        assertEquals(0, validations("valid"));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        String token = token("manipulado", "ROLE_USER", inMinutes(10)).compact();
+        String forged = token("manipulado", "ROLE_ADMIN", inMinutes(10)).compact();
+        // Carga útil con el rol de administrador y la firma del token original
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + forged.split("\\.")[1] + "." + parts[2];
+        assertNotEquals(token, tampered);
+
+        assertNull(authenticate(tampered));
+        // Firmado con otra clave
+        String otherKey = Jwts.builder().subject("manipulado").expiration(inMinutes(10))
+                .signWith(new SecretKeySpec(new byte[32], "HmacSHA256"), Jwts.SIG.HS256).compact();
+        assertNull(authenticate(otherKey));
+
+        assertEquals(2, validations("invalid"));
+        assertEquals(0, validations("valid"));
+    }
+
+    @Test
+    void tokensWithoutSubjectOrExpiryAreRejected() throws Exception {
+        String withoutSubject = token(null, "ROLE_USER", inMinutes(10)).compact();
+        String withoutExpiry = token("sincaducidad", "ROLE_USER", null).compact();
+
+        assertNull(authenticate(withoutSubject));
+        assertNull(authenticate(withoutExpiry));
+        assertEquals(2, validations("rejected"));
+        assertEquals(0, validations("valid"));
+    }
+
+    @Test
+    void roleClaimGrantsAdminRoutes() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        String admin = token("admin", "ROLE_ADMIN", inMinutes(10)).compact();
+        String user = token("admin", "ROLE_USER", inMinutes(10)).compact();
+
+        mockMvc.perform(get("/users/list").header("Authorization", "Bearer " + admin))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/list").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/users/list")).andExpect(status().isForbidden());
+    }
+
+    /** Pasa el token por el filtro y devuelve la autenticación resultante */
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reservations");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private JwtBuilder token(String subject, String role, Date expiration) {
+        JwtBuilder builder = Jwts.builder().claim("role", role).issuedAt(new Date())
+                .signWith(signingKey, Jwts.SIG.HS256);
+        if (subject != null)
+            builder.subject(subject);
+        if (expiration != null)
+            builder.expiration(expiration);
+        return builder;
+    }
+
+    private static Date inMinutes(long minutes) {
+        return new Date(System.currentTimeMillis() + Duration.ofMinutes(minutes).toMillis());
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private double validations(String outcome) {
+        return meterRegistry.get(JwtRequestFilter.VALIDATIONS).tag("outcome", outcome).counter().count();
+    }
+}
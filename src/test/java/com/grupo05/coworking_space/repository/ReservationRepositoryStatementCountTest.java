@@ -0,0 +1,134 @@
+package com.grupo05.coworking_space.repository;
+
+import com.grupo05.coworking_space.config.HibernateCacheConfig;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comprueba con las estadísticas de Hibernate que las lecturas de reservas que se convierten a
+ * DTO (ID de usuario e IDs de salas) no lanzan una consulta extra por cada reserva.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HibernateCacheConfig.class)
+class ReservationRepositoryStatementCountTest {
+
+    private static final int RESERVATIONS = 20;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusYears(1).withNano(0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int userId;
+    private final List<Integer> reservationIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("estadisticas");
+        user.setEmail("estadisticas@coworking.com");
+        user.setPassword("secreto");
+        entityManager.persist(user);
+        userId = user.getId();
+
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Room room = new Room();
+            room.setName("Sala " + i);
+            room.setRoomStatus(RoomStatus.AVAILABLE);
+            room.setCapacity(10);
+            entityManager.persist(room);
+            rooms.add(room);
+        }
+
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setDateInit(BASE.plusHours(i));
+            reservation.setDateEnd(BASE.plusHours(i + 1));
+            reservation.setReserveStatus(ReservationStatus.PENDING);
+            reservation.setUser(user);
+            reservation.setRooms(new ArrayList<>(List.of(rooms.get(i % 3), rooms.get((i + 1) % 3))));
+            entityManager.persist(reservation);
+            reservationIds.add(reservation.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingByIdsRunsOneStatement() {
+        List<Reservation> reservations = reservationRepository.findAllWithRoomsByIdIn(reservationIds);
+        touchDtoFields(reservations);
+
+        assertEquals(RESERVATIONS, reservations.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void byUserPageRunsIdAndFetchStatementsOnly() {
+        Page<Integer> ids = reservationRepository.findIdsByUserId(userId, PageRequest.of(0, 50, Sort.by("id")));
+        touchDtoFields(reservationRepository.findAllWithRoomsByIdIn(ids.getContent()));
+
+        assertEquals(RESERVATIONS, ids.getNumberOfElements());
+        // Página incompleta: Spring Data no necesita la consulta de recuento
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void byDateRangeRunsIdAndFetchStatementsOnly() {
+        List<Integer> ids = reservationRepository.findIdsBetweenDates(BASE, BASE.plusDays(2), Limit.of(50));
+        touchDtoFields(reservationRepository.findAllWithRoomsByIdIn(ids));
+
+        assertEquals(RESERVATIONS, ids.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void byIdRunsOneStatement() {
+        Reservation reservation = reservationRepository.findWithRoomsById(reservationIds.getFirst()).orElseThrow();
+        touchDtoFields(List.of(reservation));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /** Lee los mismos campos que ReservationMapper.convertToDTO */
+    private static void touchDtoFields(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            reservation.getUserFK();
+            assertEquals(2, reservation.getRoomsFK().size());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.grupo05.coworking_space.repository;
+
+import com.grupo05.coworking_space.config.HibernateCacheConfig;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que las salas y los usuarios se sirven desde la caché de segundo nivel y que las
+ * escrituras hechas con JPA actualizan o invalidan la entrada cacheada.
+ * Cada operación del repositorio se confirma en su propia transacción, como en los servicios.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        room = new Room();
+        room.setName("Sala cache");
+        room.setRoomStatus(RoomStatus.AVAILABLE);
+        room.setCapacity(8);
+        // Con ID de secuencia la sala se guarda en la caché al confirmar la inserción
+        room = roomRepository.save(room);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void roomLoadsAreServedFromCache() {
+        for (int i = 0; i < 3; i++)
+            assertEquals(List.of(room.getId()), roomRepository.loadAllById(List.of(room.getId())).stream().map(Room::getId).toList());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getDomainDataRegionStatistics(Room.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void roomUpdateReplacesCachedEntry() {
+        room.setName("Sala renombrada");
+        roomRepository.save(room);
+
+        Room cached = roomRepository.loadAllById(List.of(room.getId())).getFirst();
+        assertEquals("Sala renombrada", cached.getName());
+        assertEquals("Sala renombrada", roomRepository.findById(room.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void roomDeleteEvictsCachedEntry() {
+        roomRepository.deleteById(room.getId());
+
+        assertTrue(roomRepository.loadAllById(List.of(room.getId())).isEmpty());
+        assertTrue(roomRepository.findById(room.getId()).isEmpty());
+    }
+
+    @Test
+    void userLookupsByIdAreServedFromCache() {
+        User user = new User();
+        user.setUsername("cacheado");
+        user.setEmail("cacheado@coworking.com");
+        user.setPassword("secreto");
+        int id = userRepository.save(user).getId();
+        userRepository.findById(id);
+        statistics.clear();
+
+        userRepository.findById(id).orElseThrow();
+        userRepository.findById(id).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount());
+    }
+}
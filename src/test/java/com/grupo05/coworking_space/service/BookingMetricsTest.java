@@ -0,0 +1,61 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de las métricas de reservas: timers de los servicios y contador de conflictos.
+ */
+class BookingMetricsTest extends BookingTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        user = login("metricas");
+        roomId = createRoom("Metricas " + user.getUsername(), 4);
+    }
+
+    @Test
+    void overlappingReservationIsCountedAndServiceCallsAreTimed() {
+        double before = conflicts("overlap");
+        reservationService.createReservation(reservation(START, START.plusHours(1)));
+
+        assertThrows(RequestException.class,
+                () -> reservationService.createReservation(reservation(START.plusMinutes(30), START.plusHours(2))));
+
+        assertEquals(before + 1, conflicts("overlap"));
+        Timer timer = meterRegistry.find("coworking.service")
+                .tags("class", ReservationService.class.getName(), "method", "createReservation")
+                .tag("exception", RequestException.class.getSimpleName())
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+
+    private double conflicts(String reason) {
+        return meterRegistry.get(BookingMetrics.CONFLICTS).tag("reason", reason).counter().count();
+    }
+
+    private RequestReservationDTO reservation(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return reservation(user, dateInit, dateEnd, "Reserva de prueba", List.of(roomId));
+    }
+}
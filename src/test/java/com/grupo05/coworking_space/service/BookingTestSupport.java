@@ -0,0 +1,185 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.NotificationOutbox;
+import com.grupo05.coworking_space.model.ReservationSeries;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.model.WaitlistEntry;
+import com.grupo05.coworking_space.repository.NotificationOutboxRepository;
+import com.grupo05.coworking_space.repository.ReservationSeriesRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.repository.UserRepository;
+import com.grupo05.coworking_space.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base de los tests de reservas sobre el contexto completo: crea usuarios, salas y peticiones de
+ * reserva, y al terminar cada test elimina todo lo que ha creado a través de los servicios, de
+ * modo que la base de datos y los índices en memoria quedan como estaban y cada test puede usar
+ * las mismas fechas.
+ */
+@SpringBootTest
+abstract class BookingTestSupport {
+
+    /** Lunes de la semana que viene a las 9:00 */
+    protected static final LocalDateTime START = LocalDateTime.now().plusWeeks(1)
+            .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).truncatedTo(ChronoUnit.DAYS).withHour(9);
+
+    /** Sufijo de los nombres de usuario, único en toda la ejecución */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    protected ReservationService reservationService;
+    @Autowired
+    protected RoomRepository roomRepository;
+    @Autowired
+    protected UserRepository userRepository;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private ReservationBulkDeleteService reservationBulkDeleteService;
+    @Autowired
+    private ReservationSeriesService reservationSeriesService;
+    @Autowired
+    private ReservationSeriesRepository reservationSeriesRepository;
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+    @Autowired
+    private WaitlistIndex waitlistIndex;
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Integer> rooms = new ArrayList<>();
+
+    /**
+     * Crea un usuario con un nombre único.
+     *
+     * @param prefix Prefijo del nombre de usuario
+     * @return Usuario guardado
+     */
+    protected User createUser(String prefix) {
+        User newUser = new User();
+        newUser.setUsername(prefix + SEQUENCE.incrementAndGet());
+        newUser.setEmail(newUser.getUsername() + "@coworking.test");
+        newUser.setPassword("password");
+        newUser.setRole(Role.ROLE_USER);
+        User user = userRepository.save(newUser);
+        users.add(user);
+        return user;
+    }
+
+    /**
+     * Crea un usuario y lo autentica en el hilo actual.
+     *
+     * @param prefix Prefijo del nombre de usuario
+     * @return Usuario guardado
+     */
+    protected User login(String prefix) {
+        User user = createUser(prefix);
+        authenticate(user);
+        return user;
+    }
+
+    /**
+     * Autentica a un usuario en el hilo actual, como haría el filtro JWT.
+     *
+     * @param user Usuario a autenticar
+     */
+    protected void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+    }
+
+    /**
+     * Crea una sala disponible.
+     *
+     * @param name Nombre de la sala
+     * @param capacity Capacidad de la sala
+     * @return ID de la sala
+     */
+    protected int createRoom(String name, int capacity) {
+        Room room = new Room();
+        room.setName(name);
+        room.setRoomStatus(RoomStatus.AVAILABLE);
+        room.setCapacity(capacity);
+        int roomId = roomRepository.save(room).getId();
+        rooms.add(roomId);
+        return roomId;
+    }
+
+    /** DTO de una reserva confirmada */
+    protected static ReservationDTO dto(User user, LocalDateTime dateInit, LocalDateTime dateEnd, String description,
+            List<Integer> roomIds) {
+        return new ReservationDTO(0, dateInit, dateEnd, ReservationStatus.CONFIRMED, description, user.getId(), roomIds);
+    }
+
+    /** Petición de una reserva confirmada, sin participantes */
+    protected static RequestReservationDTO reservation(User user, LocalDateTime dateInit, LocalDateTime dateEnd,
+            String description, List<Integer> roomIds) {
+        RequestReservationDTO request = new RequestReservationDTO();
+        request.setReservationDTO(dto(user, dateInit, dateEnd, description, roomIds));
+        request.setEmailsParticipants(List.of());
+        return request;
+    }
+
+    /**
+     * Elimina las listas de espera, las series, las reservas y las notificaciones de los usuarios
+     * creados, y después las salas y los usuarios. Las listas de espera se eliminan antes que las
+     * reservas para que el borrado no promocione ninguna.
+     */
+    @AfterEach
+    void cleanUp() {
+        try {
+            Set<Integer> userIds = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            for (User user : users) {
+                userIds.add(user.getId());
+                emails.add(user.getEmail());
+            }
+
+            for (WaitlistEntry entry : waitlistEntryRepository.findAll()) {
+                if (userIds.contains(entry.getUser().getId())) {
+                    waitlistEntryRepository.delete(entry);
+                    waitlistIndex.unregister(entry.getId());
+                }
+            }
+            for (ReservationSeries series : reservationSeriesRepository.findAll()) {
+                if (userIds.contains(series.getUser().getId()))
+                    reservationSeriesService.deleteSeries(series.getId());
+            }
+            for (int userId : userIds)
+                reservationBulkDeleteService.deleteAllReservationsByUser(userId);
+            List<NotificationOutbox> notifications = notificationOutboxRepository.findAll().stream()
+                    .filter(notification -> emails.contains(notification.getRecipient()))
+                    .toList();
+            notificationOutboxRepository.deleteAll(notifications);
+
+            rooms.forEach(roomService::deleteRoom);
+            userRepository.deleteAllById(userIds);
+        } finally {
+            users.clear();
+            rooms.clear();
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.model.EmailDeadLetter;
+import com.grupo05.coworking_space.repository.EmailDeadLetterRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+
+import javax.mail.internet.MimeMessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests de {@link EmailDispatcher} contra un servidor SMTP local (GreenMail).
+ */
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final EmailDeadLetterRepository deadLetterRepository = mock(EmailDeadLetterRepository.class);
+    private EmailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null)
+            dispatcher.stop();
+    }
+
+    @Test
+    void deliversAllInvitations() throws Exception {
+        dispatcher = dispatcher(greenMail.getSmtp().getPort(), 3);
+        dispatcher.start();
+
+        for (int i = 0; i < 30; i++)
+            assertTrue(dispatcher.enqueue("invitado" + i + "@coworking.test", "Reserva", "Invitación " + i));
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 30));
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(30, received.length);
+        assertEquals("Reserva", received[0].getSubject());
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void storesDeadLetterAfterExhaustingRetries() {
+        // Puerto sin servidor: todos los intentos fallan al conectar
+        dispatcher = dispatcher(1, 3);
+        dispatcher.start();
+
+        dispatcher.enqueue("invitado@coworking.test", "Reserva", "Invitación");
+
+        ArgumentCaptor<EmailDeadLetter> captor = ArgumentCaptor.forClass(EmailDeadLetter.class);
+        verify(deadLetterRepository, timeout(5_000)).save(captor.capture());
+        assertEquals("invitado@coworking.test", captor.getValue().getRecipient());
+        assertEquals(3, captor.getValue().getAttempts());
+    }
+
+    @Test
+    void storesDeadLetterForInvalidAddressWithoutRetrying() {
+        dispatcher = dispatcher(greenMail.getSmtp().getPort(), 3);
+        dispatcher.start();
+
+        dispatcher.enqueue("no es un correo@", "Reserva", "Invitación");
+
+        ArgumentCaptor<EmailDeadLetter> captor = ArgumentCaptor.forClass(EmailDeadLetter.class);
+        verify(deadLetterRepository, timeout(5_000)).save(captor.capture());
+        assertEquals(1, captor.getValue().getAttempts());
+    }
+
+    @Test
+    void unexpectedErrorsDoNotStopTheWorkers() throws Exception {
+        EmailSender sender = spy(sender(greenMail.getSmtp().getPort()));
+        doThrow(new IllegalStateException("Mensaje no válido"))
+                .when(sender).createMessage(eq("roto@coworking.test"), any(), any());
+        // Un solo hilo: si el error lo detuviera, no se enviaría ningún otro correo
+        dispatcher = new EmailDispatcher(sender, deadLetterRepository, 1, 100, 2, 10, 1_000);
+        dispatcher.start();
+
+        dispatcher.enqueue("roto@coworking.test", "Reserva", "Invitación");
+        for (int i = 0; i < 3; i++)
+            dispatcher.enqueue("invitado" + i + "@coworking.test", "Reserva", "Invitación " + i);
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 3));
+        ArgumentCaptor<EmailDeadLetter> captor = ArgumentCaptor.forClass(EmailDeadLetter.class);
+        verify(deadLetterRepository, timeout(5_000)).save(captor.capture());
+        assertEquals("roto@coworking.test", captor.getValue().getRecipient());
+        assertEquals(2, captor.getValue().getAttempts());
+    }
+
+    private EmailDispatcher dispatcher(int port, int maxAttempts) {
+        return new EmailDispatcher(sender(port), deadLetterRepository, 4, 100, maxAttempts, 10, 1_000);
+    }
+
+    private static EmailSender sender(int port) {
+        return new EmailSender("reservas@coworking.test", "", "localhost", port, false, false);
+    }
+}
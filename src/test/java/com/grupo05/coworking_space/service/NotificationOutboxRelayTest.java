@@ -0,0 +1,169 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.enums.OutboxStatus;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.NotificationOutbox;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.NotificationOutboxRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de la tabla outbox: escritura en la transacción de la reserva, toma de lotes con plazo y
+ * resultados de envío de lotes caducados. El relay programado solo se ejecuta al arrancar (ver
+ * {@code src/test/resources/config/application.properties}), para que no tome las notificaciones
+ * de los tests.
+ */
+@SpringBootTest
+class NotificationOutboxRelayTest {
+
+    /** Fechas lejos de las del resto de tests */
+    private static final LocalDateTime START = LocalDateTime.now().plusYears(12).truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void invitationsAreWrittenAndRolledBackWithTheBooking() {
+        User user = login();
+        Room room = new Room();
+        room.setName("Outbox " + user.getUsername());
+        room.setRoomStatus(RoomStatus.AVAILABLE);
+        room.setCapacity(10);
+        int roomId = roomRepository.save(room).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        String discarded = user.getUsername() + ".descartada@outbox.test";
+        transaction.executeWithoutResult(status -> {
+            reservationService.createReservation(reservation(user, roomId, START, discarded));
+            assertEquals(1, countByRecipient(discarded));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, countByRecipient(discarded));
+
+        String kept = user.getUsername() + ".invitada@outbox.test";
+        transaction.executeWithoutResult(status ->
+                reservationService.createReservation(reservation(user, roomId, START.plusHours(2), kept)));
+        assertEquals(1, countByRecipient(kept));
+        NotificationOutbox notification = notificationOutboxRepository.findAll().stream()
+                .filter(row -> row.getRecipient().equals(kept)).findFirst().orElseThrow();
+        assertEquals(OutboxStatus.PENDING, notification.getStatus());
+    }
+
+    @Test
+    void claimRespectsLeasesAndStaleTokensAreIgnored() {
+        long id = pending("lease@outbox.test").getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(1, notificationOutboxRepository.claim(List.of(id), "lote-1", now.plusMinutes(5), now));
+        // Mientras dura el plazo ningún otro lote puede tomarla
+        assertEquals(0, notificationOutboxRepository.claim(List.of(id), "lote-2", now.plusMinutes(5), now));
+        assertEquals(0, notificationOutboxRepository.findByClaimToken("lote-2").size());
+
+        // Vencido el plazo otro lote la vuelve a tomar
+        LocalDateTime later = now.plusMinutes(6);
+        assertEquals(1, notificationOutboxRepository.claim(List.of(id), "lote-3", later.plusMinutes(5), later));
+        assertEquals(2, notificationOutboxRepository.findById(id).orElseThrow().getAttempts());
+
+        // El resultado que llega tarde del primer lote no cambia nada
+        assertEquals(0, notificationOutboxRepository.markSent(id, "lote-1", later));
+        assertEquals(0, notificationOutboxRepository.markFailed(id, "lote-1", "Timeout"));
+        NotificationOutbox claimed = notificationOutboxRepository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.IN_PROGRESS, claimed.getStatus());
+        assertEquals("lote-3", claimed.getClaimToken());
+
+        assertEquals(1, notificationOutboxRepository.markSent(id, "lote-3", later));
+        assertEquals(OutboxStatus.SENT, notificationOutboxRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void notificationsRejectedByAFullQueueAreReleased() {
+        long accepted = pending("aceptada@outbox.test").getId();
+        long rejected = pending("rechazada@outbox.test").getId();
+        EmailDispatcher dispatcher = mock(EmailDispatcher.class);
+        when(dispatcher.remainingCapacity()).thenReturn(Integer.MAX_VALUE);
+        when(dispatcher.submit(any())).thenAnswer(invocation ->
+                !invocation.getArgument(0, EmailMessage.class).to().equals("rechazada@outbox.test"));
+
+        new NotificationOutboxRelay(notificationOutboxRepository, dispatcher, 1000, 300, 24).relay();
+
+        NotificationOutbox sent = notificationOutboxRepository.findById(accepted).orElseThrow();
+        assertEquals(OutboxStatus.IN_PROGRESS, sent.getStatus());
+        assertEquals(1, sent.getAttempts());
+        NotificationOutbox released = notificationOutboxRepository.findById(rejected).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, released.getStatus());
+        assertEquals(0, released.getAttempts());
+        assertNull(released.getClaimToken());
+        assertNull(released.getLeaseUntil());
+    }
+
+    private NotificationOutbox pending(String recipient) {
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setRecipient(recipient);
+        notification.setSubject("Reserva");
+        notification.setBody("Invitación");
+        notification.setCreatedAt(LocalDateTime.now());
+        return notificationOutboxRepository.save(notification);
+    }
+
+    private long countByRecipient(String recipient) {
+        return notificationOutboxRepository.findAll().stream()
+                .filter(notification -> notification.getRecipient().equals(recipient)).count();
+    }
+
+    private User login() {
+        User newUser = new User();
+        newUser.setUsername("outbox" + System.nanoTime() % 1_000_000);
+        newUser.setEmail(newUser.getUsername() + "@coworking.test");
+        newUser.setPassword("password");
+        newUser.setRole(Role.ROLE_USER);
+        User user = userRepository.save(newUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+        return user;
+    }
+
+    private RequestReservationDTO reservation(User user, int roomId, LocalDateTime dateInit, String participant) {
+        RequestReservationDTO request = new RequestReservationDTO();
+        request.setReservationDTO(new ReservationDTO(0, dateInit, dateInit.plusHours(1), ReservationStatus.CONFIRMED,
+                "Reserva con invitados", user.getId(), List.of(roomId)));
+        request.setEmailsParticipants(List.of(participant));
+        return request;
+    }
+}
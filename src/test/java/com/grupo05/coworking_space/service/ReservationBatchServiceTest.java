@@ -0,0 +1,140 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.BatchReservationResultDTO;
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link ReservationBatchService}: resultados por reserva y uso de lotes JDBC.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Base de datos propia: este contexto no comparte la del resto de tests, que la borrarían al crearla de nuevo
+        "spring.datasource.url=jdbc:h2:mem:batchdb;INIT=CREATE SCHEMA IF NOT EXISTS coworking_space"
+})
+class ReservationBatchServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().plusYears(6).withHour(8).withMinute(0)
+            .withSecond(0).withNano(0);
+
+    @Autowired
+    private ReservationBatchService reservationBatchService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private List<Integer> roomIds;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setUsername("lote" + System.nanoTime() % 1_000_000);
+        newUser.setEmail(newUser.getUsername() + "@coworking.test");
+        newUser.setPassword("password");
+        newUser.setRole(Role.ROLE_USER);
+        user = userRepository.save(newUser);
+
+        roomIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Room room = new Room();
+            room.setName("Lote " + i);
+            room.setRoomStatus(i == 0 ? RoomStatus.AVAILABLE : RoomStatus.MAINTENANCE);
+            room.setCapacity(4);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reportsResultPerItem() {
+        int room = roomIds.get(0);
+        BatchReservationResultDTO result = reservationBatchService.createReservations(List.of(
+                request(BASE, BASE.plusHours(2), user.getId(), room),
+                // Se solapa con la reserva anterior del mismo lote
+                request(BASE.plusHours(1), BASE.plusHours(3), user.getId(), room),
+                // Empieza justo cuando termina la primera
+                request(BASE.plusHours(2), BASE.plusHours(3), user.getId(), room),
+                request(BASE.plusHours(5), BASE.plusHours(6), user.getId(), roomIds.get(1)),
+                request(BASE.plusHours(5), BASE.plusHours(6), user.getId() + 1000, room),
+                request(BASE.plusHours(6), BASE.plusHours(5), user.getId(), room),
+                request(BASE.plusHours(7), BASE.plusHours(8), user.getId(), -1)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(5, result.getRejected());
+        List<BatchReservationResultDTO.Item> items = result.getResults();
+        assertEquals(List.of(201, 409, 201, 409, 401, 409, 400), items.stream().map(BatchReservationResultDTO.Item::getCode).toList());
+        for (int i = 0; i < items.size(); i++)
+            assertEquals(i, items.get(i).getIndex());
+
+        assertNotNull(items.get(0).getReservation());
+        assertNull(items.get(1).getReservation());
+        assertTrue(items.get(6).getReasons().get("roomsFK").contains("-1"));
+        assertTrue(reservationRepository.findById(items.get(2).getReservation().getId()).isPresent());
+    }
+
+    @Test
+    void insertsInJdbcBatches() {
+        List<RequestReservationDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            requests.add(request(BASE.plusDays(1).plusHours(i), BASE.plusDays(1).plusHours(i + 1), user.getId(),
+                    roomIds.get(0)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BatchReservationResultDTO result = reservationBatchService.createReservations(requests);
+
+        assertEquals(100, result.getCreated());
+        assertEquals(100, statistics.getEntityInsertCount());
+        // 100 reservas y 100 filas de reservation_room en lotes de 50, más las lecturas de usuario,
+        // salas y secuencia; sin lotes serían más de 200 sentencias
+        assertTrue(statistics.getPrepareStatementCount() < 15,
+                "Sentencias preparadas: " + statistics.getPrepareStatementCount());
+    }
+
+    private RequestReservationDTO request(LocalDateTime dateInit, LocalDateTime dateEnd, int userId, int roomId) {
+        RequestReservationDTO request = new RequestReservationDTO();
+        request.setReservationDTO(new ReservationDTO(0, dateInit, dateEnd, ReservationStatus.CONFIRMED,
+                "Reserva en lote", userId, List.of(roomId)));
+        return request;
+    }
+}
@@ -0,0 +1,77 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.WaitlistEntryDTO;
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link ReservationBulkDeleteService}: borrado de las reservas de un usuario en bloque y por bloques.
+ */
+class ReservationBulkDeleteServiceTest extends BookingTestSupport {
+
+    @Autowired
+    private ReservationBulkDeleteService reservationBulkDeleteService;
+    @Autowired
+    private WaitlistService waitlistService;
+    @Autowired
+    private ReservationIntervalIndex reservationIntervalIndex;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        roomId = createRoom("Borrado", 4);
+    }
+
+    @Test
+    void deletesEveryReservationOfTheUserInOneTransaction() {
+        User owner = login("borra");
+        for (int i = 0; i < 3; i++)
+            reservationService.createReservation(reservation(owner, START.plusHours(i), START.plusHours(i).plusMinutes(30)));
+        User other = login("queda");
+        ReservationDTO kept = reservationService.createReservation(
+                reservation(other, START.plusHours(5), START.plusHours(6)));
+        WaitlistEntryDTO waiting = waitlistService.joinWaitlist(
+                reservation(other, START.plusHours(1), START.plusHours(1).plusMinutes(30)).getReservationDTO());
+        assertEquals(WaitlistStatus.WAITING, waiting.getStatus());
+
+        assertEquals(3, reservationBulkDeleteService.deleteAllReservationsByUser(owner.getId()));
+
+        assertEquals(0, reservationRepository.countByUserId(owner.getId()));
+        assertTrue(reservationRepository.existsById(kept.getId()));
+        assertFalse(reservationIntervalIndex.overlaps(roomId, START, START.plusMinutes(30), 0));
+        assertEquals(WaitlistStatus.PROMOTED, waitlistService.findEntryByID(waiting.getId()).getStatus());
+    }
+
+    @Test
+    void largeUsersAreDeletedInChunks() {
+        User owner = login("bloques");
+        for (int i = 0; i < 5; i++)
+            reservationService.createReservation(
+                    reservation(owner, START.plusHours(i), START.plusHours(i).plusMinutes(30)));
+
+        assertEquals(5, reservationBulkDeleteService.deleteAllReservationsByUserInChunks(owner.getId(), 2));
+
+        assertEquals(0, reservationRepository.countByUserId(owner.getId()));
+        assertFalse(reservationIntervalIndex.overlaps(roomId, START, START.plusDays(1), 0));
+    }
+
+    private RequestReservationDTO reservation(User user, LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return reservation(user, dateInit, dateEnd, "Reserva de prueba", List.of(roomId));
+    }
+}
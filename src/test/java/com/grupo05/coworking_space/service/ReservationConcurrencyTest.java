@@ -0,0 +1,186 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.WaitlistEntryDTO;
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de estrés de {@link ReservationService}: muchas peticiones simultáneas sobre las
+ * mismas salas y rangos solapados no pueden dejar dos reservas de una sala en el mismo rango.
+ */
+class ReservationConcurrencyTest extends BookingTestSupport {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+
+    @Autowired
+    private WaitlistService waitlistService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private User user;
+    private List<Integer> roomIds;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("estres");
+        roomIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            roomIds.add(createRoom("Estres " + i, 4));
+    }
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws Exception {
+        ConcurrentLinkedQueue<Integer> created = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                authenticate();
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    // Rangos de una hora que empiezan cada media hora sobre una o dos salas,
+                    // de forma que casi todos los intentos compiten con otros
+                    LocalDateTime dateInit = START.plusMinutes(30L * random.nextInt(12));
+                    List<Integer> rooms = random.nextBoolean()
+                            ? List.of(roomIds.get(random.nextInt(roomIds.size())))
+                            : List.of(roomIds.get(2), roomIds.get(random.nextInt(2)));
+                    try {
+                        created.add(reservationService.createReservation(request(dateInit, dateInit.plusHours(1), rooms)).getId());
+                    } catch (RequestException e) {
+                        assertEquals(ApiError.DATE_NOT_AVAILABLE, e.getApiError());
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertFalse(created.isEmpty());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, created.size() + rejected.get());
+
+        // Todas las reservas confirmadas están en la base de datos y ninguna sala tiene dos solapadas
+        List<Reservation> reservations = reservationRepository.findAllWithRoomsByIdIn(List.copyOf(created));
+        assertEquals(created.size(), reservations.size());
+        Map<Integer, List<Reservation>> byRoom = new HashMap<>();
+        for (Reservation reservation : reservations)
+            for (Integer roomId : reservation.getRoomsFK())
+                byRoom.computeIfAbsent(roomId, id -> new ArrayList<>()).add(reservation);
+
+        for (Map.Entry<Integer, List<Reservation>> entry : byRoom.entrySet()) {
+            List<Reservation> sorted = new ArrayList<>(entry.getValue());
+            sorted.sort((a, b) -> a.getDateInit().compareTo(b.getDateInit()));
+            for (int i = 1; i < sorted.size(); i++)
+                assertFalse(sorted.get(i).getDateInit().isBefore(sorted.get(i - 1).getDateEnd()),
+                        "Reservas solapadas en la sala " + entry.getKey());
+        }
+    }
+
+    @Test
+    void updatePromotingWaitlistDoesNotDeadlockWithCreate() throws Exception {
+        authenticate();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 24; round++) {
+                // Se alternan las salas para que haya rondas con los cerrojos en cualquier orden
+                int released = roomIds.get(round % 3);
+                int other = roomIds.get((round + 1 + round / 3 % 2) % 3);
+                LocalDateTime dateInit = START.plusDays(1 + round);
+                ReservationDTO blocking = reservationService.createReservation(
+                        request(dateInit, dateInit.plusHours(1), List.of(released)));
+                WaitlistEntryDTO waiting = waitlistService.joinWaitlist(
+                        dto(user, dateInit, dateInit.plusHours(1), "En espera", List.of(released, other)));
+                assertEquals(WaitlistStatus.WAITING, waiting.getStatus());
+
+                // La cancelación promociona la petición, que necesita también la otra sala, mientras
+                // otra reserva bloquea las dos salas en un rango distinto
+                blocking.setReserveStatus(ReservationStatus.CANCELED);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> update = executor.submit(() -> {
+                    authenticate();
+                    start.await();
+                    return reservationService.updateResevation(blocking);
+                });
+                Future<?> create = executor.submit(() -> {
+                    authenticate();
+                    start.await();
+                    return reservationService.createReservation(request(dateInit.plusHours(2),
+                            dateInit.plusHours(3), List.of(other, released)));
+                });
+                start.countDown();
+                update.get(4, TimeUnit.SECONDS);
+                create.get(4, TimeUnit.SECONDS);
+
+                assertEquals(WaitlistStatus.PROMOTED, waitlistService.findEntryByID(waiting.getId()).getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        authenticate();
+        int id = reservationService.createReservation(
+                request(START.plusDays(1), START.plusDays(1).plusHours(1), List.of(roomIds.get(0)))).getId();
+
+        Reservation first = reservationRepository.findWithRoomsById(id).orElseThrow();
+        Reservation second = reservationRepository.findWithRoomsById(id).orElseThrow();
+
+        first.setDescription("Primera");
+        reservationRepository.save(first);
+        second.setDescription("Segunda");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> reservationRepository.save(second));
+
+        assertEquals("Primera", reservationRepository.findWithRoomsById(id).orElseThrow().getDescription());
+        assertTrue(reservationRepository.findWithRoomsById(id).orElseThrow().getVersion() > 0);
+    }
+
+    private void authenticate() {
+        authenticate(user);
+    }
+
+    private RequestReservationDTO request(LocalDateTime dateInit, LocalDateTime dateEnd, List<Integer> rooms) {
+        return reservation(user, dateInit, dateEnd, "Prueba de concurrencia", rooms);
+    }
+}
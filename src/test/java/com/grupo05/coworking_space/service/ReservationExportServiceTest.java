@@ -0,0 +1,108 @@
+package com.grupo05.coworking_space.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.enums.ExportFormat;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de {@link ReservationExportService}: formato NDJSON y CSV de un rango pequeño y
+ * rechazo de formatos desconocidos en GET /reservations/export.
+ */
+class ReservationExportServiceTest extends BookingTestSupport {
+
+    private static final String DESCRIPTION = "Reunión, \"equipo\"\nsegunda línea";
+
+    @Autowired
+    private ReservationExportService reservationExportService;
+    @Autowired
+    private ReservationSeriesService reservationSeriesService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private User user;
+    private int firstRoomId;
+    private int secondRoomId;
+    private int meetingId;
+    private int singleId;
+
+    @BeforeEach
+    void setUp() {
+        user = login("exporta");
+        firstRoomId = createRoom("Export A " + user.getUsername(), 10);
+        secondRoomId = createRoom("Export B " + user.getUsername(), 10);
+
+        meetingId = reservationService.createReservation(
+                reservation(START, DESCRIPTION, List.of(secondRoomId, firstRoomId))).getId();
+        singleId = reservationService.createReservation(
+                reservation(START.plusHours(2), "Sencilla", List.of(firstRoomId))).getId();
+        // Las ocurrencias de las series no son filas de reservas y no se exportan
+        reservationSeriesService.createSeries(new ReservationSeriesDTO(0, START.plusDays(1), START.plusDays(1).plusHours(1),
+                "FREQ=DAILY;COUNT=3", ReservationStatus.CONFIRMED, "Serie", user.getId(), List.of(firstRoomId), null));
+    }
+
+    @Test
+    void exportsCsvWithHeaderEscapingAndRoomsPerRow() throws IOException {
+        String csv = export(ExportFormat.CSV);
+
+        String rooms = Math.min(firstRoomId, secondRoomId) + ";" + Math.max(firstRoomId, secondRoomId);
+        assertEquals("id,dateInit,dateEnd,reserveStatus,description,userFK,roomsFK\n"
+                + meetingId + "," + START + ":00," + START.plusHours(1) + ":00,Confirmed,"
+                + "\"Reunión, \"\"equipo\"\"\nsegunda línea\"," + user.getId() + "," + rooms + "\n"
+                + singleId + "," + START.plusHours(2) + ":00," + START.plusHours(3) + ":00,Confirmed,Sencilla,"
+                + user.getId() + "," + firstRoomId + "\n", csv);
+    }
+
+    @Test
+    void exportsOneJsonReservationPerLine() throws IOException {
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode meeting = objectMapper.readTree(lines[0]);
+        assertEquals(meetingId, meeting.get("id").asInt());
+        assertEquals(DESCRIPTION, meeting.get("description").asText());
+        assertEquals("Confirmed", meeting.get("reserveStatus").asText());
+        assertEquals(2, meeting.get("roomsFK").size());
+        assertEquals(singleId, objectMapper.readTree(lines[1]).get("id").asInt());
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        mockMvc.perform(get("/reservations/export").param("format", "xml").with(user(user.getUsername())))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reservationExportService.exportReservations(START.minusHours(1), START.plusDays(6), format).writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private RequestReservationDTO reservation(LocalDateTime dateInit, String description, List<Integer> rooms) {
+        return reservation(user, dateInit, dateInit.plusHours(1), description, rooms);
+    }
+}
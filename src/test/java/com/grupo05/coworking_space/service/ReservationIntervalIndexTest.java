@@ -0,0 +1,134 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link ReservationIntervalIndex} sin base de datos: fuera de una transacción los
+ * cambios se aplican en el momento.
+ */
+class ReservationIntervalIndexTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2032, 6, 1, 10, 0);
+    private static final int ROOM = 1;
+
+    private ReservationIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReservationIntervalIndex(null, null);
+    }
+
+    @Test
+    void halfOpenIntervalsOnlyConflictWhenTheyShareTime() {
+        index.register(reservation(1, T, T.plusHours(2), ROOM));
+
+        // [a, b) contra [b, c) y [c, a) no se solapan
+        assertFalse(index.overlaps(ROOM, T.plusHours(2), T.plusHours(3), 0));
+        assertFalse(index.overlaps(ROOM, T.minusHours(1), T, 0));
+        assertTrue(index.overlaps(ROOM, T.plusHours(2).minusNanos(1), T.plusHours(3), 0));
+        assertTrue(index.overlaps(ROOM, T.minusHours(1), T.plusNanos(1), 0));
+        assertTrue(index.overlaps(ROOM, T.plusMinutes(30), T.plusMinutes(40), 0));
+        assertTrue(index.overlaps(ROOM, T.minusDays(1), T.plusDays(1), 0));
+        // Otra sala, la propia reserva excluida y una cancelada no cuentan
+        assertFalse(index.overlaps(2, T, T.plusHours(2), 0));
+        assertFalse(index.overlaps(ROOM, T, T.plusHours(2), 1));
+        Reservation canceled = reservation(2, T.plusHours(5), T.plusHours(6), ROOM);
+        canceled.setReserveStatus(ReservationStatus.CANCELED);
+        index.register(canceled);
+        assertFalse(index.overlaps(ROOM, T.plusHours(5), T.plusHours(6), 0));
+
+        assertTrue(index.hasConflict(List.of(2, ROOM), T.plusHours(1), T.plusHours(3), 0));
+        assertFalse(index.hasConflict(List.of(2, ROOM), T.plusHours(1), T.plusHours(3), 1));
+    }
+
+    @Test
+    void removingOrMovingAReservationFreesItsRange() {
+        // Una reserva muy larga que se elimina no debe seguir afectando a la sala
+        index.register(reservation(1, T, T.plusYears(1), ROOM, 2));
+        index.register(reservation(2, T.plusYears(2), T.plusYears(2).plusHours(1), ROOM));
+        assertTrue(index.overlaps(2, T.plusMonths(6), T.plusMonths(6).plusHours(1), 0));
+
+        index.unregister(1);
+        assertFalse(index.overlaps(ROOM, T.plusMonths(6), T.plusMonths(6).plusHours(1), 0));
+        assertFalse(index.overlaps(2, T, T.plusYears(1), 0));
+        assertTrue(index.overlaps(ROOM, T.plusYears(2), T.plusYears(2).plusMinutes(1), 0));
+
+        // Registrar de nuevo la misma reserva la mueve: el rango anterior queda libre
+        index.register(reservation(2, T, T.plusHours(1), ROOM));
+        assertFalse(index.overlaps(ROOM, T.plusYears(2), T.plusYears(2).plusMinutes(1), 0));
+        assertTrue(index.overlaps(ROOM, T, T.plusHours(1), 0));
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        index.forEachInterval(ROOM, T.minusDays(1), T.plusYears(3), (start, end) -> starts.add(start));
+        assertEquals(List.of(T), starts);
+    }
+
+    @Test
+    void endedReservationsAreEvicted() {
+        index.register(reservation(1, T, T.plusHours(1), ROOM, 2));
+        index.register(reservation(2, T.plusHours(1), T.plusHours(3), ROOM));
+
+        assertEquals(1, index.evictEndedBy(T.plusHours(1)));
+        assertFalse(index.overlaps(ROOM, T, T.plusHours(1), 0));
+        assertFalse(index.overlaps(2, T, T.plusHours(1), 0));
+        assertTrue(index.overlaps(ROOM, T.plusHours(2), T.plusHours(4), 0));
+        // Las reservas en curso se conservan
+        assertEquals(0, index.evictEndedBy(T.plusHours(2)));
+    }
+
+    @Test
+    void agreesWithALinearScan() {
+        Random random = new Random(3);
+        List<Reservation> indexed = new ArrayList<>();
+        for (int id = 1; id <= 400; id++) {
+            LocalDateTime start = T.plusMinutes(random.nextInt(60 * 24 * 30));
+            // Algunas reservas muy largas entre muchas cortas
+            LocalDateTime end = start.plusMinutes(id % 50 == 0 ? 60 * 24 * 20 : 15 + random.nextInt(180));
+            Reservation reservation = reservation(id, start, end, ROOM);
+            index.register(reservation);
+            indexed.add(reservation);
+            if (id % 7 == 0) {
+                Reservation removed = indexed.remove(random.nextInt(indexed.size()));
+                index.unregister(removed.getId());
+            }
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime from = T.plusMinutes(random.nextInt(60 * 24 * 31) - 60 * 24);
+            LocalDateTime to = from.plusMinutes(1 + random.nextInt(240));
+            int excluded = random.nextInt(10) == 0 ? indexed.get(random.nextInt(indexed.size())).getId() : 0;
+            boolean expected = indexed.stream().anyMatch(reservation -> reservation.getId() != excluded
+                    && reservation.getDateInit().isBefore(to) && reservation.getDateEnd().isAfter(from));
+            assertEquals(expected, index.overlaps(ROOM, from, to, excluded), from + " " + to);
+        }
+    }
+
+    private static Reservation reservation(int id, LocalDateTime dateInit, LocalDateTime dateEnd, int... roomIds) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setDateInit(dateInit);
+        reservation.setDateEnd(dateEnd);
+        reservation.setReserveStatus(ReservationStatus.CONFIRMED);
+        List<Room> rooms = new ArrayList<>();
+        for (int roomId : roomIds) {
+            Room room = new Room();
+            room.setId(roomId);
+            rooms.add(room);
+        }
+        reservation.setRooms(rooms);
+        return reservation;
+    }
+}
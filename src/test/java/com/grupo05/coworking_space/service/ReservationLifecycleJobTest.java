@@ -0,0 +1,64 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Reservation;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link ReservationLifecycleJob}: reservas completadas y salas ocupadas según la hora.
+ */
+class ReservationLifecycleJobTest extends BookingTestSupport {
+
+    @Autowired
+    private ReservationLifecycleJob reservationLifecycleJob;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private User user;
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        user = login("ciclo");
+        roomId = createRoom("Ciclo " + user.getUsername(), 4);
+    }
+
+    @Test
+    void advancesReservationsAndRoomsWithTime() {
+        ReservationDTO ongoing = reservationService.createReservation(reservation(START, START.plusHours(1)));
+        ReservationDTO later = reservationService.createReservation(reservation(START.plusHours(3), START.plusHours(4)));
+
+        assertTrue(reservationLifecycleJob.updateRoomStatuses(START.plusMinutes(30)) >= 1);
+        assertEquals(RoomStatus.BUSY, roomRepository.findById(roomId).orElseThrow().getRoomStatus());
+        // Una sala ocupada se puede seguir reservando en otras fechas
+        reservationService.createReservation(reservation(START.plusHours(1), START.plusHours(2)));
+
+        long version = reservationRepository.findById(ongoing.getId()).orElseThrow().getVersion();
+        assertTrue(reservationLifecycleJob.completeEndedReservations(START.plusHours(2)) >= 2);
+        Reservation completed = reservationRepository.findById(ongoing.getId()).orElseThrow();
+        assertEquals(ReservationStatus.COMPLETED, completed.getReserveStatus());
+        assertEquals(version + 1, completed.getVersion());
+        assertEquals(ReservationStatus.CONFIRMED,
+                reservationRepository.findById(later.getId()).orElseThrow().getReserveStatus());
+
+        reservationLifecycleJob.updateRoomStatuses(START.plusHours(2).plusMinutes(30));
+        assertEquals(RoomStatus.AVAILABLE, roomRepository.findById(roomId).orElseThrow().getRoomStatus());
+    }
+
+    private RequestReservationDTO reservation(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return reservation(user, dateInit, dateEnd, "Reserva de prueba", List.of(roomId));
+    }
+}
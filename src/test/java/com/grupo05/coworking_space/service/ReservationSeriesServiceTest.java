@@ -0,0 +1,121 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.PageDTO;
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationOccurrenceDTO;
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.enums.ApiError;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.exception.RequestException;
+import com.grupo05.coworking_space.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link ReservationSeriesService}: conflictos de las ocurrencias y búsqueda por fechas.
+ */
+class ReservationSeriesServiceTest extends BookingTestSupport {
+
+    @Autowired
+    private ReservationSeriesService reservationSeriesService;
+    @Autowired
+    private ReservationIntervalIndex reservationIntervalIndex;
+
+    private User user;
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        user = login("serie");
+        roomId = createRoom("Serie " + user.getUsername(), 6);
+    }
+
+    @Test
+    void occurrencesBlockTheirRoomsWithoutRows() {
+        ReservationSeriesDTO created = reservationSeriesService.createSeries(
+                series(START, "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR"));
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR", created.getRrule());
+
+        // Un miércoles años después: se calcula solo esa ocurrencia
+        LocalDateTime wednesday = START.plusWeeks(300).plusDays(2);
+        assertTrue(reservationIntervalIndex.overlaps(roomId, wednesday.plusMinutes(30), wednesday.plusMinutes(45), 0));
+        assertFalse(reservationIntervalIndex.overlaps(roomId, wednesday.plusHours(1), wednesday.plusHours(2), 0));
+        assertFalse(reservationIntervalIndex.overlaps(roomId, wednesday.plusDays(3), wednesday.plusDays(3).plusHours(1), 0));
+
+        RequestException rejected = assertThrows(RequestException.class,
+                () -> reservationService.createReservation(reservation(wednesday.minusMinutes(30), wednesday.plusMinutes(30))));
+        assertEquals(409, rejected.getStatusCode().value());
+
+        // Una serie diaria que empieza más tarde choca con los días laborables
+        assertThrows(RequestException.class, () -> reservationSeriesService.createSeries(
+                series(START.plusWeeks(2).plusMinutes(30), "FREQ=DAILY;INTERVAL=3")));
+        // Los sábados a la misma hora están libres
+        reservationSeriesService.createSeries(series(START.plusDays(5), "FREQ=WEEKLY;COUNT=10"));
+
+        reservationSeriesService.addException(created.getId(), wednesday.toLocalDate());
+        assertFalse(reservationIntervalIndex.overlaps(roomId, wednesday, wednesday.plusHours(1), 0));
+        assertEquals(List.of(wednesday.toLocalDate()), reservationSeriesService.findSeriesByID(created.getId()).getExceptions());
+    }
+
+    @Test
+    void dateFilterMergesOccurrencesWithReservations() {
+        ReservationSeriesDTO created = reservationSeriesService.createSeries(
+                series(START, "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;COUNT=10"));
+        reservationSeriesService.addException(created.getId(), START.plusDays(3).toLocalDate());
+        reservationService.createReservation(reservation(START.plusDays(1).plusHours(2), START.plusDays(1).plusHours(3)));
+        reservationService.createReservation(reservation(START.plusDays(9).plusHours(2), START.plusDays(9).plusHours(3)));
+
+        LocalDateTime from = START.toLocalDate().atStartOfDay();
+        LocalDateTime to = from.plusWeeks(3);
+        List<ReservationDTO> walked = new ArrayList<>();
+        String cursor = "";
+        do {
+            PageDTO<ReservationDTO> page = reservationService.findReservationsBetweenDates(from, to,
+                    PageRequest.of(0, 4), cursor);
+            walked.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // 10 ocurrencias menos la anulada, más las dos reservas
+        assertEquals(11, walked.size());
+        assertEquals(9, walked.stream().filter(ReservationOccurrenceDTO.class::isInstance).count());
+        for (int i = 1; i < walked.size(); i++)
+            assertTrue(SeriesOccurrences.ORDER.compare(walked.get(i - 1), walked.get(i)) < 0);
+        ReservationOccurrenceDTO first = (ReservationOccurrenceDTO) walked.get(0);
+        assertEquals(created.getId(), first.getSeriesId());
+        assertEquals(0, first.getId());
+
+        PageDTO<ReservationDTO> second = reservationService.findReservationsBetweenDates(from, to,
+                PageRequest.of(1, 4, Sort.by("dateInit", "id")), null);
+        assertEquals(11, second.getTotalElements());
+        assertEquals(walked.subList(4, 8).stream().map(ReservationDTO::getDateInit).toList(),
+                second.getContent().stream().map(ReservationDTO::getDateInit).toList());
+
+        // Con ocurrencias, las páginas más allá de la posición máxima se piden por cursor
+        RequestException tooDeep = assertThrows(RequestException.class, () -> reservationService
+                .findReservationsBetweenDates(from, to, PageRequest.of(100_000, 100), null));
+        assertEquals(ApiError.BAD_REQUEST, tooDeep.getApiError());
+    }
+
+    private ReservationSeriesDTO series(LocalDateTime dateInit, String rrule) {
+        return new ReservationSeriesDTO(0, dateInit, dateInit.plusHours(1), rrule, ReservationStatus.CONFIRMED,
+                "Serie de prueba", user.getId(), List.of(roomId), null);
+    }
+
+    private RequestReservationDTO reservation(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return reservation(user, dateInit, dateEnd, "Reserva suelta", List.of(roomId));
+    }
+}
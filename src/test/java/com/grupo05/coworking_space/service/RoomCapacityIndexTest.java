@@ -0,0 +1,151 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.dto.RoomDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests de {@link RoomCapacityIndex} a través de {@link RoomService#searchFreeRooms}: orden por
+ * ajuste, límites, salas no reservables u ocupadas y sincronización con las escrituras de salas.
+ * Cada test usa capacidades de una franja propia, muy por encima de las del resto de tests.
+ */
+@SpringBootTest
+class RoomCapacityIndexTest {
+
+    /** Fechas lejos de las del resto de tests */
+    private static final LocalDateTime START = LocalDateTime.now().plusYears(15).truncatedTo(ChronoUnit.DAYS)
+            .withHour(10);
+
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReservationSeriesService reservationSeriesService;
+    @Autowired
+    private ReservationLifecycleJob reservationLifecycleJob;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setUsername("capacidad" + System.nanoTime() % 1_000_000);
+        newUser.setEmail(newUser.getUsername() + "@coworking.test");
+        newUser.setPassword("password");
+        newUser.setRole(Role.ROLE_USER);
+        user = userRepository.save(newUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ranksBySmallestFitThenIdAndSkipsRoomsThatCannotBeBooked() {
+        int loose = room(1005, RoomStatus.AVAILABLE);
+        int tight = room(1003, RoomStatus.AVAILABLE);
+        int tightLater = room(1003, RoomStatus.BUSY);
+        room(1004, RoomStatus.MAINTENANCE);
+        room(1002, RoomStatus.NOT_AVAILABLE);
+        int large = room(1010, RoomStatus.AVAILABLE);
+
+        assertEquals(List.of(tight, tightLater, loose), search(1001, 3));
+        // La capacidad es un mínimo y el número de resultados se corta en count
+        assertEquals(List.of(loose, large), search(1004, 2));
+        assertEquals(List.of(tight), search(1003, 1));
+    }
+
+    @Test
+    void skipsRoomsWithOverlappingReservationsOrOccurrences() {
+        int reserved = room(2005, RoomStatus.AVAILABLE);
+        int withSeries = room(2006, RoomStatus.AVAILABLE);
+        int spare = room(2007, RoomStatus.AVAILABLE);
+        reserve(reserved, START, START.plusHours(1));
+        reservationSeriesService.createSeries(new ReservationSeriesDTO(0, START.plusDays(1), START.plusDays(1).plusHours(1),
+                "FREQ=DAILY;COUNT=5", ReservationStatus.CONFIRMED, "Serie", user.getId(), List.of(withSeries), null));
+
+        assertEquals(List.of(withSeries, spare), search(2001, 2, START.plusMinutes(30), START.plusHours(2)));
+        // Los bordes no se solapan
+        assertEquals(List.of(reserved, withSeries), search(2001, 2, START.plusHours(1), START.plusHours(2)));
+        LocalDateTime thirdOccurrence = START.plusDays(3);
+        assertEquals(List.of(reserved, spare), search(2001, 2, thirdOccurrence.plusMinutes(59), thirdOccurrence.plusHours(3)));
+        assertEquals(List.of(reserved, withSeries), search(2001, 2, START.plusDays(6), START.plusDays(6).plusHours(1)));
+    }
+
+    @Test
+    void followsRoomWritesAndLifecycleUpdates() {
+        int roomId = room(3005, RoomStatus.AVAILABLE);
+        int next = room(3050, RoomStatus.AVAILABLE);
+        assertEquals(List.of(roomId), search(3001, 1));
+
+        RoomDTO updated = roomService.updateRoom(roomId, new RoomDTO(roomId, "Renombrada " + roomId % 1000,
+                RoomStatus.AVAILABLE, 3100));
+        assertEquals(List.of(next, roomId), search(3001, 2));
+        RoomDTO found = roomService.searchFreeRooms(START, START.plusHours(1), 3060, 1).getFirst();
+        assertEquals(updated.getName(), found.getName());
+        assertEquals(3100, found.getCapacity());
+
+        roomService.updateRoom(roomId, new RoomDTO(roomId, updated.getName(), RoomStatus.MAINTENANCE, 3100));
+        assertFalse(search(3001, 5).contains(roomId));
+        roomService.updateRoom(roomId, new RoomDTO(roomId, updated.getName(), RoomStatus.AVAILABLE, 3100));
+
+        // El proceso de ciclo de vida cambia el estado con una sentencia masiva
+        reserve(roomId, START.plusDays(20), START.plusDays(20).plusHours(1));
+        reservationLifecycleJob.updateRoomStatuses(START.plusDays(20).plusMinutes(30));
+        assertEquals(RoomStatus.BUSY, roomService.searchFreeRooms(START, START.plusHours(1), 3060, 1)
+                .getFirst().getRoomStatus());
+        reservationLifecycleJob.updateRoomStatuses(START.plusDays(20).plusHours(2));
+        assertEquals(RoomStatus.AVAILABLE, roomService.searchFreeRooms(START, START.plusHours(1), 3060, 1)
+                .getFirst().getRoomStatus());
+
+        roomService.deleteRoom(next);
+        assertEquals(List.of(roomId), search(3001, 1));
+        assertFalse(search(3001, 5).contains(next));
+    }
+
+    private List<Integer> search(int capacity, int count) {
+        return search(capacity, count, START, START.plusHours(1));
+    }
+
+    private List<Integer> search(int capacity, int count, LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return roomService.searchFreeRooms(dateInit, dateEnd, capacity, count).stream().map(RoomDTO::getId).toList();
+    }
+
+    private int room(int capacity, RoomStatus status) {
+        return roomService.createRoom(new RoomDTO(0, "Cap " + capacity + " " + System.nanoTime() % 100_000,
+                status, capacity)).getId();
+    }
+
+    private void reserve(int roomId, LocalDateTime dateInit, LocalDateTime dateEnd) {
+        RequestReservationDTO request = new RequestReservationDTO();
+        request.setReservationDTO(new ReservationDTO(0, dateInit, dateEnd, ReservationStatus.CONFIRMED,
+                "Reserva de prueba", user.getId(), List.of(roomId)));
+        reservationService.createReservation(request);
+    }
+}
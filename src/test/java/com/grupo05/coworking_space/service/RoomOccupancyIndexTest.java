@@ -0,0 +1,180 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationSeriesDTO;
+import com.grupo05.coworking_space.dto.RoomDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.model.Room;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.RoomRepository;
+import com.grupo05.coworking_space.repository.UserRepository;
+import com.grupo05.coworking_space.utils.TimeRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link RoomOccupancyIndex}: franjas de 5 minutos entre días, agrupación, series,
+ * recálculo tras modificar o borrar reservas y comprobación exacta de los bordes.
+ */
+@SpringBootTest
+class RoomOccupancyIndexTest {
+
+    /** Día lejos de las fechas del resto de tests */
+    private static final LocalDate DAY = LocalDate.now().plusYears(14);
+    private static final Duration FIVE_MINUTES = Duration.ofMinutes(RoomOccupancyIndex.SLOT_MINUTES);
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReservationSeriesService reservationSeriesService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setUsername("ocupa" + System.nanoTime() % 1_000_000);
+        newUser.setEmail(newUser.getUsername() + "@coworking.test");
+        newUser.setPassword("password");
+        newUser.setRole(Role.ROLE_USER);
+        user = userRepository.save(newUser);
+
+        Room room = new Room();
+        room.setName("Ocupa " + user.getUsername());
+        room.setRoomStatus(RoomStatus.AVAILABLE);
+        room.setCapacity(10);
+        roomId = roomRepository.save(room).getId();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void packsSlotsAcrossDayBoundaries() {
+        LocalDateTime midnight = DAY.plusDays(1).atStartOfDay();
+        // Cruza la medianoche y termina a mitad de una franja
+        create(midnight.minusMinutes(10), midnight.plusMinutes(7));
+        // Termina justo a medianoche: no ocupa nada del día siguiente
+        LocalDateTime nextMidnight = midnight.plusDays(1);
+        create(nextMidnight.minusHours(1), nextMidnight);
+
+        BitSet aroundMidnight = roomOccupancyIndex.occupancy(roomId, midnight.minusMinutes(30), 12, FIVE_MINUTES);
+        assertEquals(bits(4, 5, 6, 7), aroundMidnight);
+
+        BitSet lastHour = roomOccupancyIndex.occupancy(roomId, nextMidnight.minusHours(1), 24, FIVE_MINUTES);
+        assertEquals(range(0, 12), lastHour);
+        assertTrue(roomOccupancyIndex.occupancy(roomId, nextMidnight, 12, FIVE_MINUTES).isEmpty());
+    }
+
+    @Test
+    void groupsSlotsByGranularity() {
+        LocalDateTime nine = DAY.atTime(9, 0);
+        create(nine.plusMinutes(115), nine.plusMinutes(125));
+
+        assertEquals(bits(1, 2), roomOccupancyIndex.occupancy(roomId, nine, 4, Duration.ofHours(1)));
+        assertEquals(bits(7, 8), roomOccupancyIndex.occupancy(roomId, nine, 12, Duration.ofMinutes(15)));
+        assertEquals(bits(0), roomOccupancyIndex.occupancy(roomId, nine, 1, Duration.ofDays(1)));
+    }
+
+    @Test
+    void includesSeriesOccurrences() {
+        LocalDateTime first = DAY.plusDays(3).atTime(14, 0);
+        reservationSeriesService.createSeries(new ReservationSeriesDTO(0, first, first.plusHours(1),
+                "FREQ=DAILY;COUNT=3", ReservationStatus.CONFIRMED, "Serie", user.getId(), List.of(roomId), null));
+
+        LocalDateTime secondDay = first.plusDays(1).minusHours(1);
+        assertEquals(bits(2, 3), roomOccupancyIndex.occupancy(roomId, secondDay, 6, Duration.ofMinutes(30)));
+        // Tras la última ocurrencia la sala queda libre
+        assertTrue(roomOccupancyIndex.occupancy(roomId, secondDay.plusDays(2), 6, Duration.ofMinutes(30)).isEmpty());
+        assertFalse(roomOccupancyIndex.findFreeRooms(List.of(roomId),
+                List.of(new TimeRange(first.plusDays(2).plusMinutes(50), first.plusDays(2).plusHours(2)))).contains(roomId));
+    }
+
+    @Test
+    void rebuildsDaysAfterUpdateAndDelete() {
+        LocalDateTime ten = DAY.plusDays(5).atTime(10, 0);
+        ReservationDTO reservation = create(ten, ten.plusMinutes(30));
+        assertEquals(range(0, 6), roomOccupancyIndex.occupancy(roomId, ten, 12, FIVE_MINUTES));
+
+        // Se mueve al día siguiente: el día original queda libre
+        reservation.setDateInit(ten.plusDays(1).plusMinutes(15));
+        reservation.setDateEnd(ten.plusDays(1).plusMinutes(30));
+        reservationService.updateResevation(reservation);
+        assertTrue(roomOccupancyIndex.occupancy(roomId, ten, 12, FIVE_MINUTES).isEmpty());
+        assertEquals(bits(3, 4, 5), roomOccupancyIndex.occupancy(roomId, ten.plusDays(1), 12, FIVE_MINUTES));
+
+        reservationService.deleteReservation(reservation.getId());
+        assertTrue(roomOccupancyIndex.occupancy(roomId, ten.plusDays(1), 12, FIVE_MINUTES).isEmpty());
+    }
+
+    @Test
+    void freeRoomsCheckEdgesInsideOccupiedSlots() {
+        LocalDateTime ten = DAY.plusDays(8).atTime(10, 0);
+        create(ten, ten.plusMinutes(7));
+
+        // La franja de 10:05 está marcada, pero la reserva termina a las 10:07
+        assertEquals(List.of(roomId), roomOccupancyIndex.findFreeRooms(List.of(roomId),
+                List.of(new TimeRange(ten.plusMinutes(7), ten.plusMinutes(30)))));
+        assertEquals(List.of(), roomOccupancyIndex.findFreeRooms(List.of(roomId),
+                List.of(new TimeRange(ten.plusMinutes(6), ten.plusMinutes(30)))));
+        assertEquals(List.of(), roomOccupancyIndex.findFreeRooms(List.of(roomId), List.of(
+                new TimeRange(ten.plusHours(2), ten.plusHours(3)), new TimeRange(ten.minusMinutes(5), ten.plusMinutes(1)))));
+
+        List<RoomDTO> free = roomService.findFreeRooms(List.of(ten.plusMinutes(7) + "/" + ten.plusMinutes(30)));
+        assertTrue(free.stream().anyMatch(room -> room.getId() == roomId));
+        assertFalse(roomService.findFreeRooms(List.of(ten + "/" + ten.plusMinutes(5))).stream()
+                .anyMatch(room -> room.getId() == roomId));
+    }
+
+    private ReservationDTO create(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        RequestReservationDTO request = new RequestReservationDTO();
+        request.setReservationDTO(new ReservationDTO(0, dateInit, dateEnd, ReservationStatus.CONFIRMED,
+                "Reserva de prueba", user.getId(), List.of(roomId)));
+        return reservationService.createReservation(request);
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes)
+            bits.set(index);
+        return bits;
+    }
+
+    private static BitSet range(int from, int to) {
+        BitSet bits = new BitSet();
+        bits.set(from, to);
+        return bits;
+    }
+}
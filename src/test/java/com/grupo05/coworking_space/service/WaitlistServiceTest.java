@@ -0,0 +1,85 @@
+package com.grupo05.coworking_space.service;
+
+import com.grupo05.coworking_space.dto.RequestReservationDTO;
+import com.grupo05.coworking_space.dto.ReservationDTO;
+import com.grupo05.coworking_space.dto.WaitlistEntryDTO;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.WaitlistStatus;
+import com.grupo05.coworking_space.model.User;
+import com.grupo05.coworking_space.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests de {@link WaitlistService}: promoción por orden de llegada al liberarse un rango.
+ */
+class WaitlistServiceTest extends BookingTestSupport {
+
+    @Autowired
+    private WaitlistService waitlistService;
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    private User user;
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        user = login("espera");
+        roomId = createRoom("Espera " + user.getUsername(), 4);
+    }
+
+    @Test
+    void releasedRangePromotesOldestFittingEntry() {
+        ReservationDTO blocking = reservationService.createReservation(reservation(START, START.plusHours(2)));
+
+        WaitlistEntryDTO first = waitlistService.joinWaitlist(dto(START, START.plusHours(1)));
+        WaitlistEntryDTO second = waitlistService.joinWaitlist(dto(START.plusMinutes(30), START.plusHours(2)));
+        WaitlistEntryDTO third = waitlistService.joinWaitlist(dto(START.plusHours(1), START.plusHours(2)));
+        assertEquals(WaitlistStatus.WAITING, first.getStatus());
+        assertNull(first.getReservationId());
+
+        reservationService.deleteReservation(blocking.getId());
+
+        // La primera y la tercera caben a la vez; la segunda se solapa con ambas
+        WaitlistEntryDTO promoted = waitlistService.findEntryByID(first.getId());
+        assertEquals(WaitlistStatus.PROMOTED, promoted.getStatus());
+        assertNotNull(promoted.getReservationId());
+        assertEquals(START, reservationService.findReservationByID(promoted.getReservationId()).getDateInit());
+        assertEquals(WaitlistStatus.WAITING, waitlistService.findEntryByID(second.getId()).getStatus());
+        assertEquals(WaitlistStatus.PROMOTED, waitlistService.findEntryByID(third.getId()).getStatus());
+        assertEquals(2, notificationOutboxRepository.findAll().stream()
+                .filter(notification -> notification.getRecipient().equals(user.getEmail())).count());
+
+        // Al cancelar las dos reservas promocionadas entra la que seguía esperando
+        ReservationDTO canceled = reservationService.findReservationByID(promoted.getReservationId());
+        canceled.setReserveStatus(ReservationStatus.CANCELED);
+        reservationService.updateResevation(canceled);
+        assertEquals(WaitlistStatus.WAITING, waitlistService.findEntryByID(second.getId()).getStatus());
+        reservationService.deleteReservation(waitlistService.findEntryByID(third.getId()).getReservationId());
+        assertEquals(WaitlistStatus.PROMOTED, waitlistService.findEntryByID(second.getId()).getStatus());
+    }
+
+    @Test
+    void joiningFreeRangeBooksImmediately() {
+        WaitlistEntryDTO entry = waitlistService.joinWaitlist(dto(START, START.plusHours(1)));
+        assertEquals(WaitlistStatus.PROMOTED, entry.getStatus());
+        assertEquals(roomId, reservationService.findReservationByID(entry.getReservationId()).getRoomsFK().getFirst());
+    }
+
+    private ReservationDTO dto(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return dto(user, dateInit, dateEnd, "Reserva en espera", List.of(roomId));
+    }
+
+    private RequestReservationDTO reservation(LocalDateTime dateInit, LocalDateTime dateEnd) {
+        return reservation(user, dateInit, dateEnd, "Reserva en espera", List.of(roomId));
+    }
+}
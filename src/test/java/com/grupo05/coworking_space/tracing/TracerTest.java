@@ -0,0 +1,56 @@
+package com.grupo05.coworking_space.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link Tracer} y {@link TraceBuffer}: spans de las peticiones muestreadas y búfer circular.
+ */
+class TracerTest {
+
+    @Test
+    void bufferKeepsNewestSpansWhenFull() {
+        TraceBuffer buffer = new TraceBuffer(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 10; i++)
+            buffer.record(1, 1, "Type", "op" + i, 0, 0, false);
+
+        List<TraceBuffer.Span> spans = buffer.snapshot(10);
+        assertEquals(List.of("op9", "op8", "op7", "op6"), spans.stream().map(TraceBuffer.Span::operation).toList());
+        assertEquals(2, buffer.snapshot(2).size());
+    }
+
+    @Test
+    void onlyCallsInsideATraceAreRecorded() {
+        Tracer tracer = new Tracer(new TraceBuffer(16), 1);
+        ProxyFactory factory = new ProxyFactory((Supplier<String>) () -> "ok");
+        factory.addAdvice(new TracingInterceptor(tracer));
+        @SuppressWarnings("unchecked")
+        Supplier<String> traced = (Supplier<String>) factory.getProxy();
+
+        traced.get();
+        assertTrue(tracer.spans(16).isEmpty());
+
+        Tracer.ActiveTrace trace = tracer.start();
+        traced.get();
+        tracer.finish(trace, "GET", "/api/rooms", false);
+
+        List<TraceBuffer.Span> spans = tracer.spans(16);
+        assertEquals(2, spans.size());
+        assertEquals("/api/rooms", spans.get(0).operation());
+        assertEquals(0, spans.get(0).depth());
+        assertEquals("get", spans.get(1).operation());
+        assertEquals(1, spans.get(1).depth());
+        assertEquals(trace.getTraceId(), spans.get(1).traceId());
+        assertFalse(spans.get(1).error());
+        assertNull(tracer.current());
+    }
+}
@@ -0,0 +1,63 @@
+package com.grupo05.coworking_space.utils;
+
+import com.grupo05.coworking_space.enums.ExportFormat;
+import com.grupo05.coworking_space.enums.ReservationStatus;
+import com.grupo05.coworking_space.enums.Role;
+import com.grupo05.coworking_space.enums.RoomStatus;
+import com.grupo05.coworking_space.validation.EnumValidator;
+import com.grupo05.coworking_space.validation.ValidEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de {@link EnumLookup}: búsqueda sin distinguir mayúsculas por el texto JSON o por otra clave.
+ */
+class EnumLookupTest {
+
+    @Test
+    void findsEveryConstantByItsJsonValueIgnoringCase() {
+        for (RoomStatus status : RoomStatus.values()) {
+            assertSame(status, RoomStatus.fromString(status.getState()));
+            assertSame(status, RoomStatus.fromString(status.getState().toUpperCase()));
+            assertSame(status, RoomStatus.fromString(status.getState().toLowerCase()));
+        }
+        for (ReservationStatus status : ReservationStatus.values())
+            assertSame(status, ReservationStatus.fromString(status.getState().toUpperCase()));
+
+        assertThrows(IllegalArgumentException.class, () -> RoomStatus.fromString("NOT_AVAILABLE"));
+        assertThrows(IllegalArgumentException.class, () -> ReservationStatus.fromString("Confirmedx"));
+        assertThrows(IllegalArgumentException.class, () -> ReservationStatus.fromString(null));
+    }
+
+    @Test
+    void fallsBackToConstantNamesAndAcceptsCustomKeys() {
+        EnumLookup<Role> roles = EnumLookup.of(Role.class);
+        assertSame(roles, EnumLookup.of(Role.class));
+        assertEquals(Role.ROLE_ADMIN, roles.find("role_admin"));
+        assertNull(roles.find("admin"));
+        assertNull(roles.find(""));
+
+        assertEquals(ExportFormat.CSV, ExportFormat.fromString("CSV"));
+        assertEquals(ExportFormat.NDJSON, EnumLookup.of(ExportFormat.class, ExportFormat::getExtension).find("NdJson"));
+    }
+
+    @Test
+    void validatorUsesTheAnnotatedEnum() throws NoSuchFieldException {
+        EnumValidator validator = new EnumValidator();
+        validator.initialize(Holder.class.getDeclaredField("status").getAnnotation(ValidEnum.class));
+        assertTrue(validator.isValid("canceled", null));
+        assertTrue(validator.isValid(null, null));
+        assertFalse(validator.isValid("Available", null));
+    }
+
+    private static class Holder {
+        @ValidEnum(enumClass = ReservationStatus.class)
+        private String status;
+    }
+}
@@ -0,0 +1,60 @@
+package com.grupo05.coworking_space.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests de {@link SeriesSchedule#countStarts}: el recuento sin expandir las ocurrencias coincide
+ * con el del iterador.
+ */
+class SeriesScheduleTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2031, 3, 5, 9, 30);
+
+    @Test
+    void countMatchesTheIteratorForEveryRule() {
+        String[] rules = {"FREQ=DAILY", "FREQ=DAILY;INTERVAL=3", "FREQ=WEEKLY", "FREQ=WEEKLY;BYDAY=MO,WE,SU",
+                "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,FR,SA", "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;UNTIL=20310901",
+                "FREQ=DAILY;INTERVAL=5;UNTIL=20310410"};
+        Random random = new Random(7);
+        for (String value : rules) {
+            RecurrenceRule rule = RecurrenceRule.parse(value, FIRST);
+            Set<LocalDate> exceptions = Set.of(FIRST.toLocalDate(), FIRST.toLocalDate().plusDays(2),
+                    FIRST.toLocalDate().plusDays(13), FIRST.toLocalDate().minusDays(1));
+            SeriesSchedule schedule = new SeriesSchedule(1, FIRST, Duration.ofHours(1), rule, exceptions);
+            for (int i = 0; i < 200; i++) {
+                LocalDateTime from = FIRST.plusMinutes(random.nextInt(60 * 24 * 400) - 60 * 24 * 30);
+                LocalDateTime to = from.plusMinutes(random.nextInt(60 * 24 * 120));
+                assertEquals(iterated(schedule, from, to), schedule.countStarts(from, to), value + " " + from + " " + to);
+            }
+        }
+    }
+
+    @Test
+    void rangeBoundsFollowTheStartTime() {
+        SeriesSchedule schedule = new SeriesSchedule(1, FIRST, Duration.ofHours(1),
+                RecurrenceRule.parse("FREQ=DAILY", FIRST), Set.of());
+        // [from, to): una ocurrencia que empieza justo en to no cuenta, una en from sí
+        assertEquals(1, schedule.countStarts(FIRST, FIRST.plusDays(1)));
+        assertEquals(2, schedule.countStarts(FIRST, FIRST.plusDays(1).plusNanos(1)));
+        assertEquals(0, schedule.countStarts(FIRST.plusNanos(1), FIRST.plusDays(1)));
+        assertEquals(0, schedule.countStarts(FIRST.minusYears(1), FIRST));
+        assertEquals(0, schedule.countStarts(FIRST.plusDays(1), FIRST));
+    }
+
+    private static long iterated(SeriesSchedule schedule, LocalDateTime from, LocalDateTime to) {
+        long count = 0;
+        Iterator<LocalDateTime> starts = schedule.starts(from);
+        while (starts.hasNext() && starts.next().isBefore(to))
+            count++;
+        return count;
+    }
+}